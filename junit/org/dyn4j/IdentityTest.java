@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2010-2014 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import junit.framework.TestCase;
+
+import org.dyn4j.dynamics.Body;
+import org.dyn4j.geometry.Geometry;
+import org.junit.Test;
+
+/**
+ * Test case for the {@link Identity} class.
+ * @author William Bittle
+ * @version 3.2.0
+ * @since 3.2.0
+ */
+public class IdentityTest {
+	/**
+	 * Tests the sequential id generator.
+	 */
+	@Test
+	public void sequential() {
+		SequentialIdGenerator generator = new SequentialIdGenerator();
+		Set<UUID> ids = new HashSet<UUID>();
+		for (int i = 0; i < 10000; i++) {
+			UUID id = generator.generate();
+			TestCase.assertEquals(4, id.version());
+			TestCase.assertEquals(2, id.variant());
+			TestCase.assertTrue(ids.add(id));
+		}
+		
+		// different generators should use different prefixes
+		UUID id1 = new SequentialIdGenerator(1).generate();
+		UUID id2 = new SequentialIdGenerator(2).generate();
+		TestCase.assertFalse(id1.equals(id2));
+	}
+	
+	/**
+	 * Tests the random id generator.
+	 */
+	@Test
+	public void random() {
+		RandomIdGenerator generator = new RandomIdGenerator();
+		UUID id1 = generator.generate();
+		UUID id2 = generator.generate();
+		TestCase.assertEquals(4, id1.version());
+		TestCase.assertFalse(id1.equals(id2));
+	}
+	
+	/**
+	 * Tests setting the id generator.
+	 */
+	@Test
+	public void setIdGenerator() {
+		IdGenerator original = Identity.getIdGenerator();
+		TestCase.assertTrue(original instanceof SequentialIdGenerator);
+		
+		final UUID fixed = UUID.randomUUID();
+		try {
+			Identity.setIdGenerator(new IdGenerator() {
+				@Override
+				public UUID generate() {
+					return fixed;
+				}
+			});
+			Body body = new Body();
+			body.addFixture(Geometry.createCircle(1.0));
+			TestCase.assertEquals(fixed, body.getId());
+			TestCase.assertEquals(fixed, body.getFixture(0).getId());
+			TestCase.assertEquals(fixed, body.getFixture(0).getShape().getId());
+		} finally {
+			Identity.setIdGenerator(original);
+		}
+		
+		TestCase.assertFalse(fixed.equals(new Body().getId()));
+	}
+	
+	/**
+	 * Tests setting a null id generator.
+	 */
+	@Test(expected = NullPointerException.class)
+	public void setNullIdGenerator() {
+		Identity.setIdGenerator(null);
+	}
+}
@@ -33,6 +33,7 @@ import org.dyn4j.collision.broadphase.SapBruteForce;
 import org.dyn4j.collision.broadphase.SapIncremental;
 import org.dyn4j.collision.broadphase.SapTree;
 import org.dyn4j.collision.manifold.ClippingManifoldSolver;
+import org.dyn4j.collision.narrowphase.DispatchNarrowphaseDetector;
 import org.dyn4j.collision.narrowphase.Gjk;
 import org.dyn4j.collision.narrowphase.Sat;
 import org.dyn4j.geometry.AABB;
@@ -74,6 +75,9 @@ public abstract class AbstractTest {
 	/** The GJK/EPA algorithm */
 	protected Gjk gjk = new Gjk();
 	
+	/** The shape-pair dispatching algorithm */
+	protected DispatchNarrowphaseDetector dispatch = new DispatchNarrowphaseDetector();
+	
 	/** The sap incremental (using a list) algorithm */
 	protected SapIncremental<CollidableTest> sapI = new SapIncremental<CollidableTest>();
 	
@@ -24,7 +24,9 @@
  */
 package org.dyn4j.collision;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 import junit.framework.TestCase;
 
@@ -45,7 +47,7 @@ import org.junit.Test;
 /**
  * Class used to test the {@link BroadphaseDetector} methods.
  * @author William Bittle
- * @version 3.1.0
+ * @version 3.2.0
  * @since 3.0.0
  */
 public class BroadphaseTest {
@@ -328,6 +330,80 @@ public class BroadphaseTest {
 		TestCase.assertEquals(1, pairs.size());
 	}
 	
+	/**
+	 * Returns the number of overlapping pairs by testing all pairs.
+	 * @param collidables the collidables
+	 * @param detector the detector used to get the expanded aabbs
+	 * @return int
+	 */
+	private int countPairs(List<CollidableTest> collidables, BroadphaseDetector<CollidableTest> detector) {
+		int count = 0;
+		int size = collidables.size();
+		for (int i = 0; i < size; i++) {
+			for (int j = i + 1; j < size; j++) {
+				if (detector.getAABB(collidables.get(i)).overlaps(detector.getAABB(collidables.get(j)))) {
+					count++;
+				}
+			}
+		}
+		return count;
+	}
+	
+	/**
+	 * Tests the add method using a list.
+	 * @since 3.2.0
+	 */
+	@Test
+	public void addList() {
+		Random random = new Random(7);
+		List<CollidableTest> first = new ArrayList<CollidableTest>();
+		List<CollidableTest> second = new ArrayList<CollidableTest>();
+		List<CollidableTest> third = new ArrayList<CollidableTest>();
+		for (int i = 0; i < 300; i++) {
+			CollidableTest ct = new CollidableTest(Geometry.createCircle(0.2 + random.nextDouble() * 0.5));
+			ct.translate(random.nextDouble() * 20.0 - 10.0, random.nextDouble() * 20.0 - 10.0);
+			if (i < 100) first.add(ct);
+			else if (i < 120) second.add(ct);
+			else third.add(ct);
+		}
+		List<List<CollidableTest>> stages = new ArrayList<List<CollidableTest>>();
+		stages.add(first);
+		stages.add(second);
+		stages.add(third);
+		List<CollidableTest> all = new ArrayList<CollidableTest>();
+		
+		// bulk build, incremental insert and bulk rebuild
+		for (List<CollidableTest> list : stages) {
+			all.addAll(list);
+			this.sapI.add(list);
+			this.sapBF.add(list);
+			this.sapT.add(list);
+			this.dynT.add(list);
+			
+			int count = this.countPairs(all, this.sapBF);
+			TestCase.assertTrue(count > 0);
+			TestCase.assertEquals(count, this.sapI.detect().size());
+			TestCase.assertEquals(count, this.sapBF.detect().size());
+			TestCase.assertEquals(count, this.sapT.detect().size());
+			TestCase.assertEquals(count, this.dynT.detect().size());
+		}
+		
+		// the tree should still support removal and queries
+		for (int i = 0; i < 150; i++) {
+			CollidableTest ct = all.remove(all.size() - 1);
+			this.dynT.remove(ct);
+			TestCase.assertNull(this.dynT.getAABB(ct));
+		}
+		for (CollidableTest ct : all) {
+			TestCase.assertTrue(this.dynT.detect(this.dynT.getAABB(ct)).contains(ct));
+		}
+		TestCase.assertEquals(this.countPairs(all, this.dynT), this.dynT.detect().size());
+		
+		// adding an empty list does nothing
+		this.dynT.add(new ArrayList<CollidableTest>());
+		TestCase.assertEquals(this.countPairs(all, this.dynT), this.dynT.detect().size());
+	}
+	
 	/**
 	 * Tests the detect method using an AABB.
 	 */
@@ -481,6 +557,68 @@ public class BroadphaseTest {
 		TestCase.assertTrue(list.contains(ct4));
 	}
 	
+	/**
+	 * Tests the raycast method that only returns the collidables whose aabbs
+	 * are intersected by the ray.
+	 * @since 3.2.0
+	 */
+	@Test
+	public void raycastIntersected() {
+		CollidableTest ct1 = new CollidableTest(Geometry.createCircle(1.0));
+		CollidableTest ct2 = new CollidableTest(Geometry.createUnitCirclePolygon(5, 0.5));
+		CollidableTest ct3 = new CollidableTest(Geometry.createRectangle(1.0, 0.5));
+		CollidableTest ct4 = new CollidableTest(Geometry.createVerticalSegment(2.0));
+		
+		ct1.translate(-2.0, 0.0);
+		ct2.translate(-1.0, 1.0);
+		ct3.translate(0.5, -2.0);
+		ct4.translate(1.0, 1.2);
+		
+		// add the items to the broadphases
+		this.sapI.add(ct1); this.sapI.add(ct2); this.sapI.add(ct3); this.sapI.add(ct4);
+		this.sapBF.add(ct1); this.sapBF.add(ct2); this.sapBF.add(ct3); this.sapBF.add(ct4);
+		this.sapT.add(ct1); this.sapT.add(ct2); this.sapT.add(ct3); this.sapT.add(ct4);
+		this.dynT.add(ct1); this.dynT.add(ct2); this.dynT.add(ct3); this.dynT.add(ct4);
+		
+		List<AbstractAABBDetector<CollidableTest>> detectors = new ArrayList<AbstractAABBDetector<CollidableTest>>();
+		detectors.add(this.sapI);
+		detectors.add(this.sapBF);
+		detectors.add(this.sapT);
+		detectors.add(this.dynT);
+		
+		List<CollidableTest> list = new ArrayList<CollidableTest>();
+		for (AbstractAABBDetector<CollidableTest> detector : detectors) {
+			// ray that points in the positive x direction and starts at the origin
+			list.clear();
+			detector.raycast(new Ray(new Vector2(1.0, 0.0)), 0.0, list);
+			TestCase.assertEquals(0, list.size());
+			
+			// try a different ray
+			Ray r = new Ray(new Vector2(-3.0, 0.75), new Vector2(1.0, 0.0));
+			list.clear();
+			detector.raycast(r, 0.0, list);
+			TestCase.assertEquals(3, list.size());
+			TestCase.assertTrue(list.contains(ct1));
+			TestCase.assertTrue(list.contains(ct2));
+			TestCase.assertTrue(list.contains(ct4));
+			
+			// the same ray with a length that stops before ct4
+			list.clear();
+			detector.raycast(r, 2.0, list);
+			TestCase.assertEquals(2, list.size());
+			TestCase.assertTrue(list.contains(ct1));
+			TestCase.assertTrue(list.contains(ct2));
+			
+			// the aabb of this ray overlaps ct2 and ct4 but the ray doesn't
+			Vector2 d = new Vector2(0.85, 0.35);
+			d.normalize();
+			list.clear();
+			detector.raycast(new Ray(new Vector2(-1.0, -1.0), d), 0.0, list);
+			TestCase.assertEquals(1, list.size());
+			TestCase.assertTrue(list.contains(ct1));
+		}
+	}
+	
 	/**
 	 * Tests the get/set expansion methods.
 	 */
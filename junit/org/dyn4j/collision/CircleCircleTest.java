@@ -32,6 +32,7 @@ import org.dyn4j.collision.broadphase.BroadphasePair;
 import org.dyn4j.collision.manifold.ClippingManifoldSolver;
 import org.dyn4j.collision.manifold.Manifold;
 import org.dyn4j.collision.manifold.ManifoldPoint;
+import org.dyn4j.collision.narrowphase.DispatchNarrowphaseDetector;
 import org.dyn4j.collision.narrowphase.Gjk;
 import org.dyn4j.collision.narrowphase.Penetration;
 import org.dyn4j.collision.narrowphase.Sat;
@@ -318,6 +319,64 @@ public class CircleCircleTest extends AbstractTest {
 		TestCase.assertFalse(this.gjk.detect(c2, t2, c1, t1));
 	}
 	
+	/**
+	 * Tests {@link DispatchNarrowphaseDetector}.
+	 */
+	@Test
+	public void detectDispatch() {
+		Penetration p = new Penetration();
+		Transform t1 = new Transform();
+		Transform t2 = new Transform();
+		Vector2 n = null;
+		
+		// test containment
+		TestCase.assertTrue(this.dispatch.detect(c1, t1, c2, t2, p));
+		TestCase.assertTrue(this.dispatch.detect(c1, t1, c2, t2));
+		n = p.getNormal();
+		TestCase.assertEquals(0.0, n.x);
+		TestCase.assertEquals(0.0, n.y);
+		TestCase.assertEquals(1.5, p.getDepth());
+		// try reversing the shapes
+		TestCase.assertTrue(this.dispatch.detect(c2, t2, c1, t1, p));
+		TestCase.assertTrue(this.dispatch.detect(c2, t2, c1, t1));
+		n = p.getNormal();
+		TestCase.assertEquals(0.0, n.x);
+		TestCase.assertEquals(0.0, n.y);
+		TestCase.assertEquals(1.5, p.getDepth());
+		
+		// test overlap
+		t1.translate(-1.0, 0.0);
+		TestCase.assertTrue(this.dispatch.detect(c1, t1, c2, t2, p));
+		TestCase.assertTrue(this.dispatch.detect(c1, t1, c2, t2));
+		n = p.getNormal();
+		TestCase.assertEquals(1.0, n.x);
+		TestCase.assertEquals(0.0, n.y);
+		TestCase.assertEquals(0.5, p.getDepth());
+		// try reversing the shapes
+		TestCase.assertTrue(this.dispatch.detect(c2, t2, c1, t1, p));
+		TestCase.assertTrue(this.dispatch.detect(c2, t2, c1, t1));
+		n = p.getNormal();
+		TestCase.assertEquals(-1.0, n.x);
+		TestCase.assertEquals(0.0, n.y);
+		TestCase.assertEquals(0.5, p.getDepth());
+		
+		// test AABB overlap
+		t2.translate(0.0, 1.5);
+		TestCase.assertFalse(this.dispatch.detect(c1, t1, c2, t2, p));
+		TestCase.assertFalse(this.dispatch.detect(c1, t1, c2, t2));
+		// try reversing the shapes
+		TestCase.assertFalse(this.dispatch.detect(c2, t2, c1, t1, p));
+		TestCase.assertFalse(this.dispatch.detect(c2, t2, c1, t1));
+		
+		// test no overlap
+		t1.translate(-1.0, 0.0);
+		TestCase.assertFalse(this.dispatch.detect(c1, t1, c2, t2, p));
+		TestCase.assertFalse(this.dispatch.detect(c1, t1, c2, t2));
+		// try reversing the shapes
+		TestCase.assertFalse(this.dispatch.detect(c2, t2, c1, t1, p));
+		TestCase.assertFalse(this.dispatch.detect(c2, t2, c1, t1));
+	}
+	
 	/**
 	 * Tests the {@link Gjk} distance method.
 	 */
@@ -32,6 +32,7 @@ import org.dyn4j.collision.broadphase.BroadphasePair;
 import org.dyn4j.collision.manifold.ClippingManifoldSolver;
 import org.dyn4j.collision.manifold.Manifold;
 import org.dyn4j.collision.manifold.ManifoldPoint;
+import org.dyn4j.collision.narrowphase.DispatchNarrowphaseDetector;
 import org.dyn4j.collision.narrowphase.Gjk;
 import org.dyn4j.collision.narrowphase.Penetration;
 import org.dyn4j.collision.narrowphase.Sat;
@@ -320,6 +321,65 @@ public class CircleTriangleTest extends AbstractTest {
 		TestCase.assertFalse(this.gjk.detect(tri, t2, circ, t1));
 	}
 	
+	/**
+	 * Tests {@link DispatchNarrowphaseDetector}.
+	 */
+	@Test
+	public void detectDispatch() {
+		Penetration p = new Penetration();
+		Transform t1 = new Transform();
+		Transform t2 = new Transform();
+		
+		Vector2 n = null;
+		
+		// test containment
+		TestCase.assertTrue(this.dispatch.detect(circ, t1, tri, t2, p));
+		TestCase.assertTrue(this.dispatch.detect(circ, t1, tri, t2));
+		n = p.getNormal();
+		TestCase.assertEquals(0.780, n.x, 1.0e-3);
+		TestCase.assertEquals(-0.624, n.y, 1.0e-3);
+		TestCase.assertEquals(0.921, p.getDepth(), 1.0e-3);
+		// try reversing the shapes
+		TestCase.assertTrue(this.dispatch.detect(tri, t2, circ, t1, p));
+		TestCase.assertTrue(this.dispatch.detect(tri, t2, circ, t1));
+		n = p.getNormal();
+		TestCase.assertEquals(-0.780, n.x, 1.0e-3);
+		TestCase.assertEquals(0.624, n.y, 1.0e-3);
+		TestCase.assertEquals(0.921, p.getDepth(), 1.0e-3);
+		
+		// test overlap
+		t1.translate(-1.0, 0.0);
+		TestCase.assertTrue(this.dispatch.detect(circ, t1, tri, t2, p));
+		TestCase.assertTrue(this.dispatch.detect(circ, t1, tri, t2));
+		n = p.getNormal();
+		TestCase.assertEquals(0.813, n.x, 1.0e-3);
+		TestCase.assertEquals(-0.581, n.y, 1.0e-3);
+		TestCase.assertEquals(0.139, p.getDepth(), 1.0e-3);
+		// try reversing the shapes
+		TestCase.assertTrue(this.dispatch.detect(tri, t2, circ, t1, p));
+		TestCase.assertTrue(this.dispatch.detect(tri, t2, circ, t1));
+		n = p.getNormal();
+		TestCase.assertEquals(-0.813, n.x, 1.0e-3);
+		TestCase.assertEquals(0.581, n.y, 1.0e-3);
+		TestCase.assertEquals(0.139, p.getDepth(), 1.0e-3);
+		
+		// test AABB overlap
+		t2.translate(0.0, 1.3);
+		TestCase.assertFalse(this.dispatch.detect(circ, t1, tri, t2, p));
+		TestCase.assertFalse(this.dispatch.detect(circ, t1, tri, t2));
+		// try reversing the shapes
+		TestCase.assertFalse(this.dispatch.detect(tri, t2, circ, t1, p));
+		TestCase.assertFalse(this.dispatch.detect(tri, t2, circ, t1));
+		
+		// test no overlap
+		t1.translate(-1.0, 0.0);
+		TestCase.assertFalse(this.dispatch.detect(circ, t1, tri, t2, p));
+		TestCase.assertFalse(this.dispatch.detect(circ, t1, tri, t2));
+		// try reversing the shapes
+		TestCase.assertFalse(this.dispatch.detect(tri, t2, circ, t1, p));
+		TestCase.assertFalse(this.dispatch.detect(tri, t2, circ, t1));
+	}
+	
 	/**
 	 * Tests the {@link Gjk} distance method.
 	 */
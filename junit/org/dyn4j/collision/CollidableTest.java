@@ -98,6 +98,14 @@ public class CollidableTest implements Collidable, Transformable {
 		return new AABB(0.0, 0.0, 0.0, 0.0);
 	}
 	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.Collidable#getAABB()
+	 */
+	@Override
+	public AABB getAABB() {
+		return this.createAABB();
+	}
+	
 	/* (non-Javadoc)
 	 * @see org.dyn4j.collision.Collidable#getId()
 	 */
@@ -0,0 +1,273 @@
+/*
+ * Copyright (c) 2010-2014 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.collision;
+
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.dyn4j.collision.narrowphase.Gjk;
+import org.dyn4j.collision.narrowphase.GjkContext;
+import org.dyn4j.collision.narrowphase.Penetration;
+import org.dyn4j.collision.narrowphase.Raycast;
+import org.dyn4j.collision.narrowphase.Separation;
+import org.dyn4j.geometry.Convex;
+import org.dyn4j.geometry.Geometry;
+import org.dyn4j.geometry.Ray;
+import org.dyn4j.geometry.Transform;
+import org.dyn4j.geometry.Vector2;
+import org.junit.Test;
+
+/**
+ * Test cases for the allocation free {@link Gjk} methods using a {@link GjkContext}.
+ * @author William Bittle
+ * @version 3.2.0
+ * @since 3.2.0
+ */
+public class GjkContextTest {
+	/** The number of random transform pairs to test */
+	private static final int COUNT = 500;
+	
+	/** The shapes to test */
+	private static final Convex[] SHAPES = new Convex[] {
+		Geometry.createCircle(0.5),
+		Geometry.createRectangle(1.0, 0.5),
+		Geometry.createUnitCirclePolygon(7, 0.6),
+		Geometry.createEquilateralTriangle(1.0),
+		Geometry.createSegment(new Vector2(-0.5, 0.2), new Vector2(0.6, -0.1)),
+		Geometry.createCapsule(1.0, 0.4),
+		Geometry.createEllipse(1.0, 0.5),
+		Geometry.createHalfEllipse(1.0, 0.4),
+		Geometry.createSlice(0.8, Math.toRadians(60))
+	};
+	
+	/**
+	 * Returns an array of random transforms.
+	 * @param random the random number generator
+	 * @return {@link Transform}[]
+	 */
+	private static final Transform[] createTransforms(Random random) {
+		Transform[] transforms = new Transform[COUNT];
+		for (int i = 0; i < COUNT; i++) {
+			Transform t = new Transform();
+			t.rotate(random.nextDouble() * Math.PI * 2.0);
+			t.translate(random.nextDouble() * 2.0 - 1.0, random.nextDouble() * 2.0 - 1.0);
+			transforms[i] = t;
+		}
+		return transforms;
+	}
+	
+	/**
+	 * Tests that the destination version of the getFarthestPoint method
+	 * returns the same point as the original for all shapes.
+	 */
+	@Test
+	public void farthestPoint() {
+		Random random = new Random(1);
+		Transform[] transforms = createTransforms(random);
+		Vector2 p = new Vector2();
+		for (Convex c : SHAPES) {
+			for (int i = 0; i < COUNT; i++) {
+				Vector2 n1 = new Vector2(random.nextDouble() * 2.0 - 1.0, random.nextDouble() * 2.0 - 1.0);
+				Vector2 n2 = n1.copy();
+				Vector2 e = c.getFarthestPoint(n1, transforms[i]);
+				Geometry.getFarthestPoint(c, n2, transforms[i], p);
+				TestCase.assertEquals(e.x, p.x, 0.0);
+				TestCase.assertEquals(e.y, p.y, 0.0);
+			}
+		}
+	}
+	
+	/**
+	 * Tests that the detect methods using a context return the
+	 * same results as the original methods.
+	 */
+	@Test
+	public void detect() {
+		Gjk gjk = new Gjk();
+		GjkContext context = new GjkContext();
+		Random random = new Random(2);
+		Transform[] t1 = createTransforms(random);
+		Transform[] t2 = createTransforms(random);
+		
+		Penetration p1 = new Penetration();
+		Penetration p2 = new Penetration();
+		for (Convex c1 : SHAPES) {
+			for (Convex c2 : SHAPES) {
+				for (int i = 0; i < COUNT; i++) {
+					boolean e = gjk.detect(c1, t1[i], c2, t2[i], p1);
+					boolean r = gjk.detect(c1, t1[i], c2, t2[i], p2, context);
+					TestCase.assertEquals(e, r);
+					TestCase.assertEquals(e, gjk.detect(c1, t1[i], c2, t2[i], context));
+					if (e) {
+						TestCase.assertEquals(p1.getDepth(), p2.getDepth(), 0.0);
+						TestCase.assertEquals(p1.getNormal().x, p2.getNormal().x, 0.0);
+						TestCase.assertEquals(p1.getNormal().y, p2.getNormal().y, 0.0);
+					}
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Tests that the result normal is reused.
+	 */
+	@Test
+	public void detectReuse() {
+		Gjk gjk = new Gjk();
+		GjkContext context = new GjkContext();
+		Convex c1 = Geometry.createRectangle(1.0, 1.0);
+		Convex c2 = Geometry.createUnitCirclePolygon(5, 0.5);
+		Transform t1 = new Transform();
+		Transform t2 = new Transform();
+		t2.translate(0.5, 0.1);
+		
+		Vector2 normal = new Vector2();
+		Penetration p = new Penetration(normal, 0.0);
+		TestCase.assertTrue(gjk.detect(c1, t1, c2, t2, p, context));
+		TestCase.assertSame(normal, p.getNormal());
+		TestCase.assertEquals(1.0, normal.getMagnitude(), 1.0e-8);
+		
+		// a null normal is created
+		p.clear();
+		TestCase.assertTrue(gjk.detect(c1, t1, c2, t2, p, context));
+		TestCase.assertNotNull(p.getNormal());
+	}
+	
+	/**
+	 * Tests that the distance method using a context returns the
+	 * same results as the original method.
+	 */
+	@Test
+	public void distance() {
+		Gjk gjk = new Gjk();
+		GjkContext context = new GjkContext();
+		Random random = new Random(3);
+		Transform[] t1 = createTransforms(random);
+		Transform[] t2 = createTransforms(random);
+		
+		Separation s1 = new Separation();
+		Separation s2 = new Separation();
+		for (Convex c1 : SHAPES) {
+			for (Convex c2 : SHAPES) {
+				for (int i = 0; i < COUNT; i++) {
+					boolean e = gjk.distance(c1, t1[i], c2, t2[i], s1);
+					boolean r = gjk.distance(c1, t1[i], c2, t2[i], s2, context);
+					TestCase.assertEquals(e, r);
+					if (e) {
+						TestCase.assertEquals(s1.getDistance(), s2.getDistance(), 0.0);
+						TestCase.assertEquals(s1.getNormal().x, s2.getNormal().x, 0.0);
+						TestCase.assertEquals(s1.getNormal().y, s2.getNormal().y, 0.0);
+						TestCase.assertEquals(s1.getPoint1().x, s2.getPoint1().x, 0.0);
+						TestCase.assertEquals(s1.getPoint1().y, s2.getPoint1().y, 0.0);
+						TestCase.assertEquals(s1.getPoint2().x, s2.getPoint2().x, 0.0);
+						TestCase.assertEquals(s1.getPoint2().y, s2.getPoint2().y, 0.0);
+					}
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Tests that the raycast method using a context returns the
+	 * same results as the original method.
+	 */
+	@Test
+	public void raycast() {
+		Gjk gjk = new Gjk();
+		GjkContext context = new GjkContext();
+		Random random = new Random(4);
+		Transform[] t = createTransforms(random);
+		
+		Raycast r1 = new Raycast();
+		Raycast r2 = new Raycast();
+		for (Convex c : SHAPES) {
+			for (int i = 0; i < COUNT; i++) {
+				Vector2 start = new Vector2(random.nextDouble() * 6.0 - 3.0, random.nextDouble() * 6.0 - 3.0);
+				Ray ray = new Ray(start, random.nextDouble() * Math.PI * 2.0);
+				double length = random.nextBoolean() ? 0.0 : random.nextDouble() * 4.0;
+				boolean e = gjk.raycast(ray, length, c, t[i], r1);
+				boolean r = gjk.raycast(ray, length, c, t[i], r2, context);
+				TestCase.assertEquals(e, r);
+				if (e) {
+					TestCase.assertEquals(r1.getDistance(), r2.getDistance(), 0.0);
+					TestCase.assertEquals(r1.getPoint().x, r2.getPoint().x, 0.0);
+					TestCase.assertEquals(r1.getPoint().y, r2.getPoint().y, 0.0);
+					TestCase.assertEquals(r1.getNormal().x, r2.getNormal().x, 0.0);
+					TestCase.assertEquals(r1.getNormal().y, r2.getNormal().y, 0.0);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Tests sharing one {@link Gjk} instance between threads that each
+	 * own a {@link GjkContext}.
+	 * @throws InterruptedException if the test is interrupted
+	 */
+	@Test
+	public void multipleThreads() throws InterruptedException {
+		final Gjk gjk = new Gjk();
+		Random random = new Random(5);
+		final Transform[] t1 = createTransforms(random);
+		final Transform[] t2 = createTransforms(random);
+		
+		// compute the expected results
+		final boolean[] collisions = new boolean[COUNT];
+		final double[] depths = new double[COUNT];
+		Penetration p = new Penetration();
+		for (int i = 0; i < COUNT; i++) {
+			collisions[i] = gjk.detect(SHAPES[1], t1[i], SHAPES[5], t2[i], p);
+			depths[i] = collisions[i] ? p.getDepth() : 0.0;
+		}
+		
+		final int[] failures = new int[4];
+		Thread[] threads = new Thread[4];
+		for (int k = 0; k < threads.length; k++) {
+			final int index = k;
+			threads[k] = new Thread() {
+				public void run() {
+					GjkContext context = new GjkContext();
+					Penetration p = new Penetration();
+					for (int j = 0; j < 20; j++) {
+						for (int i = 0; i < COUNT; i++) {
+							boolean collision = gjk.detect(SHAPES[1], t1[i], SHAPES[5], t2[i], p, context);
+							if (collision != collisions[i] || (collision && p.getDepth() != depths[i])) {
+								failures[index]++;
+							}
+						}
+					}
+				}
+			};
+			threads[k].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		for (int failure : failures) {
+			TestCase.assertEquals(0, failure);
+		}
+	}
+}
@@ -32,6 +32,7 @@ import org.dyn4j.collision.broadphase.BroadphasePair;
 import org.dyn4j.collision.manifold.ClippingManifoldSolver;
 import org.dyn4j.collision.manifold.Manifold;
 import org.dyn4j.collision.manifold.ManifoldPoint;
+import org.dyn4j.collision.narrowphase.DispatchNarrowphaseDetector;
 import org.dyn4j.collision.narrowphase.Gjk;
 import org.dyn4j.collision.narrowphase.Penetration;
 import org.dyn4j.collision.narrowphase.Sat;
@@ -319,6 +320,65 @@ public class PolygonRectangleTest extends AbstractTest {
 		TestCase.assertFalse(this.gjk.detect(rect, t2, poly, t1));
 	}
 	
+	/**
+	 * Tests {@link DispatchNarrowphaseDetector}.
+	 */
+	@Test
+	public void detectDispatch() {
+		Penetration p = new Penetration();
+		Transform t1 = new Transform();
+		Transform t2 = new Transform();
+		
+		Vector2 n = null;
+		
+		// test containment
+		TestCase.assertTrue(this.dispatch.detect(poly, t1, rect, t2, p));
+		TestCase.assertTrue(this.dispatch.detect(poly, t1, rect, t2));
+		n = p.getNormal();
+		TestCase.assertEquals(1.309, p.getDepth(), 1.0e-3);
+		TestCase.assertEquals(-1.0, n.x, 1.0e-3);
+		TestCase.assertEquals(0.0, n.y, 1.0e-3);
+		// try reversing the shapes
+		TestCase.assertTrue(this.dispatch.detect(rect, t2, poly, t1, p));
+		TestCase.assertTrue(this.dispatch.detect(rect, t2, poly, t1));
+		n = p.getNormal();
+		TestCase.assertEquals(1.309, p.getDepth(), 1.0e-3);
+		TestCase.assertEquals(1.0, n.x, 1.0e-3);
+		TestCase.assertEquals(0.0, n.y, 1.0e-3);
+		
+		// test overlap
+		t1.translate(-1.0, 0.0);
+		TestCase.assertTrue(this.dispatch.detect(poly, t1, rect, t2, p));
+		TestCase.assertTrue(this.dispatch.detect(poly, t1, rect, t2));
+		n = p.getNormal();
+		TestCase.assertEquals(0.5, p.getDepth(), 1.0e-3);
+		TestCase.assertEquals(1.0, n.x, 1.0e-3);
+		TestCase.assertEquals(0.0, n.y, 1.0e-3);
+		// try reversing the shapes
+		TestCase.assertTrue(this.dispatch.detect(rect, t2, poly, t1, p));
+		TestCase.assertTrue(this.dispatch.detect(rect, t2, poly, t1));
+		n = p.getNormal();
+		TestCase.assertEquals(0.5, p.getDepth(), 1.0e-3);
+		TestCase.assertEquals(-1.0, n.x, 1.0e-3);
+		TestCase.assertEquals(0.0, n.y, 1.0e-3);
+		
+		// test AABB overlap
+		t2.translate(0.0, 1.3);
+		TestCase.assertFalse(this.dispatch.detect(poly, t1, rect, t2, p));
+		TestCase.assertFalse(this.dispatch.detect(poly, t1, rect, t2));
+		// try reversing the shapes
+		TestCase.assertFalse(this.dispatch.detect(rect, t2, poly, t1, p));
+		TestCase.assertFalse(this.dispatch.detect(rect, t2, poly, t1));
+		
+		// test no overlap
+		t1.translate(-1.0, 0.0);
+		TestCase.assertFalse(this.dispatch.detect(poly, t1, rect, t2, p));
+		TestCase.assertFalse(this.dispatch.detect(poly, t1, rect, t2));
+		// try reversing the shapes
+		TestCase.assertFalse(this.dispatch.detect(rect, t2, poly, t1, p));
+		TestCase.assertFalse(this.dispatch.detect(rect, t2, poly, t1));
+	}
+	
 	/**
 	 * Tests the {@link Gjk} distance method.
 	 */
@@ -29,6 +29,7 @@ import java.util.List;
 import junit.framework.TestCase;
 
 import org.dyn4j.collision.broadphase.BroadphasePair;
+import org.dyn4j.collision.narrowphase.DispatchNarrowphaseDetector;
 import org.dyn4j.collision.narrowphase.Gjk;
 import org.dyn4j.collision.narrowphase.Penetration;
 import org.dyn4j.collision.narrowphase.Sat;
@@ -240,6 +241,39 @@ public class SegmentSegmentTest extends AbstractTest {
 		TestCase.assertFalse(this.gjk.detect(seg2, t2, seg1, t1));
 	}
 	
+	/**
+	 * Tests {@link DispatchNarrowphaseDetector}.
+	 */
+	@Test
+	public void detectDispatch() {
+		Penetration p = new Penetration();
+		Transform t1 = new Transform();
+		Transform t2 = new Transform();
+		
+		// test overlap
+		TestCase.assertTrue(this.dispatch.detect(seg1, t1, seg2, t2, p));
+		TestCase.assertTrue(this.dispatch.detect(seg1, t1, seg2, t2));
+		// try reversing the shapes
+		TestCase.assertTrue(this.dispatch.detect(seg2, t2, seg1, t1, p));
+		TestCase.assertTrue(this.dispatch.detect(seg2, t2, seg1, t1));
+		
+		// test AABB overlap
+		t2.translate(0.5, 0.0);
+		TestCase.assertFalse(this.dispatch.detect(seg1, t1, seg2, t2, p));
+		TestCase.assertFalse(this.dispatch.detect(seg1, t1, seg2, t2));
+		// try reversing the shapes
+		TestCase.assertFalse(this.dispatch.detect(seg2, t2, seg1, t1, p));
+		TestCase.assertFalse(this.dispatch.detect(seg2, t2, seg1, t1));
+		
+		// test no overlap
+		t1.translate(-1.0, 0.0);
+		TestCase.assertFalse(this.dispatch.detect(seg1, t1, seg2, t2, p));
+		TestCase.assertFalse(this.dispatch.detect(seg1, t1, seg2, t2));
+		// try reversing the shapes
+		TestCase.assertFalse(this.dispatch.detect(seg2, t2, seg1, t1, p));
+		TestCase.assertFalse(this.dispatch.detect(seg2, t2, seg1, t1));
+	}
+	
 	/**
 	 * Tests the {@link Gjk} distance method.
 	 */
@@ -33,6 +33,7 @@ import org.dyn4j.collision.broadphase.SapIncremental;
 import org.dyn4j.collision.manifold.ClippingManifoldSolver;
 import org.dyn4j.collision.manifold.Manifold;
 import org.dyn4j.collision.manifold.ManifoldPoint;
+import org.dyn4j.collision.narrowphase.DispatchNarrowphaseDetector;
 import org.dyn4j.collision.narrowphase.Gjk;
 import org.dyn4j.collision.narrowphase.Penetration;
 import org.dyn4j.collision.narrowphase.Separation;
@@ -322,6 +323,64 @@ public class TriangleCapsuleTest extends AbstractTest {
 		TestCase.assertFalse(this.gjk.detect(capsule, t2, triangle, t1));
 	}
 	
+	/**
+	 * Tests {@link DispatchNarrowphaseDetector}.
+	 */
+	@Test
+	public void detectDispatch() {
+		Penetration p = new Penetration();
+		Transform t1 = new Transform();
+		Transform t2 = new Transform();
+		Vector2 n = null;
+		
+		// test containment
+		TestCase.assertTrue(this.dispatch.detect(triangle, t1, capsule, t2, p));
+		TestCase.assertTrue(this.dispatch.detect(triangle, t1, capsule, t2));
+		n = p.getNormal();
+		TestCase.assertEquals( 0.196, n.x, 1.0e-3);
+		TestCase.assertEquals( 0.980, n.y, 1.0e-3);
+		TestCase.assertEquals( 0.797, p.getDepth(), 1.0e-3);
+		// try reversing the shapes
+		TestCase.assertTrue(this.dispatch.detect(capsule, t2, triangle, t1, p));
+		TestCase.assertTrue(this.dispatch.detect(capsule, t2, triangle, t1));
+		n = p.getNormal();
+		TestCase.assertEquals(-0.196, n.x, 1.0e-3);
+		TestCase.assertEquals(-0.980, n.y, 1.0e-3);
+		TestCase.assertEquals( 0.797, p.getDepth(), 1.0e-3);
+		
+		// test overlap
+		t1.translate(-0.5, 0.0);
+		TestCase.assertTrue(this.dispatch.detect(triangle, t1, capsule, t2, p));
+		TestCase.assertTrue(this.dispatch.detect(triangle, t1, capsule, t2));
+		n = p.getNormal();
+		TestCase.assertEquals( 0.505, n.x, 1.0e-3);
+		TestCase.assertEquals(-0.863, n.y, 1.0e-3);
+		TestCase.assertEquals( 0.559, p.getDepth(), 1.0e-3);
+		// try reversing the shapes
+		TestCase.assertTrue(this.dispatch.detect(capsule, t2, triangle, t1, p));
+		TestCase.assertTrue(this.dispatch.detect(capsule, t2, triangle, t1));
+		n = p.getNormal();
+		TestCase.assertEquals(-0.505, n.x, 1.0e-3);
+		TestCase.assertEquals( 0.863, n.y, 1.0e-3);
+		TestCase.assertEquals( 0.559, p.getDepth(), 1.0e-3);
+		
+		// test AABB overlap
+		t2.translate(0.5, 0.7);
+		TestCase.assertFalse(this.dispatch.detect(triangle, t1, capsule, t2, p));
+		TestCase.assertFalse(this.dispatch.detect(triangle, t1, capsule, t2));
+		// try reversing the shapes
+		TestCase.assertFalse(this.dispatch.detect(capsule, t2, triangle, t1, p));
+		TestCase.assertFalse(this.dispatch.detect(capsule, t2, triangle, t1));
+		
+		// test no overlap
+		t2.translate(1.0, 0.0);
+		TestCase.assertFalse(this.dispatch.detect(triangle, t1, capsule, t2, p));
+		TestCase.assertFalse(this.dispatch.detect(triangle, t1, capsule, t2));
+		// try reversing the shapes
+		TestCase.assertFalse(this.dispatch.detect(capsule, t2, triangle, t1, p));
+		TestCase.assertFalse(this.dispatch.detect(capsule, t2, triangle, t1));
+	}
+	
 	/**
 	 * Tests the {@link Gjk} distance method.
 	 */
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2010-2014 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.dynamics;
+
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.dyn4j.dynamics.contact.BatchContactConstraintSolver;
+import org.dyn4j.dynamics.contact.ContactAdapter;
+import org.dyn4j.dynamics.contact.SolvedContactPoint;
+import org.dyn4j.dynamics.joint.RevoluteJoint;
+import org.dyn4j.geometry.Geometry;
+import org.dyn4j.geometry.Mass;
+import org.dyn4j.geometry.Vector2;
+import org.junit.Test;
+
+/**
+ * Class used to test the {@link BatchContactConstraintSolver} class.
+ * @author William Bittle
+ * @version 3.2.0
+ * @since 3.2.0
+ */
+public class BatchContactConstraintSolverTest {
+	/**
+	 * Creates a world with a pyramid of boxes, a pile of circles and a chain
+	 * draped over the pyramid.
+	 * @param batch true if the batch solver should be used
+	 * @return {@link World}
+	 */
+	private World createWorld(boolean batch) {
+		World w = new World();
+		w.getSettings().setBatchContactSolverEnabled(batch);
+		
+		Body floor = new Body();
+		floor.addFixture(Geometry.createRectangle(50.0, 1.0));
+		floor.setMass(Mass.Type.INFINITE);
+		w.addBody(floor);
+		
+		// a pyramid of boxes (two point contacts)
+		int rows = 8;
+		for (int i = 0; i < rows; i++) {
+			for (int j = 0; j < rows - i; j++) {
+				Body box = new Body();
+				box.addFixture(Geometry.createSquare(1.0));
+				box.translate(-0.5 * (rows - i) + j * 1.0 + 0.5, 1.0 + i * 1.0);
+				box.setMass(Mass.Type.NORMAL);
+				w.addBody(box);
+			}
+		}
+		
+		// a pile of circles (single point contacts)
+		for (int i = 0; i < 20; i++) {
+			Body circle = new Body();
+			circle.addFixture(Geometry.createCircle(0.25), 1.0, 0.4, 0.2);
+			circle.translate(10.0 + (i % 5) * 0.45 + (i / 5) * 0.1, 1.0 + (i / 5) * 0.6);
+			circle.setMass(Mass.Type.NORMAL);
+			w.addBody(circle);
+		}
+		
+		// a chain falling onto the pyramid
+		Body previous = null;
+		for (int i = 0; i < 10; i++) {
+			Body link = new Body();
+			link.addFixture(Geometry.createRectangle(0.5, 0.125));
+			link.translate(-2.25 + i * 0.5, 10.0);
+			link.setMass(Mass.Type.NORMAL);
+			w.addBody(link);
+			if (previous != null) {
+				w.addJoint(new RevoluteJoint(previous, link, new Vector2(-2.5 + i * 0.5, 10.0)));
+			}
+			previous = link;
+		}
+		
+		return w;
+	}
+	
+	/**
+	 * Tests that the batch solver produces the same results as the default solver.
+	 */
+	@Test
+	public void equivalence() {
+		World w1 = this.createWorld(false);
+		World w2 = this.createWorld(true);
+		
+		// track the reported impulses
+		final double[] impulses = new double[2];
+		w1.addListener(new ContactAdapter() {
+			@Override
+			public void postSolve(SolvedContactPoint point) {
+				impulses[0] += point.getNormalImpulse() + point.getTangentialImpulse();
+			}
+		});
+		w2.addListener(new ContactAdapter() {
+			@Override
+			public void postSolve(SolvedContactPoint point) {
+				impulses[1] += point.getNormalImpulse() + point.getTangentialImpulse();
+			}
+		});
+		
+		List<Body> bodies1 = w1.getBodies();
+		List<Body> bodies2 = w2.getBodies();
+		for (int i = 0; i < 180; i++) {
+			w1.step(1);
+			w2.step(1);
+			
+			for (int j = 0; j < bodies1.size(); j++) {
+				Body b1 = bodies1.get(j);
+				Body b2 = bodies2.get(j);
+				TestCase.assertEquals(b1.getTransform().getTranslationX(), b2.getTransform().getTranslationX());
+				TestCase.assertEquals(b1.getTransform().getTranslationY(), b2.getTransform().getTranslationY());
+				TestCase.assertEquals(b1.getTransform().getRotation(), b2.getTransform().getRotation());
+				TestCase.assertEquals(b1.getLinearVelocity().x, b2.getLinearVelocity().x);
+				TestCase.assertEquals(b1.getLinearVelocity().y, b2.getLinearVelocity().y);
+				TestCase.assertEquals(b1.getAngularVelocity(), b2.getAngularVelocity());
+			}
+		}
+		
+		TestCase.assertTrue(impulses[0] > 0.0);
+		TestCase.assertEquals(impulses[0], impulses[1]);
+	}
+	
+	/**
+	 * Tests that the batch solver stops early with the velocity solver tolerance 
+	 * set the same as the default solver.
+	 */
+	@Test
+	public void equivalenceAdaptive() {
+		World w1 = this.createWorld(false);
+		World w2 = this.createWorld(true);
+		w1.getSettings().setVelocityConstraintSolverTolerance(1.0e-3);
+		w2.getSettings().setVelocityConstraintSolverTolerance(1.0e-3);
+		
+		final int[] iterations = new int[2];
+		w1.addListener(new IslandAdapter() {
+			@Override
+			public void solved(Step step, Island island) {
+				iterations[0] += island.getVelocityIterations();
+			}
+		});
+		w2.addListener(new IslandAdapter() {
+			@Override
+			public void solved(Step step, Island island) {
+				iterations[1] += island.getVelocityIterations();
+			}
+		});
+		
+		for (int i = 0; i < 120; i++) {
+			w1.step(1);
+			w2.step(1);
+		}
+		
+		TestCase.assertEquals(iterations[0], iterations[1]);
+		List<Body> bodies1 = w1.getBodies();
+		List<Body> bodies2 = w2.getBodies();
+		for (int j = 0; j < bodies1.size(); j++) {
+			TestCase.assertEquals(bodies1.get(j).getWorldCenter(), bodies2.get(j).getWorldCenter());
+		}
+	}
+}
@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2010-2014 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.dynamics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.dyn4j.collision.CategoryFilter;
+import org.dyn4j.geometry.Geometry;
+import org.dyn4j.geometry.Mass;
+import org.dyn4j.geometry.Vector2;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Class used to test the {@link BodyPool} class.
+ * @author William Bittle
+ * @version 3.2.0
+ * @since 3.2.0
+ */
+public class BodyPoolTest {
+	/** The template body */
+	private Body template;
+	
+	/**
+	 * Sets up the test.
+	 */
+	@Before
+	public void setup() {
+		this.template = new Body();
+		this.template.addFixture(Geometry.createCircle(0.1), 2.0, 0.3, 0.1);
+		this.template.addFixture(Geometry.createRectangle(0.5, 0.1));
+		this.template.getFixture(1).setFilter(new CategoryFilter(2, 4));
+		this.template.setMass(Mass.Type.NORMAL);
+		this.template.setBullet(true);
+		this.template.setLinearDamping(0.5);
+		this.template.setGravityScale(0.0);
+	}
+	
+	/**
+	 * Tests the successful creation of a pool.
+	 */
+	@Test
+	public void createSuccess() {
+		BodyPool pool = new BodyPool(this.template, 10);
+		TestCase.assertSame(this.template, pool.getTemplate());
+		TestCase.assertEquals(10, pool.getCapacity());
+		TestCase.assertEquals(0, pool.getSize());
+		
+		pool.fill(20);
+		TestCase.assertEquals(10, pool.getSize());
+		pool.clear();
+		TestCase.assertEquals(0, pool.getSize());
+	}
+	
+	/**
+	 * Tests the creation of a pool with a null template.
+	 */
+	@Test(expected = NullPointerException.class)
+	public void createNullTemplate() {
+		new BodyPool(null);
+	}
+	
+	/**
+	 * Tests the creation of a pool with a template without fixtures.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void createEmptyTemplate() {
+		new BodyPool(new Body());
+	}
+	
+	/**
+	 * Tests the creation of a pool with a negative capacity.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void createNegativeCapacity() {
+		new BodyPool(this.template, -1);
+	}
+	
+	/**
+	 * Tests that obtained bodies are copies of the template.
+	 */
+	@Test
+	public void obtain() {
+		BodyPool pool = new BodyPool(this.template);
+		Body body = pool.obtain();
+		
+		TestCase.assertNotSame(this.template, body);
+		TestCase.assertEquals(2, body.getFixtureCount());
+		TestCase.assertSame(this.template.getFixture(0).getShape(), body.getFixture(0).getShape());
+		TestCase.assertEquals(2.0, body.getFixture(0).getDensity());
+		TestCase.assertEquals(0.3, body.getFixture(0).getFriction());
+		TestCase.assertEquals(0.1, body.getFixture(0).getRestitution());
+		TestCase.assertSame(this.template.getFixture(1).getFilter(), body.getFixture(1).getFilter());
+		TestCase.assertEquals(this.template.getMass().getMass(), body.getMass().getMass());
+		TestCase.assertNotSame(this.template.getMass(), body.getMass());
+		TestCase.assertTrue(body.isBullet());
+		TestCase.assertEquals(0.5, body.getLinearDamping());
+		TestCase.assertEquals(0.0, body.getGravityScale());
+	}
+	
+	/**
+	 * Tests recycling bodies through a world.
+	 */
+	@Test
+	public void recycle() {
+		World world = new World();
+		BodyPool pool = new BodyPool(this.template);
+		
+		Body body = pool.obtain();
+		body.translate(1.0, 2.0);
+		body.setLinearVelocity(5.0, 0.0);
+		body.applyForce(new Vector2(1.0, 0.0));
+		body.getFixture(0).setFriction(0.9);
+		body.setBullet(false);
+		body.setUserData("bullet");
+		world.addBody(body);
+		world.step(1);
+		
+		TestCase.assertTrue(world.recycle(body));
+		TestCase.assertNull(body.getWorld());
+		TestCase.assertEquals(0, world.getBodyCount());
+		TestCase.assertEquals(1, pool.getSize());
+		
+		// the body should be reset to the template
+		Body reused = pool.obtain();
+		TestCase.assertSame(body, reused);
+		TestCase.assertEquals(0, pool.getSize());
+		TestCase.assertTrue(reused.getTransform().getTranslation().isZero());
+		TestCase.assertTrue(reused.getLinearVelocity().isZero());
+		TestCase.assertEquals(0.0, reused.getAngularVelocity());
+		TestCase.assertTrue(reused.getAccumulatedForce().isZero());
+		TestCase.assertEquals(0.3, reused.getFixture(0).getFriction());
+		TestCase.assertTrue(reused.isBullet());
+		TestCase.assertNull(reused.getUserData());
+		
+		// the body should be usable again
+		reused.translate(0.0, 1.0);
+		world.addBody(reused);
+		world.step(1);
+		TestCase.assertEquals(1, world.getBodyCount());
+		List<Body> bodies = new ArrayList<Body>();
+		TestCase.assertTrue(world.detect(reused.createAABB(), bodies));
+		TestCase.assertSame(reused, bodies.get(0));
+		
+		// recycling a body that isn't pooled just removes it
+		Body other = new Body();
+		other.addFixture(Geometry.createCircle(1.0));
+		world.addBody(other);
+		TestCase.assertTrue(world.recycle(other));
+		TestCase.assertFalse(world.recycle(other));
+		TestCase.assertEquals(0, pool.getSize());
+	}
+	
+	/**
+	 * Tests that the mass of a released body is reset to the template's.
+	 */
+	@Test
+	public void releaseMass() {
+		BodyPool pool = new BodyPool(this.template);
+		Mass mass = this.template.getMass();
+		
+		// set the mass directly
+		Body body = pool.obtain();
+		Mass other = new Mass(new Vector2(1.0, 1.0), 5.0, 2.0);
+		body.setMass(other);
+		TestCase.assertTrue(pool.release(body));
+		TestCase.assertSame(body, pool.obtain());
+		TestCase.assertEquals(mass, body.getMass());
+		TestCase.assertEquals(mass.getInverseMass(), body.getMass().getInverseMass());
+		TestCase.assertEquals(mass.getInverseInertia(), body.getMass().getInverseInertia());
+		TestCase.assertEquals(this.template.getRotationDiscRadius(), body.getRotationDiscRadius());
+		TestCase.assertNotSame(mass, body.getMass());
+		// the given mass should not be changed
+		TestCase.assertEquals(5.0, other.getMass());
+		
+		// change the density and recompute the mass
+		body.getFixture(0).setDensity(10.0);
+		body.setMass(Mass.Type.NORMAL);
+		TestCase.assertFalse(mass.getMass() == body.getMass().getMass());
+		TestCase.assertTrue(pool.release(body));
+		TestCase.assertSame(body, pool.obtain());
+		TestCase.assertEquals(2.0, body.getFixture(0).getDensity());
+		TestCase.assertEquals(mass, body.getMass());
+		TestCase.assertEquals(mass.getInertia(), body.getMass().getInertia());
+		TestCase.assertTrue(mass.getCenter().equals(body.getMass().getCenter()));
+	}
+	
+	/**
+	 * Tests releasing a body that was not obtained from the pool.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void releaseOtherBody() {
+		BodyPool pool = new BodyPool(this.template);
+		pool.release(new Body());
+	}
+	
+	/**
+	 * Tests releasing a body that is still in a world.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void releaseWorldBody() {
+		World world = new World();
+		BodyPool pool = new BodyPool(this.template);
+		Body body = pool.obtain();
+		world.addBody(body);
+		pool.release(body);
+	}
+	
+	/**
+	 * Tests releasing a body to a full pool.
+	 */
+	@Test
+	public void releaseFull() {
+		BodyPool pool = new BodyPool(this.template, 1);
+		Body body1 = pool.obtain();
+		Body body2 = pool.obtain();
+		TestCase.assertTrue(pool.release(body1));
+		TestCase.assertFalse(pool.release(body2));
+		TestCase.assertEquals(1, pool.getSize());
+	}
+}
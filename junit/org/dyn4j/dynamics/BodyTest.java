@@ -24,6 +24,7 @@
  */
 package org.dyn4j.dynamics;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import junit.framework.TestCase;
@@ -56,7 +57,7 @@ import org.junit.Test;
 /**
  * Class to test the {@link Body} class.
  * @author William Bittle
- * @version 3.1.8
+ * @version 3.2.0
  * @since 1.0.2
  */
 public class BodyTest {
@@ -757,6 +758,129 @@ public class BodyTest {
 		TestCase.assertTrue(b1.isConnected(b2, true));
 	}
 	
+	/**
+	 * Tests the is connected methods when the joined bodies are indexed.
+	 * @since 3.2.0
+	 */
+	@Test
+	public void isConnectedIndexed() {
+		World w = new World();
+		Body hub = new Body();
+		w.addBody(hub);
+		
+		int n = Body.ADJACENCY_THRESHOLD * 2;
+		List<Body> bodies = new ArrayList<Body>();
+		List<Joint> joints = new ArrayList<Joint>();
+		for (int i = 0; i < n; i++) {
+			Body b = new Body();
+			w.addBody(b);
+			Joint j = new DistanceJoint(hub, b, new Vector2(), new Vector2(1.0, 0.0));
+			// every other joint allows collision
+			j.setCollisionAllowed(i % 2 == 0);
+			w.addJoint(j);
+			bodies.add(b);
+			joints.add(j);
+		}
+		// a second joint to the first body
+		AngleJoint aj = new AngleJoint(hub, bodies.get(1));
+		aj.setCollisionAllowed(true);
+		w.addJoint(aj);
+		
+		TestCase.assertNotNull(hub.jointAdjacency);
+		TestCase.assertNull(bodies.get(0).jointAdjacency);
+		TestCase.assertFalse(hub.isConnected(null));
+		TestCase.assertFalse(hub.isConnected(new Body()));
+		TestCase.assertFalse(hub.isConnected(new Body(), false));
+		for (int i = 0; i < n; i++) {
+			Body b = bodies.get(i);
+			TestCase.assertTrue(hub.isConnected(b));
+			TestCase.assertTrue(b.isConnected(hub));
+			// the angle joint allows collision with the second body
+			boolean allowed = i % 2 == 0 || i == 1;
+			TestCase.assertEquals(allowed, hub.isConnected(b, true));
+			TestCase.assertEquals(!allowed, hub.isConnected(b, false));
+		}
+		
+		// removing joints should keep the index in sync
+		w.removeJoint(aj);
+		TestCase.assertTrue(hub.isConnected(bodies.get(1), false));
+		w.removeJoint(joints.get(0));
+		TestCase.assertFalse(hub.isConnected(bodies.get(0)));
+		TestCase.assertNotNull(hub.jointAdjacency);
+		
+		// removing a body removes its joints
+		w.removeBody(bodies.get(1));
+		TestCase.assertFalse(hub.isConnected(bodies.get(1)));
+		TestCase.assertTrue(hub.isConnected(bodies.get(2)));
+		
+		// the index is dropped when there are only a few joints left
+		for (int i = 2; i < n - 2; i++) {
+			w.removeJoint(joints.get(i));
+		}
+		TestCase.assertNull(hub.jointAdjacency);
+		TestCase.assertFalse(hub.isConnected(bodies.get(2)));
+		TestCase.assertTrue(hub.isConnected(bodies.get(n - 1)));
+		TestCase.assertTrue(hub.isConnected(bodies.get(n - 1), false));
+		
+		w.removeAllJoints();
+		TestCase.assertNull(hub.jointAdjacency);
+		TestCase.assertFalse(hub.isConnected(bodies.get(n - 1)));
+	}
+	
+	/**
+	 * Tests the is in contact method when the bodies in contact are indexed.
+	 * @since 3.2.0
+	 */
+	@Test
+	public void isInContactIndexed() {
+		World w = new World();
+		Body floor = new Body();
+		floor.addFixture(Geometry.createRectangle(60.0, 1.0));
+		floor.setMass(Mass.Type.INFINITE);
+		w.addBody(floor);
+		
+		int n = Body.ADJACENCY_THRESHOLD * 2;
+		List<Body> bodies = new ArrayList<Body>();
+		for (int i = 0; i < n; i++) {
+			Body b = new Body();
+			b.addFixture(Geometry.createSquare(1.0));
+			b.setMass(Mass.Type.NORMAL);
+			b.translate(-25.0 + i * 1.5, 0.99);
+			w.addBody(b);
+			bodies.add(b);
+		}
+		Body other = new Body();
+		other.addFixture(Geometry.createSquare(1.0));
+		other.translate(0.0, 10.0);
+		w.addBody(other);
+		w.step(1);
+		
+		TestCase.assertNotNull(floor.contactAdjacency);
+		TestCase.assertFalse(floor.isInContact(null));
+		TestCase.assertFalse(floor.isInContact(other));
+		for (int i = 0; i < n; i++) {
+			Body b = bodies.get(i);
+			TestCase.assertTrue(floor.isInContact(b));
+			TestCase.assertTrue(b.isInContact(floor));
+			TestCase.assertFalse(b.isInContact(other));
+		}
+		
+		// removing a body removes its contacts
+		w.removeBody(bodies.get(0));
+		TestCase.assertFalse(floor.isInContact(bodies.get(0)));
+		TestCase.assertTrue(floor.isInContact(bodies.get(1)));
+		
+		// the index should be rebuilt as the contacts are detected
+		w.step(1);
+		TestCase.assertNotNull(floor.contactAdjacency);
+		TestCase.assertEquals(n - 1, floor.contactAdjacency.size());
+		TestCase.assertTrue(floor.isInContact(bodies.get(1)));
+		
+		w.removeAllBodies();
+		TestCase.assertNull(floor.contactAdjacency);
+		TestCase.assertFalse(floor.isInContact(bodies.get(1)));
+	}
+	
 	/**
 	 * Tests the set velocity method passing a null value.
 	 */
@@ -1093,6 +1217,89 @@ public class BodyTest {
 		TestCase.assertEquals(-0.5, aabb.getMinY());
 	}
 	
+	/**
+	 * Tests the cached get AABB method.
+	 * @since 3.2.0
+	 */
+	@Test
+	public void getAABB() {
+		Body b = new Body();
+		b.addFixture(Geometry.createCircle(0.5));
+		
+		// the same instance should be returned if nothing changed
+		AABB aabb = b.getAABB();
+		TestCase.assertSame(aabb, b.getAABB());
+		TestCase.assertEquals(0.5, aabb.getMaxX());
+		TestCase.assertEquals(-0.5, aabb.getMinX());
+		
+		// create aabb should return a copy
+		AABB copy = b.createAABB();
+		TestCase.assertNotSame(aabb, copy);
+		TestCase.assertEquals(aabb.getMinX(), copy.getMinX());
+		TestCase.assertEquals(aabb.getMaxY(), copy.getMaxY());
+		
+		// changing the transform should update the aabb
+		b.translate(1.0, 0.0);
+		aabb = b.getAABB();
+		TestCase.assertEquals(1.5, aabb.getMaxX());
+		TestCase.assertEquals(0.5, aabb.getMinX());
+		
+		// so should modifying the transform directly
+		b.getTransform().setTranslationY(2.0);
+		aabb = b.getAABB();
+		TestCase.assertEquals(2.5, aabb.getMaxY());
+		TestCase.assertEquals(1.5, aabb.getMinY());
+		
+		// adding a fixture should update the aabb
+		BodyFixture bf = b.addFixture(Geometry.createRectangle(1.0, 1.0));
+		aabb = b.getAABB();
+		TestCase.assertEquals(1.5, aabb.getMaxX());
+		
+		// modifying a shape requires the aabb to be invalidated
+		bf.getShape().translate(-1.0, 0.0);
+		b.invalidateAABB();
+		aabb = b.getAABB();
+		TestCase.assertEquals(-0.5, aabb.getMinX());
+		
+		// removing a fixture should update the aabb
+		b.removeFixture(bf);
+		aabb = b.getAABB();
+		TestCase.assertEquals(0.5, aabb.getMinX());
+		
+		// the swept aabb should be cached as well
+		AABB swept = b.getSweptAABB();
+		TestCase.assertSame(swept, b.getSweptAABB());
+		TestCase.assertNotSame(swept, b.createSweptAABB());
+	}
+	
+	/**
+	 * Tests that the cached AABBs are updated after removing all fixtures.
+	 * @since 3.2.0
+	 */
+	@Test
+	public void getAABBRemoveAllFixtures() {
+		Body b = new Body();
+		b.addFixture(Geometry.createCircle(0.5));
+		b.addFixture(Geometry.createRectangle(3.0, 1.0));
+		
+		AABB aabb = b.getAABB();
+		TestCase.assertEquals(1.5, aabb.getMaxX());
+		TestCase.assertEquals(-1.5, aabb.getMinX());
+		b.setDetected();
+		TestCase.assertTrue(b.isDetected());
+		
+		// removing all the fixtures should update the aabb
+		b.removeAllFixtures();
+		aabb = b.getAABB();
+		TestCase.assertEquals(0.0, aabb.getMaxX());
+		TestCase.assertEquals(0.0, aabb.getMinX());
+		TestCase.assertEquals(0.0, aabb.getMaxY());
+		TestCase.assertEquals(0.0, aabb.getMinY());
+		
+		// and require the body to be detected again
+		TestCase.assertFalse(b.isDetected());
+	}
+	
 	/**
 	 * Tests the create get accumulated force method.
 	 * @since 3.0.2
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2010-2014 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.dynamics;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import junit.framework.TestCase;
+
+import org.dyn4j.dynamics.contact.ContactConstraint;
+import org.dyn4j.dynamics.contact.ContactConstraintSolver;
+import org.dyn4j.dynamics.joint.Joint;
+import org.dyn4j.dynamics.joint.RevoluteJoint;
+import org.dyn4j.geometry.Geometry;
+import org.dyn4j.geometry.Mass;
+import org.dyn4j.geometry.Transform;
+import org.dyn4j.geometry.Vector2;
+import org.junit.Test;
+
+/**
+ * Class used to test the {@link ColoredConstraintSolver} class.
+ * @author William Bittle
+ * @version 3.2.0
+ * @since 3.2.0
+ */
+public class ColoredConstraintSolverTest {
+	/**
+	 * Creates a pyramid world.
+	 * @param threads the number of solver threads
+	 * @return {@link World}
+	 */
+	private World createPyramidWorld(int threads) {
+		World w = new World();
+		w.getSettings().setParallelSolverThreadCount(threads);
+		w.getSettings().setParallelSolverThreshold(0);
+		
+		Body floor = new Body();
+		floor.addFixture(Geometry.createRectangle(50.0, 1.0));
+		floor.setMass(Mass.Type.INFINITE);
+		w.addBody(floor);
+		
+		int rows = 10;
+		for (int i = 0; i < rows; i++) {
+			for (int j = 0; j < rows - i; j++) {
+				Body box = new Body();
+				box.addFixture(Geometry.createSquare(1.0));
+				box.translate(-0.5 * (rows - i) + j * 1.0 + 0.5, 1.0 + i * 1.0);
+				box.setMass(Mass.Type.NORMAL);
+				w.addBody(box);
+			}
+		}
+		
+		return w;
+	}
+	
+	/**
+	 * Tests that no two constraints of the same color share a dynamic body.
+	 */
+	@Test
+	public void color() {
+		World w = new World();
+		
+		Body ground = new Body();
+		ground.addFixture(Geometry.createRectangle(10.0, 1.0));
+		ground.setMass(Mass.Type.INFINITE);
+		
+		// create a chain of bodies each also attached to the ground
+		List<Joint> joints = new ArrayList<Joint>();
+		Body prev = null;
+		for (int i = 0; i < 20; i++) {
+			Body b = new Body();
+			b.addFixture(Geometry.createCircle(0.5));
+			b.translate(i, 0.0);
+			b.setMass(Mass.Type.NORMAL);
+			if (prev != null) {
+				joints.add(new RevoluteJoint(prev, b, new Vector2(i - 0.5, 0.0)));
+			}
+			joints.add(new RevoluteJoint(ground, b, new Vector2(i, 0.0)));
+			prev = b;
+		}
+		
+		ColoredConstraintSolver solver = new ColoredConstraintSolver(new ContactConstraintSolver(w));
+		solver.color(new ArrayList<ContactConstraint>(), joints);
+		
+		// the chain only needs a few colors
+		int colors = solver.getColorCount();
+		TestCase.assertTrue(colors >= 2);
+		TestCase.assertTrue(colors <= 4);
+		
+		// the joints attached to the static body are solved sequentially
+		int sequential = solver.getConstraintCount(ColoredConstraintSolver.MAXIMUM_COLORS);
+		TestCase.assertEquals(20, sequential);
+		for (int i = 0; i < sequential; i++) {
+			Constraint c = solver.getConstraint(ColoredConstraintSolver.MAXIMUM_COLORS, i);
+			TestCase.assertSame(ground, c.body1);
+		}
+		
+		int total = sequential;
+		for (int i = 0; i < colors; i++) {
+			Set<Body> bodies = new HashSet<Body>();
+			int n = solver.getConstraintCount(i);
+			for (int j = 0; j < n; j++) {
+				Constraint c = solver.getConstraint(i, j);
+				if (c.body1.isDynamic()) TestCase.assertTrue(bodies.add(c.body1));
+				if (c.body2.isDynamic()) TestCase.assertTrue(bodies.add(c.body2));
+			}
+			total += n;
+		}
+		TestCase.assertEquals(joints.size(), total);
+	}
+	
+	/**
+	 * Tests that bodies with infinite mass are not modified by the parallel solver.
+	 */
+	@Test
+	public void solveStatic() {
+		World w = this.createPyramidWorld(4);
+		Body floor = w.getBody(0);
+		// move the floor off the origin
+		floor.translate(0.1, -0.3);
+		floor.rotateAboutCenter(0.01);
+		Transform tx = floor.getTransform().copy();
+		
+		for (int i = 0; i < 60; i++) {
+			w.step(1);
+			Transform t = floor.getTransform();
+			TestCase.assertEquals(tx.getTranslationX(), t.getTranslationX());
+			TestCase.assertEquals(tx.getTranslationY(), t.getTranslationY());
+			TestCase.assertEquals(tx.getCost(), t.getCost());
+			TestCase.assertEquals(tx.getSint(), t.getSint());
+		}
+		
+		w.island.coloredConstraintSolver.shutdown();
+	}
+	
+	/**
+	 * Tests that the parallel solver produces a similar simulation to the
+	 * sequential solver.
+	 */
+	@Test
+	public void solve() {
+		World w1 = this.createPyramidWorld(1);
+		World w2 = this.createPyramidWorld(4);
+		
+		for (int i = 0; i < 120; i++) {
+			w1.step(1);
+			w2.step(1);
+		}
+		
+		// the solve order differs so the results are not identical, but
+		// the pyramid should be resting in the same configuration
+		for (int i = 0; i < w1.getBodyCount(); i++) {
+			Body b1 = w1.getBody(i);
+			Body b2 = w2.getBody(i);
+			TestCase.assertEquals(b1.getWorldCenter().x, b2.getWorldCenter().x, 0.05);
+			TestCase.assertEquals(b1.getWorldCenter().y, b2.getWorldCenter().y, 0.05);
+		}
+		
+		Island island = w2.island;
+		island.coloredConstraintSolver.shutdown();
+	}
+}
@@ -30,11 +30,15 @@ import java.util.List;
 import junit.framework.TestCase;
 
 import org.dyn4j.collision.manifold.ClippingManifoldSolver;
+import org.dyn4j.collision.manifold.IndexedManifoldPointId;
 import org.dyn4j.collision.manifold.Manifold;
 import org.dyn4j.collision.manifold.ManifoldPoint;
 import org.dyn4j.collision.manifold.ManifoldPointId;
 import org.dyn4j.collision.narrowphase.Gjk;
 import org.dyn4j.collision.narrowphase.Penetration;
+import org.dyn4j.dynamics.contact.ContactBatch;
+import org.dyn4j.dynamics.contact.ContactBatchAdapter;
+import org.dyn4j.dynamics.contact.ContactBatchListener;
 import org.dyn4j.dynamics.contact.ContactConstraint;
 import org.dyn4j.dynamics.contact.ContactListener;
 import org.dyn4j.dynamics.contact.ContactManager;
@@ -43,6 +47,7 @@ import org.dyn4j.dynamics.contact.PersistedContactPoint;
 import org.dyn4j.dynamics.contact.SolvedContactPoint;
 import org.dyn4j.geometry.Convex;
 import org.dyn4j.geometry.Geometry;
+import org.dyn4j.geometry.Mass;
 import org.dyn4j.geometry.Vector2;
 import org.junit.Before;
 import org.junit.Test;
@@ -50,10 +55,13 @@ import org.junit.Test;
 /**
  * Used to test the {@link ContactManager} class.
  * @author William Bittle
- * @version 3.1.5
+ * @version 3.2.0
  * @since 1.0.2
  */
 public class ContactManagerTest {
+	/** The world */
+	private World world;
+	
 	/** The contact manager */
 	private ContactManager contactManager;
 	
@@ -112,6 +120,7 @@ public class ContactManagerTest {
 	@Before
 	public void setup() {
 		World world = new World();
+		this.world = world;
 		this.contactManager = world.getContactManager();
 		
 		this.contactListener = new CMTContactListener();
@@ -377,6 +386,228 @@ public class ContactManagerTest {
 		TestCase.assertEquals(2, this.contactListener.postSolve);
 	}
 	
+	/**
+	 * Contact batch listener class for testing.
+	 * @author William Bittle
+	 * @version 3.2.0
+	 * @since 3.2.0
+	 */
+	public class CMTContactBatchListener extends ContactBatchAdapter {
+		/** The requested event types */
+		public int types;
+		/** The number of contacts added */
+		public int added;
+		/** The number of contacts removed */
+		public int removed;
+		/** The number of contacts persisted */
+		public int persisted;
+		/** The number of contacts sensed */
+		public int sensed;
+		/** The number of contacts that were solved */
+		public int postSolve;
+		/** The number of groups (contact constraints) sensed */
+		public int sensedGroups;
+		
+		/**
+		 * Full constructor.
+		 * @param types the requested event types
+		 */
+		public CMTContactBatchListener(int types) { this.types = types; }
+		
+		@Override
+		public int getEventTypes() { return this.types; }
+		@Override
+		public void begin(ContactBatch batch) { this.added += batch.getContactCount(); }
+		@Override
+		public void end(ContactBatch batch) { this.removed += batch.getContactCount(); }
+		@Override
+		public void persist(ContactBatch batch) { this.persisted += batch.getContactCount(); }
+		@Override
+		public void postSolve(ContactBatch batch) { this.postSolve += batch.getContactCount(); }
+		@Override
+		public void sensed(ContactBatch batch) {
+			this.sensedGroups += batch.getConstraintCount();
+			// verify the grouping
+			for (int i = 0; i < batch.getConstraintCount(); i++) {
+				for (int j = 0; j < batch.getContactCount(i); j++) {
+					TestCase.assertTrue(batch.getConstraint(i).getContacts().contains(batch.getContact(i, j)));
+					this.sensed++;
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Tests the update contacts method with contact batch listeners.
+	 * @since 3.2.0
+	 */
+	@Test
+	public void updateContactsBatch() {
+		CMTContactBatchListener all = new CMTContactBatchListener(ContactBatchListener.ALL);
+		CMTContactBatchListener begin = new CMTContactBatchListener(ContactBatchListener.BEGIN);
+		this.world.addListener(all);
+		this.world.addListener(begin);
+		
+		// call the update contacts method
+		this.contactManager.updateContacts();
+		this.contactManager.preSolveNotify();
+		this.contactManager.postSolveNotify();
+		
+		// the batches should contain the same contacts as the
+		// contact listener was notified of
+		TestCase.assertEquals(this.contactListener.persisted, all.persisted);
+		TestCase.assertEquals(this.contactListener.added, all.added);
+		TestCase.assertEquals(this.contactListener.removed, all.removed);
+		TestCase.assertEquals(this.contactListener.sensed, all.sensed);
+		TestCase.assertEquals(this.contactListener.postSolve, all.postSolve);
+		// the ones between b2 and b1, b3, and b4
+		TestCase.assertEquals(3, all.sensedGroups);
+		
+		// only the requested event types should be delivered
+		TestCase.assertEquals(this.contactListener.added, begin.added);
+		TestCase.assertEquals(0, begin.persisted);
+		TestCase.assertEquals(0, begin.removed);
+		TestCase.assertEquals(0, begin.sensed);
+		TestCase.assertEquals(0, begin.postSolve);
+	}
+	
+	/**
+	 * Tests the contact batch listeners without any contact listeners.
+	 * @since 3.2.0
+	 */
+	@Test
+	public void updateContactsBatchOnly() {
+		World w = new World();
+		CMTContactBatchListener listener = new CMTContactBatchListener(ContactBatchListener.ALL);
+		w.addListener(listener);
+		
+		Body floor = new Body();
+		floor.addFixture(Geometry.createRectangle(10.0, 1.0));
+		floor.setMass(Mass.Type.INFINITE);
+		w.addBody(floor);
+		
+		Body box = new Body();
+		box.addFixture(Geometry.createSquare(1.0));
+		box.setMass(Mass.Type.NORMAL);
+		box.translate(0.0, 0.99);
+		w.addBody(box);
+		
+		w.step(1);
+		TestCase.assertEquals(2, listener.added);
+		
+		listener.added = 0;
+		listener.persisted = 0;
+		listener.postSolve = 0;
+		w.step(10);
+		TestCase.assertEquals(0, listener.added);
+		TestCase.assertEquals(20, listener.persisted);
+		TestCase.assertEquals(20, listener.postSolve);
+		
+		box.translate(0.0, 5.0);
+		w.step(1);
+		TestCase.assertEquals(2, listener.removed);
+	}
+	
+	/**
+	 * Tests that resting contacts are persisted each step using the in place cache.
+	 * @since 3.2.0
+	 */
+	@Test
+	public void updateContactsResting() {
+		World w = new World();
+		CMTContactListener listener = new CMTContactListener();
+		w.addListener(listener);
+		
+		Body floor = new Body();
+		floor.addFixture(Geometry.createRectangle(10.0, 1.0));
+		floor.setMass(Mass.Type.INFINITE);
+		w.addBody(floor);
+		
+		Body box = new Body();
+		box.addFixture(Geometry.createSquare(1.0));
+		box.setMass(Mass.Type.NORMAL);
+		box.translate(0.0, 0.99);
+		w.addBody(box);
+		
+		// the first step begins the contacts
+		w.step(1);
+		TestCase.assertEquals(2, listener.added);
+		
+		// the following steps should persist the same contacts
+		listener.clear();
+		w.step(10);
+		TestCase.assertEquals(0, listener.added);
+		TestCase.assertEquals(0, listener.removed);
+		TestCase.assertEquals(20, listener.persisted);
+		TestCase.assertFalse(w.getContactManager().isCacheEmpty());
+		
+		// moving the box away should end the contacts and empty the cache
+		listener.clear();
+		box.translate(0.0, 5.0);
+		box.setLinearVelocity(0.0, 0.0);
+		w.step(1);
+		TestCase.assertEquals(2, listener.removed);
+		TestCase.assertTrue(w.getContactManager().isCacheEmpty());
+	}
+	
+	/**
+	 * Tests that the contact constraints of a resting pair are reused instead of created each step.
+	 * @since 3.2.0
+	 */
+	@Test
+	public void createReuse() {
+		World w = new World();
+		CMTContactListener listener = new CMTContactListener();
+		w.addListener(listener);
+		
+		Body floor = new Body();
+		floor.addFixture(Geometry.createRectangle(10.0, 1.0));
+		floor.setMass(Mass.Type.INFINITE);
+		w.addBody(floor);
+		
+		Body box = new Body();
+		box.addFixture(Geometry.createSquare(1.0));
+		box.setMass(Mass.Type.NORMAL);
+		box.translate(0.0, 0.99);
+		w.addBody(box);
+		
+		// the first two steps create the two instances
+		w.step(1);
+		ContactConstraint cc1 = box.contacts.get(0).getContactConstraint();
+		w.step(1);
+		ContactConstraint cc2 = box.contacts.get(0).getContactConstraint();
+		TestCase.assertNotSame(cc1, cc2);
+		
+		// the following steps alternate between them
+		listener.clear();
+		w.step(1);
+		TestCase.assertSame(cc1, box.contacts.get(0).getContactConstraint());
+		w.step(1);
+		TestCase.assertSame(cc2, box.contacts.get(0).getContactConstraint());
+		
+		// the reused contact constraints are still warm started
+		TestCase.assertEquals(0, listener.added);
+		TestCase.assertEquals(4, listener.persisted);
+		TestCase.assertEquals(2, cc2.getContacts().size());
+		TestCase.assertTrue(cc2.getContacts().get(0).getNormalImpulse() > 0.0);
+	}
+	
+	/**
+	 * Tests the primitive keys of indexed manifold point ids.
+	 * @since 3.2.0
+	 */
+	@Test
+	public void indexedManifoldPointIdKey() {
+		IndexedManifoldPointId id1 = new IndexedManifoldPointId(1, 2, 3, false);
+		IndexedManifoldPointId id2 = new IndexedManifoldPointId(1, 2, 3, false);
+		IndexedManifoldPointId id3 = new IndexedManifoldPointId(1, 2, 3, true);
+		IndexedManifoldPointId id4 = new IndexedManifoldPointId(3, 2, 1, false);
+		
+		TestCase.assertEquals(id1.getKey(), id2.getKey());
+		TestCase.assertFalse(id1.getKey() == id3.getKey());
+		TestCase.assertFalse(id1.getKey() == id4.getKey());
+	}
+	
 	/**
 	 * Tests the creation of the contact manager with a null capacity.
 	 * @since 3.1.1
@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2010-2014 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.dynamics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.dyn4j.collision.manifold.IndexedManifoldPointId;
+import org.dyn4j.collision.manifold.Manifold;
+import org.dyn4j.collision.manifold.ManifoldPoint;
+import org.dyn4j.dynamics.contact.Contact;
+import org.dyn4j.dynamics.contact.ContactConstraint;
+import org.dyn4j.dynamics.contact.ContactPoint;
+import org.dyn4j.dynamics.contact.ContactReducer;
+import org.dyn4j.geometry.Geometry;
+import org.dyn4j.geometry.Mass;
+import org.dyn4j.geometry.Vector2;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Class used to test the {@link ContactReducer} class.
+ * @author William Bittle
+ * @version 3.2.0
+ * @since 3.2.0
+ */
+public class ContactReducerTest {
+	/** The world */
+	private World world;
+	
+	/** The first body */
+	private Body body1;
+	
+	/** The second body */
+	private Body body2;
+	
+	/** The contact reducer */
+	private ContactReducer reducer;
+	
+	/**
+	 * Sets up the test.
+	 */
+	@Before
+	public void setup() {
+		this.world = new World();
+		this.body1 = new Body();
+		this.body1.addFixture(Geometry.createUnitCirclePolygon(5, 0.5));
+		this.body1.setMass(Mass.Type.NORMAL);
+		this.body2 = new Body();
+		this.body2.addFixture(Geometry.createUnitCirclePolygon(5, 0.5));
+		this.body2.setMass(Mass.Type.INFINITE);
+		this.reducer = new ContactReducer();
+	}
+	
+	/**
+	 * Creates a contact constraint between the test bodies with two points.
+	 * @param normal the normal
+	 * @param x1 the x coordinate of the first point
+	 * @param x2 the x coordinate of the second point
+	 * @param depth1 the depth of the first point
+	 * @param depth2 the depth of the second point
+	 * @return {@link ContactConstraint}
+	 */
+	private ContactConstraint create(Vector2 normal, double x1, double x2, double depth1, double depth2) {
+		List<ManifoldPoint> points = new ArrayList<ManifoldPoint>();
+		points.add(new ManifoldPoint(new IndexedManifoldPointId(0, 1, 0), new Vector2(x1, 0.0), depth1));
+		points.add(new ManifoldPoint(new IndexedManifoldPointId(0, 1, 1), new Vector2(x2, 0.0), depth2));
+		Manifold manifold = new Manifold(points, normal);
+		return new ContactConstraint(this.body1, this.body1.getFixture(0), this.body2, this.body2.getFixture(0), manifold, this.world);
+	}
+	
+	/**
+	 * Tests that groups at or below the maximum are not reduced.
+	 */
+	@Test
+	public void reduceUnderMaximum() {
+		List<ContactConstraint> constraints = new ArrayList<ContactConstraint>();
+		constraints.add(this.create(new Vector2(0.0, 1.0), 0.0, 1.0, 0.01, 0.01));
+		constraints.add(this.create(new Vector2(0.0, 1.0), 2.0, 3.0, 0.01, 0.01));
+		
+		TestCase.assertEquals(0, this.reducer.reduce(constraints, 4));
+		TestCase.assertEquals(2, constraints.size());
+		TestCase.assertEquals(2, constraints.get(0).getContacts().size());
+		TestCase.assertEquals(2, constraints.get(1).getContacts().size());
+	}
+	
+	/**
+	 * Tests that the deepest point and the extreme points are kept.
+	 */
+	@Test
+	public void reduce() {
+		List<ContactConstraint> constraints = new ArrayList<ContactConstraint>();
+		Vector2 n = new Vector2(0.0, 1.0);
+		constraints.add(this.create(n, 0.0, 1.0, 0.01, 0.01));
+		constraints.add(this.create(n, 1.0, 2.0, 0.01, 0.05));
+		constraints.add(this.create(n, 2.0, 3.0, 0.01, 0.01));
+		constraints.add(this.create(n, 3.0, 4.0, 0.01, 0.01));
+		
+		TestCase.assertEquals(6, this.reducer.reduce(constraints, 2));
+		
+		// only the deepest (x = 2) and the farthest from it (x = 0) should remain
+		List<Vector2> points = new ArrayList<Vector2>();
+		for (ContactConstraint cc : constraints) {
+			TestCase.assertFalse(cc.getContacts().isEmpty());
+			for (Contact c : cc.getContacts()) {
+				points.add(c.getPoint());
+			}
+		}
+		TestCase.assertEquals(2, points.size());
+		TestCase.assertEquals(2, constraints.size());
+		TestCase.assertEquals(2.0, points.get(1).x);
+		TestCase.assertEquals(0.0, points.get(0).x);
+	}
+	
+	/**
+	 * Tests that constraints with different normals are reduced separately.
+	 */
+	@Test
+	public void reduceGroups() {
+		List<ContactConstraint> constraints = new ArrayList<ContactConstraint>();
+		Vector2 n1 = new Vector2(0.0, 1.0);
+		Vector2 n2 = new Vector2(1.0, 0.0);
+		constraints.add(this.create(n1, 0.0, 1.0, 0.01, 0.01));
+		constraints.add(this.create(n2, 0.0, 1.0, 0.01, 0.01));
+		constraints.add(this.create(n1, 2.0, 3.0, 0.01, 0.01));
+		constraints.add(this.create(n2, 2.0, 3.0, 0.01, 0.01));
+		
+		// each group has 4 points
+		TestCase.assertEquals(0, this.reducer.reduce(constraints, 4));
+		TestCase.assertEquals(4, this.reducer.reduce(constraints, 2));
+		
+		int count1 = 0;
+		int count2 = 0;
+		for (ContactConstraint cc : constraints) {
+			if (cc.getNormal().equals(n1)) {
+				count1 += cc.getContacts().size();
+			} else {
+				count2 += cc.getContacts().size();
+			}
+		}
+		TestCase.assertEquals(2, count1);
+		TestCase.assertEquals(2, count2);
+	}
+	
+	/**
+	 * Tests that sensor constraints are not reduced.
+	 */
+	@Test
+	public void reduceSensor() {
+		this.body1.getFixture(0).setSensor(true);
+		List<ContactConstraint> constraints = new ArrayList<ContactConstraint>();
+		Vector2 n = new Vector2(0.0, 1.0);
+		constraints.add(this.create(n, 0.0, 1.0, 0.01, 0.01));
+		constraints.add(this.create(n, 2.0, 3.0, 0.01, 0.01));
+		
+		TestCase.assertEquals(0, this.reducer.reduce(constraints, 2));
+		TestCase.assertEquals(2, constraints.size());
+	}
+	
+	/**
+	 * Tests that a compound body resting on the ground is reduced to the
+	 * maximum number of points and remains at rest.
+	 */
+	@Test
+	public void reduceWorld() {
+		for (int k = 0; k < 2; k++) {
+			boolean enabled = k == 1;
+			World w = new World();
+			w.getSettings().setContactReductionEnabled(enabled);
+			
+			Body floor = new Body();
+			floor.addFixture(Geometry.createRectangle(20.0, 1.0));
+			floor.setMass(Mass.Type.INFINITE);
+			w.addBody(floor);
+			
+			// a crate made of a row of 12 boxes
+			Body crate = new Body();
+			for (int i = 0; i < 12; i++) {
+				BodyFixture bf = crate.addFixture(Geometry.createSquare(0.5));
+				bf.getShape().translate(-2.75 + i * 0.5, 0.0);
+			}
+			crate.setMass(Mass.Type.NORMAL);
+			crate.translate(0.0, 0.75);
+			w.addBody(crate);
+			
+			for (int i = 0; i < 120; i++) {
+				w.step(1);
+			}
+			
+			int count = 0;
+			for (ContactPoint cp : crate.getContacts(false)) {
+				if (cp != null) count++;
+			}
+			if (enabled) {
+				TestCase.assertTrue(count <= w.getSettings().getContactReductionPointCount());
+				TestCase.assertTrue(count >= 2);
+			} else {
+				TestCase.assertTrue(count > w.getSettings().getContactReductionPointCount());
+			}
+			
+			// the crate should be at rest on the floor
+			TestCase.assertEquals(0.75, crate.getWorldCenter().y, 0.02);
+			TestCase.assertEquals(0.0, crate.getTransform().getRotation(), 0.01);
+		}
+	}
+}
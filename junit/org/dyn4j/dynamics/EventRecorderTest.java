@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2010-2014 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.dynamics;
+
+import junit.framework.TestCase;
+
+import org.dyn4j.geometry.Geometry;
+import org.dyn4j.geometry.Mass;
+import org.junit.Test;
+
+/**
+ * Class used to test the {@link EventRecorder} class.
+ * @author William Bittle
+ * @version 3.2.0
+ * @since 3.2.0
+ */
+public class EventRecorderTest {
+	/**
+	 * Creates a world with a box resting on a floor.
+	 * @return {@link World}
+	 */
+	private World createWorld() {
+		World w = new World();
+		
+		Body floor = new Body();
+		floor.addFixture(Geometry.createRectangle(10.0, 1.0));
+		floor.setMass(Mass.Type.INFINITE);
+		w.addBody(floor);
+		
+		Body box = new Body();
+		box.addFixture(Geometry.createSquare(1.0));
+		box.setMass(Mass.Type.NORMAL);
+		box.translate(0.0, 0.99);
+		w.addBody(box);
+		
+		return w;
+	}
+	
+	/**
+	 * Tests the successful creation.
+	 */
+	@Test
+	public void createSuccess() {
+		EventRecorder er = new EventRecorder(100);
+		TestCase.assertEquals(128, er.getCapacity());
+		TestCase.assertEquals(RecordedEvent.ALL, er.getTypes());
+		TestCase.assertTrue(er.isEmpty());
+		TestCase.assertEquals(0, er.size());
+		
+		er = new EventRecorder(64, RecordedEvent.STEP_END);
+		TestCase.assertEquals(64, er.getCapacity());
+		TestCase.assertEquals(0, er.getEventTypes());
+	}
+	
+	/**
+	 * Tests the creation with an invalid capacity.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void createInvalidCapacity() {
+		new EventRecorder(0);
+	}
+	
+	/**
+	 * Tests recording the events of a world.
+	 */
+	@Test
+	public void record() {
+		World w = this.createWorld();
+		EventRecorder er = new EventRecorder(256);
+		w.addListener(er);
+		
+		w.step(3);
+		
+		int begin = 0;
+		int persist = 0;
+		int postSolve = 0;
+		int stepEnd = 0;
+		RecordedEvent event = new RecordedEvent();
+		while (er.poll(event)) {
+			switch (event.getType()) {
+				case RecordedEvent.CONTACT_BEGIN:
+					begin++;
+					TestCase.assertNotNull(event.getBody1());
+					TestCase.assertNotNull(event.getBody2());
+					TestCase.assertTrue(event.getDepth() > 0.0);
+					break;
+				case RecordedEvent.CONTACT_PERSIST:
+					persist++;
+					break;
+				case RecordedEvent.CONTACT_POST_SOLVE:
+					postSolve++;
+					TestCase.assertTrue(event.getNormalImpulse() > 0.0);
+					break;
+				case RecordedEvent.STEP_END:
+					stepEnd++;
+					TestCase.assertEquals(w.getStep().getDeltaTime(), event.getTime());
+					break;
+				default:
+					break;
+			}
+		}
+		
+		TestCase.assertEquals(2, begin);
+		TestCase.assertTrue(persist > 0);
+		TestCase.assertEquals(6, postSolve);
+		TestCase.assertEquals(3, stepEnd);
+		TestCase.assertTrue(er.isEmpty());
+		TestCase.assertEquals(0, er.getDroppedCount());
+		
+		// test body destruction
+		w.removeAllBodies(true);
+		TestCase.assertTrue(er.poll(event));
+	}
+	
+	/**
+	 * Tests the overflow of the buffer.
+	 */
+	@Test
+	public void overflow() {
+		World w = this.createWorld();
+		EventRecorder er = new EventRecorder(4);
+		w.addListener(er);
+		
+		w.step(3);
+		
+		TestCase.assertEquals(4, er.size());
+		TestCase.assertTrue(er.getDroppedCount() > 0);
+		TestCase.assertEquals(4, er.getRecordedCount());
+		
+		// after consuming, events can be recorded again
+		RecordedEvent event = new RecordedEvent();
+		while (er.poll(event));
+		w.step(1);
+		TestCase.assertEquals(4, er.size());
+	}
+	
+	/**
+	 * Tests consuming the events on another thread.
+	 * @throws InterruptedException if the test is interrupted
+	 */
+	@Test
+	public void concurrent() throws InterruptedException {
+		final EventRecorder er = new EventRecorder(64, RecordedEvent.STEP_END);
+		final int n = 100000;
+		final boolean[] failed = new boolean[1];
+		
+		Thread consumer = new Thread() {
+			public void run() {
+				RecordedEvent event = new RecordedEvent();
+				int i = 0;
+				while (i < n) {
+					if (er.poll(event)) {
+						// the events should be received in order
+						if (event.getTime() != i) failed[0] = true;
+						i++;
+					} else {
+						Thread.yield();
+					}
+				}
+			}
+		};
+		consumer.start();
+		
+		// produce the events, retrying when the buffer is full
+		for (int i = 0; i < n; i++) {
+			while (er.claim(RecordedEvent.STEP_END) == null) {
+				Thread.yield();
+			}
+			er.buffer[(int)(er.tail.get() & er.mask)].time = i;
+			er.publish();
+		}
+		
+		consumer.join(10000);
+		TestCase.assertFalse(consumer.isAlive());
+		TestCase.assertFalse(failed[0]);
+		TestCase.assertTrue(er.isEmpty());
+	}
+}
@@ -30,16 +30,22 @@ import junit.framework.TestCase;
 
 import org.dyn4j.collision.manifold.Manifold;
 import org.dyn4j.collision.manifold.ManifoldPoint;
+import org.dyn4j.dynamics.contact.ContactAdapter;
 import org.dyn4j.dynamics.contact.ContactConstraint;
+import org.dyn4j.dynamics.contact.SolvedContactPoint;
 import org.dyn4j.dynamics.joint.AngleJoint;
+import org.dyn4j.dynamics.joint.DistanceJoint;
+import org.dyn4j.dynamics.joint.Joint;
+import org.dyn4j.dynamics.joint.RevoluteJoint;
 import org.dyn4j.geometry.Geometry;
+import org.dyn4j.geometry.Mass;
 import org.dyn4j.geometry.Vector2;
 import org.junit.Test;
 
 /**
  * Test case for the {@link Island} class.
  * @author William Bittle
- * @version 3.1.1
+ * @version 3.2.0
  * @since 3.1.1
  */
 public class IslandTest {
@@ -56,6 +62,7 @@ public class IslandTest {
 		TestCase.assertNotNull(island.world);
 		TestCase.assertNotNull(island.contactConstraints);
 		TestCase.assertNotNull(island.contactConstraintSolver);
+		TestCase.assertNotNull(island.softContactConstraintSolver);
 		TestCase.assertNotNull(island.joints);
 		TestCase.assertEquals(w, island.world);
 	}
@@ -115,4 +122,211 @@ public class IslandTest {
 		TestCase.assertEquals(0, i.joints.size());
 		TestCase.assertEquals(0, i.contactConstraints.size());
 	}
+	
+	/**
+	 * Tests that a stack of boxes comes to rest and sleeps when sub-stepping.
+	 * @since 3.2.0
+	 */
+	@Test
+	public void solveSubStepsStack() {
+		World w = new World();
+		w.getSettings().setSubStepCount(4);
+		
+		Body ground = new Body();
+		ground.addFixture(Geometry.createRectangle(15.0, 1.0));
+		ground.setMass(Mass.Type.INFINITE);
+		w.addBody(ground);
+		
+		Body[] boxes = new Body[10];
+		for (int i = 0; i < boxes.length; i++) {
+			Body box = new Body();
+			box.addFixture(Geometry.createSquare(0.5));
+			box.translate(0.0, 0.75 + i * 0.5);
+			box.setMass(Mass.Type.NORMAL);
+			w.addBody(box);
+			boxes[i] = box;
+		}
+		
+		final double[] impulse = new double[1];
+		w.addListener(new ContactAdapter() {
+			@Override
+			public void postSolve(SolvedContactPoint point) {
+				if (point.getBody1().getMass().isInfinite() || point.getBody2().getMass().isInfinite()) {
+					impulse[0] += point.getNormalImpulse();
+				}
+			}
+		});
+		
+		for (int i = 0; i < 300; i++) {
+			w.step(1);
+		}
+		
+		// the stack should not topple and only sink within the allowed penetration
+		Body top = boxes[boxes.length - 1];
+		TestCase.assertEquals(0.0, top.getWorldCenter().x, 0.05);
+		TestCase.assertEquals(5.25, top.getWorldCenter().y, 0.1);
+		TestCase.assertTrue(top.isAsleep());
+		
+		// the reported impulses should hold up the stack
+		double mass = boxes[0].getMass().getMass();
+		double g = -w.getGravity().y;
+		for (Body box : boxes) {
+			box.setAsleep(false);
+		}
+		impulse[0] = 0.0;
+		w.step(1);
+		TestCase.assertEquals(boxes.length * mass * g * w.getSettings().getStepFrequency(), impulse[0], 0.05 * impulse[0]);
+	}
+	
+	/**
+	 * Returns the maximum joint error of a falling chain of bodies.
+	 * @param subSteps the number of sub-steps
+	 * @return double
+	 */
+	private double getMaximumChainError(int subSteps) {
+		World w = new World();
+		w.getSettings().setSubStepCount(subSteps);
+		
+		Body ground = new Body();
+		ground.addFixture(Geometry.createRectangle(15.0, 1.0));
+		ground.translate(0.0, -4.0);
+		ground.setMass(Mass.Type.INFINITE);
+		w.addBody(ground);
+		
+		Body previous = ground;
+		for (int i = 0; i < 25; i++) {
+			Body link = new Body();
+			link.addFixture(Geometry.createRectangle(0.5, 0.125));
+			link.translate(i * 0.44, 3.0);
+			link.setMass(Mass.Type.NORMAL);
+			w.addBody(link);
+			w.addJoint(new RevoluteJoint(previous, link, new Vector2(i * 0.44 - 0.22, 3.0)));
+			previous = link;
+		}
+		
+		double error = 0.0;
+		for (int i = 0; i < 180; i++) {
+			w.step(1);
+			for (Joint joint : w.getJoints()) {
+				error = Math.max(error, joint.getAnchor1().distance(joint.getAnchor2()));
+			}
+		}
+		return error;
+	}
+	
+	/**
+	 * Tests that the joints of a chain hold together when sub-stepping.
+	 * @since 3.2.0
+	 */
+	@Test
+	public void solveSubStepsChain() {
+		double iterations = this.getMaximumChainError(1);
+		double subSteps = this.getMaximumChainError(4);
+		
+		TestCase.assertTrue(subSteps < 0.15);
+		TestCase.assertTrue(subSteps <= iterations);
+	}
+	
+	/**
+	 * Returns the position of a body hanging from a spring after one second.
+	 * @param subSteps the number of sub-steps
+	 * @param steps the number of steps per sub-step
+	 * @return {@link Vector2}
+	 */
+	private Vector2 getSpringPosition(int subSteps, int steps) {
+		World w = new World();
+		w.getSettings().setSubStepCount(subSteps);
+		w.getSettings().setStepFrequency(1.0 / (60.0 * steps));
+		w.getSettings().setAutoSleepingEnabled(false);
+		
+		Body ground = new Body();
+		ground.addFixture(Geometry.createRectangle(1.0, 1.0));
+		ground.setMass(Mass.Type.INFINITE);
+		w.addBody(ground);
+		
+		Body body = new Body();
+		body.addFixture(Geometry.createCircle(0.25));
+		body.translate(1.0, -2.0);
+		body.setMass(Mass.Type.NORMAL);
+		w.addBody(body);
+		
+		DistanceJoint joint = new DistanceJoint(ground, body, new Vector2(), body.getWorldCenter());
+		joint.setDistance(1.0);
+		joint.setFrequency(2.0);
+		joint.setDampingRatio(0.1);
+		w.addJoint(joint);
+		
+		for (int i = 0; i < 60 * steps; i++) {
+			w.step(1);
+		}
+		return body.getWorldCenter();
+	}
+	
+	/**
+	 * Tests that a sub-stepped spring behaves like a spring stepped with
+	 * the sub-step time.
+	 * @since 3.2.0
+	 */
+	@Test
+	public void solveSubStepsSpring() {
+		Vector2 subSteps = this.getSpringPosition(4, 1);
+		Vector2 steps = this.getSpringPosition(1, 4);
+		
+		TestCase.assertEquals(steps.x, subSteps.x, 0.01);
+		TestCase.assertEquals(steps.y, subSteps.y, 0.01);
+	}
+	
+	/**
+	 * Tests that the velocity solver stops early for a resting box when the
+	 * velocity solver tolerance is set and that the statistics are reported.
+	 * @since 3.2.0
+	 */
+	@Test
+	public void solveAdaptiveIterations() {
+		World w = new World();
+		w.getSettings().setVelocityConstraintSolverTolerance(1.0e-4);
+		w.getSettings().setAutoSleepingEnabled(false);
+		
+		Body ground = new Body();
+		ground.addFixture(Geometry.createRectangle(15.0, 1.0));
+		ground.setMass(Mass.Type.INFINITE);
+		w.addBody(ground);
+		
+		Body box = new Body();
+		box.addFixture(Geometry.createSquare(0.5));
+		box.translate(0.0, 0.75);
+		box.setMass(Mass.Type.NORMAL);
+		w.addBody(box);
+		
+		// let the box come to rest
+		for (int i = 0; i < 60; i++) {
+			w.step(1);
+		}
+		
+		final int[] stats = new int[4];
+		final double[] residual = new double[1];
+		w.addListener(new IslandAdapter() {
+			@Override
+			public void solved(Step step, Island island) {
+				stats[0]++;
+				stats[1] = island.getBodyCount();
+				stats[2] = island.getContactConstraintCount();
+				stats[3] = island.getVelocityIterations();
+				residual[0] = island.getVelocityResidual();
+			}
+		});
+		w.step(1);
+		
+		TestCase.assertEquals(1, stats[0]);
+		TestCase.assertEquals(2, stats[1]);
+		TestCase.assertEquals(1, stats[2]);
+		TestCase.assertTrue(stats[3] > 0);
+		TestCase.assertTrue(stats[3] < w.getSettings().getVelocityConstraintSolverIterations());
+		TestCase.assertTrue(residual[0] <= 1.0e-4);
+		
+		// without a tolerance all the iterations should be used
+		w.getSettings().setVelocityConstraintSolverTolerance(0.0);
+		w.step(1);
+		TestCase.assertEquals(w.getSettings().getVelocityConstraintSolverIterations(), stats[3]);
+	}
 }
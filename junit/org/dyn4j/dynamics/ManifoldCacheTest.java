@@ -0,0 +1,277 @@
+/*
+ * Copyright (c) 2010-2014 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.dynamics;
+
+import junit.framework.TestCase;
+
+import org.dyn4j.collision.manifold.ClippingManifoldSolver;
+import org.dyn4j.collision.manifold.Manifold;
+import org.dyn4j.collision.manifold.ManifoldPoint;
+import org.dyn4j.collision.narrowphase.Gjk;
+import org.dyn4j.collision.narrowphase.Penetration;
+import org.dyn4j.dynamics.contact.ManifoldCache;
+import org.dyn4j.geometry.Geometry;
+import org.dyn4j.geometry.Mass;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Used to test the {@link ManifoldCache} class.
+ * @author William Bittle
+ * @version 3.2.0
+ * @since 3.2.0
+ */
+public class ManifoldCacheTest {
+	/** The cache */
+	private ManifoldCache cache;
+	
+	/** The first body */
+	private Body body1;
+	
+	/** The second body */
+	private Body body2;
+	
+	/** The computed penetration */
+	private Penetration penetration;
+	
+	/** The computed manifold */
+	private Manifold manifold;
+	
+	/**
+	 * Sets up the test.
+	 */
+	@Before
+	public void setup() {
+		this.cache = new ManifoldCache();
+		
+		this.body1 = new Body();
+		this.body1.addFixture(Geometry.createRectangle(4.0, 1.0));
+		this.body1.setMass(Mass.Type.INFINITE);
+		this.body1.rotate(Math.toRadians(20.0));
+		
+		this.body2 = new Body();
+		this.body2.addFixture(Geometry.createSquare(1.0));
+		this.body2.setMass();
+		this.body2.translate(0.1, 0.95);
+		this.body2.rotate(Math.toRadians(20.0), 0.0, 0.0);
+		
+		this.penetration = new Penetration();
+		this.manifold = new Manifold();
+		this.compute(this.penetration, this.manifold);
+	}
+	
+	/**
+	 * Computes the penetration and manifold of the two bodies.
+	 * @param penetration the penetration to fill
+	 * @param manifold the manifold to fill
+	 */
+	private void compute(Penetration penetration, Manifold manifold) {
+		Gjk gjk = new Gjk();
+		ClippingManifoldSolver cms = new ClippingManifoldSolver();
+		TestCase.assertTrue(gjk.detect(
+				this.body1.getFixture(0).getShape(), this.body1.getTransform(), 
+				this.body2.getFixture(0).getShape(), this.body2.getTransform(), penetration));
+		TestCase.assertTrue(cms.getManifold(penetration, 
+				this.body1.getFixture(0).getShape(), this.body1.getTransform(), 
+				this.body2.getFixture(0).getShape(), this.body2.getTransform(), manifold));
+	}
+	
+	/**
+	 * Calls the get method with the given tolerances.
+	 * @param linear the linear tolerance
+	 * @param angular the angular tolerance
+	 * @param penetration the penetration to fill
+	 * @param manifold the manifold to fill
+	 * @return boolean
+	 */
+	private boolean get(double linear, double angular, Penetration penetration, Manifold manifold) {
+		return this.cache.get(this.body1, this.body1.getFixture(0), this.body2, this.body2.getFixture(0), linear, angular, penetration, manifold);
+	}
+	
+	/**
+	 * Tests the get method on an empty cache.
+	 */
+	@Test
+	public void getEmpty() {
+		TestCase.assertFalse(this.get(1.0, 1.0, new Penetration(), new Manifold()));
+	}
+	
+	/**
+	 * Tests that a stored manifold is returned when nothing has moved.
+	 */
+	@Test
+	public void getUnchanged() {
+		this.cache.put(this.body1, this.body1.getFixture(0), this.body2, this.body2.getFixture(0), this.penetration, this.manifold);
+		TestCase.assertEquals(1, this.cache.size());
+		
+		Penetration p = new Penetration();
+		Manifold m = new Manifold();
+		TestCase.assertTrue(this.get(0.0, 0.0, p, m));
+		
+		TestCase.assertEquals(this.penetration.getDepth(), p.getDepth());
+		TestCase.assertEquals(this.penetration.getNormal().x, p.getNormal().x, 1.0e-12);
+		TestCase.assertEquals(this.penetration.getNormal().y, p.getNormal().y, 1.0e-12);
+		TestCase.assertEquals(this.manifold.getNormal().x, m.getNormal().x, 1.0e-12);
+		TestCase.assertEquals(this.manifold.getNormal().y, m.getNormal().y, 1.0e-12);
+		TestCase.assertEquals(this.manifold.getPoints().size(), m.getPoints().size());
+		for (int i = 0; i < m.getPoints().size(); i++) {
+			ManifoldPoint mp1 = this.manifold.getPoints().get(i);
+			ManifoldPoint mp2 = m.getPoints().get(i);
+			TestCase.assertSame(mp1.getId(), mp2.getId());
+			TestCase.assertEquals(mp1.getDepth(), mp2.getDepth());
+			TestCase.assertEquals(mp1.getPoint().x, mp2.getPoint().x, 1.0e-12);
+			TestCase.assertEquals(mp1.getPoint().y, mp2.getPoint().y, 1.0e-12);
+		}
+	}
+	
+	/**
+	 * Tests that a stored manifold is re-projected when both bodies move together.
+	 */
+	@Test
+	public void getMovedTogether() {
+		this.cache.put(this.body1, this.body1.getFixture(0), this.body2, this.body2.getFixture(0), this.penetration, this.manifold);
+		
+		// move both bodies the same
+		this.body1.rotate(0.5, 1.0, -2.0);
+		this.body2.rotate(0.5, 1.0, -2.0);
+		this.body1.translate(3.0, 1.0);
+		this.body2.translate(3.0, 1.0);
+		
+		Penetration p = new Penetration();
+		Manifold m = new Manifold();
+		TestCase.assertTrue(this.get(1.0e-6, 1.0e-6, p, m));
+		
+		// compare to recomputing it
+		Penetration pe = new Penetration();
+		Manifold me = new Manifold();
+		this.compute(pe, me);
+		
+		TestCase.assertEquals(pe.getDepth(), p.getDepth(), 1.0e-9);
+		TestCase.assertEquals(pe.getNormal().x, p.getNormal().x, 1.0e-9);
+		TestCase.assertEquals(pe.getNormal().y, p.getNormal().y, 1.0e-9);
+		TestCase.assertEquals(me.getPoints().size(), m.getPoints().size());
+		for (int i = 0; i < m.getPoints().size(); i++) {
+			ManifoldPoint mp1 = me.getPoints().get(i);
+			ManifoldPoint mp2 = m.getPoints().get(i);
+			TestCase.assertEquals(mp1.getId(), mp2.getId());
+			TestCase.assertEquals(mp1.getDepth(), mp2.getDepth(), 1.0e-9);
+			TestCase.assertEquals(mp1.getPoint().x, mp2.getPoint().x, 1.0e-9);
+			TestCase.assertEquals(mp1.getPoint().y, mp2.getPoint().y, 1.0e-9);
+		}
+	}
+	
+	/**
+	 * Tests that the depths are adjusted by the relative translation along the normal.
+	 */
+	@Test
+	public void getDepthAdjusted() {
+		this.cache.put(this.body1, this.body1.getFixture(0), this.body2, this.body2.getFixture(0), this.penetration, this.manifold);
+		
+		// move the second body into the first
+		this.body2.translate(this.penetration.getNormal().product(-0.0005));
+		
+		Penetration p = new Penetration();
+		Manifold m = new Manifold();
+		TestCase.assertTrue(this.get(0.001, 0.0, p, m));
+		
+		TestCase.assertEquals(this.penetration.getDepth() + 0.0005, p.getDepth(), 1.0e-9);
+		for (int i = 0; i < m.getPoints().size(); i++) {
+			TestCase.assertEquals(this.manifold.getPoints().get(i).getDepth() + 0.0005, m.getPoints().get(i).getDepth(), 1.0e-9);
+		}
+	}
+	
+	/**
+	 * Tests that the entry is not returned and removed when the adjusted depth is
+	 * zero or less.
+	 */
+	@Test
+	public void getSeparated() {
+		this.cache.put(this.body1, this.body1.getFixture(0), this.body2, this.body2.getFixture(0), this.penetration, this.manifold);
+		
+		// move the second body out of the first by more than the depth
+		double depth = this.penetration.getDepth();
+		this.body2.translate(this.penetration.getNormal().product(depth + 0.0001));
+		
+		TestCase.assertFalse(this.get(1.0, 0.0, new Penetration(), new Manifold()));
+		TestCase.assertEquals(0, this.cache.size());
+		
+		// moving back should not find the entry either
+		this.body2.translate(this.penetration.getNormal().product(-depth - 0.0001));
+		TestCase.assertFalse(this.get(1.0, 0.0, new Penetration(), new Manifold()));
+	}
+	
+	/**
+	 * Tests that the tolerances are respected.
+	 */
+	@Test
+	public void getTolerance() {
+		this.cache.put(this.body1, this.body1.getFixture(0), this.body2, this.body2.getFixture(0), this.penetration, this.manifold);
+		
+		// relative translation
+		this.body2.translate(0.001, 0.0);
+		TestCase.assertTrue(this.get(0.002, 0.0, new Penetration(), new Manifold()));
+		TestCase.assertFalse(this.get(0.0005, 0.0, new Penetration(), new Manifold()));
+		this.body2.translate(-0.001, 0.0);
+		
+		// relative rotation
+		this.body2.rotateAboutCenter(0.01);
+		TestCase.assertTrue(this.get(1.0, 0.02, new Penetration(), new Manifold()));
+		TestCase.assertFalse(this.get(1.0, 0.005, new Penetration(), new Manifold()));
+	}
+	
+	/**
+	 * Tests that a stored manifold is not returned when the bodies are given in the opposite order.
+	 */
+	@Test
+	public void getReversed() {
+		this.cache.put(this.body1, this.body1.getFixture(0), this.body2, this.body2.getFixture(0), this.penetration, this.manifold);
+		TestCase.assertFalse(this.cache.get(this.body2, this.body2.getFixture(0), this.body1, this.body1.getFixture(0), 1.0, 1.0, new Penetration(), new Manifold()));
+	}
+	
+	/**
+	 * Tests that unused entries are removed by the update method.
+	 */
+	@Test
+	public void update() {
+		this.cache.put(this.body1, this.body1.getFixture(0), this.body2, this.body2.getFixture(0), this.penetration, this.manifold);
+		
+		// the entry was stored this step
+		this.cache.update();
+		TestCase.assertEquals(1, this.cache.size());
+		
+		// the entry was used this step
+		TestCase.assertTrue(this.get(0.0, 0.0, new Penetration(), new Manifold()));
+		this.cache.update();
+		TestCase.assertEquals(1, this.cache.size());
+		
+		// the entry was not used this step
+		this.cache.update();
+		TestCase.assertEquals(0, this.cache.size());
+		
+		this.cache.put(this.body1, this.body1.getFixture(0), this.body2, this.body2.getFixture(0), this.penetration, this.manifold);
+		this.cache.clear();
+		TestCase.assertEquals(0, this.cache.size());
+	}
+}
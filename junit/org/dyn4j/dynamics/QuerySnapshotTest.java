@@ -0,0 +1,268 @@
+/*
+ * Copyright (c) 2010-2014 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.dynamics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import junit.framework.TestCase;
+
+import org.dyn4j.geometry.AABB;
+import org.dyn4j.geometry.Convex;
+import org.dyn4j.geometry.Geometry;
+import org.dyn4j.geometry.Mass;
+import org.dyn4j.geometry.Ray;
+import org.dyn4j.geometry.Transform;
+import org.dyn4j.geometry.Vector2;
+import org.junit.Test;
+
+/**
+ * Class used to test the {@link QuerySnapshot} and {@link QuerySnapshotPublisher} classes.
+ * @author William Bittle
+ * @version 3.2.0
+ * @since 3.2.0
+ */
+public class QuerySnapshotTest {
+	/**
+	 * Creates a world with randomly placed bodies.
+	 * @return {@link World}
+	 */
+	private World createWorld() {
+		World w = new World();
+		Random r = new Random(7);
+		
+		Body floor = new Body();
+		floor.addFixture(Geometry.createRectangle(50.0, 1.0));
+		floor.setMass(Mass.Type.INFINITE);
+		w.addBody(floor);
+		
+		for (int i = 0; i < 100; i++) {
+			Body b = new Body();
+			if (i % 3 == 0) {
+				b.addFixture(Geometry.createCircle(0.5));
+			} else {
+				b.addFixture(Geometry.createSquare(0.8));
+				b.addFixture(Geometry.createCircle(0.3)).setSensor(i % 2 == 0);
+			}
+			b.setMass(Mass.Type.NORMAL);
+			b.translate(r.nextDouble() * 40.0 - 20.0, r.nextDouble() * 20.0 + 1.0);
+			b.rotate(r.nextDouble());
+			b.setActive(i % 10 != 0);
+			w.addBody(b);
+		}
+		
+		return w;
+	}
+	
+	/**
+	 * Returns the fixtures of the given results.
+	 * @param results the results
+	 * @return List&lt;BodyFixture&gt;
+	 */
+	private List<BodyFixture> getRaycastFixtures(List<RaycastResult> results) {
+		List<BodyFixture> fixtures = new ArrayList<BodyFixture>();
+		Collections.sort(results);
+		for (RaycastResult result : results) fixtures.add(result.fixture);
+		return fixtures;
+	}
+	
+	/**
+	 * Returns the fixtures of the given results in identity hash order.
+	 * @param results the results
+	 * @return List&lt;Integer&gt;
+	 */
+	private List<Integer> getDetectFixtures(List<DetectResult> results) {
+		List<Integer> fixtures = new ArrayList<Integer>();
+		for (DetectResult result : results) fixtures.add(System.identityHashCode(result.fixture));
+		Collections.sort(fixtures);
+		return fixtures;
+	}
+	
+	/**
+	 * Tests that the snapshot queries return the same results as the world queries.
+	 */
+	@Test
+	public void sameResults() {
+		World w = this.createWorld();
+		w.step(5);
+		QuerySnapshot qs = new QuerySnapshot(w);
+		TestCase.assertEquals(w.getBodyCount(), qs.getBodyCount());
+		
+		Random r = new Random(3);
+		for (int i = 0; i < 50; i++) {
+			Vector2 start = new Vector2(r.nextDouble() * 40.0 - 20.0, r.nextDouble() * 25.0);
+			Vector2 end = new Vector2(r.nextDouble() * 40.0 - 20.0, r.nextDouble() * 25.0);
+			boolean sensors = i % 2 == 0;
+			boolean inactive = i % 3 == 0;
+			
+			// raycast all
+			List<RaycastResult> wr = new ArrayList<RaycastResult>();
+			List<RaycastResult> sr = new ArrayList<RaycastResult>();
+			TestCase.assertEquals(w.raycast(start, end, null, sensors, inactive, true, wr), qs.raycast(start, end, null, sensors, inactive, true, sr));
+			TestCase.assertEquals(this.getRaycastFixtures(wr), this.getRaycastFixtures(sr));
+			
+			// raycast closest
+			wr.clear();
+			sr.clear();
+			TestCase.assertEquals(w.raycast(start, end, null, sensors, inactive, false, wr), qs.raycast(start, end, null, sensors, inactive, false, sr));
+			TestCase.assertEquals(wr.size(), sr.size());
+			if (wr.size() > 0) {
+				TestCase.assertSame(wr.get(0).body, sr.get(0).body);
+				TestCase.assertEquals(wr.get(0).raycast.getDistance(), sr.get(0).raycast.getDistance(), 1.0e-9);
+			}
+			
+			// infinite raycast
+			wr.clear();
+			sr.clear();
+			Ray ray = new Ray(start, r.nextDouble() * Math.PI * 2.0);
+			w.raycast(ray, 0.0, null, sensors, inactive, true, wr);
+			qs.raycast(ray, 0.0, null, sensors, inactive, true, sr);
+			TestCase.assertEquals(this.getRaycastFixtures(wr), this.getRaycastFixtures(sr));
+			
+			// aabb detect
+			AABB aabb = new AABB(start, r.nextDouble() * 4.0);
+			List<DetectResult> wd = new ArrayList<DetectResult>();
+			List<DetectResult> sd = new ArrayList<DetectResult>();
+			TestCase.assertEquals(w.detect(aabb, null, sensors, inactive, wd), qs.detect(aabb, null, sensors, inactive, sd));
+			TestCase.assertEquals(this.getDetectFixtures(wd), this.getDetectFixtures(sd));
+			
+			// convex detect
+			Convex c = Geometry.createCircle(r.nextDouble() * 2.0);
+			Transform t = new Transform();
+			t.translate(start);
+			wd.clear();
+			sd.clear();
+			TestCase.assertEquals(w.detect(c, t, null, sensors, inactive, true, wd), qs.detect(c, t, null, sensors, inactive, true, sd));
+			TestCase.assertEquals(this.getDetectFixtures(wd), this.getDetectFixtures(sd));
+			
+			// convex cast
+			List<ConvexCastResult> wc = new ArrayList<ConvexCastResult>();
+			List<ConvexCastResult> sc = new ArrayList<ConvexCastResult>();
+			Vector2 dp = start.to(end);
+			TestCase.assertEquals(w.convexCast(c, t, dp, 0.0, null, sensors, inactive, false, wc), qs.convexCast(c, t, dp, 0.0, null, sensors, inactive, false, sc));
+			TestCase.assertEquals(wc.size(), sc.size());
+			if (wc.size() > 0) {
+				TestCase.assertSame(wc.get(0).body, sc.get(0).body);
+				TestCase.assertEquals(wc.get(0).timeOfImpact.getTime(), sc.get(0).timeOfImpact.getTime(), 1.0e-9);
+			}
+		}
+	}
+	
+	/**
+	 * Tests that a snapshot does not change when the world is stepped.
+	 */
+	@Test
+	public void immutable() {
+		World w = this.createWorld();
+		QuerySnapshotPublisher qsp = new QuerySnapshotPublisher();
+		TestCase.assertNull(qsp.getSnapshot());
+		w.addListener(qsp);
+		w.step(1);
+		
+		QuerySnapshot qs = qsp.getSnapshot();
+		TestCase.assertNotNull(qs);
+		
+		// find a falling body
+		int index = 1;
+		while (!w.getBody(index).isActive()) index++;
+		Body b = w.getBody(index);
+		TestCase.assertSame(b, qs.getBody(index));
+		Transform t = qs.getTransform(index);
+		AABB aabb = qs.getAABB(index);
+		TestCase.assertTrue(b.getTransform().valueEquals(t));
+		
+		w.step(10);
+		
+		// a new snapshot was published
+		TestCase.assertNotSame(qs, qsp.getSnapshot());
+		// but the old one hasn't changed
+		TestCase.assertFalse(b.getTransform().valueEquals(t));
+		TestCase.assertTrue(qs.getTransform(index).valueEquals(t));
+		TestCase.assertEquals(aabb.getMinY(), qs.getAABB(index).getMinY());
+		TestCase.assertTrue(qsp.getSnapshot().getTransform(index).valueEquals(b.getTransform()));
+		
+		// the old snapshot still detects the body at its old position
+		List<DetectResult> results = new ArrayList<DetectResult>();
+		TestCase.assertTrue(qs.detect(aabb, null, false, false, results));
+		boolean found = false;
+		for (DetectResult result : results) {
+			if (result.body == b) found = true;
+		}
+		TestCase.assertTrue(found);
+	}
+	
+	/**
+	 * Tests querying a snapshot of an empty world.
+	 */
+	@Test
+	public void empty() {
+		QuerySnapshot qs = new QuerySnapshot(new World());
+		TestCase.assertEquals(0, qs.getBodyCount());
+		TestCase.assertFalse(qs.raycast(new Vector2(), new Vector2(1.0, 1.0), null, false, false, true, new ArrayList<RaycastResult>()));
+		TestCase.assertFalse(qs.detect(new AABB(1.0), null, false, false, new ArrayList<DetectResult>()));
+	}
+	
+	/**
+	 * Tests querying the published snapshots from another thread while stepping.
+	 * @throws InterruptedException if the test is interrupted
+	 */
+	@Test
+	public void concurrent() throws InterruptedException {
+		World w = this.createWorld();
+		final QuerySnapshotPublisher qsp = new QuerySnapshotPublisher();
+		w.addListener(qsp);
+		qsp.publish(w);
+		
+		final Throwable[] error = new Throwable[1];
+		final int[] queries = new int[1];
+		final AtomicBoolean done = new AtomicBoolean(false);
+		Thread thread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					List<RaycastResult> results = new ArrayList<RaycastResult>();
+					while (!done.get()) {
+						QuerySnapshot qs = qsp.getSnapshot();
+						results.clear();
+						qs.raycast(new Vector2(-20.0, 0.5), new Vector2(20.0, 0.5), null, false, false, true, results);
+						queries[0]++;
+					}
+				} catch (Throwable t) {
+					error[0] = t;
+				}
+			}
+		});
+		thread.start();
+		w.step(30);
+		done.set(true);
+		thread.join();
+		
+		TestCase.assertNull(error[0]);
+		TestCase.assertTrue(queries[0] > 0);
+	}
+}
@@ -365,4 +365,186 @@ public class SettingsTest {
 		settings.setContinuousDetectionMode(ContinuousDetectionMode.NONE);
 		TestCase.assertEquals(ContinuousDetectionMode.NONE, settings.getContinuousDetectionMode());
 	}
+	
+	/**
+	 * Tests the set manifold cache tolerance methods.
+	 * @since 3.2.0
+	 */
+	@Test
+	public void setManifoldCacheTolerance() {
+		settings.setManifoldCacheLinearTolerance(0.01);
+		settings.setManifoldCacheAngularTolerance(0.02);
+		TestCase.assertEquals(0.01, settings.getManifoldCacheLinearTolerance());
+		TestCase.assertEquals(0.02, settings.getManifoldCacheAngularTolerance());
+		
+		settings.reset();
+		TestCase.assertEquals(Settings.DEFAULT_MANIFOLD_CACHE_LINEAR_TOLERANCE, settings.getManifoldCacheLinearTolerance());
+		TestCase.assertEquals(Settings.DEFAULT_MANIFOLD_CACHE_ANGULAR_TOLERANCE, settings.getManifoldCacheAngularTolerance());
+	}
+	
+	/**
+	 * Tests the set manifold cache linear tolerance method passing a negative value.
+	 * @since 3.2.0
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void setNegativeManifoldCacheLinearTolerance() {
+		settings.setManifoldCacheLinearTolerance(-1.0);
+	}
+	
+	/**
+	 * Tests the set manifold cache angular tolerance method passing a negative value.
+	 * @since 3.2.0
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void setNegativeManifoldCacheAngularTolerance() {
+		settings.setManifoldCacheAngularTolerance(-1.0);
+	}
+	
+	/**
+	 * Tests the set parallel solver methods.
+	 * @since 3.2.0
+	 */
+	@Test
+	public void setParallelSolver() {
+		settings.setParallelSolverThreadCount(4);
+		settings.setParallelSolverThreshold(0);
+		TestCase.assertEquals(4, settings.getParallelSolverThreadCount());
+		TestCase.assertEquals(0, settings.getParallelSolverThreshold());
+		
+		settings.reset();
+		TestCase.assertEquals(1, settings.getParallelSolverThreadCount());
+		TestCase.assertEquals(Settings.DEFAULT_PARALLEL_SOLVER_THRESHOLD, settings.getParallelSolverThreshold());
+	}
+	
+	/**
+	 * Tests the set parallel solver thread count method passing an invalid value.
+	 * @since 3.2.0
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void setInvalidParallelSolverThreadCount() {
+		settings.setParallelSolverThreadCount(0);
+	}
+	
+	/**
+	 * Tests the set parallel solver threshold method passing a negative value.
+	 * @since 3.2.0
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void setNegativeParallelSolverThreshold() {
+		settings.setParallelSolverThreshold(-1);
+	}
+	
+	/**
+	 * Tests the set sub-stepping methods.
+	 * @since 3.2.0
+	 */
+	@Test
+	public void setSubStepping() {
+		settings.setSubStepCount(4);
+		settings.setContactSpringFrequency(60.0);
+		settings.setContactDampingRatio(0.0);
+		TestCase.assertEquals(4, settings.getSubStepCount());
+		TestCase.assertEquals(60.0, settings.getContactSpringFrequency());
+		TestCase.assertEquals(0.0, settings.getContactDampingRatio());
+		
+		settings.reset();
+		TestCase.assertEquals(Settings.DEFAULT_SUB_STEP_COUNT, settings.getSubStepCount());
+		TestCase.assertEquals(Settings.DEFAULT_CONTACT_SPRING_FREQUENCY, settings.getContactSpringFrequency());
+		TestCase.assertEquals(Settings.DEFAULT_CONTACT_DAMPING_RATIO, settings.getContactDampingRatio());
+	}
+	
+	/**
+	 * Tests the set sub-step count method passing an invalid value.
+	 * @since 3.2.0
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void setInvalidSubStepCount() {
+		settings.setSubStepCount(0);
+	}
+	
+	/**
+	 * Tests the set contact spring frequency method passing an invalid value.
+	 * @since 3.2.0
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void setInvalidContactSpringFrequency() {
+		settings.setContactSpringFrequency(0.0);
+	}
+	
+	/**
+	 * Tests the set contact damping ratio method passing a negative value.
+	 * @since 3.2.0
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void setNegativeContactDampingRatio() {
+		settings.setContactDampingRatio(-1.0);
+	}
+	
+	/**
+	 * Tests the set velocity constraint solver tolerance method.
+	 * @since 3.2.0
+	 */
+	@Test
+	public void setVelocityConstraintSolverTolerance() {
+		settings.setVelocityConstraintSolverTolerance(0.001);
+		TestCase.assertEquals(0.001, settings.getVelocityConstraintSolverTolerance());
+		
+		settings.setVelocityConstraintSolverTolerance(0.0);
+		TestCase.assertEquals(0.0, settings.getVelocityConstraintSolverTolerance());
+		
+		settings.setVelocityConstraintSolverTolerance(0.5);
+		settings.reset();
+		TestCase.assertEquals(0.0, settings.getVelocityConstraintSolverTolerance());
+	}
+	
+	/**
+	 * Tests the set velocity constraint solver tolerance method passing a negative value.
+	 * @since 3.2.0
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void setNegativeVelocityConstraintSolverTolerance() {
+		settings.setVelocityConstraintSolverTolerance(-1.0);
+	}
+	
+	/**
+	 * Tests the set batch contact solver enabled method.
+	 * @since 3.2.0
+	 */
+	@Test
+	public void setBatchContactSolverEnabled() {
+		TestCase.assertFalse(settings.isBatchContactSolverEnabled());
+		settings.setBatchContactSolverEnabled(true);
+		TestCase.assertTrue(settings.isBatchContactSolverEnabled());
+		
+		settings.reset();
+		TestCase.assertFalse(settings.isBatchContactSolverEnabled());
+	}
+	
+	/**
+	 * Tests the set contact reduction methods.
+	 * @since 3.2.0
+	 */
+	@Test
+	public void setContactReduction() {
+		TestCase.assertFalse(settings.isContactReductionEnabled());
+		TestCase.assertEquals(Settings.DEFAULT_CONTACT_REDUCTION_POINT_COUNT, settings.getContactReductionPointCount());
+		
+		settings.setContactReductionEnabled(true);
+		settings.setContactReductionPointCount(2);
+		TestCase.assertTrue(settings.isContactReductionEnabled());
+		TestCase.assertEquals(2, settings.getContactReductionPointCount());
+		
+		settings.reset();
+		TestCase.assertFalse(settings.isContactReductionEnabled());
+		TestCase.assertEquals(Settings.DEFAULT_CONTACT_REDUCTION_POINT_COUNT, settings.getContactReductionPointCount());
+	}
+	
+	/**
+	 * Tests the set contact reduction point count method passing a value less than 2.
+	 * @since 3.2.0
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void setInvalidContactReductionPointCount() {
+		settings.setContactReductionPointCount(1);
+	}
 }
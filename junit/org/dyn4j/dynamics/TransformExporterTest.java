@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2010-2014 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.dynamics;
+
+import java.nio.ByteBuffer;
+
+import junit.framework.TestCase;
+
+import org.dyn4j.geometry.Geometry;
+import org.dyn4j.geometry.Mass;
+import org.dyn4j.geometry.Transform;
+import org.junit.Test;
+
+/**
+ * Class used to test the {@link TransformExporter} class.
+ * @author William Bittle
+ * @version 3.2.0
+ * @since 3.2.0
+ */
+public class TransformExporterTest {
+	/**
+	 * Creates a world with a box resting on a floor.
+	 * @return {@link World}
+	 */
+	private World createWorld() {
+		World w = new World();
+		
+		Body floor = new Body();
+		floor.addFixture(Geometry.createRectangle(10.0, 1.0));
+		floor.setMass(Mass.Type.INFINITE);
+		w.addBody(floor);
+		
+		Body box = new Body();
+		box.addFixture(Geometry.createSquare(1.0));
+		box.setMass(Mass.Type.NORMAL);
+		box.translate(0.0, 2.0);
+		box.rotate(0.3);
+		box.setAngularVelocity(1.0);
+		w.addBody(box);
+		
+		return w;
+	}
+	
+	/**
+	 * Tests the successful creation.
+	 */
+	@Test
+	public void createSuccess() {
+		TransformExporter te = new TransformExporter(10);
+		TestCase.assertEquals(10, te.getCapacity());
+		TestCase.assertEquals(4, te.getStride());
+		TestCase.assertEquals(0, te.getSlotCount());
+		TestCase.assertFalse(te.isDirect());
+		TestCase.assertNotNull(te.getArray());
+		TestCase.assertNull(te.getBuffer());
+		TestCase.assertEquals(-1, te.getOffset(TransformExporter.VELOCITY));
+		
+		te = new TransformExporter(10, TransformExporter.VELOCITY | TransformExporter.SLEEP, true);
+		TestCase.assertEquals(4, te.getStride());
+		TestCase.assertEquals(-1, te.getOffset(TransformExporter.TRANSFORM));
+		TestCase.assertEquals(0, te.getOffset(TransformExporter.VELOCITY));
+		TestCase.assertEquals(3, te.getOffset(TransformExporter.SLEEP));
+		TestCase.assertTrue(te.isDirect());
+		TestCase.assertNull(te.getArray());
+		TestCase.assertTrue(te.getBuffer().isDirect());
+		TestCase.assertEquals(10 * 4 * 8, te.getBuffer().capacity());
+	}
+	
+	/**
+	 * Tests the creation with an invalid capacity.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void createInvalidCapacity() {
+		new TransformExporter(-1);
+	}
+	
+	/**
+	 * Tests the creation with no fields.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void createNoFields() {
+		new TransformExporter(10, 0, false);
+	}
+	
+	/**
+	 * Tests the creation with unknown fields.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void createUnknownFields() {
+		new TransformExporter(10, 8, false);
+	}
+	
+	/**
+	 * Tests the exported values and the dirty mask using a double array.
+	 */
+	@Test
+	public void exportArray() {
+		World w = this.createWorld();
+		TransformExporter te = new TransformExporter(1, TransformExporter.TRANSFORM | TransformExporter.VELOCITY | TransformExporter.SLEEP, false);
+		w.addListener(te);
+		
+		w.step(1);
+		
+		// the buffer should have grown
+		TestCase.assertEquals(2, te.getSlotCount());
+		TestCase.assertTrue(te.getCapacity() >= 2);
+		TestCase.assertEquals(8, te.getStride());
+		TestCase.assertTrue(te.isDirty(0));
+		TestCase.assertTrue(te.isDirty(1));
+		TestCase.assertEquals(3L, te.getDirtyMask()[0]);
+		
+		double[] a = te.getArray();
+		for (int i = 0; i < 2; i++) {
+			Body b = w.getBody(i);
+			TestCase.assertSame(b, te.getBody(i));
+			Transform t = b.getTransform();
+			int o = i * te.getStride();
+			TestCase.assertEquals(t.getTranslationX(), a[o]);
+			TestCase.assertEquals(t.getTranslationY(), a[o + 1]);
+			TestCase.assertEquals(Math.cos(t.getRotation()), a[o + 2], 1.0e-9);
+			TestCase.assertEquals(Math.sin(t.getRotation()), a[o + 3], 1.0e-9);
+			TestCase.assertEquals(b.getLinearVelocity().x, a[o + 4]);
+			TestCase.assertEquals(b.getLinearVelocity().y, a[o + 5]);
+			TestCase.assertEquals(b.getAngularVelocity(), a[o + 6]);
+			TestCase.assertEquals(b.isAsleep() ? 1.0 : 0.0, a[o + 7]);
+		}
+		
+		// only the box moves
+		w.step(1);
+		TestCase.assertFalse(te.isDirty(0));
+		TestCase.assertTrue(te.isDirty(1));
+		
+		// nothing changes without a step
+		TestCase.assertEquals(0, te.export(w));
+		TestCase.assertEquals(0L, te.getDirtyMask()[0]);
+	}
+	
+	/**
+	 * Tests the exported values using a direct buffer.
+	 */
+	@Test
+	public void exportDirect() {
+		World w = this.createWorld();
+		TransformExporter te = new TransformExporter(4, TransformExporter.TRANSFORM, true);
+		
+		TestCase.assertEquals(2, te.export(w));
+		
+		ByteBuffer buffer = te.getBuffer();
+		Body b = w.getBody(1);
+		TestCase.assertEquals(b.getTransform().getTranslationX(), buffer.getDouble(4 * 8));
+		TestCase.assertEquals(b.getTransform().getTranslationY(), buffer.getDouble(5 * 8));
+		TestCase.assertEquals(b.getTransform().getCost(), buffer.getDouble(6 * 8));
+		TestCase.assertEquals(b.getTransform().getSint(), buffer.getDouble(7 * 8));
+		
+		// moving a body marks its slot
+		w.getBody(0).translate(1.0, 0.0);
+		TestCase.assertEquals(1, te.export(w));
+		TestCase.assertTrue(te.isDirty(0));
+		TestCase.assertEquals(w.getBody(0).getTransform().getTranslationX(), buffer.getDouble(0));
+	}
+	
+	/**
+	 * Tests the slots after a body is removed.
+	 */
+	@Test
+	public void exportRemove() {
+		World w = this.createWorld();
+		Body b = new Body();
+		b.addFixture(Geometry.createCircle(0.5));
+		b.translate(5.0, 5.0);
+		w.addBody(b);
+		
+		TransformExporter te = new TransformExporter(4);
+		TestCase.assertEquals(3, te.export(w));
+		
+		// removing the first body moves the last body into its slot
+		w.removeBody(w.getBody(0));
+		TestCase.assertEquals(2, te.export(w));
+		TestCase.assertEquals(2, te.getSlotCount());
+		TestCase.assertTrue(te.isDirty(0));
+		TestCase.assertFalse(te.isDirty(1));
+		TestCase.assertTrue(te.isDirty(2));
+		TestCase.assertSame(b, te.getBody(0));
+		TestCase.assertNull(te.getBody(2));
+		TestCase.assertEquals(5.0, te.getArray()[0]);
+		TestCase.assertEquals(5.0, te.getArray()[1]);
+	}
+}
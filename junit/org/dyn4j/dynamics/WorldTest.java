@@ -24,8 +24,11 @@
  */
 package org.dyn4j.dynamics;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
 import junit.framework.TestCase;
 
@@ -42,14 +45,22 @@ import org.dyn4j.collision.manifold.ClippingManifoldSolver;
 import org.dyn4j.collision.manifold.ManifoldSolver;
 import org.dyn4j.collision.narrowphase.Gjk;
 import org.dyn4j.collision.narrowphase.NarrowphaseDetector;
+import org.dyn4j.collision.narrowphase.Penetration;
 import org.dyn4j.dynamics.contact.ContactAdapter;
+import org.dyn4j.dynamics.contact.ContactConstraint;
+import org.dyn4j.dynamics.contact.ContactEdge;
 import org.dyn4j.dynamics.contact.ContactPoint;
 import org.dyn4j.dynamics.joint.DistanceJoint;
 import org.dyn4j.dynamics.joint.Joint;
 import org.dyn4j.dynamics.joint.MouseJoint;
+import org.dyn4j.dynamics.joint.RevoluteJoint;
+import org.dyn4j.geometry.AABB;
 import org.dyn4j.geometry.Circle;
 import org.dyn4j.geometry.Convex;
 import org.dyn4j.geometry.Geometry;
+import org.dyn4j.geometry.Mass;
+import org.dyn4j.geometry.Ray;
+import org.dyn4j.geometry.Transform;
 import org.dyn4j.geometry.Vector2;
 import org.junit.Test;
 
@@ -381,6 +392,527 @@ public class WorldTest {
 		TestCase.assertTrue(w.contactManager.isCacheEmpty());
 	}
 	
+	/**
+	 * Tests that removing bodies and joints keeps the world lists consistent.
+	 * @since 3.2.0
+	 */
+	@Test
+	public void removeBodyIndex() {
+		World w = new World();
+		List<Body> bodies = new ArrayList<Body>();
+		for (int i = 0; i < 10; i++) {
+			Body b = new Body();
+			b.addFixture(Geometry.createCircle(0.5));
+			b.setMass(Mass.Type.NORMAL);
+			b.translate(i * 2.0, 0.0);
+			w.addBody(b);
+			bodies.add(b);
+		}
+		List<Joint> joints = new ArrayList<Joint>();
+		for (int i = 0; i < 9; i++) {
+			Joint j = new DistanceJoint(bodies.get(i), bodies.get(i + 1), new Vector2(), new Vector2());
+			w.addJoint(j);
+			joints.add(j);
+		}
+		
+		// remove from the front, middle and end
+		TestCase.assertTrue(w.removeBody(bodies.get(0)));
+		TestCase.assertTrue(w.removeBody(bodies.get(5)));
+		TestCase.assertTrue(w.removeBody(bodies.get(9)));
+		TestCase.assertFalse(w.removeBody(bodies.get(5)));
+		TestCase.assertTrue(w.removeJoint(joints.get(2)));
+		TestCase.assertFalse(w.removeJoint(joints.get(2)));
+		
+		TestCase.assertEquals(7, w.getBodyCount());
+		// joints 0, 4, 5 and 8 were destroyed with the bodies
+		TestCase.assertEquals(4, w.getJointCount());
+		for (int i = 0; i < 10; i++) {
+			boolean removed = i == 0 || i == 5 || i == 9;
+			TestCase.assertEquals(!removed, w.containsBody(bodies.get(i)));
+		}
+		for (int i = 0; i < w.getBodyCount(); i++) {
+			TestCase.assertTrue(w.containsBody(w.getBody(i)));
+		}
+		for (int i = 0; i < w.getJointCount(); i++) {
+			TestCase.assertTrue(w.containsJoint(w.getJoint(i)));
+		}
+		TestCase.assertTrue(w.containsJoint(joints.get(1)));
+		TestCase.assertFalse(w.containsJoint(joints.get(0)));
+		TestCase.assertFalse(w.containsJoint(joints.get(2)));
+		
+		// the world should still work
+		w.step(1);
+		
+		// a removed body can be added again
+		w.addBody(bodies.get(5));
+		TestCase.assertTrue(w.containsBody(bodies.get(5)));
+		TestCase.assertEquals(8, w.getBodyCount());
+	}
+	
+	/**
+	 * Tests the remove bodies method.
+	 * @since 3.2.0
+	 */
+	@Test
+	public void removeBodies() {
+		World w = new World();
+		WTDestructionListener dl = new WTDestructionListener();
+		w.addListener(dl);
+		
+		Body floor = new Body();
+		floor.addFixture(Geometry.createRectangle(20.0, 1.0));
+		floor.setMass(Mass.Type.INFINITE);
+		w.addBody(floor);
+		
+		List<Body> bodies = new ArrayList<Body>();
+		for (int i = 0; i < 10; i++) {
+			Body b = new Body();
+			b.addFixture(Geometry.createSquare(1.0));
+			b.setMass(Mass.Type.NORMAL);
+			b.translate(-5.0 + i * 1.01, 0.99);
+			w.addBody(b);
+			bodies.add(b);
+		}
+		Joint j1 = new DistanceJoint(bodies.get(0), bodies.get(1), new Vector2(), new Vector2());
+		Joint j2 = new DistanceJoint(bodies.get(1), bodies.get(2), new Vector2(), new Vector2());
+		Joint j3 = new DistanceJoint(bodies.get(7), bodies.get(8), new Vector2(), new Vector2());
+		w.addJoint(j1);
+		w.addJoint(j2);
+		w.addJoint(j3);
+		
+		w.step(1);
+		TestCase.assertFalse(floor.contacts.isEmpty());
+		
+		// remove every other body, a null body and a body that's not in the world
+		List<Body> remove = new ArrayList<Body>();
+		for (int i = 0; i < 10; i += 2) {
+			remove.add(bodies.get(i));
+		}
+		remove.add(null);
+		remove.add(new Body());
+		remove.add(bodies.get(0));
+		
+		TestCase.assertEquals(5, w.removeBodies(remove, true));
+		TestCase.assertEquals(6, w.getBodyCount());
+		
+		// the order of the remaining bodies should be preserved
+		TestCase.assertSame(floor, w.getBody(0));
+		for (int i = 1; i < 6; i++) {
+			TestCase.assertSame(bodies.get(2 * i - 1), w.getBody(i));
+			TestCase.assertTrue(w.containsBody(w.getBody(i)));
+		}
+		
+		// all the joints were attached to a removed body
+		TestCase.assertEquals(0, w.getJointCount());
+		TestCase.assertTrue(bodies.get(1).joints.isEmpty());
+		// the floor should only have contacts with the remaining bodies
+		for (ContactEdge ce : floor.contacts) {
+			TestCase.assertNotNull(ce.getOther().world);
+		}
+		for (int i = 0; i < 10; i += 2) {
+			Body b = bodies.get(i);
+			TestCase.assertNull(b.world);
+			TestCase.assertTrue(b.joints.isEmpty());
+			TestCase.assertTrue(b.contacts.isEmpty());
+			TestCase.assertNull(w.broadphaseDetector.getAABB(b));
+		}
+		// three joints and at least the ten contact points with the floor
+		TestCase.assertTrue(dl.called >= 13);
+		
+		// the world should still work
+		w.step(1);
+		TestCase.assertEquals(0, w.removeBodies(new ArrayList<Body>()));
+	}
+	
+	/**
+	 * Tests the add bodies method.
+	 * @since 3.2.0
+	 */
+	@Test
+	public void addBodies() {
+		World w = new World();
+		
+		Body floor = new Body();
+		floor.addFixture(Geometry.createRectangle(20.0, 1.0));
+		floor.setMass(Mass.Type.INFINITE);
+		w.addBody(floor);
+		
+		List<Body> bodies = new ArrayList<Body>();
+		for (int i = 0; i < 10; i++) {
+			Body b = new Body();
+			b.addFixture(Geometry.createSquare(1.0));
+			b.setMass(Mass.Type.NORMAL);
+			b.translate(-5.0 + i * 1.01, 0.99);
+			bodies.add(b);
+		}
+		w.addBodies(bodies);
+		
+		TestCase.assertEquals(11, w.getBodyCount());
+		for (int i = 0; i < 10; i++) {
+			Body b = bodies.get(i);
+			TestCase.assertSame(w, b.world);
+			TestCase.assertSame(b, w.getBody(i + 1));
+			TestCase.assertTrue(w.containsBody(b));
+			TestCase.assertNotNull(w.broadphaseDetector.getAABB(b));
+		}
+		
+		// the bodies should collide with the floor
+		w.step(1);
+		TestCase.assertEquals(10, floor.contacts.size());
+		
+		// adding an empty collection does nothing
+		w.addBodies(new ArrayList<Body>());
+		TestCase.assertEquals(11, w.getBodyCount());
+		
+		// test adding a null body
+		List<Body> invalid = new ArrayList<Body>();
+		Body b1 = new Body();
+		invalid.add(b1);
+		invalid.add(null);
+		try {
+			w.addBodies(invalid);
+			TestCase.fail();
+		} catch (NullPointerException e) {
+			// the valid body should not be added
+			TestCase.assertNull(b1.world);
+			TestCase.assertEquals(11, w.getBodyCount());
+		}
+		
+		// test adding the same body twice
+		invalid.clear();
+		invalid.add(b1);
+		invalid.add(b1);
+		try {
+			w.addBodies(invalid);
+			TestCase.fail();
+		} catch (IllegalArgumentException e) {
+			TestCase.assertNull(b1.world);
+			TestCase.assertEquals(11, w.getBodyCount());
+		}
+		
+		// test adding a body that's already in the world
+		invalid.clear();
+		invalid.add(b1);
+		invalid.add(floor);
+		try {
+			w.addBodies(invalid);
+			TestCase.fail();
+		} catch (IllegalArgumentException e) {
+			TestCase.assertNull(b1.world);
+		}
+		
+		// test adding a body that's in another world
+		World w2 = new World();
+		Body b2 = new Body();
+		w2.addBody(b2);
+		invalid.clear();
+		invalid.add(b1);
+		invalid.add(b2);
+		try {
+			w.addBodies(invalid);
+			TestCase.fail();
+		} catch (IllegalArgumentException e) {
+			TestCase.assertNull(b1.world);
+			TestCase.assertSame(w2, b2.world);
+		}
+		
+		// test adding enough bodies to compute the AABBs in parallel
+		w.getSettings().setParallelSolverThreadCount(4);
+		bodies.clear();
+		for (int i = 0; i < 2000; i++) {
+			Body b = new Body();
+			b.addFixture(Geometry.createCircle(0.25));
+			b.setMass(Mass.Type.NORMAL);
+			b.translate((i % 50) * 0.6, 10.0 + (i / 50) * 0.6);
+			bodies.add(b);
+		}
+		w.addBodies(bodies);
+		TestCase.assertEquals(2011, w.getBodyCount());
+		for (Body b : bodies) {
+			TestCase.assertTrue(w.broadphaseDetector.getAABB(b).contains(b.createAABB()));
+		}
+		w.step(1);
+	}
+	
+	/**
+	 * Creates a world with stacked boxes, circles and joints for the snapshot tests.
+	 * @return {@link World}
+	 */
+	private World createSnapshotWorld() {
+		World w = new World();
+		
+		Body floor = new Body();
+		floor.addFixture(Geometry.createRectangle(30.0, 1.0));
+		floor.setMass(Mass.Type.INFINITE);
+		w.addBody(floor);
+		
+		// a stack of boxes and some circles
+		for (int i = 0; i < 10; i++) {
+			Body b = new Body();
+			b.addFixture(Geometry.createSquare(1.0));
+			b.setMass(Mass.Type.NORMAL);
+			b.translate(-5.0 + (i % 2) * 0.1, 1.0 + i * 1.05);
+			w.addBody(b);
+		}
+		for (int i = 0; i < 5; i++) {
+			Body b = new Body();
+			b.addFixture(Geometry.createCircle(0.3));
+			b.setMass(Mass.Type.NORMAL);
+			b.translate(2.0 + i * 0.5, 1.0 + i);
+			b.setLinearVelocity(1.0, 0.0);
+			w.addBody(b);
+		}
+		
+		// a pendulum chain
+		Body last = floor;
+		for (int i = 0; i < 4; i++) {
+			Body b = new Body();
+			b.addFixture(Geometry.createRectangle(0.5, 0.2));
+			b.setMass(Mass.Type.NORMAL);
+			b.translate(8.0 + i * 0.5, 6.0);
+			w.addBody(b);
+			w.addJoint(new RevoluteJoint(last, b, new Vector2(7.75 + i * 0.5, 6.0)));
+			last = b;
+		}
+		w.addJoint(new DistanceJoint(w.getBody(1), w.getBody(11), w.getBody(1).getWorldCenter(), w.getBody(11).getWorldCenter()));
+		return w;
+	}
+	
+	/**
+	 * Returns a snapshot of the given world.
+	 * @param w the world
+	 * @return byte[]
+	 */
+	private byte[] snapshot(World w) {
+		ByteBuffer buffer = ByteBuffer.allocate(w.getSnapshotSize());
+		w.snapshot(buffer);
+		TestCase.assertEquals(buffer.capacity(), buffer.position());
+		return buffer.array();
+	}
+	
+	/**
+	 * Tests the snapshot and restore methods.
+	 * @since 3.2.0
+	 */
+	@Test
+	public void snapshotRestore() {
+		World w = this.createSnapshotWorld();
+		w.step(30);
+		
+		// apply a pending force to make sure it's kept
+		w.getBody(12).applyForce(new Vector2(0.0, 100.0));
+		byte[] s0 = this.snapshot(w);
+		TestCase.assertTrue(w.getContactManager().isListEmpty() == false);
+		
+		// restoring the snapshot and taking another should be identical
+		w.restore(ByteBuffer.wrap(s0));
+		TestCase.assertTrue(Arrays.equals(s0, this.snapshot(w)));
+		int contacts = 0;
+		for (Body b : w.getBodies()) {
+			contacts += b.contacts.size();
+		}
+		TestCase.assertTrue(contacts > 0);
+		
+		// step the restored world
+		w.step(40);
+		byte[] s1 = this.snapshot(w);
+		
+		// change the world and restore it again
+		w.getBody(3).applyImpulse(new Vector2(10.0, 0.0));
+		w.step(13);
+		w.restore(ByteBuffer.wrap(s0));
+		w.step(40);
+		TestCase.assertTrue(Arrays.equals(s1, this.snapshot(w)));
+		
+		// restoring into an identically built world should produce the same results
+		World w2 = this.createSnapshotWorld();
+		w2.restore(ByteBuffer.wrap(s0));
+		w2.step(40);
+		TestCase.assertTrue(Arrays.equals(s1, this.snapshot(w2)));
+		for (int i = 0; i < w.getBodyCount(); i++) {
+			Transform t1 = w.getBody(i).getTransform();
+			Transform t2 = w2.getBody(i).getTransform();
+			TestCase.assertTrue(t1.valueEquals(t2));
+		}
+		
+		// a snapshot can be restored from any position in a buffer
+		ByteBuffer buffer = ByteBuffer.allocate(s0.length + 10);
+		buffer.position(10);
+		buffer.put(s0);
+		buffer.position(10);
+		w.restore(buffer);
+		TestCase.assertEquals(buffer.capacity(), buffer.position());
+		w.step(40);
+		TestCase.assertTrue(Arrays.equals(s1, this.snapshot(w)));
+	}
+	
+	/**
+	 * Tests the snapshot method with a null buffer.
+	 * @since 3.2.0
+	 */
+	@Test(expected = NullPointerException.class)
+	public void snapshotNullBuffer() {
+		World w = new World();
+		w.snapshot(null);
+	}
+	
+	/**
+	 * Tests the restore method with a null buffer.
+	 * @since 3.2.0
+	 */
+	@Test(expected = NullPointerException.class)
+	public void restoreNullBuffer() {
+		World w = new World();
+		w.restore(null);
+	}
+	
+	/**
+	 * Tests the restore method with a snapshot of a different world.
+	 * @since 3.2.0
+	 */
+	@Test
+	public void restoreMismatch() {
+		World w = this.createSnapshotWorld();
+		w.step(5);
+		byte[] s = this.snapshot(w);
+		Transform t = w.getBody(1).getTransform().copy();
+		
+		w.addBody(new Body());
+		try {
+			w.restore(ByteBuffer.wrap(s));
+			TestCase.fail();
+		} catch (IllegalArgumentException e) {
+			// the world should not be changed
+			TestCase.assertTrue(t.valueEquals(w.getBody(1).getTransform()));
+		}
+	}
+	
+	/**
+	 * Tests the restore method with invalid contact constraint records.
+	 * @since 3.2.0
+	 */
+	@Test
+	public void restoreInvalidContact() {
+		World w = this.createSnapshotWorld();
+		w.step(30);
+		byte[] s = this.snapshot(w);
+		
+		// find the first contact constraint record
+		int position = 3 * 4 + 6 * 8 + 1 + w.getBodyCount() * Body.SNAPSHOT_SIZE;
+		for (Constraint joint : w.getJoints()) {
+			position += joint.getSnapshotSize();
+		}
+		TestCase.assertTrue(position < s.length);
+		
+		// step the world so that it's different from the snapshot
+		w.step(5);
+		Transform t = w.getBody(1).getTransform().copy();
+		int contacts = w.getBody(1).contacts.size();
+		TestCase.assertTrue(contacts > 0);
+		
+		// an invalid fixture index
+		byte[] s1 = Arrays.copyOf(s, s.length);
+		ByteBuffer.wrap(s1).putInt(position + 4, 5);
+		try {
+			w.restore(ByteBuffer.wrap(s1));
+			TestCase.fail();
+		} catch (IllegalArgumentException e) {
+			// the world should not be changed
+			TestCase.assertTrue(t.valueEquals(w.getBody(1).getTransform()));
+			TestCase.assertEquals(contacts, w.getBody(1).contacts.size());
+		}
+		
+		// an invalid body index
+		s1 = Arrays.copyOf(s, s.length);
+		ByteBuffer.wrap(s1).putInt(position + 8, w.getBodyCount());
+		try {
+			w.restore(ByteBuffer.wrap(s1));
+			TestCase.fail();
+		} catch (IllegalArgumentException e) {
+			TestCase.assertTrue(t.valueEquals(w.getBody(1).getTransform()));
+			TestCase.assertEquals(contacts, w.getBody(1).contacts.size());
+		}
+		
+		// an incomplete snapshot
+		ByteBuffer buffer = ByteBuffer.wrap(s, 0, s.length - 1);
+		try {
+			w.restore(buffer);
+			TestCase.fail();
+		} catch (IllegalArgumentException e) {
+			TestCase.assertEquals(0, buffer.position());
+			TestCase.assertTrue(t.valueEquals(w.getBody(1).getTransform()));
+			TestCase.assertEquals(contacts, w.getBody(1).contacts.size());
+		}
+		
+		// the valid snapshot can still be restored
+		w.restore(ByteBuffer.wrap(s));
+		TestCase.assertTrue(Arrays.equals(s, this.snapshot(w)));
+	}
+	
+	/**
+	 * Tests that the restore method reuses the current contact constraints and forces.
+	 * @since 3.2.0
+	 */
+	@Test
+	public void restoreReuse() {
+		World w = this.createSnapshotWorld();
+		w.step(30);
+		w.getBody(12).applyForce(new Vector2(0.0, 100.0));
+		byte[] s = this.snapshot(w);
+		
+		w.restore(ByteBuffer.wrap(s));
+		List<ContactConstraint> constraints = new ArrayList<ContactConstraint>();
+		for (Body b : w.getBodies()) {
+			for (ContactEdge edge : b.contacts) {
+				constraints.add(edge.getContactConstraint());
+			}
+		}
+		TestCase.assertFalse(constraints.isEmpty());
+		Force force = w.getBody(12).forces.get(0);
+		
+		// restoring the same snapshot again should reuse the objects
+		w.restore(ByteBuffer.wrap(s));
+		int i = 0;
+		for (Body b : w.getBodies()) {
+			for (ContactEdge edge : b.contacts) {
+				TestCase.assertSame(constraints.get(i++), edge.getContactConstraint());
+			}
+		}
+		TestCase.assertEquals(constraints.size(), i);
+		TestCase.assertSame(force, w.getBody(12).forces.get(0));
+		TestCase.assertTrue(Arrays.equals(s, this.snapshot(w)));
+	}
+	
+	/**
+	 * Tests that the restore method updates the broadphase in place.
+	 * @since 3.2.0
+	 */
+	@Test
+	public void restoreBroadphase() {
+		World w = this.createSnapshotWorld();
+		w.step(30);
+		byte[] s = this.snapshot(w);
+		
+		BroadphaseDetector<Body> broadphase = w.getBroadphaseDetector();
+		List<AABB> aabbs = new ArrayList<AABB>();
+		for (Body b : w.getBodies()) {
+			aabbs.add(broadphase.getAABB(b));
+		}
+		
+		// restoring into the unchanged world should keep the broadphase proxies
+		w.restore(ByteBuffer.wrap(s));
+		for (int i = 0; i < w.getBodyCount(); i++) {
+			TestCase.assertSame(aabbs.get(i), broadphase.getAABB(w.getBody(i)));
+		}
+		
+		// the proxies of the moved bodies should be updated
+		w.getBody(1).translate(0.0, 5.0);
+		w.step(1);
+		w.restore(ByteBuffer.wrap(s));
+		TestCase.assertTrue(broadphase.getAABB(w.getBody(1)).contains(w.getBody(1).createAABB()));
+		TestCase.assertTrue(Arrays.equals(s, this.snapshot(w)));
+	}
+	
 	/**
 	 * Tests the remove joint method.
 	 */
@@ -966,4 +1498,418 @@ public class WorldTest {
 		   TestCase.fail();
 	   }
 	}
+	
+	/**
+	 * Returns a new world containing a small stack for the geometry cache tests.
+	 * @param cache true if the geometry cache should be enabled
+	 * @return {@link World}
+	 */
+	private World createStackWorld(boolean cache) {
+		World w = new World();
+		w.getSettings().setGeometryCacheEnabled(cache);
+		
+		Body floor = new Body();
+		floor.addFixture(Geometry.createRectangle(20.0, 1.0));
+		floor.addFixture(Geometry.createSegment(new Vector2(-10.0, 0.5), new Vector2(-10.0, 5.0)));
+		floor.setMass(Mass.Type.INFINITE);
+		w.addBody(floor);
+		
+		for (int i = 0; i < 5; i++) {
+			Body box = new Body();
+			box.addFixture(Geometry.createRectangle(1.0, 1.0));
+			box.translate(0.1 * i, 1.0 + 1.05 * i);
+			box.setMass(Mass.Type.NORMAL);
+			w.addBody(box);
+		}
+		
+		Body ball = new Body();
+		ball.addFixture(Geometry.createCircle(0.5));
+		ball.addFixture(Geometry.createUnitCirclePolygon(12, 0.4), 1.0, 0.2, 0.0);
+		ball.getFixture(1).getShape().translate(0.5, 0.0);
+		ball.translate(-3.0, 2.0);
+		ball.setMass(Mass.Type.NORMAL);
+		w.addBody(ball);
+		
+		return w;
+	}
+	
+	/**
+	 * Tests that enabling the geometry cache produces the same simulation.
+	 * @since 3.2.0
+	 */
+	@Test
+	public void stepGeometryCache() {
+		World w1 = this.createStackWorld(false);
+		World w2 = this.createStackWorld(true);
+		
+		for (int i = 0; i < 60; i++) {
+			w1.step(1);
+			w2.step(1);
+			for (int j = 0; j < w1.getBodyCount(); j++) {
+				Body b1 = w1.getBody(j);
+				Body b2 = w2.getBody(j);
+				TestCase.assertEquals(b1.getWorldCenter().x, b2.getWorldCenter().x, 1.0e-8);
+				TestCase.assertEquals(b1.getWorldCenter().y, b2.getWorldCenter().y, 1.0e-8);
+				TestCase.assertEquals(b1.getTransform().getRotation(), b2.getTransform().getRotation(), 1.0e-8);
+				TestCase.assertEquals(b1.getContacts(false).size(), b2.getContacts(false).size());
+			}
+		}
+		
+		// raycasting should also produce the same results
+		List<RaycastResult> r1 = new ArrayList<RaycastResult>();
+		List<RaycastResult> r2 = new ArrayList<RaycastResult>();
+		w1.raycast(new Vector2(-5.0, 1.5), new Vector2(5.0, 1.5), false, true, r1);
+		w2.raycast(new Vector2(-5.0, 1.5), new Vector2(5.0, 1.5), false, true, r2);
+		TestCase.assertFalse(r1.isEmpty());
+		TestCase.assertEquals(r1.size(), r2.size());
+		TestCase.assertEquals(r1.get(0).getRaycast().getDistance(), r2.get(0).getRaycast().getDistance(), 1.0e-8);
+	}
+	
+	/**
+	 * Tests that enabling the manifold cache skips the narrow-phase for resting
+	 * contact without changing the simulation significantly.
+	 * @since 3.2.0
+	 */
+	@Test
+	public void stepManifoldCache() {
+		World w1 = this.createStackWorld(false);
+		World w2 = this.createStackWorld(false);
+		w2.getSettings().setManifoldCacheEnabled(true);
+		
+		// count the narrow-phase tests
+		final int[] count = new int[2];
+		w1.setNarrowphaseDetector(new Gjk() {
+			public boolean detect(Convex convex1, Transform transform1, Convex convex2, Transform transform2, Penetration penetration) {
+				count[0]++;
+				return super.detect(convex1, transform1, convex2, transform2, penetration);
+			}
+		});
+		w2.setNarrowphaseDetector(new Gjk() {
+			public boolean detect(Convex convex1, Transform transform1, Convex convex2, Transform transform2, Penetration penetration) {
+				count[1]++;
+				return super.detect(convex1, transform1, convex2, transform2, penetration);
+			}
+		});
+		
+		// let the stack settle
+		w1.step(300);
+		w2.step(300);
+		
+		for (int j = 0; j < w1.getBodyCount(); j++) {
+			Body b1 = w1.getBody(j);
+			Body b2 = w2.getBody(j);
+			TestCase.assertEquals(b1.getWorldCenter().x, b2.getWorldCenter().x, 1.0e-2);
+			TestCase.assertEquals(b1.getWorldCenter().y, b2.getWorldCenter().y, 1.0e-2);
+			TestCase.assertEquals(b1.getContacts(false).size(), b2.getContacts(false).size());
+		}
+		TestCase.assertTrue(count[1] < count[0]);
+		
+		// removing all the bodies should clear the cache
+		w2.removeAllBodies();
+		TestCase.assertEquals(0, w2.manifoldCache.size());
+	}
+	
+	/**
+	 * Tests that the contacts between sleeping bodies are kept without collision
+	 * detection until the bodies are woken or moved.
+	 * @since 3.2.0
+	 */
+	@Test
+	public void detectFrozen() {
+		World w = new World();
+		
+		Body ground = new Body();
+		ground.addFixture(Geometry.createRectangle(15.0, 1.0));
+		ground.setMass(Mass.Type.INFINITE);
+		w.addBody(ground);
+		
+		Body box1 = new Body();
+		box1.addFixture(Geometry.createSquare(0.5));
+		box1.translate(0.0, 0.75);
+		box1.setMass(Mass.Type.NORMAL);
+		w.addBody(box1);
+		
+		Body box2 = new Body();
+		box2.addFixture(Geometry.createSquare(0.5));
+		box2.translate(0.0, 1.25);
+		box2.setMass(Mass.Type.NORMAL);
+		w.addBody(box2);
+		
+		// count the pairs that get to the narrowphase
+		final int[] pairs = new int[1];
+		final int[] ended = new int[1];
+		w.addListener(new CollisionAdapter() {
+			@Override
+			public boolean collision(Body body1, Body body2) {
+				pairs[0]++;
+				return true;
+			}
+		});
+		w.addListener(new ContactAdapter() {
+			@Override
+			public void end(ContactPoint point) {
+				ended[0]++;
+			}
+		});
+		
+		// let the stack fall asleep
+		for (int i = 0; i < 300 && !box2.isAsleep(); i++) {
+			w.step(1);
+		}
+		TestCase.assertTrue(box1.isAsleep());
+		TestCase.assertTrue(box2.isAsleep());
+		
+		// the contacts should be kept without detection
+		w.step(1);
+		pairs[0] = 0;
+		ended[0] = 0;
+		w.step(1);
+		TestCase.assertEquals(0, pairs[0]);
+		TestCase.assertEquals(0, ended[0]);
+		TestCase.assertTrue(box1.isInContact(ground));
+		TestCase.assertTrue(box1.isInContact(box2));
+		TestCase.assertEquals(2, box1.getInContactBodies(false).size());
+		TestCase.assertEquals(1, ground.getInContactBodies(false).size());
+		
+		// waking a body should detect its contacts
+		box2.setAsleep(false);
+		w.step(1);
+		TestCase.assertTrue(pairs[0] > 0);
+		TestCase.assertTrue(box1.isInContact(box2));
+		TestCase.assertTrue(box1.isInContact(ground));
+		TestCase.assertEquals(0, ended[0]);
+		
+		// let it fall asleep again
+		for (int i = 0; i < 300 && !box2.isAsleep(); i++) {
+			w.step(1);
+		}
+		w.step(1);
+		
+		// moving a sleeping body should detect its contacts
+		ended[0] = 0;
+		box2.translate(2.0, 0.0);
+		w.step(1);
+		TestCase.assertFalse(box1.isInContact(box2));
+		TestCase.assertTrue(box1.isInContact(ground));
+		TestCase.assertEquals(2, ended[0]);
+	}
+	
+	/**
+	 * Creates a world with randomly placed bodies for the batch raycast tests.
+	 * @return {@link World}
+	 */
+	private World createRaycastWorld() {
+		World w = new World();
+		Random r = new Random(11);
+		for (int i = 0; i < 200; i++) {
+			Body b = new Body();
+			if (i % 4 == 0) {
+				b.addFixture(Geometry.createCircle(0.5));
+			} else {
+				b.addFixture(Geometry.createSquare(0.7));
+				BodyFixture bf = b.addFixture(Geometry.createCircle(0.4));
+				bf.setSensor(i % 3 == 0);
+				bf.setFilter(new CategoryFilter(2, Integer.MAX_VALUE));
+			}
+			b.setMass(Mass.Type.NORMAL);
+			b.translate(r.nextDouble() * 50.0 - 25.0, r.nextDouble() * 50.0 - 25.0);
+			b.rotate(r.nextDouble());
+			b.setActive(i % 7 != 0);
+			w.addBody(b);
+		}
+		w.step(1);
+		return w;
+	}
+	
+	/**
+	 * Tests that the batch raycast returns the same results as single raycasts.
+	 * @since 3.2.0
+	 */
+	@Test
+	public void raycastBatch() {
+		World w = this.createRaycastWorld();
+		
+		int count = 1000;
+		Random r = new Random(5);
+		double[] origins = new double[count * 2];
+		double[] directions = new double[count * 2];
+		double[] lengths = new double[count];
+		for (int i = 0; i < count; i++) {
+			origins[i * 2] = r.nextDouble() * 60.0 - 30.0;
+			origins[i * 2 + 1] = r.nextDouble() * 60.0 - 30.0;
+			double a = r.nextDouble() * Math.PI * 2.0;
+			// don't normalize the directions
+			directions[i * 2] = Math.cos(a) * 3.0;
+			directions[i * 2 + 1] = Math.sin(a) * 3.0;
+			lengths[i] = i % 5 == 0 ? 0.0 : r.nextDouble() * 30.0;
+		}
+		// a zero direction never hits
+		directions[2] = 0.0;
+		directions[3] = 0.0;
+		
+		CategoryFilter filter = new CategoryFilter(1, 1);
+		for (int threads = 1; threads <= 4; threads += 3) {
+			w.getSettings().setParallelSolverThreadCount(threads);
+			for (int t = 0; t < 4; t++) {
+				boolean ignoreSensors = t % 2 == 0;
+				boolean ignoreInactive = t < 2;
+				CategoryFilter f = t == 3 ? filter : null;
+				
+				BatchRaycastResult results = new BatchRaycastResult();
+				int hits = w.raycast(origins, directions, lengths, count, f, ignoreSensors, ignoreInactive, results);
+				TestCase.assertTrue(hits > 0);
+				TestCase.assertEquals(hits, results.getHitCount());
+				TestCase.assertEquals(count, results.getRayCount());
+				TestCase.assertFalse(results.isHit(1));
+				
+				int expected = 0;
+				List<RaycastResult> rr = new ArrayList<RaycastResult>();
+				for (int i = 0; i < count; i++) {
+					if (i == 1) continue;
+					rr.clear();
+					Vector2 d = new Vector2(directions[i * 2], directions[i * 2 + 1]);
+					d.normalize();
+					Ray ray = new Ray(new Vector2(origins[i * 2], origins[i * 2 + 1]), d);
+					if (w.raycast(ray, lengths[i], f, ignoreSensors, ignoreInactive, false, rr)) {
+						expected++;
+						RaycastResult result = rr.get(0);
+						TestCase.assertTrue(results.isHit(i));
+						TestCase.assertSame(result.getBody(), w.getBody(results.getBodyIndices()[i]));
+						TestCase.assertSame(result.getFixture(), result.getBody().getFixture(results.getFixtureIndices()[i]));
+						TestCase.assertEquals(result.getRaycast().getDistance(), results.getDistances()[i], 1.0e-9);
+						TestCase.assertEquals(result.getRaycast().getPoint().x, results.getPoints()[i * 2], 1.0e-9);
+						TestCase.assertEquals(result.getRaycast().getPoint().y, results.getPoints()[i * 2 + 1], 1.0e-9);
+						TestCase.assertEquals(result.getRaycast().getNormal().x, results.getNormals()[i * 2], 1.0e-9);
+						TestCase.assertEquals(result.getRaycast().getNormal().y, results.getNormals()[i * 2 + 1], 1.0e-9);
+					} else {
+						TestCase.assertFalse(results.isHit(i));
+						TestCase.assertEquals(-1, results.getFixtureIndices()[i]);
+					}
+				}
+				TestCase.assertEquals(expected, hits);
+			}
+		}
+	}
+	
+	/**
+	 * Tests that the batch raycast notifies the raycast listeners on the calling thread.
+	 * @since 3.2.0
+	 */
+	@Test
+	public void raycastBatchListeners() {
+		World w = this.createRaycastWorld();
+		w.getSettings().setParallelSolverThreadCount(4);
+		
+		final Thread thread = Thread.currentThread();
+		final boolean[] otherThread = new boolean[1];
+		final Body excluded = w.getBody(0);
+		w.addListener(new RaycastAdapter() {
+			@Override
+			public boolean allow(Ray ray, Body body) {
+				if (Thread.currentThread() != thread) otherThread[0] = true;
+				return body != excluded;
+			}
+		});
+		
+		int count = 500;
+		double[] origins = new double[count * 2];
+		double[] directions = new double[count * 2];
+		for (int i = 0; i < count; i++) {
+			// cast all the rays at the excluded body
+			Vector2 c = excluded.getWorldCenter();
+			origins[i * 2] = c.x - 30.0;
+			origins[i * 2 + 1] = c.y + (i - count / 2) * 0.001;
+			directions[i * 2] = 1.0;
+		}
+		BatchRaycastResult results = new BatchRaycastResult(count);
+		w.raycast(origins, directions, null, count, null, false, false, results);
+		
+		TestCase.assertFalse(otherThread[0]);
+		for (int i = 0; i < count; i++) {
+			if (results.isHit(i)) {
+				TestCase.assertNotSame(excluded, w.getBody(results.getBodyIndices()[i]));
+			}
+		}
+	}
+	
+	/**
+	 * Tests the batch raycast with a null array.
+	 * @since 3.2.0
+	 */
+	@Test(expected = NullPointerException.class)
+	public void raycastBatchNullArray() {
+		World w = new World();
+		w.raycast(null, new double[2], null, 1, null, false, false, new BatchRaycastResult());
+	}
+	
+	/**
+	 * Tests the batch raycast with a count greater than the number of rays.
+	 * @since 3.2.0
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void raycastBatchInvalidCount() {
+		World w = new World();
+		w.raycast(new double[2], new double[2], null, 2, null, false, false, new BatchRaycastResult());
+	}
+	
+	/**
+	 * Tests that the closest raycast tests the bodies in order and stops early.
+	 * @since 3.2.0
+	 */
+	@Test
+	public void raycastClosestOrdered() {
+		World w = new World();
+		// a row of boxes along the x axis added in reverse order
+		for (int i = 99; i >= 0; i--) {
+			Body b = new Body();
+			b.addFixture(Geometry.createSquare(0.5));
+			b.translate(i * 1.0, 0.0);
+			w.addBody(b);
+		}
+		// a box above the row
+		Body above = new Body();
+		above.addFixture(Geometry.createSquare(0.5));
+		above.translate(50.0, 5.0);
+		w.addBody(above);
+		w.step(1);
+		
+		final List<Body> tested = new ArrayList<Body>();
+		w.addListener(new RaycastAdapter() {
+			@Override
+			public boolean allow(Ray ray, Body body) {
+				tested.add(body);
+				return true;
+			}
+		});
+		
+		// cast along the row from the left
+		List<RaycastResult> results = new ArrayList<RaycastResult>();
+		TestCase.assertTrue(w.raycast(new Vector2(-5.0, 0.1), new Vector2(200.0, 0.1), null, false, false, false, results));
+		TestCase.assertEquals(1, results.size());
+		TestCase.assertSame(w.getBody(99), results.get(0).getBody());
+		TestCase.assertEquals(4.75, results.get(0).getRaycast().getDistance(), 1.0e-8);
+		// only the first body should have been tested
+		TestCase.assertEquals(1, tested.size());
+		
+		// cast from the right with an infinite ray
+		tested.clear();
+		results.clear();
+		TestCase.assertTrue(w.raycast(new Ray(new Vector2(200.0, 0.1), Math.PI), 0.0, null, false, false, false, results));
+		TestCase.assertSame(w.getBody(0), results.get(0).getBody());
+		TestCase.assertEquals(1, tested.size());
+		
+		// bodies that are ignored are skipped
+		tested.clear();
+		results.clear();
+		w.getBody(99).setActive(false);
+		TestCase.assertTrue(w.raycast(new Vector2(-5.0, 0.1), new Vector2(200.0, 0.1), null, false, true, false, results));
+		TestCase.assertSame(w.getBody(98), results.get(0).getBody());
+		TestCase.assertEquals(1, tested.size());
+		
+		// the all flag still returns all the bodies
+		tested.clear();
+		results.clear();
+		TestCase.assertTrue(w.raycast(new Vector2(-5.0, 0.1), new Vector2(200.0, 0.1), null, false, false, true, results));
+		TestCase.assertEquals(100, results.size());
+	}
 }
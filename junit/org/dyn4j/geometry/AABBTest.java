@@ -28,6 +28,7 @@ import junit.framework.TestCase;
 
 import org.dyn4j.Epsilon;
 import org.dyn4j.geometry.AABB;
+import org.dyn4j.geometry.Ray;
 import org.dyn4j.geometry.Vector2;
 import org.junit.Test;
 
@@ -357,4 +358,38 @@ public class AABBTest {
 		TestCase.assertFalse(aabb.isDegenerate(Epsilon.E));
 		TestCase.assertTrue(aabb.isDegenerate(0.000001));
 	}
+	
+	/**
+	 * Tests the getEntryDistance method.
+	 * @since 3.2.0
+	 */
+	@Test
+	public void getEntryDistance() {
+		AABB aabb = new AABB(1.0, -1.0, 2.0, 1.0);
+		
+		// a ray along the x-axis from the origin
+		Ray ray = new Ray(new Vector2(1.0, 0.0));
+		TestCase.assertEquals(1.0, aabb.getEntryDistance(ray, 0.0), 1.0E-8);
+		TestCase.assertEquals(1.0, aabb.getEntryDistance(ray, 1.5), 1.0E-8);
+		// too short
+		TestCase.assertEquals(-1.0, aabb.getEntryDistance(ray, 0.5), 1.0E-8);
+		
+		// pointing away
+		ray = new Ray(new Vector2(-1.0, 0.0));
+		TestCase.assertEquals(-1.0, aabb.getEntryDistance(ray, 0.0), 1.0E-8);
+		
+		// parallel to the y slab but outside of it
+		ray = new Ray(new Vector2(0.0, 2.0), new Vector2(1.0, 0.0));
+		TestCase.assertEquals(-1.0, aabb.getEntryDistance(ray, 0.0), 1.0E-8);
+		
+		// starting inside
+		ray = new Ray(new Vector2(1.5, 0.0), new Vector2(0.0, 1.0));
+		TestCase.assertEquals(0.0, aabb.getEntryDistance(ray, 0.0), 1.0E-8);
+		
+		// diagonal entering through the bottom
+		Vector2 d = new Vector2(1.0, 1.0);
+		d.normalize();
+		ray = new Ray(new Vector2(0.5, -2.0), d);
+		TestCase.assertEquals(Math.sqrt(2.0), aabb.getEntryDistance(ray, 0.0), 1.0E-8);
+	}
 }
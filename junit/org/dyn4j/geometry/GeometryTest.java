@@ -30,10 +30,12 @@ import java.util.List;
 
 import junit.framework.TestCase;
 
+import org.dyn4j.geometry.Convex;
 import org.dyn4j.geometry.Geometry;
 import org.dyn4j.geometry.Polygon;
 import org.dyn4j.geometry.Rectangle;
 import org.dyn4j.geometry.Segment;
+import org.dyn4j.geometry.Transform;
 import org.dyn4j.geometry.Triangle;
 import org.dyn4j.geometry.Vector2;
 import org.junit.Test;
@@ -1781,4 +1783,33 @@ public class GeometryTest {
 	public void scaleSegmentInvalid() {
 		Geometry.scale(Geometry.createSegment(new Vector2(1.0, 1.0)), 0);
 	}
+	
+	/**
+	 * Tests that the getFarthestPoint method produces the same point as the
+	 * allocating getFarthestPoint method of each shape.
+	 * @since 3.2.0
+	 */
+	@Test
+	public void getFarthestPoint() {
+		Convex[] convexes = new Convex[] {
+			Geometry.createCircle(0.5),
+			Geometry.createCapsule(1.0, 0.5),
+			Geometry.createEllipse(1.0, 0.5),
+			Geometry.createHalfEllipse(1.0, 0.25),
+			Geometry.createSlice(0.5, Math.toRadians(30)),
+			Geometry.createUnitCirclePolygon(5, 0.5),
+			Geometry.createSegment(new Vector2(1.0, 1.0))
+		};
+		Transform transform = new Transform();
+		transform.translate(1.0, -0.5);
+		transform.rotate(Math.toRadians(40));
+		Vector2 n = new Vector2(0.3, 0.8);
+		Vector2 p = new Vector2();
+		for (Convex c : convexes) {
+			Geometry.getFarthestPoint(c, n, transform, p);
+			Vector2 e = c.getFarthestPoint(n, transform);
+			TestCase.assertEquals(e.x, p.x, 1.0e-9);
+			TestCase.assertEquals(e.y, p.y, 1.0e-9);
+		}
+	}
 }
@@ -24,6 +24,8 @@
  */
 package org.dyn4j.geometry;
 
+import java.util.Random;
+
 import junit.framework.TestCase;
 
 import org.dyn4j.geometry.Edge;
@@ -36,7 +38,7 @@ import org.junit.Test;
 /**
  * Test case for the {@link Polygon} class.
  * @author William Bittle
- * @version 3.1.4
+ * @version 3.2.0
  * @since 1.0.0
  */
 public class PolygonTest {
@@ -369,4 +371,85 @@ public class PolygonTest {
 		TestCase.assertEquals( 2.366, aabb.getMaxX(), 1.0e-3);
 		TestCase.assertEquals( 2.866, aabb.getMaxY(), 1.0e-3);
 	}
+	
+	/**
+	 * Returns the index of the farthest vertex using a linear search.
+	 * @param vertices the vertices
+	 * @param n the direction
+	 * @return int
+	 */
+	private static final int getFarthestIndex(Vector2[] vertices, Vector2 n) {
+		int index = 0;
+		double max = n.dot(vertices[0]);
+		for (int i = 1; i < vertices.length; i++) {
+			double p = n.dot(vertices[i]);
+			if (p > max) {
+				index = i;
+				max = p;
+			}
+		}
+		return index;
+	}
+	
+	/**
+	 * Tests the hill climbing support search (with and without the support lookup)
+	 * against a linear search.
+	 * @since 3.2.0
+	 */
+	@Test
+	public void getFarthestHillClimbing() {
+		// a square with colinear vertices along each side
+		Vector2[] square = new Vector2[16];
+		for (int i = 0; i < 4; i++) {
+			square[i] = new Vector2(-1.0 + i * 0.5, -1.0);
+			square[i + 4] = new Vector2(1.0, -1.0 + i * 0.5);
+			square[i + 8] = new Vector2(1.0 - i * 0.5, 1.0);
+			square[i + 12] = new Vector2(-1.0, 1.0 - i * 0.5);
+		}
+		Polygon[] polygons = new Polygon[] {
+			Geometry.createUnitCirclePolygon(10, 1.0),
+			Geometry.createUnitCirclePolygon(17, 1.0),
+			Geometry.createUnitCirclePolygon(33, 1.0),
+			Geometry.createUnitCirclePolygon(64, 1.0),
+			new Polygon(square)
+		};
+		Vector2[] directions = new Vector2[] {
+			new Vector2(1.0, 0.0),
+			new Vector2(0.0, 1.0),
+			new Vector2(-1.0, 0.0),
+			new Vector2(0.0, -1.0),
+			new Vector2(1.0, 1.0),
+			new Vector2(-1.0, -1.0),
+			new Vector2()
+		};
+		
+		Random random = new Random(0);
+		for (int k = 0; k < 2; k++) {
+			for (Polygon p : polygons) {
+				p.setSupportLookupEnabled(k == 0);
+				Vector2[] vertices = p.getVertices();
+				for (int i = 0; i < 1000; i++) {
+					Vector2 n = i < directions.length ? directions[i] : new Vector2(random.nextDouble() * 2.0 - 1.0, random.nextDouble() * 2.0 - 1.0);
+					int index = getFarthestIndex(vertices, n);
+					
+					Vector2 point = p.getFarthestPoint(n, Transform.IDENTITY);
+					TestCase.assertEquals(vertices[index].x, point.x);
+					TestCase.assertEquals(vertices[index].y, point.y);
+					
+					Edge edge = p.getFarthestFeature(n, Transform.IDENTITY);
+					TestCase.assertEquals(index, edge.getMaximum().getIndex());
+				}
+				
+				// rotating the polygon should not affect the results
+				p.rotate(Math.toRadians(37.0));
+				for (int i = 0; i < 100; i++) {
+					Vector2 n = new Vector2(random.nextDouble() * 2.0 - 1.0, random.nextDouble() * 2.0 - 1.0);
+					int index = getFarthestIndex(vertices, n);
+					Vector2 point = p.getFarthestPoint(n, Transform.IDENTITY);
+					TestCase.assertEquals(vertices[index].x, point.x);
+					TestCase.assertEquals(vertices[index].y, point.y);
+				}
+			}
+		}
+	}
 }
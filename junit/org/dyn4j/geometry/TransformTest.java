@@ -76,6 +76,8 @@ public class TransformTest {
 		double r = t.getRotation();
 		
 		TestCase.assertEquals(30.000, Math.floor(Math.toDegrees(r) + 0.5), 1.0e-3);
+		TestCase.assertEquals(Math.cos(r), t.getCost(), 1.0e-9);
+		TestCase.assertEquals(Math.sin(r), t.getSint(), 1.0e-9);
 		
 		t.identity();
 		
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2010-2014 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.geometry;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+
+/**
+ * Test case for the {@link WorldGeometry} class.
+ * @author William Bittle
+ * @version 3.2.0
+ * @since 3.2.0
+ */
+public class WorldGeometryTest {
+	/**
+	 * Tests the constructor with a null shape.
+	 */
+	@Test(expected = NullPointerException.class)
+	public void createNull() {
+		new WorldGeometry(null);
+	}
+	
+	/**
+	 * Tests that a polygon is cached in world space.
+	 */
+	@Test
+	public void updatePolygon() {
+		Polygon p = Geometry.createUnitCirclePolygon(7, 1.0);
+		WorldGeometry wg = new WorldGeometry(p);
+		
+		Transform t = new Transform();
+		t.rotate(Math.toRadians(37.0));
+		t.translate(2.0, -1.5);
+		
+		TestCase.assertFalse(wg.isValid());
+		TestCase.assertTrue(wg.isWorldSpace());
+		TestCase.assertTrue(wg.update(t));
+		TestCase.assertTrue(wg.isValid());
+		TestCase.assertSame(Transform.IDENTITY, wg.getTransform());
+		TestCase.assertSame(p, wg.getShape());
+		
+		Polygon w = (Polygon)wg.getConvex();
+		Vector2[] lv = p.getVertices();
+		Vector2[] ln = p.getNormals();
+		Vector2[] wv = w.getVertices();
+		Vector2[] wn = w.getNormals();
+		TestCase.assertEquals(lv.length, wv.length);
+		for (int i = 0; i < lv.length; i++) {
+			TestCase.assertEquals(t.getTransformed(lv[i]), wv[i]);
+			TestCase.assertEquals(t.getTransformedR(ln[i]), wn[i]);
+		}
+		TestCase.assertEquals(t.getTransformed(p.getCenter()), w.getCenter());
+		TestCase.assertEquals(p.getRadius(), w.getRadius());
+		
+		// the AABB should match the shape's
+		AABB aabb = p.createAABB(t);
+		TestCase.assertEquals(aabb.getMinX(), wg.getAABB().getMinX());
+		TestCase.assertEquals(aabb.getMinY(), wg.getAABB().getMinY());
+		TestCase.assertEquals(aabb.getMaxX(), wg.getAABB().getMaxX());
+		TestCase.assertEquals(aabb.getMaxY(), wg.getAABB().getMaxY());
+		
+		// the support points should match
+		Vector2 n = new Vector2(-0.3, 0.8);
+		TestCase.assertEquals(p.getFarthestPoint(n, t), w.getFarthestPoint(n, wg.getTransform()));
+		
+		// the local polygon should be untouched
+		TestCase.assertEquals(Geometry.createUnitCirclePolygon(7, 1.0).getVertices()[0], lv[0]);
+	}
+	
+	/**
+	 * Tests that the cache is only rebuilt when the transform changes.
+	 */
+	@Test
+	public void updateChanged() {
+		Rectangle r = new Rectangle(1.0, 2.0);
+		WorldGeometry wg = new WorldGeometry(r);
+		
+		Transform t = new Transform();
+		t.translate(1.0, 0.0);
+		
+		TestCase.assertTrue(wg.update(t));
+		TestCase.assertFalse(wg.update(t));
+		TestCase.assertFalse(wg.update(t.copy()));
+		
+		// rectangles are copied as polygons
+		TestCase.assertTrue(wg.getConvex() instanceof Polygon);
+		TestCase.assertFalse(wg.getConvex() instanceof Rectangle);
+		TestCase.assertEquals(1.0, wg.getConvex().getCenter().x, 1.0e-9);
+		
+		t.rotate(0.1);
+		TestCase.assertTrue(wg.update(t));
+		TestCase.assertFalse(wg.update(t));
+		
+		// modifying the shape requires invalidation
+		wg.invalidate();
+		TestCase.assertFalse(wg.isValid());
+		TestCase.assertTrue(wg.update(t));
+	}
+	
+	/**
+	 * Tests that a segment is cached in world space.
+	 */
+	@Test
+	public void updateSegment() {
+		Segment s = new Segment(new Vector2(-1.0, 0.0), new Vector2(2.0, 1.0));
+		WorldGeometry wg = new WorldGeometry(s);
+		
+		Transform t = new Transform();
+		t.rotate(Math.toRadians(-60.0));
+		t.translate(0.5, 3.0);
+		wg.update(t);
+		
+		TestCase.assertTrue(wg.isWorldSpace());
+		Segment w = (Segment)wg.getConvex();
+		TestCase.assertEquals(t.getTransformed(s.getPoint1()), w.getPoint1());
+		TestCase.assertEquals(t.getTransformed(s.getPoint2()), w.getPoint2());
+		TestCase.assertEquals(t.getTransformed(s.getCenter()), w.getCenter());
+		TestCase.assertEquals(s.getLength(), w.getLength());
+		
+		AABB aabb = s.createAABB(t);
+		TestCase.assertEquals(aabb.getMinX(), wg.getAABB().getMinX());
+		TestCase.assertEquals(aabb.getMinY(), wg.getAABB().getMinY());
+		TestCase.assertEquals(aabb.getMaxX(), wg.getAABB().getMaxX());
+		TestCase.assertEquals(aabb.getMaxY(), wg.getAABB().getMaxY());
+	}
+	
+	/**
+	 * Tests that other shapes only cache the AABB.
+	 */
+	@Test
+	public void updateOther() {
+		Circle c = new Circle(0.5);
+		WorldGeometry wg = new WorldGeometry(c);
+		
+		Transform t = new Transform();
+		t.translate(-2.0, 4.0);
+		wg.update(t);
+		
+		TestCase.assertFalse(wg.isWorldSpace());
+		TestCase.assertSame(c, wg.getConvex());
+		TestCase.assertNotSame(t, wg.getTransform());
+		TestCase.assertEquals(-2.0, wg.getTransform().getTranslationX());
+		TestCase.assertEquals(4.0, wg.getTransform().getTranslationY());
+		TestCase.assertEquals(-2.5, wg.getAABB().getMinX(), 1.0e-9);
+		TestCase.assertEquals(4.5, wg.getAABB().getMaxY(), 1.0e-9);
+	}
+}
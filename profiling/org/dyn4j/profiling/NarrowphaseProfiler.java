@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2010-2014 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.profiling;
+
+import java.util.Random;
+
+import org.dyn4j.collision.narrowphase.DispatchNarrowphaseDetector;
+import org.dyn4j.collision.narrowphase.Gjk;
+import org.dyn4j.collision.narrowphase.NarrowphaseDetector;
+import org.dyn4j.collision.narrowphase.Penetration;
+import org.dyn4j.geometry.Convex;
+import org.dyn4j.geometry.Geometry;
+import org.dyn4j.geometry.Transform;
+import org.dyn4j.geometry.Vector2;
+
+/**
+ * Profiler class used to compare the {@link Gjk} and {@link DispatchNarrowphaseDetector}
+ * narrowphase detectors for each supported shape pair.
+ * @author William Bittle
+ * @version 3.2.0
+ * @since 3.2.0
+ */
+public class NarrowphaseProfiler {
+	/** The number of random transform pairs to test per shape pair */
+	private static final int TRANSFORM_COUNT = 1000;
+	
+	/** The number of passes over the random transform pairs */
+	private static final int PASSES = 500;
+	
+	/**
+	 * The application entry point.
+	 * @param args application arguments
+	 */
+	public static void main(String[] args) {
+		// the shapes to test
+		Convex[] shapes = new Convex[] {
+			Geometry.createCircle(0.5),
+			Geometry.createSegment(new Vector2(-0.5, 0.0), new Vector2(0.5, 0.0)),
+			Geometry.createCapsule(1.0, 0.5),
+			Geometry.createRectangle(1.0, 0.5),
+			Geometry.createUnitCirclePolygon(8, 0.5)
+		};
+		String[] names = new String[] {
+			"Circle", "Segment", "Capsule", "Rectangle", "Polygon"
+		};
+		
+		// create the random transforms (the same for all shape pairs)
+		Random random = new Random(0);
+		Transform[] transforms1 = new Transform[TRANSFORM_COUNT];
+		Transform[] transforms2 = new Transform[TRANSFORM_COUNT];
+		for (int i = 0; i < TRANSFORM_COUNT; i++) {
+			transforms1[i] = createTransform(random);
+			transforms2[i] = createTransform(random);
+		}
+		
+		NarrowphaseDetector gjk = new Gjk();
+		NarrowphaseDetector dispatch = new DispatchNarrowphaseDetector();
+		
+		System.out.println("Pair\tGjk (ms)\tDispatch (ms)\tSpeedup");
+		for (int i = 0; i < shapes.length; i++) {
+			for (int j = i; j < shapes.length; j++) {
+				// warm-up
+				run(gjk, shapes[i], shapes[j], transforms1, transforms2, PASSES / 10);
+				run(dispatch, shapes[i], shapes[j], transforms1, transforms2, PASSES / 10);
+				
+				double t1 = run(gjk, shapes[i], shapes[j], transforms1, transforms2, PASSES);
+				double t2 = run(dispatch, shapes[i], shapes[j], transforms1, transforms2, PASSES);
+				
+				System.out.println(names[i] + "-" + names[j] + "\t" + t1 + "\t" + t2 + "\t" + (t1 / t2));
+			}
+		}
+	}
+	
+	/**
+	 * Runs the given detector over the given transforms and returns the time in milliseconds.
+	 * @param detector the detector to profile
+	 * @param convex1 the first convex
+	 * @param convex2 the second convex
+	 * @param transforms1 the transforms for the first convex
+	 * @param transforms2 the transforms for the second convex
+	 * @param passes the number of passes over the transforms
+	 * @return double
+	 */
+	private static final double run(NarrowphaseDetector detector, Convex convex1, Convex convex2, Transform[] transforms1, Transform[] transforms2, int passes) {
+		Penetration p = new Penetration();
+		int hits = 0;
+		long start = System.nanoTime();
+		for (int k = 0; k < passes; k++) {
+			for (int i = 0; i < transforms1.length; i++) {
+				if (detector.detect(convex1, transforms1[i], convex2, transforms2[i], p)) {
+					hits++;
+				}
+			}
+		}
+		long diff = System.nanoTime() - start;
+		// use the result so the loop isn't optimized away
+		if (hits < 0) System.out.println(hits);
+		return (double)diff / 1.0e6;
+	}
+	
+	/**
+	 * Returns a random transform in a region small enough to produce
+	 * a mix of colliding and separated shape pairs.
+	 * @param random the random number generator
+	 * @return {@link Transform}
+	 */
+	private static final Transform createTransform(Random random) {
+		Transform t = new Transform();
+		t.rotate(random.nextDouble() * Math.PI * 2.0);
+		t.translate(random.nextDouble() * 2.0 - 1.0, random.nextDouble() * 2.0 - 1.0);
+		return t;
+	}
+}
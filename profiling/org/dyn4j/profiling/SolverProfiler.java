@@ -0,0 +1,271 @@
+/*
+ * Copyright (c) 2010-2014 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.profiling;
+
+import java.util.List;
+
+import org.dyn4j.dynamics.Body;
+import org.dyn4j.dynamics.BodyFixture;
+import org.dyn4j.dynamics.Settings;
+import org.dyn4j.dynamics.World;
+import org.dyn4j.dynamics.contact.ContactAdapter;
+import org.dyn4j.dynamics.contact.ContactPoint;
+import org.dyn4j.dynamics.joint.Joint;
+import org.dyn4j.dynamics.joint.RevoluteJoint;
+import org.dyn4j.geometry.Geometry;
+import org.dyn4j.geometry.Mass;
+import org.dyn4j.geometry.Vector2;
+
+/**
+ * Profiler class used to compare the quality and cost of the iterative solver,
+ * the batch contact solver and the sub-stepping solver.
+ * <p>
+ * The Pyramid, Stack and Chain tests from the Sandbox are simulated for a fixed 
+ * time with sleeping disabled using a number of solver configurations.  For each 
+ * configuration the average time per step is reported along with the following 
+ * quality metrics:
+ * <ul>
+ * <li>Depth - the maximum contact penetration depth during the last second</li>
+ * <li>Drift - the maximum distance any body moved from its initial position (Pyramid and Stack)
+ * or the maximum distance between the anchor points of any joint during the last second (Chain)</li>
+ * </ul>
+ * Lower is better for both metrics.
+ * @author William Bittle
+ * @version 3.2.0
+ * @since 3.2.0
+ */
+public class SolverProfiler {
+	/** The simulated time in seconds */
+	private static final double RUNTIME = 10.0;
+	
+	/** The number of times each configuration is run; the first run is a warm-up */
+	private static final int RUNS = 3;
+	
+	/**
+	 * Represents a solver configuration.
+	 */
+	private static final class Configuration {
+		/** The configuration name */
+		final String name;
+		
+		/** The number of velocity and position iterations */
+		final int iterations;
+		
+		/** The number of sub-steps */
+		final int subSteps;
+		
+		/** True if the batch contact solver is used */
+		final boolean batch;
+		
+		/**
+		 * Full constructor.
+		 * @param name the name
+		 * @param iterations the number of velocity and position iterations
+		 * @param subSteps the number of sub-steps
+		 * @param batch true if the batch contact solver is used
+		 */
+		Configuration(String name, int iterations, int subSteps, boolean batch) {
+			this.name = name;
+			this.iterations = iterations;
+			this.subSteps = subSteps;
+			this.batch = batch;
+		}
+	}
+	
+	/**
+	 * Contact listener tracking the maximum penetration depth.
+	 */
+	private static final class DepthListener extends ContactAdapter {
+		/** The maximum depth */
+		double depth;
+		
+		/* (non-Javadoc)
+		 * @see org.dyn4j.dynamics.contact.ContactAdapter#preSolve(org.dyn4j.dynamics.contact.ContactPoint)
+		 */
+		@Override
+		public boolean preSolve(ContactPoint point) {
+			this.depth = Math.max(this.depth, point.getDepth());
+			return true;
+		}
+	}
+	
+	/**
+	 * The application entry point.
+	 * @param args application arguments
+	 */
+	public static void main(String[] args) {
+		Configuration[] configurations = new Configuration[] {
+			new Configuration("Iterations 10", 10, 1, false),
+			new Configuration("Iterations 20", 20, 1, false),
+			new Configuration("Iterations 40", 40, 1, false),
+			new Configuration("Batch 10", 10, 1, true),
+			new Configuration("Batch 20", 20, 1, true),
+			new Configuration("Batch 40", 40, 1, true),
+			new Configuration("Sub-steps 2", 10, 2, false),
+			new Configuration("Sub-steps 4", 10, 4, false),
+			new Configuration("Sub-steps 8", 10, 8, false)
+		};
+		
+		String[] scenes = new String[] { "Pyramid", "Stack", "Chain" };
+		
+		// warm-up both solvers
+		for (String scene : scenes) {
+			for (int i = 1; i <= 4; i *= 4) {
+				World world = new World();
+				setup(world, scene);
+				world.getSettings().setSubStepCount(i);
+				run(world, scene);
+			}
+		}
+		
+		System.out.println("Scene\tConfiguration\tms/step\tDepth\tDrift");
+		for (String scene : scenes) {
+			for (Configuration configuration : configurations) {
+				double time = 0.0;
+				double[] quality = null;
+				for (int i = 0; i < RUNS; i++) {
+					World world = new World();
+					setup(world, scene);
+					Settings settings = world.getSettings();
+					settings.setAutoSleepingEnabled(false);
+					settings.setVelocityConstraintSolverIterations(configuration.iterations);
+					settings.setPositionConstraintSolverIterations(configuration.iterations);
+					settings.setSubStepCount(configuration.subSteps);
+					settings.setBatchContactSolverEnabled(configuration.batch);
+					
+					long start = System.nanoTime();
+					quality = run(world, scene);
+					long end = System.nanoTime();
+					
+					// skip the warm-up run
+					if (i > 0) {
+						time += (end - start) / 1.0e6;
+					}
+				}
+				
+				int steps = (int)Math.ceil(RUNTIME / Settings.DEFAULT_STEP_FREQUENCY);
+				System.out.println(String.format("%s\t%s\t%.4f\t%.4f\t%.4f", 
+						scene, 
+						configuration.name, 
+						time / ((RUNS - 1) * steps),
+						quality[0],
+						quality[1]));
+			}
+		}
+	}
+	
+	/**
+	 * Runs the simulation and returns the quality metrics.
+	 * @param world the world
+	 * @param scene the scene name
+	 * @return double[] the maximum depth and drift
+	 */
+	private static final double[] run(World world, String scene) {
+		DepthListener listener = new DepthListener();
+		world.addListener(listener);
+		
+		// record the initial positions
+		int bSize = world.getBodyCount();
+		Vector2[] initial = new Vector2[bSize];
+		for (int i = 0; i < bSize; i++) {
+			initial[i] = world.getBody(i).getWorldCenter();
+		}
+		
+		int steps = (int)Math.ceil(RUNTIME / Settings.DEFAULT_STEP_FREQUENCY);
+		int last = steps - (int)Math.ceil(1.0 / Settings.DEFAULT_STEP_FREQUENCY);
+		double drift = 0.0;
+		for (int i = 0; i < steps; i++) {
+			// only track the quality of the last second
+			if (i == last) {
+				listener.depth = 0.0;
+			}
+			
+			world.step(1);
+			
+			if (i >= last && scene.equals("Chain")) {
+				List<Joint> joints = world.getJoints();
+				for (Joint joint : joints) {
+					drift = Math.max(drift, joint.getAnchor1().distance(joint.getAnchor2()));
+				}
+			}
+		}
+		
+		if (!scene.equals("Chain")) {
+			for (int i = 0; i < bSize; i++) {
+				drift = Math.max(drift, initial[i].distance(world.getBody(i).getWorldCenter()));
+			}
+		}
+		
+		return new double[] { listener.depth, drift };
+	}
+	
+	/**
+	 * Creates the given scene.  Exported from the tests in the Sandbox.
+	 * @param world the world
+	 * @param scene the scene name
+	 */
+	private static final void setup(World world, String scene) {
+		// Ground
+		Body ground = new Body();
+		ground.addFixture(new BodyFixture(Geometry.createRectangle(15.0, 1.0)));
+		ground.setMass(Mass.Type.INFINITE);
+		world.addBody(ground);
+		
+		if (scene.equals("Pyramid")) {
+			int rows = 15;
+			for (int i = 0; i < rows; i++) {
+				for (int j = 0; j < rows - i; j++) {
+					Body box = new Body();
+					box.addFixture(new BodyFixture(Geometry.createSquare(0.5)));
+					box.translate(-3.57 + i * 0.255 + j * 0.51, 0.77 + i * 0.51);
+					box.setMass(Mass.Type.NORMAL);
+					world.addBody(box);
+				}
+			}
+		} else if (scene.equals("Stack")) {
+			for (int i = 0; i < 10; i++) {
+				Body box = new Body();
+				box.addFixture(new BodyFixture(Geometry.createSquare(0.5)));
+				box.translate(0.0, 0.75 + i * 0.5);
+				box.setMass(Mass.Type.NORMAL);
+				world.addBody(box);
+			}
+		} else {
+			ground.translate(0.0, -4.0);
+			Body previous = ground;
+			for (int i = 0; i < 25; i++) {
+				Body link = new Body();
+				link.addFixture(new BodyFixture(Geometry.createRectangle(0.5, 0.125)));
+				link.translate(i * 0.44, 3.0);
+				link.setMass(Mass.Type.NORMAL);
+				world.addBody(link);
+				
+				RevoluteJoint joint = new RevoluteJoint(previous, link, new Vector2(i * 0.44 - 0.22, 3.0));
+				world.addJoint(joint);
+				previous = link;
+			}
+		}
+	}
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2010-2014 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j;
+
+import java.util.UUID;
+
+import org.dyn4j.resources.Messages;
+
+/**
+ * Class used to generate the identifiers of bodies, fixtures, joints and shapes.
+ * <p>
+ * Identifiers are generated using the current {@link IdGenerator} which is a 
+ * {@link SequentialIdGenerator} by default.  Use a {@link RandomIdGenerator} to generate 
+ * globally unique identifiers instead.
+ * <p>
+ * The {@link IdGenerator} should be set before any objects are created.
+ * @author William Bittle
+ * @version 3.2.0
+ * @since 3.2.0
+ */
+public final class Identity {
+	/** The current id generator */
+	private static volatile IdGenerator generator = new SequentialIdGenerator();
+	
+	/**
+	 * Hidden default constructor.
+	 */
+	private Identity() {}
+	
+	/**
+	 * Returns a new unique identifier from the current {@link IdGenerator}.
+	 * @return UUID
+	 */
+	public static final UUID generate() {
+		return Identity.generator.generate();
+	}
+	
+	/**
+	 * Returns the current {@link IdGenerator}.
+	 * @return {@link IdGenerator}
+	 */
+	public static final IdGenerator getIdGenerator() {
+		return Identity.generator;
+	}
+	
+	/**
+	 * Sets the {@link IdGenerator}.
+	 * @param generator the id generator
+	 * @throws NullPointerException if generator is null
+	 */
+	public static final void setIdGenerator(IdGenerator generator) {
+		if (generator == null) throw new NullPointerException(Messages.getString("identity.nullIdGenerator"));
+		Identity.generator = generator;
+	}
+}
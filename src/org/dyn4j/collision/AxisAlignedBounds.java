@@ -40,7 +40,7 @@ import org.dyn4j.geometry.Vector2;
  * The {@link #getTransform()} method returns the transform used by the current instance.  Calling
  * the rotate methods on the returned transform will cause undefined behavior.
  * @author William Bittle
- * @version 3.1.1
+ * @version 3.2.0
  * @since 3.1.1
  */
 public class AxisAlignedBounds extends AbstractBounds implements Bounds, Transformable {
@@ -78,17 +78,19 @@ public class AxisAlignedBounds extends AbstractBounds implements Bounds, Transfo
 	 */
 	@Override
 	public boolean isOutside(Collidable collidable) {
-		Vector2 tx = this.transform.getTranslation();
+		double tx = this.transform.getTranslationX();
+		double ty = this.transform.getTranslationY();
 		
-		AABB aabbBounds = this.aabb.getTranslated(tx);
-		AABB aabbBody = collidable.createAABB();
+		AABB aabbBody = collidable.getAABB();
 		
-		// test the projections for overlap
-		if (aabbBounds.overlaps(aabbBody)) {
-			return false;
+		// test the projections for overlap (translating the bounds
+		// in place rather than creating a new translated AABB)
+		if (this.aabb.getMinX() + tx > aabbBody.getMaxX() || this.aabb.getMaxX() + tx < aabbBody.getMinX() ||
+			this.aabb.getMinY() + ty > aabbBody.getMaxY() || this.aabb.getMaxY() + ty < aabbBody.getMinY()) {
+			return true;
 		}
 		
-		return true;
+		return false;
 	}
 	
 	/**
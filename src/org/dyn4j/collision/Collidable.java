@@ -34,7 +34,7 @@ import org.dyn4j.geometry.Transformable;
 /**
  * Represents an object that can collide with other objects.
  * @author William Bittle
- * @version 3.1.5
+ * @version 3.2.0
  * @since 1.0.0
  */
 public interface Collidable extends Transformable {
@@ -55,6 +55,25 @@ public interface Collidable extends Transformable {
 	 */
 	public abstract AABB createAABB();
 	
+	/**
+	 * Returns the {@link AABB} of this {@link Collidable} in world space.
+	 * <p>
+	 * Unlike {@link #createAABB()}, implementations may return a cached {@link AABB}
+	 * that is only recomputed when the {@link Collidable} has changed.  The returned
+	 * {@link AABB} should not be modified.  A cache that is recomputed on read makes this
+	 * method unsafe to call from multiple threads at the same time unless the cache is 
+	 * known to be current.
+	 * <p>
+	 * This method returns a degenerate AABB, (0.0, 0.0) to (0.0, 0.0),
+	 * for {@link Collidable}s that have no fixtures.
+	 * <p>
+	 * This method was added to this interface in 3.2.0, so existing implementations of
+	 * {@link Collidable} must add it; those without a cache can return {@link #createAABB()}.
+	 * @return {@link AABB}
+	 * @since 3.2.0
+	 */
+	public abstract AABB getAABB();
+	
 	/**
 	 * Returns the {@link Fixture} at the given index.
 	 * <p>
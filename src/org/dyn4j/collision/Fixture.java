@@ -26,9 +26,12 @@ package org.dyn4j.collision;
 
 import java.util.UUID;
 
+import org.dyn4j.Identity;
 import org.dyn4j.collision.Filter;
 import org.dyn4j.geometry.Convex;
 import org.dyn4j.geometry.Shape;
+import org.dyn4j.geometry.Transform;
+import org.dyn4j.geometry.WorldGeometry;
 import org.dyn4j.resources.Messages;
 
 /**
@@ -37,12 +40,12 @@ import org.dyn4j.resources.Messages;
  * A {@link Fixture} has a one-to-one relationship with a {@link Convex} {@link Shape}.
  * Each {@link Collidable} can have any number of {@link Fixture}s attached.
  * @author William Bittle
- * @version 3.1.5
+ * @version 3.2.0
  * @since 2.0.0
  */
 public class Fixture {
 	/** The id for the fixture */
-	protected UUID id = UUID.randomUUID();
+	protected UUID id = Identity.generate();
 	
 	/** The convex shape for this fixture */
 	protected Convex shape;
@@ -56,6 +59,9 @@ public class Fixture {
 	/** The user data */
 	protected Object userData;
 	
+	/** The cached world space geometry; created on first use */
+	protected WorldGeometry worldGeometry;
+	
 	/**
 	 * Minimal constructor.
 	 * @param shape the {@link Convex} {@link Shape} for this fixture
@@ -153,4 +159,37 @@ public class Fixture {
 	public void setUserData(Object userData) {
 		this.userData = userData;
 	}
+	
+	/**
+	 * Returns the cached world space geometry of this fixture's shape updated to the
+	 * given {@link Transform}.
+	 * <p>
+	 * The cache is created on the first call and is only rebuilt when the given transform
+	 * differs from the one it was last built with.  Call the {@link #invalidateWorldGeometry()} 
+	 * method after modifying the shape itself.
+	 * @param transform the transform of the {@link Collidable} this fixture is attached to
+	 * @return {@link WorldGeometry}
+	 * @since 3.2.0
+	 */
+	public WorldGeometry getWorldGeometry(Transform transform) {
+		// create the cache on first use
+		if (this.worldGeometry == null) {
+			this.worldGeometry = new WorldGeometry(this.shape);
+		}
+		// rebuild it if the transform has changed
+		this.worldGeometry.update(transform);
+		return this.worldGeometry;
+	}
+	
+	/**
+	 * Invalidates the cached world space geometry of this fixture's shape.
+	 * <p>
+	 * This method should be called after the shape is translated or rotated.
+	 * @since 3.2.0
+	 */
+	public void invalidateWorldGeometry() {
+		if (this.worldGeometry != null) {
+			this.worldGeometry.invalidate();
+		}
+	}
 }
@@ -45,7 +45,7 @@ import org.dyn4j.resources.Messages;
  * This class has been replaced by the {@link AxisAlignedBounds} class because of confusion in its detection
  * method.  The {@link AxisAlignedBounds} class better represents the intention of this class.
  * @author William Bittle
- * @version 3.1.1
+ * @version 3.2.0
  * @since 1.0.0
  * @deprecated replaced with {@link AxisAlignedBounds} in 3.1.1
  * @see AxisAlignedBounds
@@ -83,7 +83,7 @@ public class RectangularBounds extends AbstractBounds implements Bounds, Transfo
 	@Override
 	public boolean isOutside(Collidable collidable) {
 		AABB aabbBounds = this.bounds.createAABB(this.transform);
-		AABB aabb = collidable.createAABB();
+		AABB aabb = collidable.getAABB();
 		
 		// test the projections for overlap
 		if (aabbBounds.overlaps(aabb)) {
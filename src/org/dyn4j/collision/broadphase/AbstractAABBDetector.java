@@ -24,16 +24,19 @@
  */
 package org.dyn4j.collision.broadphase;
 
+import java.util.List;
+
 import org.dyn4j.collision.Collidable;
 import org.dyn4j.geometry.AABB;
 import org.dyn4j.geometry.Convex;
+import org.dyn4j.geometry.Ray;
 import org.dyn4j.geometry.Transform;
 
 /**
  * Abstract implementation of a {@link BroadphaseDetector} providing AABB
  * (Axis Aligned Bounding Box) detection methods.
  * @author William Bittle
- * @version 3.1.1
+ * @version 3.2.0
  * @since 1.0.0
  * @param <E> the {@link Collidable} type
  */
@@ -41,14 +44,62 @@ public abstract class AbstractAABBDetector<E extends Collidable> implements Broa
 	/** The {@link AABB} expansion value */
 	protected double expansion = BroadphaseDetector.DEFAULT_AABB_EXPANSION;
 	
+	/**
+	 * Adds all the given {@link Collidable}s to the broadphase.
+	 * <p>
+	 * The result is the same as calling {@link #add(Collidable)} for each {@link Collidable}, 
+	 * but implementations may build their structures faster when many {@link Collidable}s
+	 * are added at once.
+	 * <p>
+	 * This method is not part of the {@link BroadphaseDetector} interface so that existing implementations
+	 * of the interface don't break.  This implementation calls {@link #add(Collidable)} for each 
+	 * {@link Collidable}.
+	 * @param collidables the {@link Collidable}s
+	 * @since 3.2.0
+	 */
+	public void add(List<E> collidables) {
+		int size = collidables.size();
+		for (int i = 0; i < size; i++) {
+			this.add(collidables.get(i));
+		}
+	}
+	
+	/**
+	 * Performs a preliminary raycast over all the collidables in the broadphase adding the collidables
+	 * whose {@link AABB}s are intersected by the given {@link Ray} to the given list.
+	 * <p>
+	 * Unlike the {@link #raycast(Ray, double)} method, which may return all the collidables that overlap
+	 * the {@link AABB} of the ray, only collidables whose {@link AABB}s are actually intersected by the 
+	 * ray are added.
+	 * <p>
+	 * This method is not part of the {@link BroadphaseDetector} interface so that existing implementations
+	 * of the interface don't break.  This implementation filters the result of the {@link #raycast(Ray, double)}
+	 * method.
+	 * @param ray the {@link Ray}; the direction must be normalized
+	 * @param length the length of the ray; 0.0 for infinite length
+	 * @param results the list to add the collidables to
+	 * @since 3.2.0
+	 */
+	public void raycast(Ray ray, double length, List<E> results) {
+		// filter the collidables overlapping the aabb of the ray
+		List<E> collidables = this.raycast(ray, length);
+		int size = collidables.size();
+		for (int i = 0; i < size; i++) {
+			E collidable = collidables.get(i);
+			if (this.getAABB(collidable).getEntryDistance(ray, length) >= 0.0) {
+				results.add(collidable);
+			}
+		}
+	}
+	
 	/* (non-Javadoc)
 	 * @see org.dyn4j.collision.broadphase.BroadphaseDetector#detect(org.dyn4j.collision.Collidable, org.dyn4j.collision.Collidable)
 	 */
 	@Override
 	public boolean detect(E a, E b) {
 		// attempt to use this broadphase's cache
-		AABB aAABB = a.createAABB();
-		AABB bAABB = b.createAABB();
+		AABB aAABB = a.getAABB();
+		AABB bAABB = b.getAABB();
 		// perform the test
 		if (aAABB.overlaps(bAABB)) {
 			return true;
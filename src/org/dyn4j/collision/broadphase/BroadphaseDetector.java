@@ -56,7 +56,7 @@ import org.dyn4j.geometry.Vector2;
  * The {@link #detect(Collidable, Collidable)} and {@link #detect(Convex, Transform, Convex, Transform)} methods do not
  * use the current state of the broadphase.
  * @author William Bittle
- * @version 3.1.0
+ * @version 3.2.0
  * @since 1.0.0
  * @param <E> the {@link Collidable} type
  */
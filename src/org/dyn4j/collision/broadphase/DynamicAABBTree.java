@@ -25,6 +25,7 @@
 package org.dyn4j.collision.broadphase;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -43,7 +44,7 @@ import org.dyn4j.geometry.Vector2;
  * This class uses a self-balancing binary tree to store the AABBs.  The AABBs are sorted using the perimeter.
  * The perimeter hueristic is better than area for 2D because axis aligned segments have zero area.
  * @author William Bittle
- * @version 3.1.11
+ * @version 3.2.0
  * @since 3.0.0
  * @param <E> the {@link Collidable} type
  */
@@ -76,6 +77,9 @@ public class DynamicAABBTree<E extends Collidable> extends AbstractAABBDetector<
 		/** Flag used to determine if a node has been tested before */
 		public boolean tested = false;
 		
+		/** The index of a leaf node in the proxy list */
+		public int index;
+		
 		/**
 		 * Returns true if this node is a leaf node.
 		 * @return boolean true if this node is a leaf node
@@ -94,6 +98,12 @@ public class DynamicAABBTree<E extends Collidable> extends AbstractAABBDetector<
 	/** Id to node map for fast lookup */
 	protected Map<UUID, Node> proxyMap;
 	
+	/** The first released node; released nodes are linked using their parent reference */
+	protected Node free;
+	
+	/** Reusable array of the proxy indices of the nodes overlapping the node being detected */
+	protected int[] overlaps;
+	
 	/**
 	 * Default constructor.
 	 */
@@ -115,6 +125,7 @@ public class DynamicAABBTree<E extends Collidable> extends AbstractAABBDetector<
 		// if we take capacity / load factor
 		// the default load factor is 0.75 according to the javadocs, but lets assign it to be sure
 		this.proxyMap = new HashMap<UUID, Node>(initialCapacity * 4 / 3 + 1, 0.75f);
+		this.overlaps = new int[8];
 	}
 	
 	/* (non-Javadoc)
@@ -126,11 +137,12 @@ public class DynamicAABBTree<E extends Collidable> extends AbstractAABBDetector<
 		AABB aabb = collidable.createAABB();
 		// expand the aabb
 		aabb.expand(this.expansion);
-		// create a new node for the collidable
-		Node node = new Node();
+		// create a new node for the collidable (reusing a released node if possible)
+		Node node = this.allocate();
 		node.collidable = collidable;
 		node.aabb = aabb;
 		// add the proxy to the list
+		node.index = this.proxyList.size();
 		this.proxyList.add(node);
 		// add the proxy to the map
 		this.proxyMap.put(collidable.getId(), node);
@@ -138,6 +150,176 @@ public class DynamicAABBTree<E extends Collidable> extends AbstractAABBDetector<
 		this.insert(node);
 	}
 	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.broadphase.AbstractAABBDetector#add(java.util.List)
+	 */
+	@Override
+	public void add(List<E> collidables) {
+		int size = collidables.size();
+		int existing = this.proxyList.size();
+		// create the leaf nodes
+		for (int i = 0; i < size; i++) {
+			E collidable = collidables.get(i);
+			// create an aabb for the collidable
+			AABB aabb = collidable.createAABB();
+			// expand the aabb
+			aabb.expand(this.expansion);
+			// create a new node for the collidable (reusing a released node if possible)
+			Node node = this.allocate();
+			node.collidable = collidable;
+			node.aabb = aabb;
+			// add the proxy to the list
+			node.index = this.proxyList.size();
+			this.proxyList.add(node);
+			// add the proxy to the map
+			this.proxyMap.put(collidable.getId(), node);
+		}
+		
+		// when adding only a few nodes, insert them one at a time
+		if (size < existing || size < 2) {
+			for (int i = existing; i < existing + size; i++) {
+				this.insert(this.proxyList.get(i));
+			}
+			return;
+		}
+		
+		// otherwise rebuild the tree from all the leaf nodes
+		this.build();
+	}
+	
+	/**
+	 * Rebuilds the tree from the leaf nodes in the proxy list.
+	 * <p>
+	 * The tree is built top-down by recursively splitting the leaf nodes at the median 
+	 * of their centers along the longest axis.  The resulting tree is balanced.
+	 * @since 3.2.0
+	 */
+	protected void build() {
+		// release the internal nodes of the current tree
+		this.releaseInternalNodes();
+		this.root = null;
+		
+		int size = this.proxyList.size();
+		if (size == 0) return;
+		
+		// copy the leaf nodes so that they can be reordered
+		List<Node> leaves = new ArrayList<Node>(this.proxyList);
+		this.root = this.build(leaves, 0, size);
+		this.root.parent = null;
+	}
+	
+	/**
+	 * Builds a balanced subtree from the given range of leaf nodes.
+	 * @param leaves the leaf nodes
+	 * @param start the first leaf node (inclusive)
+	 * @param end the last leaf node (exclusive)
+	 * @return {@link Node} the root of the subtree
+	 * @since 3.2.0
+	 */
+	protected Node build(List<Node> leaves, int start, int end) {
+		// a single leaf node is its own subtree
+		if (end - start == 1) {
+			Node leaf = leaves.get(start);
+			leaf.left = null;
+			leaf.right = null;
+			leaf.height = 0;
+			return leaf;
+		}
+		
+		// compute the extent of the centers of the leaf nodes
+		double minx = Double.MAX_VALUE;
+		double miny = Double.MAX_VALUE;
+		double maxx = -Double.MAX_VALUE;
+		double maxy = -Double.MAX_VALUE;
+		for (int i = start; i < end; i++) {
+			AABB aabb = leaves.get(i).aabb;
+			double cx = (aabb.getMinX() + aabb.getMaxX()) * 0.5;
+			double cy = (aabb.getMinY() + aabb.getMaxY()) * 0.5;
+			minx = Math.min(minx, cx);
+			miny = Math.min(miny, cy);
+			maxx = Math.max(maxx, cx);
+			maxy = Math.max(maxy, cy);
+		}
+		
+		// partition the leaf nodes about the median along the longest axis
+		boolean x = maxx - minx >= maxy - miny;
+		int mid = (start + end) >>> 1;
+		this.select(leaves, start, end, mid, x);
+		
+		// build the subtrees
+		Node left = this.build(leaves, start, mid);
+		Node right = this.build(leaves, mid, end);
+		
+		// create the parent node
+		Node parent = this.allocate();
+		parent.left = left;
+		parent.right = right;
+		left.parent = parent;
+		right.parent = parent;
+		parent.height = 1 + Math.max(left.height, right.height);
+		this.setUnion(parent, left.aabb, right.aabb);
+		return parent;
+	}
+	
+	/**
+	 * Reorders the given range of leaf nodes such that the node at index k is the node
+	 * that would be there if the range was sorted by center along the given axis and all 
+	 * the nodes before it have a center less than or equal to it.
+	 * <p>
+	 * This is a quick select which runs in linear time on average rather than fully
+	 * sorting the range.
+	 * @param leaves the leaf nodes
+	 * @param start the first leaf node (inclusive)
+	 * @param end the last leaf node (exclusive)
+	 * @param k the index of the median
+	 * @param x true if the nodes should be compared along the x-axis
+	 * @since 3.2.0
+	 */
+	protected void select(List<Node> leaves, int start, int end, int k, boolean x) {
+		int lo = start;
+		int hi = end - 1;
+		while (hi > lo) {
+			// use the middle node as the pivot
+			double pivot = this.getCenter(leaves.get((lo + hi) >>> 1), x);
+			int i = lo;
+			int j = hi;
+			while (i <= j) {
+				while (this.getCenter(leaves.get(i), x) < pivot) i++;
+				while (this.getCenter(leaves.get(j), x) > pivot) j--;
+				if (i <= j) {
+					Node temp = leaves.get(i);
+					leaves.set(i, leaves.get(j));
+					leaves.set(j, temp);
+					i++;
+					j--;
+				}
+			}
+			// continue with the partition containing k
+			if (k <= j) {
+				hi = j;
+			} else if (k >= i) {
+				lo = i;
+			} else {
+				return;
+			}
+		}
+	}
+	
+	/**
+	 * Returns twice the center of the given node's {@link AABB} along the given axis.
+	 * @param node the node
+	 * @param x true if the x-axis should be used
+	 * @return double
+	 * @since 3.2.0
+	 */
+	private double getCenter(Node node, boolean x) {
+		AABB aabb = node.aabb;
+		if (x) {
+			return aabb.getMinX() + aabb.getMaxX();
+		}
+		return aabb.getMinY() + aabb.getMaxY();
+	}
+	
 	/* (non-Javadoc)
 	 * @see org.dyn4j.collision.broadphase.BroadphaseDetector#remove(org.dyn4j.collision.Collidable)
 	 */
@@ -149,10 +331,16 @@ public class DynamicAABBTree<E extends Collidable> extends AbstractAABBDetector<
 		if (node != null) {
 			// remove the node from the tree
 			this.remove(node);
-			// remove the node from the list
-			this.proxyList.remove(node);
+			// remove the node from the list by moving the last node to its index
+			Node last = this.proxyList.remove(this.proxyList.size() - 1);
+			if (last != node) {
+				this.proxyList.set(node.index, last);
+				last.index = node.index;
+			}
 			// remove the node from the map
 			this.proxyMap.remove(collidable.getId());
+			// reuse the node later
+			this.release(node);
 		}
 		
 	}
@@ -166,15 +354,15 @@ public class DynamicAABBTree<E extends Collidable> extends AbstractAABBDetector<
 		Node node = this.proxyMap.get(collidable.getId());
 		// make sure we found it
 		if (node != null) {
-			// create the new aabb
-			AABB aabb = collidable.createAABB();
+			// get the current aabb (this may be cached by the collidable so it must not be modified)
+			AABB aabb = collidable.getAABB();
 			// see if the old aabb contains the new one
 			if (node.aabb.contains(aabb)) {
 				// if so, don't do anything
 				return;
 			}
 			// otherwise expand the new aabb
-			aabb.expand(this.expansion);
+			aabb = aabb.getExpanded(this.expansion);
 			// remove the current node from the tree
 			this.remove(node);
 			// set the new aabb
@@ -189,6 +377,12 @@ public class DynamicAABBTree<E extends Collidable> extends AbstractAABBDetector<
 	 */
 	@Override
 	public void clear() {
+		// reuse the nodes when collidables are added again
+		this.releaseInternalNodes();
+		int size = this.proxyList.size();
+		for (int i = 0; i < size; i++) {
+			this.release(this.proxyList.get(i));
+		}
 		this.proxyList.clear();
 		this.proxyMap.clear();
 		this.root = null;
@@ -293,6 +487,39 @@ public class DynamicAABBTree<E extends Collidable> extends AbstractAABBDetector<
 		return this.detect(aabb);
 	}
 	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.broadphase.AbstractAABBDetector#raycast(org.dyn4j.geometry.Ray, double, java.util.List)
+	 */
+	@Override
+	public void raycast(Ray ray, double length, List<E> results) {
+		Node node = this.root;
+		// perform a iterative, stack-less, traversal of the tree
+		// only descending into the nodes intersected by the ray
+		while (node != null) {
+			if (node.aabb.getEntryDistance(ray, length) >= 0.0) {
+				if (node.left != null) {
+					node = node.left;
+					continue;
+				}
+				// it's a leaf node
+				results.add(node.collidable);
+			}
+			// go back up the tree until we find the first left
+			// node who's right node hasn't been tested
+			boolean nextNodeFound = false;
+			while (node.parent != null) {
+				if (node == node.parent.left) {
+					node = node.parent.right;
+					nextNodeFound = true;
+					break;
+				}
+				node = node.parent;
+			}
+			// if we didn't find it then we are done
+			if (!nextNodeFound) break;
+		}
+	}
+	
 	/* (non-Javadoc)
 	 * @see org.dyn4j.collision.broadphase.BroadphaseDetector#shiftCoordinates(org.dyn4j.geometry.Vector2)
 	 */
@@ -368,11 +595,16 @@ public class DynamicAABBTree<E extends Collidable> extends AbstractAABBDetector<
 	
 	/**
 	 * Internal non-recursive detection method.
+	 * <p>
+	 * The pairs are added in the order of the proxy list so that the order doesn't
+	 * depend on the shape of the tree.
 	 * @param node the node to test
 	 * @param root the root node of the subtree
 	 * @param pairs the list of pairs to add to
 	 */
 	protected void detectNonRecursive(Node node, Node root, List<BroadphasePair<E>> pairs) {
+		// the number of overlapping nodes
+		int count = 0;
 		// start at the root node
 		Node n = root;
 		// perform a iterative, stack-less, traversal of the tree
@@ -390,12 +622,11 @@ public class DynamicAABBTree<E extends Collidable> extends AbstractAABBDetector<
 					// verify we aren't testing the same collidable against
 					// itself
 					if (!n.tested && n.collidable != node.collidable) {
-						// its a leaf so add the pair
-						BroadphasePair<E> pair = new BroadphasePair<E>(
-								node.collidable,	// A
-								n.collidable);		// B
-						// add the pair to the list of pairs
-						pairs.add(pair);
+						// its a leaf so save its index (growing the array if needed)
+						if (count == this.overlaps.length) {
+							this.overlaps = Arrays.copyOf(this.overlaps, count * 2);
+						}
+						this.overlaps[count++] = n.index;
 					}
 					// if its a leaf node then we need to go back up the
 					// tree and test nodes we haven't yet
@@ -424,6 +655,16 @@ public class DynamicAABBTree<E extends Collidable> extends AbstractAABBDetector<
 			// if we didn't find it then we are done
 			if (!nextNodeFound) break;
 		}
+		
+		// add the pairs in the order of the proxy list
+		Arrays.sort(this.overlaps, 0, count);
+		for (int i = 0; i < count; i++) {
+			BroadphasePair<E> pair = new BroadphasePair<E>(
+					node.collidable,								// A
+					this.proxyList.get(this.overlaps[i]).collidable);	// B
+			// add the pair to the list of pairs
+			pairs.add(pair);
+		}
 	}
 	
 	/**
@@ -532,11 +773,8 @@ public class DynamicAABBTree<E extends Collidable> extends AbstractAABBDetector<
 			// get its perimeter
 			double perimeter = aabb.getPerimeter();
 			
-			// union the new node's aabb and the current aabb
-			AABB union = aabb.getUnion(itemAABB);
-			
-			// get the union's perimeter
-			double unionPerimeter = union.getPerimeter();
+			// get the perimeter of the union of the new node's aabb and the current aabb
+			double unionPerimeter = this.getUnionPerimeter(aabb, itemAABB);
 			
 			// compute the cost of creating a new parent for the new
 			// node and the current node
@@ -552,23 +790,19 @@ public class DynamicAABBTree<E extends Collidable> extends AbstractAABBDetector<
 			// compute the cost of descending to the left
 			double costl = 0.0;
 			if (left.isLeaf()) {
-				AABB u = left.aabb.getUnion(itemAABB);
-				costl = u.getPerimeter() + descendCost;
+				costl = this.getUnionPerimeter(left.aabb, itemAABB) + descendCost;
 			} else {
-				AABB u = left.aabb.getUnion(itemAABB);
 				double oldPerimeter = left.aabb.getPerimeter();
-				double newPerimeter = u.getPerimeter();
+				double newPerimeter = this.getUnionPerimeter(left.aabb, itemAABB);
 				costl = newPerimeter - oldPerimeter + descendCost;
 			}
 			// compute the cost of descending to the right
 			double costr = 0.0;
 			if (right.isLeaf()) {
-				AABB u = right.aabb.getUnion(itemAABB);
-				costr = u.getPerimeter() + descendCost;
+				costr = this.getUnionPerimeter(right.aabb, itemAABB) + descendCost;
 			} else {
-				AABB u = right.aabb.getUnion(itemAABB);
 				double oldPerimeter = right.aabb.getPerimeter();
-				double newPerimeter = u.getPerimeter();
+				double newPerimeter = this.getUnionPerimeter(right.aabb, itemAABB);
 				costr = newPerimeter - oldPerimeter + descendCost;
 			}
 			
@@ -590,9 +824,9 @@ public class DynamicAABBTree<E extends Collidable> extends AbstractAABBDetector<
 		// now that we have found a suitable place, insert a new root
 		// node for node and item
 		Node parent = node.parent;
-		Node newParent = new Node();
+		Node newParent = this.allocate();
 		newParent.parent = node.parent;
-		newParent.aabb = node.aabb.getUnion(itemAABB);
+		this.setUnion(newParent, node.aabb, itemAABB);
 		newParent.height = node.height + 1;
 		
 		if (parent != null) {
@@ -627,7 +861,7 @@ public class DynamicAABBTree<E extends Collidable> extends AbstractAABBDetector<
 			
 			// neither node should be null
 			node.height = 1 + Math.max(left.height, right.height);
-			node.aabb = left.aabb.getUnion(right.aabb);
+			this.setUnion(node, left.aabb, right.aabb);
 			
 			node = node.parent;
 		}
@@ -682,7 +916,7 @@ public class DynamicAABBTree<E extends Collidable> extends AbstractAABBDetector<
 				
 				// neither node should be null
 				n.height = 1 + Math.max(left.height, right.height);
-				n.aabb = left.aabb.getUnion(right.aabb);
+				this.setUnion(n, left.aabb, right.aabb);
 				
 				n = n.parent;
 			}
@@ -692,6 +926,97 @@ public class DynamicAABBTree<E extends Collidable> extends AbstractAABBDetector<
 			// set the siblings parent to null
 			other.parent = null;
 		}
+		
+		// the parent node is no longer part of the tree
+		node.parent = null;
+		this.release(parent);
+	}
+	
+	/**
+	 * Returns a released node or a new node if there aren't any.
+	 * @return {@link Node}
+	 * @since 3.2.0
+	 */
+	protected Node allocate() {
+		Node node = this.free;
+		if (node != null) {
+			this.free = node.parent;
+			node.parent = null;
+			return node;
+		}
+		return new Node();
+	}
+	
+	/**
+	 * Releases all the internal nodes of the tree so that they can be reused.
+	 * <p>
+	 * The leaf nodes and the root are left as they are.
+	 * @since 3.2.0
+	 */
+	private void releaseInternalNodes() {
+		if (this.root == null || this.root.isLeaf()) return;
+		List<Node> stack = new ArrayList<Node>();
+		stack.add(this.root);
+		while (!stack.isEmpty()) {
+			Node node = stack.remove(stack.size() - 1);
+			if (!node.left.isLeaf()) stack.add(node.left);
+			if (!node.right.isLeaf()) stack.add(node.right);
+			this.release(node);
+		}
+	}
+	
+	/**
+	 * Releases the given node so that it can be reused.
+	 * <p>
+	 * The {@link AABB} of internal nodes is kept and updated in place when the node is reused.
+	 * The {@link AABB} of leaf nodes may be referenced outside the tree (see {@link #getAABB(Collidable)})
+	 * so it's not reused.
+	 * @param node the node to release
+	 * @since 3.2.0
+	 */
+	protected void release(Node node) {
+		if (node.collidable != null) {
+			node.aabb = null;
+		}
+		node.collidable = null;
+		node.left = null;
+		node.right = null;
+		node.height = 0;
+		node.tested = false;
+		node.parent = this.free;
+		this.free = node;
+	}
+	
+	/**
+	 * Sets the {@link AABB} of the given internal node to the union of the given {@link AABB}s.
+	 * <p>
+	 * The node's {@link AABB} is updated in place if it exists.
+	 * @param node the internal node
+	 * @param aabb1 the first {@link AABB}
+	 * @param aabb2 the second {@link AABB}
+	 * @since 3.2.0
+	 */
+	protected void setUnion(Node node, AABB aabb1, AABB aabb2) {
+		if (node.aabb == null) {
+			node.aabb = aabb1.getUnion(aabb2);
+		} else {
+			node.aabb.set(aabb1).union(aabb2);
+		}
+	}
+	
+	/**
+	 * Returns the perimeter of the union of the given {@link AABB}s without creating the union.
+	 * @param aabb1 the first {@link AABB}
+	 * @param aabb2 the second {@link AABB}
+	 * @return double
+	 * @since 3.2.0
+	 */
+	protected double getUnionPerimeter(AABB aabb1, AABB aabb2) {
+		double minx = Math.min(aabb1.getMinX(), aabb2.getMinX());
+		double miny = Math.min(aabb1.getMinY(), aabb2.getMinY());
+		double maxx = Math.max(aabb1.getMaxX(), aabb2.getMaxX());
+		double maxy = Math.max(aabb1.getMaxY(), aabb2.getMaxY());
+		return 2 * (maxx - minx + maxy - miny);
 	}
 	
 	/**
@@ -745,8 +1070,8 @@ public class DynamicAABBTree<E extends Collidable> extends AbstractAABBDetector<
 				a.right = g;
 				g.parent = a;
 				// update the aabb
-				a.aabb = b.aabb.getUnion(g.aabb);
-				c.aabb = a.aabb.getUnion(f.aabb);
+				this.setUnion(a, b.aabb, g.aabb);
+				this.setUnion(c, a.aabb, f.aabb);
 				// update the heights
 				a.height = 1 + Math.max(b.height, g.height);
 				c.height = 1 + Math.max(a.height, f.height);
@@ -756,8 +1081,8 @@ public class DynamicAABBTree<E extends Collidable> extends AbstractAABBDetector<
 				a.right = f;
 				f.parent = a;
 				// update the aabb
-				a.aabb = b.aabb.getUnion(f.aabb);
-				c.aabb = a.aabb.getUnion(g.aabb);
+				this.setUnion(a, b.aabb, f.aabb);
+				this.setUnion(c, a.aabb, g.aabb);
 				// update the heights
 				a.height = 1 + Math.max(b.height, f.height);
 				c.height = 1 + Math.max(a.height, g.height);
@@ -794,8 +1119,8 @@ public class DynamicAABBTree<E extends Collidable> extends AbstractAABBDetector<
 				a.left = e;
 				e.parent = a;
 				// update the aabb
-				a.aabb = c.aabb.getUnion(e.aabb);
-				b.aabb = a.aabb.getUnion(d.aabb);
+				this.setUnion(a, c.aabb, e.aabb);
+				this.setUnion(b, a.aabb, d.aabb);
 				// update the heights
 				a.height = 1 + Math.max(c.height, e.height);
 				b.height = 1 + Math.max(a.height, d.height);
@@ -805,8 +1130,8 @@ public class DynamicAABBTree<E extends Collidable> extends AbstractAABBDetector<
 				a.left = d;
 				d.parent = a;
 				// update the aabb
-				a.aabb = c.aabb.getUnion(d.aabb);
-				b.aabb = a.aabb.getUnion(e.aabb);
+				this.setUnion(a, c.aabb, d.aabb);
+				this.setUnion(b, a.aabb, e.aabb);
 				// update the heights
 				a.height = 1 + Math.max(c.height, d.height);
 				b.height = 1 + Math.max(a.height, e.height);
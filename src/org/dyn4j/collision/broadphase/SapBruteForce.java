@@ -86,7 +86,7 @@ import org.dyn4j.geometry.Vector2;
  * However, allowing this causes more work for the {@link NarrowphaseDetector}s whose
  * algorithms are more complex.  These situations should be avoided for maximum performance.
  * @author William Bittle
- * @version 3.1.5
+ * @version 3.2.0
  * @since 1.0.0
  * @param <E> the {@link Collidable} type
  */
@@ -245,15 +245,15 @@ public class SapBruteForce<E extends Collidable> extends AbstractAABBDetector<E>
 		Proxy p0 = this.proxyMap.get(collidable.getId());
 		// check for not found
 		if (p0 == null) return;
-		// test if we need to update
-		AABB aabb = collidable.createAABB();
+		// get the current aabb (this may be cached by the collidable so it must not be modified)
+		AABB aabb = collidable.getAABB();
 		if (p0.aabb.contains(aabb)) {
 			// if the object is still inside the old aabb then don't
 			// bother updating, just continue to use the current aabb
 			return;
 		} else {
 			// otherwise use the new aabb and expand it
-			aabb.expand(this.expansion);
+			aabb = aabb.getExpanded(this.expansion);
 		}
 		
 		// update the aabb
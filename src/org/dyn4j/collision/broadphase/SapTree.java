@@ -88,7 +88,7 @@ import org.dyn4j.geometry.Vector2;
  * However, allowing this causes more work for the {@link NarrowphaseDetector}s whose
  * algorithms are more complex.  These situations should be avoided for maximum performance.
  * @author William Bittle
- * @version 3.1.5
+ * @version 3.2.0
  * @since 1.0.0
  * @param <E> the {@link Collidable} type
  */
@@ -239,8 +239,8 @@ public class SapTree<E extends Collidable> extends AbstractAABBDetector<E> imple
 		// check for not found
 		if (p == null) return;
 		
-		// create a new aabb
-		AABB aabb = collidable.createAABB();
+		// get the current aabb (this may be cached by the collidable so it must not be modified)
+		AABB aabb = collidable.getAABB();
 		// check the aabb
 		if (p.aabb.contains(aabb)) {
 			// if the aabb is still inside the expanded
@@ -248,7 +248,7 @@ public class SapTree<E extends Collidable> extends AbstractAABBDetector<E> imple
 			return;
 		} else {
 			// otherwise expand the new aabb
-			aabb.expand(this.expansion);
+			aabb = aabb.getExpanded(this.expansion);
 		}
 		
 		// remove the proxy from the tree
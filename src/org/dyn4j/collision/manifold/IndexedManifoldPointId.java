@@ -27,7 +27,7 @@ package org.dyn4j.collision.manifold;
 /**
  * Represents a {@link ManifoldPointId} that uses indexing.
  * @author William Bittle
- * @version 3.1.5
+ * @version 3.2.0
  * @since 1.0.0
  */
 public class IndexedManifoldPointId implements ManifoldPointId {
@@ -119,6 +119,23 @@ public class IndexedManifoldPointId implements ManifoldPointId {
 		return sb.toString();
 	}
 	
+	/**
+	 * Returns a primitive key for this id.
+	 * <p>
+	 * Two {@link IndexedManifoldPointId}s have the same key if and only if they are equal
+	 * (assuming indices that fit in 21 bits).  The key can be used to compare ids without
+	 * any method calls or casting.
+	 * @return long
+	 * @since 3.2.0
+	 */
+	public long getKey() {
+		// pack each index in 21 bits and the flipped flag in the lowest bit
+		return ((long)(this.referenceEdge & 0x1FFFFF) << 43)
+			 | ((long)(this.incidentEdge & 0x1FFFFF) << 22)
+			 | ((long)(this.incidentVertex & 0x1FFFFF) << 1)
+			 | (this.flipped ? 1L : 0L);
+	}
+	
 	/**
 	 * Returns the index of the reference edge.
 	 * @return int
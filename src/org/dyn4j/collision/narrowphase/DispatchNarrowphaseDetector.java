@@ -0,0 +1,706 @@
+/*
+ * Copyright (c) 2010-2014 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.collision.narrowphase;
+
+import org.dyn4j.Epsilon;
+import org.dyn4j.geometry.Capsule;
+import org.dyn4j.geometry.Circle;
+import org.dyn4j.geometry.Convex;
+import org.dyn4j.geometry.Polygon;
+import org.dyn4j.geometry.Segment;
+import org.dyn4j.geometry.Transform;
+import org.dyn4j.geometry.Vector2;
+import org.dyn4j.resources.Messages;
+
+/**
+ * Represents a {@link NarrowphaseDetector} that dispatches on the concrete types of the given
+ * {@link Convex} shapes to a specialized routine for that pair.
+ * <p>
+ * The following pairs are handled by specialized routines:
+ * <ul>
+ * <li>{@link Circle} - {@link Circle}: closed form using the {@link CircleDetector}</li>
+ * <li>{@link Circle}, {@link Segment} and {@link Capsule} in any combination: closed form using the closest
+ * points of the segments (or points) at the core of each shape</li>
+ * <li>{@link Circle}, {@link Segment} or {@link Capsule} - {@link Polygon}: a separating axis test in the local space
+ * of the {@link Polygon} followed by an exact closest feature search</li>
+ * <li>{@link Polygon} - {@link Polygon}: a separating axis test using only the edge normals</li>
+ * </ul>
+ * Sub classes of {@link Polygon}, like {@link org.dyn4j.geometry.Rectangle} and {@link org.dyn4j.geometry.Triangle},
+ * are handled as {@link Polygon}s.  All other pairs are handed to the fallback {@link NarrowphaseDetector}, which
+ * defaults to {@link Gjk}.
+ * <p>
+ * Each routine produces the exact minimum penetration normal and depth for the pair.  Only the
+ * penetration is computed here; the contact manifold is still generated by the
+ * {@link org.dyn4j.collision.manifold.ManifoldSolver} (for {@link Polygon} - {@link Polygon} this gives
+ * SAT with clipping when used with the {@link org.dyn4j.collision.manifold.ClippingManifoldSolver}).
+ * <p>
+ * This detector can also be used as the primary detector of a {@link FallbackNarrowphaseDetector}:
+ * <pre>
+ * FallbackNarrowphaseDetector detector = new FallbackNarrowphaseDetector(new DispatchNarrowphaseDetector(), new Gjk());
+ * // any Ellipse collisions will be handled by Gjk
+ * detector.addCondition(new SingleTypedFallbackCondition(Ellipse.class));</pre>
+ * @author William Bittle
+ * @version 3.2.0
+ * @since 3.2.0
+ */
+public class DispatchNarrowphaseDetector implements NarrowphaseDetector {
+	/** The type code for shapes without a specialized routine */
+	private static final int UNSUPPORTED = -1;
+	
+	/** The type code for {@link Circle}s */
+	private static final int CIRCLE = 0;
+	
+	/** The type code for {@link Segment}s */
+	private static final int SEGMENT = 1;
+	
+	/** The type code for {@link Capsule}s */
+	private static final int CAPSULE = 2;
+	
+	/** The type code for {@link Polygon}s */
+	private static final int POLYGON = 3;
+	
+	/** The number of supported type codes */
+	private static final int TYPE_COUNT = 4;
+	
+	/** The fallback {@link NarrowphaseDetector} for unsupported pairs */
+	protected NarrowphaseDetector fallbackNarrowphaseDetector;
+	
+	/**
+	 * Default constructor.
+	 * <p>
+	 * Uses {@link Gjk} for all pairs that don't have a specialized routine.
+	 */
+	public DispatchNarrowphaseDetector() {
+		this(new Gjk());
+	}
+	
+	/**
+	 * Full constructor.
+	 * @param fallbackNarrowphaseDetector the {@link NarrowphaseDetector} for pairs that don't have a specialized routine
+	 * @throws NullPointerException if fallbackNarrowphaseDetector is null
+	 */
+	public DispatchNarrowphaseDetector(NarrowphaseDetector fallbackNarrowphaseDetector) {
+		if (fallbackNarrowphaseDetector == null) throw new NullPointerException(Messages.getString("collision.narrowphase.dispatch.nullFallbackDetector"));
+		this.fallbackNarrowphaseDetector = fallbackNarrowphaseDetector;
+	}
+	
+	/**
+	 * Returns true if the given pair of {@link Convex} shapes is handled by a
+	 * specialized routine rather than the fallback {@link NarrowphaseDetector}.
+	 * @param convex1 the first convex
+	 * @param convex2 the second convex
+	 * @return boolean
+	 */
+	public boolean isSpecialized(Convex convex1, Convex convex2) {
+		return DispatchNarrowphaseDetector.getType(convex1) != UNSUPPORTED
+		    && DispatchNarrowphaseDetector.getType(convex2) != UNSUPPORTED;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.narrowphase.NarrowphaseDetector#detect(org.dyn4j.geometry.Convex, org.dyn4j.geometry.Transform, org.dyn4j.geometry.Convex, org.dyn4j.geometry.Transform, org.dyn4j.collision.narrowphase.Penetration)
+	 */
+	@Override
+	public boolean detect(Convex convex1, Transform transform1, Convex convex2, Transform transform2, Penetration penetration) {
+		int type1 = DispatchNarrowphaseDetector.getType(convex1);
+		int type2 = DispatchNarrowphaseDetector.getType(convex2);
+		
+		// check for a pair without a specialized routine
+		if (type1 == UNSUPPORTED || type2 == UNSUPPORTED) {
+			return this.fallbackNarrowphaseDetector.detect(convex1, transform1, convex2, transform2, penetration);
+		}
+		
+		// the routines below are written for the pairs where the
+		// first type code is less than or equal to the second
+		if (type1 > type2) {
+			if (this.detect(convex2, type2, transform2, convex1, type1, transform1, penetration)) {
+				// flip the normal so that it points from convex1 to convex2
+				penetration.normal.negate();
+				return true;
+			}
+			return false;
+		}
+		
+		return this.detect(convex1, type1, transform1, convex2, type2, transform2, penetration);
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.narrowphase.NarrowphaseDetector#detect(org.dyn4j.geometry.Convex, org.dyn4j.geometry.Transform, org.dyn4j.geometry.Convex, org.dyn4j.geometry.Transform)
+	 */
+	@Override
+	public boolean detect(Convex convex1, Transform transform1, Convex convex2, Transform transform2) {
+		// check for a pair without a specialized routine
+		if (!this.isSpecialized(convex1, convex2)) {
+			return this.fallbackNarrowphaseDetector.detect(convex1, transform1, convex2, transform2);
+		}
+		// the specialized routines are cheap enough that we can
+		// compute the penetration and ignore it
+		return this.detect(convex1, transform1, convex2, transform2, new Penetration());
+	}
+	
+	/**
+	 * Dispatches the given ordered pair to its specialized routine.
+	 * <p>
+	 * The type code of the first {@link Convex} must be less than or equal to
+	 * the type code of the second.
+	 * @param convex1 the first convex
+	 * @param type1 the type code of the first convex
+	 * @param transform1 the first convex's transform
+	 * @param convex2 the second convex
+	 * @param type2 the type code of the second convex
+	 * @param transform2 the second convex's transform
+	 * @param penetration the {@link Penetration} object to fill
+	 * @return boolean true if the shapes are penetrating
+	 */
+	private boolean detect(Convex convex1, int type1, Transform transform1, Convex convex2, int type2, Transform transform2, Penetration penetration) {
+		switch (type1 * TYPE_COUNT + type2) {
+			case CIRCLE * TYPE_COUNT + CIRCLE:
+				return CircleDetector.detect((Circle) convex1, transform1, (Circle) convex2, transform2, penetration);
+			case CIRCLE * TYPE_COUNT + SEGMENT:
+			case CIRCLE * TYPE_COUNT + CAPSULE:
+			case SEGMENT * TYPE_COUNT + SEGMENT:
+			case SEGMENT * TYPE_COUNT + CAPSULE:
+			case CAPSULE * TYPE_COUNT + CAPSULE: {
+				Vector2[] core1 = DispatchNarrowphaseDetector.getCore(convex1, type1, transform1);
+				Vector2[] core2 = DispatchNarrowphaseDetector.getCore(convex2, type2, transform2);
+				double r1 = DispatchNarrowphaseDetector.getCoreRadius(convex1, type1);
+				double r2 = DispatchNarrowphaseDetector.getCoreRadius(convex2, type2);
+				return this.detect(core1[0], core1[1], r1, core2[0], core2[1], r2, penetration);
+			}
+			case CIRCLE * TYPE_COUNT + POLYGON:
+			case SEGMENT * TYPE_COUNT + POLYGON:
+			case CAPSULE * TYPE_COUNT + POLYGON: {
+				Vector2[] core = DispatchNarrowphaseDetector.getCore(convex1, type1, transform1);
+				double r = DispatchNarrowphaseDetector.getCoreRadius(convex1, type1);
+				if (this.detect((Polygon) convex2, transform2, core[0], core[1], r, penetration)) {
+					// the polygon routine's normal points from the polygon
+					// to the core so we need to flip it
+					penetration.normal.negate();
+					return true;
+				}
+				return false;
+			}
+			case POLYGON * TYPE_COUNT + POLYGON:
+				return this.detect((Polygon) convex1, transform1, (Polygon) convex2, transform2, penetration);
+			default:
+				// this should never happen since the type codes are ordered
+				return this.fallbackNarrowphaseDetector.detect(convex1, transform1, convex2, transform2, penetration);
+		}
+	}
+	
+	/**
+	 * Returns true if the two shapes given by their cores and radii are penetrating.
+	 * <p>
+	 * A core is the segment (or point) such that the shape is the core expanded radially by
+	 * the radius: a {@link Circle} is its center with its radius, a {@link Capsule} is
+	 * the segment between its foci with its cap radius and a {@link Segment} is itself
+	 * with a radius of zero.
+	 * <p>
+	 * If the cores are not intersecting, the penetration is found from the closest points
+	 * of the cores.  Otherwise the penetration is found by a separating axis test on the
+	 * normals and directions of the cores.
+	 * <p>
+	 * The penetration normal will point from the first shape to the second.
+	 * @param a1 the first point of the first core in world space
+	 * @param b1 the second point of the first core in world space
+	 * @param r1 the radius of the first shape
+	 * @param a2 the first point of the second core in world space
+	 * @param b2 the second point of the second core in world space
+	 * @param r2 the radius of the second shape
+	 * @param penetration the {@link Penetration} object to fill
+	 * @return boolean
+	 */
+	protected boolean detect(Vector2 a1, Vector2 b1, double r1, Vector2 a2, Vector2 b2, double r2, Penetration penetration) {
+		double radius = r1 + r2;
+		
+		// get the directions of the cores
+		double d1x = b1.x - a1.x;
+		double d1y = b1.y - a1.y;
+		double d2x = b2.x - a2.x;
+		double d2y = b2.y - a2.y;
+		double rx = a1.x - a2.x;
+		double ry = a1.y - a2.y;
+		
+		double a = d1x * d1x + d1y * d1y;
+		double e = d2x * d2x + d2y * d2y;
+		double f = d2x * rx + d2y * ry;
+		
+		// find the parameters of the closest points on both cores
+		double s = 0.0;
+		double t = 0.0;
+		if (a <= Epsilon.E && e <= Epsilon.E) {
+			// both cores are points
+			s = 0.0;
+			t = 0.0;
+		} else if (a <= Epsilon.E) {
+			// the first core is a point
+			s = 0.0;
+			t = DispatchNarrowphaseDetector.clamp(f / e);
+		} else {
+			double c = d1x * rx + d1y * ry;
+			if (e <= Epsilon.E) {
+				// the second core is a point
+				t = 0.0;
+				s = DispatchNarrowphaseDetector.clamp(-c / a);
+			} else {
+				double b = d1x * d2x + d1y * d2y;
+				double denominator = a * e - b * b;
+				// if the cores are parallel pick any point on the first
+				if (denominator != 0.0) {
+					s = DispatchNarrowphaseDetector.clamp((b * f - c * e) / denominator);
+				}
+				// compute the closest point on the second core to the point on the first
+				t = (b * s + f) / e;
+				// if t is outside the segment then clamp it and recompute s
+				if (t < 0.0) {
+					t = 0.0;
+					s = DispatchNarrowphaseDetector.clamp(-c / a);
+				} else if (t > 1.0) {
+					t = 1.0;
+					s = DispatchNarrowphaseDetector.clamp((b - c) / a);
+				}
+			}
+		}
+		
+		// compute the vector between the closest points
+		double nx = (a2.x + d2x * t) - (a1.x + d1x * s);
+		double ny = (a2.y + d2y * t) - (a1.y + d1y * s);
+		double d2 = nx * nx + ny * ny;
+		
+		// check if the cores are separated
+		if (d2 > Epsilon.E) {
+			// check the distance against the radii
+			if (d2 >= radius * radius) {
+				return false;
+			}
+			double d = Math.sqrt(d2);
+			double invD = 1.0 / d;
+			penetration.normal = new Vector2(nx * invD, ny * invD);
+			penetration.depth = radius - d;
+			return true;
+		}
+		
+		// otherwise the cores are intersecting, so find the axis of
+		// minimum overlap over the core normals and directions
+		double cx = (a2.x + b2.x - a1.x - b1.x) * 0.5;
+		double cy = (a2.y + b2.y - a1.y - b1.y) * 0.5;
+		double[] best = new double[] { Double.MAX_VALUE, 0.0, 0.0 };
+		if (a > Epsilon.E) {
+			double invL = 1.0 / Math.sqrt(a);
+			double ux = d1x * invL;
+			double uy = d1y * invL;
+			DispatchNarrowphaseDetector.overlap(-uy, ux, a1, b1, a2, b2, cx, cy, best);
+			DispatchNarrowphaseDetector.overlap(ux, uy, a1, b1, a2, b2, cx, cy, best);
+		}
+		if (e > Epsilon.E) {
+			double invL = 1.0 / Math.sqrt(e);
+			double ux = d2x * invL;
+			double uy = d2y * invL;
+			DispatchNarrowphaseDetector.overlap(-uy, ux, a1, b1, a2, b2, cx, cy, best);
+			DispatchNarrowphaseDetector.overlap(ux, uy, a1, b1, a2, b2, cx, cy, best);
+		}
+		
+		// check for two coincident points
+		if (best[0] == Double.MAX_VALUE) {
+			// the normal is undefined, just like with two coincident circles
+			penetration.normal = new Vector2();
+			penetration.depth = radius;
+			return true;
+		}
+		
+		penetration.normal = new Vector2(best[1], best[2]);
+		penetration.depth = radius + best[0];
+		return true;
+	}
+	
+	/**
+	 * Returns true if the given {@link Polygon} and the shape given by its core and radius are penetrating.
+	 * <p>
+	 * The core is transformed into the local space of the {@link Polygon} and tested against the
+	 * edge normals of the {@link Polygon} and the normal of the core.  If the core and {@link Polygon}
+	 * overlap, the axis of minimum overlap is the penetration normal.  Otherwise, the closest features of
+	 * the {@link Polygon} and core are found and compared to the radius.
+	 * <p>
+	 * The penetration normal will point from the {@link Polygon} to the core.
+	 * @param polygon the polygon
+	 * @param transform the polygon's transform
+	 * @param a the first point of the core in world space
+	 * @param b the second point of the core in world space; equal to a for a point core
+	 * @param radius the radius of the shape
+	 * @param penetration the {@link Penetration} object to fill
+	 * @return boolean
+	 * @see #detect(Vector2, Vector2, double, Vector2, Vector2, double, Penetration)
+	 */
+	protected boolean detect(Polygon polygon, Transform transform, Vector2 a, Vector2 b, double radius, Penetration penetration) {
+		Vector2[] vertices = polygon.getVertices();
+		Vector2[] normals = polygon.getNormals();
+		int size = vertices.length;
+		
+		// put the core in the local space of the polygon
+		Vector2 la = transform.getInverseTransformed(a);
+		Vector2 lb = transform.getInverseTransformed(b);
+		
+		double maxSeparation = -Double.MAX_VALUE;
+		double nx = 0.0;
+		double ny = 0.0;
+		
+		// test the edge normals of the polygon
+		for (int i = 0; i < size; i++) {
+			Vector2 n = normals[i];
+			Vector2 v = vertices[i];
+			// the separation is the smallest projection of the core
+			// onto the normal relative to the edge
+			double sa = n.x * (la.x - v.x) + n.y * (la.y - v.y);
+			double sb = n.x * (lb.x - v.x) + n.y * (lb.y - v.y);
+			double separation = sa < sb ? sa : sb;
+			if (separation >= radius) {
+				// then they are separated by at least the radius
+				return false;
+			}
+			if (separation > maxSeparation) {
+				maxSeparation = separation;
+				nx = n.x;
+				ny = n.y;
+			}
+		}
+		
+		// test the normal of the core (if its not a point)
+		double ex = lb.x - la.x;
+		double ey = lb.y - la.y;
+		double el = ex * ex + ey * ey;
+		if (el > Epsilon.E) {
+			double invL = 1.0 / Math.sqrt(el);
+			double mx = -ey * invL;
+			double my =  ex * invL;
+			// project the core and polygon onto the core normal
+			double c = mx * la.x + my * la.y;
+			double min = Double.MAX_VALUE;
+			double max = -Double.MAX_VALUE;
+			for (int i = 0; i < size; i++) {
+				Vector2 v = vertices[i];
+				double p = mx * v.x + my * v.y;
+				if (p < min) min = p;
+				if (p > max) max = p;
+			}
+			// the core can be on either side of the polygon
+			double sp = c - max;
+			double sn = min - c;
+			if (sp >= sn) {
+				if (sp >= radius) return false;
+				if (sp > maxSeparation) {
+					maxSeparation = sp;
+					nx = mx;
+					ny = my;
+				}
+			} else {
+				if (sn >= radius) return false;
+				if (sn > maxSeparation) {
+					maxSeparation = sn;
+					nx = -mx;
+					ny = -my;
+				}
+			}
+		}
+		
+		// are the polygon and core overlapping?
+		if (maxSeparation <= 0.0) {
+			// then the axis of minimum overlap is the exact penetration normal
+			Vector2 normal = new Vector2(nx, ny);
+			transform.transformR(normal);
+			penetration.normal = normal;
+			penetration.depth = radius - maxSeparation;
+			return true;
+		}
+		
+		// otherwise find the closest features of the polygon and core
+		boolean point = el <= Epsilon.E;
+		double d2 = Double.MAX_VALUE;
+		for (int i = 0; i < size; i++) {
+			Vector2 v1 = vertices[i];
+			Vector2 v2 = vertices[i + 1 == size ? 0 : i + 1];
+			double vx = v2.x - v1.x;
+			double vy = v2.y - v1.y;
+			double vl = vx * vx + vy * vy;
+			// get the closest point on the edge to the first core point
+			double t = DispatchNarrowphaseDetector.clamp(((la.x - v1.x) * vx + (la.y - v1.y) * vy) / vl);
+			double dx = la.x - (v1.x + vx * t);
+			double dy = la.y - (v1.y + vy * t);
+			double dt = dx * dx + dy * dy;
+			if (dt < d2) {
+				d2 = dt;
+				nx = dx;
+				ny = dy;
+			}
+			if (!point) {
+				// get the closest point on the edge to the second core point
+				t = DispatchNarrowphaseDetector.clamp(((lb.x - v1.x) * vx + (lb.y - v1.y) * vy) / vl);
+				dx = lb.x - (v1.x + vx * t);
+				dy = lb.y - (v1.y + vy * t);
+				dt = dx * dx + dy * dy;
+				if (dt < d2) {
+					d2 = dt;
+					nx = dx;
+					ny = dy;
+				}
+				// get the closest point on the core to the vertex
+				t = DispatchNarrowphaseDetector.clamp(((v1.x - la.x) * ex + (v1.y - la.y) * ey) / el);
+				dx = (la.x + ex * t) - v1.x;
+				dy = (la.y + ey * t) - v1.y;
+				dt = dx * dx + dy * dy;
+				if (dt < d2) {
+					d2 = dt;
+					nx = dx;
+					ny = dy;
+				}
+			}
+		}
+		
+		// check the distance against the radius
+		if (d2 >= radius * radius) {
+			return false;
+		}
+		
+		double d = Math.sqrt(d2);
+		Vector2 normal = new Vector2(nx / d, ny / d);
+		transform.transformR(normal);
+		penetration.normal = normal;
+		penetration.depth = radius - d;
+		return true;
+	}
+	
+	/**
+	 * Returns true if the given {@link Polygon}s are penetrating.
+	 * <p>
+	 * Performs the separating axis test using only the edge normals of both {@link Polygon}s, which
+	 * is sufficient (and exact) for {@link Polygon}s.  The second {@link Polygon} is put into the local
+	 * space of the first to avoid transforming the first {@link Polygon}'s vertices.
+	 * <p>
+	 * The penetration normal will point from the first {@link Polygon} to the second.
+	 * @param polygon1 the first polygon
+	 * @param transform1 the first polygon's transform
+	 * @param polygon2 the second polygon
+	 * @param transform2 the second polygon's transform
+	 * @param penetration the {@link Penetration} object to fill
+	 * @return boolean
+	 */
+	protected boolean detect(Polygon polygon1, Transform transform1, Polygon polygon2, Transform transform2, Penetration penetration) {
+		Vector2[] vertices1 = polygon1.getVertices();
+		Vector2[] normals1 = polygon1.getNormals();
+		Vector2[] vertices2 = polygon2.getVertices();
+		Vector2[] normals2 = polygon2.getNormals();
+		int size1 = vertices1.length;
+		int size2 = vertices2.length;
+		
+		// put the second polygon's vertices into the first polygon's local space
+		double[] v2 = new double[size2 * 2];
+		Vector2 temp = new Vector2();
+		for (int i = 0; i < size2; i++) {
+			transform2.getTransformed(vertices2[i], temp);
+			transform1.inverseTransform(temp);
+			v2[i * 2] = temp.x;
+			v2[i * 2 + 1] = temp.y;
+		}
+		
+		double maxSeparation = -Double.MAX_VALUE;
+		double nx = 0.0;
+		double ny = 0.0;
+		
+		// test the edge normals of the first polygon
+		for (int i = 0; i < size1; i++) {
+			Vector2 n = normals1[i];
+			Vector2 v = vertices1[i];
+			double min = Double.MAX_VALUE;
+			for (int j = 0; j < size2; j++) {
+				double p = n.x * (v2[j * 2] - v.x) + n.y * (v2[j * 2 + 1] - v.y);
+				if (p < min) min = p;
+			}
+			if (min >= 0.0) {
+				// this is a separating axis
+				return false;
+			}
+			if (min > maxSeparation) {
+				maxSeparation = min;
+				nx = n.x;
+				ny = n.y;
+			}
+		}
+		
+		// test the edge normals of the second polygon
+		for (int i = 0; i < size2; i++) {
+			// put the normal into the first polygon's local space
+			transform2.getTransformedR(normals2[i], temp);
+			transform1.inverseTransformR(temp);
+			double vx = v2[i * 2];
+			double vy = v2[i * 2 + 1];
+			double min = Double.MAX_VALUE;
+			for (int j = 0; j < size1; j++) {
+				Vector2 v = vertices1[j];
+				double p = temp.x * (v.x - vx) + temp.y * (v.y - vy);
+				if (p < min) min = p;
+			}
+			if (min >= 0.0) {
+				// this is a separating axis
+				return false;
+			}
+			// we prefer the first polygon's normals when they are equal
+			if (min > maxSeparation) {
+				maxSeparation = min;
+				// the normal of the second polygon points toward the first
+				nx = -temp.x;
+				ny = -temp.y;
+			}
+		}
+		
+		Vector2 normal = new Vector2(nx, ny);
+		transform1.transformR(normal);
+		penetration.normal = normal;
+		penetration.depth = -maxSeparation;
+		return true;
+	}
+	
+	/**
+	 * Returns the fallback {@link NarrowphaseDetector}.
+	 * @return {@link NarrowphaseDetector}
+	 */
+	public NarrowphaseDetector getFallbackNarrowphaseDetector() {
+		return this.fallbackNarrowphaseDetector;
+	}
+	
+	/**
+	 * Sets the fallback {@link NarrowphaseDetector} used for pairs that don't
+	 * have a specialized routine.
+	 * @param fallbackNarrowphaseDetector the fallback {@link NarrowphaseDetector}
+	 * @throws NullPointerException if fallbackNarrowphaseDetector is null
+	 */
+	public void setFallbackNarrowphaseDetector(NarrowphaseDetector fallbackNarrowphaseDetector) {
+		if (fallbackNarrowphaseDetector == null) throw new NullPointerException(Messages.getString("collision.narrowphase.dispatch.nullFallbackDetector"));
+		this.fallbackNarrowphaseDetector = fallbackNarrowphaseDetector;
+	}
+	
+	/**
+	 * Returns the type code for the given {@link Convex}.
+	 * @param convex the convex
+	 * @return int
+	 */
+	private static final int getType(Convex convex) {
+		if (convex instanceof Polygon) return POLYGON;
+		if (convex instanceof Circle) return CIRCLE;
+		if (convex instanceof Capsule) return CAPSULE;
+		if (convex instanceof Segment) return SEGMENT;
+		return UNSUPPORTED;
+	}
+	
+	/**
+	 * Returns the world space core of the given {@link Circle}, {@link Segment} or {@link Capsule}.
+	 * @param convex the convex
+	 * @param type the type code of the convex
+	 * @param transform the convex's transform
+	 * @return {@link Vector2}[] the end points of the core; the same point twice for a {@link Circle}
+	 */
+	private static final Vector2[] getCore(Convex convex, int type, Transform transform) {
+		if (type == CIRCLE) {
+			Vector2 c = transform.getTransformed(convex.getCenter());
+			return new Vector2[] { c, c };
+		} else if (type == CAPSULE) {
+			return convex.getFoci(transform);
+		} else {
+			Segment segment = (Segment) convex;
+			return new Vector2[] {
+				transform.getTransformed(segment.getPoint1()),
+				transform.getTransformed(segment.getPoint2())
+			};
+		}
+	}
+	
+	/**
+	 * Returns the radius that expands the core of the given {@link Circle}, {@link Segment}
+	 * or {@link Capsule} into the shape.
+	 * @param convex the convex
+	 * @param type the type code of the convex
+	 * @return double
+	 */
+	private static final double getCoreRadius(Convex convex, int type) {
+		if (type == CIRCLE) {
+			return convex.getRadius();
+		} else if (type == CAPSULE) {
+			return ((Capsule) convex).getCapRadius();
+		}
+		return 0.0;
+	}
+	
+	/**
+	 * Tests the overlap of the given cores along the given axis and saves it to best if its the
+	 * smallest so far.
+	 * <p>
+	 * The overlap is the distance the second core must move along the axis to separate from the
+	 * first.  Both directions of the axis are tested.  If the overlaps are equal the direction
+	 * closer to the vector between the core centers is used.
+	 * @param ux the x component of the axis
+	 * @param uy the y component of the axis
+	 * @param a1 the first point of the first core
+	 * @param b1 the second point of the first core
+	 * @param a2 the first point of the second core
+	 * @param b2 the second point of the second core
+	 * @param cx the x component of the vector from the first core's center to the second's
+	 * @param cy the y component of the vector from the first core's center to the second's
+	 * @param best the current minimum overlap, normal x and normal y
+	 */
+	private static final void overlap(double ux, double uy, Vector2 a1, Vector2 b1, Vector2 a2, Vector2 b2, double cx, double cy, double[] best) {
+		double p1 = ux * a1.x + uy * a1.y;
+		double q1 = ux * b1.x + uy * b1.y;
+		double p2 = ux * a2.x + uy * a2.y;
+		double q2 = ux * b2.x + uy * b2.y;
+		double min1 = Math.min(p1, q1);
+		double max1 = Math.max(p1, q1);
+		double min2 = Math.min(p2, q2);
+		double max2 = Math.max(p2, q2);
+		// moving the second core along +u
+		double positive = max1 - min2;
+		// moving the second core along -u
+		double negative = max2 - min1;
+		double c = ux * cx + uy * cy;
+		if (positive < negative || (positive == negative && c >= 0.0)) {
+			if (positive < best[0]) {
+				best[0] = positive;
+				best[1] = ux;
+				best[2] = uy;
+			}
+		} else if (negative < best[0]) {
+			best[0] = negative;
+			best[1] = -ux;
+			best[2] = -uy;
+		}
+	}
+	
+	/**
+	 * Clamps the given value to the range [0, 1].
+	 * @param value the value
+	 * @return double
+	 */
+	private static final double clamp(double value) {
+		if (value < 0.0) return 0.0;
+		if (value > 1.0) return 1.0;
+		return value;
+	}
+}
@@ -58,7 +58,7 @@ import org.dyn4j.resources.Messages;
  * {@link Epa} will terminate in a finite number of iterations if the two shapes are {@link Polygon}s.
  * If either shape has curved surfaces the algorithm requires an expected accuracy epsilon.
  * @author William Bittle
- * @version 3.1.11
+ * @version 3.2.0
  * @since 1.0.0
  */
 public class Epa implements MinkowskiPenetrationSolver {
@@ -242,6 +242,126 @@ public class Epa implements MinkowskiPenetrationSolver {
 		return 0;
 	}
 	
+	/**
+	 * Finds the penetration vector and depth using the simplex stored in the given 
+	 * {@link GjkContext} and places them in the given {@link Penetration} object.
+	 * <p>
+	 * This method produces the same results as {@link #getPenetration(List, MinkowskiSum, Penetration)} 
+	 * but expands the simplex in place and uses the context for all temporary storage rather 
+	 * than creating new objects.  The normal of the given {@link Penetration} is reused if not null.
+	 * @param context the scratch storage containing the simplex and {@link MinkowskiSum} from {@link Gjk}
+	 * @param penetration the {@link Penetration} object to fill
+	 * @since 3.2.0
+	 */
+	public void getPenetration(GjkContext context, Penetration penetration) {
+		// get the winding of the simplex points
+		int winding = this.getWinding(context);
+		// store the last point added to the simplex
+		Vector2 point = null;
+		// the current closest edge
+		Edge edge = context.edge;
+		// start the loop
+		for (int i = 0; i < this.maxIterations; i++) {
+			// get the closest edge to the origin
+			this.findClosestEdge(context, winding, edge);
+			// get a new support point in the direction of the edge normal
+			// (this is added to the end of the simplex)
+			point = context.addSupport(edge.normal);
+			
+			// see if the new point is significantly past the edge
+			double projection = point.dot(edge.normal);
+			if ((projection - edge.distance) < this.distanceEpsilon) {
+				// then the new point we just made is not far enough
+				// in the direction of n so we can stop now
+				penetration.normal = Gjk.copy(edge.normal, penetration.normal);
+				penetration.depth = projection;
+				return;
+			}
+			
+			// lastly move the point to the edge index
+			// this breaks the edge we just found to be closest into two edges
+			// from a -> b to a -> newPoint -> b
+			context.moveLast(edge.index);
+		}
+		// if we made it here then we know that we hit the maximum number of iterations
+		// this is really a catch all termination case
+		// set the normal and depth equal to the last edge we created
+		penetration.normal = Gjk.copy(edge.normal, penetration.normal);
+		penetration.depth = point.dot(edge.normal);
+	}
+	
+	/**
+	 * Finds the edge on the simplex of the given {@link GjkContext} that is closest to the
+	 * origin and places it in the given {@link Edge}.
+	 * @param context the scratch storage containing the simplex
+	 * @param winding the simplex winding
+	 * @param edge the {@link Edge} to fill
+	 * @see #findClosestEdge(List, int)
+	 * @since 3.2.0
+	 */
+	protected void findClosestEdge(GjkContext context, int winding, Edge edge) {
+		// get the current size of the simplex
+		int size = context.simplexSize;
+		Vector2[] simplex = context.simplex;
+		// set edge's distance to the max double value
+		edge.distance = Double.MAX_VALUE;
+		edge.normal.set(0.0, 0.0);
+		edge.index = 0;
+		// use a reusable vector for the normal
+		Vector2 normal = context.temp1;
+		// find the edge on the simplex closest to the origin
+		for (int i = 0; i < size; i++) {
+			// compute j
+			int j = i + 1 == size ? 0 : i + 1;
+			// get the points that make up the current edge
+			Vector2 a = simplex[i];
+			Vector2 b = simplex[j];
+			// create the edge
+			normal.x = b.x - a.x;
+			normal.y = b.y - a.y;
+			// depending on the winding get the edge normal
+			if (winding < 0) {
+				normal.right();
+			} else {
+				normal.left();
+			}
+			// normalize the vector
+			normal.normalize();
+			// project the first point onto the normal
+			double d = Math.abs(a.x * normal.x + a.y * normal.y);
+			// record the closest edge
+			if (d < edge.distance) {
+				edge.distance = d;
+				edge.normal.x = normal.x;
+				edge.normal.y = normal.y;
+				edge.index = j;
+			}
+		}
+	}
+	
+	/**
+	 * Returns the winding of the simplex of the given {@link GjkContext}.
+	 * @param context the scratch storage containing the simplex
+	 * @return int the winding
+	 * @see #getWinding(List)
+	 * @since 3.2.0
+	 */
+	protected int getWinding(GjkContext context) {
+		int size = context.simplexSize;
+		Vector2[] simplex = context.simplex;
+		for (int i = 0; i < size; i++) {
+			int j = i + 1 == size ? 0 : i + 1;
+			Vector2 a = simplex[i];
+			Vector2 b = simplex[j];
+			if (a.cross(b) > 0) {
+				return 1;
+			} else if (a.cross(b) < 0) {
+				return -1;
+			}
+		}
+		return 0;
+	}
+	
 	/**
 	 * Returns the maximum number of EPA iterations.
 	 * @return int the maximum number of EPA iterations
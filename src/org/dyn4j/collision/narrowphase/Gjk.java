@@ -31,6 +31,7 @@ import org.dyn4j.Epsilon;
 import org.dyn4j.collision.Collidable;
 import org.dyn4j.geometry.Circle;
 import org.dyn4j.geometry.Convex;
+import org.dyn4j.geometry.Geometry;
 import org.dyn4j.geometry.Ray;
 import org.dyn4j.geometry.Segment;
 import org.dyn4j.geometry.Shape;
@@ -115,8 +116,12 @@ import org.dyn4j.resources.Messages;
  * {@link Gjk}'s original intent was to find the minimum distance between two {@link Convex}
  * {@link Shape}s.  Refer to {@link Gjk#distance(Convex, Transform, Convex, Transform, Separation)}
  * for details on the implementation.
+ * <p>
+ * Each detect, distance and raycast method has an allocation free variant accepting a 
+ * {@link GjkContext}.  The context holds all the temporary storage so that a single {@link Gjk}
+ * instance can be shared by multiple threads, each with its own {@link GjkContext}.
  * @author William Bittle
- * @version 3.1.11
+ * @version 3.2.0
  * @since 1.0.0
  */
 public class Gjk implements NarrowphaseDetector, DistanceDetector, RaycastDetector {
@@ -532,18 +537,41 @@ public class Gjk implements NarrowphaseDetector, DistanceDetector, RaycastDetect
 		Vector2 p1 = new Vector2();
 		Vector2 p2 = new Vector2();
 		
+		// find the closest points
+		this.findClosestPoints(a, b, p1, p2);
+		
+		// set the new points in the separation object
+		s.point1 = p1;
+		s.point2 = p2;
+	}
+	
+	/**
+	 * Finds the closest points on A and B given the termination simplex and places 
+	 * them into the given {@link Vector2}s.
+	 * <p>
+	 * This method does not create any new objects.
+	 * @param a the first simplex point
+	 * @param b the second simplex point
+	 * @param p1 the {@link Vector2} to place the closest point on the first {@link Convex} in
+	 * @param p2 the {@link Vector2} to place the closest point on the second {@link Convex} in
+	 * @see #findClosestPoints(MinkowskiSum.Point, MinkowskiSum.Point, Separation)
+	 * @since 3.2.0
+	 */
+	protected void findClosestPoints(MinkowskiSum.Point a, MinkowskiSum.Point b, Vector2 p1, Vector2 p2) {
 		// find lambda1 and lambda2
-		Vector2 l = a.p.to(b.p);
+		// inline a.p.to(b.p)
+		double lx = b.p.x - a.p.x;
+		double ly = b.p.y - a.p.y;
 		
 		// check if a and b are the same point
-		if (l.isZero()) {
+		if (Math.abs(lx) <= Epsilon.E && Math.abs(ly) <= Epsilon.E) {
 			// then the closest points are a or b support points
 			p1.set(a.p1);
 			p2.set(a.p2);
 		} else {
 			// otherwise compute lambda1 and lambda2
-			double ll = l.dot(l);
-			double l2 = -l.dot(a.p) / ll;
+			double ll = lx * lx + ly * ly;
+			double l2 = -(lx * a.p.x + ly * a.p.y) / ll;
 			double l1 = 1 - l2;
 			
 			// check if either lambda1 or lambda2 is less than zero
@@ -570,9 +598,6 @@ public class Gjk implements NarrowphaseDetector, DistanceDetector, RaycastDetect
 				p2.y = a.p2.y * l1 + b.p2.y * l2;
 			}
 		}
-		// set the new points in the separation object
-		s.point1 = p1;
-		s.point2 = p2;
 	}
 	
 	/**
@@ -746,6 +771,587 @@ public class Gjk implements NarrowphaseDetector, DistanceDetector, RaycastDetect
 		return true;
 	}
 	
+	/**
+	 * Returns true if the two {@link Convex} {@link Shape}s intersect and fills
+	 * the {@link Penetration} object with the penetration vector and depth.
+	 * <p>
+	 * This method produces the same results as {@link #detect(Convex, Transform, Convex, Transform, Penetration)}
+	 * but uses the given {@link GjkContext} for all temporary storage rather than creating 
+	 * new objects.  The normal of the given {@link Penetration} is reused if not null.
+	 * <p>
+	 * The {@link Epa} penetration solver is also run without creating new objects.  Other
+	 * {@link MinkowskiPenetrationSolver}s are given a copy of the simplex.
+	 * <p>
+	 * This method can be called from multiple threads at the same time as long as each
+	 * thread uses its own {@link GjkContext}.
+	 * @param convex1 the first {@link Convex} {@link Shape}
+	 * @param transform1 the first {@link Shape}'s {@link Transform}
+	 * @param convex2 the second {@link Convex} {@link Shape}
+	 * @param transform2 the second {@link Shape}'s {@link Transform}
+	 * @param penetration the {@link Penetration} object to fill
+	 * @param context the scratch storage
+	 * @return boolean true if the two {@link Convex} {@link Shape}s intersect
+	 * @since 3.2.0
+	 */
+	public boolean detect(Convex convex1, Transform transform1, Convex convex2, Transform transform2, Penetration penetration, GjkContext context) {
+		// check for circles
+		if (convex1 instanceof Circle && convex2 instanceof Circle) {
+			// if its a circle - circle collision use the faster method
+			return CircleDetector.detect((Circle) convex1, transform1, (Circle) convex2, transform2, penetration);
+		}
+		
+		// setup the Minkowski sum
+		MinkowskiSum ms = context.minkowskiSum;
+		ms.convex1 = convex1;
+		ms.transform1 = transform1;
+		ms.convex2 = convex2;
+		ms.transform2 = transform2;
+		
+		// choose some search direction
+		Vector2 d = context.direction;
+		this.getInitialDirection(convex1, transform1, convex2, transform2, d);
+		
+		// perform the detection
+		if (this.detect(context, d)) {
+			if (this.minkowskiPenetrationSolver instanceof Epa) {
+				((Epa)this.minkowskiPenetrationSolver).getPenetration(context, penetration);
+			} else {
+				// other solvers require the simplex as a list
+				List<Vector2> simplex = new ArrayList<Vector2>(context.simplexSize);
+				for (int i = 0; i < context.simplexSize; i++) {
+					simplex.add(context.simplex[i].copy());
+				}
+				this.minkowskiPenetrationSolver.getPenetration(simplex, ms, penetration);
+			}
+			return true;
+		}
+		
+		return false;
+	}
+	
+	/**
+	 * Returns true if the two {@link Convex} {@link Shape}s intersect.
+	 * <p>
+	 * This method produces the same results as {@link #detect(Convex, Transform, Convex, Transform)}
+	 * but uses the given {@link GjkContext} for all temporary storage rather than creating 
+	 * new objects.
+	 * @param convex1 the first {@link Convex} {@link Shape}
+	 * @param transform1 the first {@link Shape}'s {@link Transform}
+	 * @param convex2 the second {@link Convex} {@link Shape}
+	 * @param transform2 the second {@link Shape}'s {@link Transform}
+	 * @param context the scratch storage
+	 * @return boolean true if the two {@link Convex} {@link Shape}s intersect
+	 * @since 3.2.0
+	 */
+	public boolean detect(Convex convex1, Transform transform1, Convex convex2, Transform transform2, GjkContext context) {
+		// check for circles
+		if (convex1 instanceof Circle && convex2 instanceof Circle) {
+			// if its a circle - circle collision use the faster method
+			return CircleDetector.detect((Circle) convex1, transform1, (Circle) convex2, transform2);
+		}
+		
+		// setup the Minkowski sum
+		MinkowskiSum ms = context.minkowskiSum;
+		ms.convex1 = convex1;
+		ms.transform1 = transform1;
+		ms.convex2 = convex2;
+		ms.transform2 = transform2;
+		
+		// choose some search direction
+		Vector2 d = context.direction;
+		this.getInitialDirection(convex1, transform1, convex2, transform2, d);
+		
+		// perform the detection
+		return this.detect(context, d);
+	}
+	
+	/**
+	 * Places the initial search direction in the given destination {@link Vector2}.
+	 * <p>
+	 * This is the same direction as {@link #getInitialDirection(Convex, Transform, Convex, Transform)}
+	 * computed without creating new objects.
+	 * @param convex1 the first {@link Convex} {@link Shape}
+	 * @param transform1 the first {@link Shape}'s {@link Transform}
+	 * @param convex2 the second {@link Convex} {@link Shape}
+	 * @param transform2 the second {@link Shape}'s {@link Transform}
+	 * @param destination the {@link Vector2} to place the direction in
+	 * @since 3.2.0
+	 */
+	protected void getInitialDirection(Convex convex1, Transform transform1, Convex convex2, Transform transform2, Vector2 destination) {
+		// transform the first center into world space
+		transform1.getTransformed(convex1.getCenter(), destination);
+		double x1 = destination.x;
+		double y1 = destination.y;
+		// transform the second center into world space
+		transform2.getTransformed(convex2.getCenter(), destination);
+		// choose some search direction
+		destination.x -= x1;
+		destination.y -= y1;
+	}
+	
+	/**
+	 * The main {@link Gjk} algorithm loop using the simplex storage of the given {@link GjkContext}.
+	 * <p>
+	 * The {@link MinkowskiSum} of the context should already be setup.
+	 * @param context the scratch storage
+	 * @param d the initial direction
+	 * @return boolean
+	 * @see #detect(MinkowskiSum, List, Vector2)
+	 * @since 3.2.0
+	 */
+	protected boolean detect(GjkContext context, Vector2 d) {
+		// clear the simplex
+		context.simplexSize = 0;
+		// check for a zero direction vector
+		if (d.isZero()) d.set(1.0, 0.0);
+		// add the first point
+		Vector2 point = context.addSupport(d);
+		// is the support point past the origin along d?
+		if (point.dot(d) <= 0.0) {
+			return false;
+		}
+		// negate the search direction
+		d.negate();
+		// start the loop
+		while (true) {
+			// always add another point to the simplex at the beginning of the loop
+			point = context.addSupport(d);
+			// make sure that the last point we added was past the origin
+			if (point.dot(d) <= 0.0) {
+				// a is not past the origin so therefore the shapes do not intersect
+				return false;
+			} else if (this.checkSimplex(context, d)) {
+				// if the simplex contains the origin then we know that there is an intersection.
+				return true;
+			}
+		}
+	}
+	
+	/**
+	 * Determines whether the simplex of the given {@link GjkContext} contains the origin
+	 * and updates the simplex and search direction.
+	 * <p>
+	 * This is the same as {@link #checkSimplex(List, Vector2)} with all vector operations
+	 * inlined so that no new objects are created.
+	 * @param context the scratch storage
+	 * @param direction the search direction
+	 * @return boolean true if the simplex contains the origin
+	 * @since 3.2.0
+	 */
+	protected boolean checkSimplex(GjkContext context, Vector2 direction) {
+		Vector2[] simplex = context.simplex;
+		// get the last point added (a)
+		Vector2 a = simplex[context.simplexSize - 1];
+		// this is the same as a.to(ORIGIN);
+		double aox = -a.x;
+		double aoy = -a.y;
+		// check to see what type of simplex we have
+		if (context.simplexSize == 3) {
+			// then we have a triangle
+			Vector2 b = simplex[1];
+			Vector2 c = simplex[0];
+			// get the edges
+			double abx = b.x - a.x;
+			double aby = b.y - a.y;
+			double acx = c.x - a.x;
+			double acy = c.y - a.y;
+			// get the edge normals
+			// Vector2.tripleProduct(ac, ab, ab)
+			double acab = acx * abx + acy * aby;
+			double abab = abx * abx + aby * aby;
+			double abPerpX = abx * acab - acx * abab;
+			double abPerpY = aby * acab - acy * abab;
+			// Vector2.tripleProduct(ab, ac, ac)
+			double abac = abx * acx + aby * acy;
+			double acac = acx * acx + acy * acy;
+			double acPerpX = acx * abac - abx * acac;
+			double acPerpY = acy * abac - aby * acac;
+			// see where the origin is at
+			double acLocation = acPerpX * aox + acPerpY * aoy;
+			if (acLocation >= 0.0) {
+				// the origin lies on the right side of A->C
+				// so remove B and set the new search direction 
+				// to A->C perpendicular vector
+				context.remove(1);
+				direction.set(acPerpX, acPerpY);
+			} else {
+				double abLocation = abPerpX * aox + abPerpY * aoy;
+				// the origin lies on the left side of A->C
+				if (abLocation < 0.0) {
+					// the origin lies on the right side of A->B and therefore in the
+					// triangle, we have an intersection
+					return true;
+				} else {
+					// the origin lies between A and B so remove C and set the
+					// search direction to A->B perpendicular vector
+					context.remove(0);
+					direction.set(abPerpX, abPerpY);
+				}
+			}
+		} else {
+			// get the b point
+			Vector2 b = simplex[0];
+			double abx = b.x - a.x;
+			double aby = b.y - a.y;
+			// otherwise we have 2 points (line segment)
+			// set the direction to the perp of the line segment towards the origin
+			// Vector2.tripleProduct(ab, ao, ab)
+			double abab = abx * abx + aby * aby;
+			double aoab = aox * abx + aoy * aby;
+			direction.x = aox * abab - abx * aoab;
+			direction.y = aoy * abab - aby * aoab;
+			// check for degenerate cases where the origin lies on the segment
+			// created by a -> b which will yield a zero edge normal
+			if (direction.getMagnitudeSquared() <= Epsilon.E) {
+				// in this case just choose either normal (left or right)
+				direction.set(aby, -abx);
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * Returns true if the two {@link Convex} {@link Shape}s are separated and fills
+	 * the given {@link Separation} object with the minimum distance vector, distance, 
+	 * and closest points.
+	 * <p>
+	 * This method produces the same results as {@link #distance(Convex, Transform, Convex, Transform, Separation)}
+	 * but uses the given {@link GjkContext} for all temporary storage rather than creating 
+	 * new objects.  The normal and points of the given {@link Separation} are reused if not null.
+	 * @param convex1 the first {@link Convex} {@link Shape}
+	 * @param transform1 the first {@link Shape}'s {@link Transform}
+	 * @param convex2 the second {@link Convex} {@link Shape}
+	 * @param transform2 the second {@link Shape}'s {@link Transform}
+	 * @param separation the {@link Separation} object to fill
+	 * @param context the scratch storage
+	 * @return boolean true if the two {@link Convex} {@link Shape}s are separated
+	 * @since 3.2.0
+	 */
+	public boolean distance(Convex convex1, Transform transform1, Convex convex2, Transform transform2, Separation separation, GjkContext context) {
+		// check for circles
+		if (convex1 instanceof Circle && convex2 instanceof Circle) {
+			// if its a circle - circle collision use the faster method
+			return CircleDetector.distance((Circle) convex1, transform1, (Circle) convex2, transform2, separation);
+		}
+		// setup the Minkowski sum
+		MinkowskiSum ms = context.minkowskiSum;
+		ms.convex1 = convex1;
+		ms.transform1 = transform1;
+		ms.convex2 = convex2;
+		ms.transform2 = transform2;
+		// get the Minkowski points
+		MinkowskiSum.Point a = context.a;
+		MinkowskiSum.Point b = context.b;
+		MinkowskiSum.Point c = context.c;
+		// the search direction and the closest points on the simplex edges
+		Vector2 d = context.direction;
+		Vector2 p1 = context.temp1;
+		Vector2 p2 = context.temp2;
+		// choose some search direction
+		this.getInitialDirection(convex1, transform1, convex2, transform2, d);
+		// check for a zero direction vector
+		// a zero direction vector indicates that the center's are coincident
+		// which guarantees that the convex shapes are overlapping
+		if (d.isZero()) return false;
+		// add the first point 
+		ms.support(d, a.p1, a.p2, a.p);
+		// negate the direction
+		d.negate();
+		// get a second support point
+		ms.support(d, b.p1, b.p2, b.p);
+		// find the point on the simplex (segment) closest to the origin
+		// and use that as the new search direction
+		Segment.getPointOnSegmentClosestToPoint(ORIGIN, b.p, a.p, d);
+		for (int i = 0; i < this.maxIterations; i++) {
+			// the vector from the point we found to the origin is the new search direction
+			d.negate();
+			// check if d is zero
+			if (d.getMagnitudeSquared() <= Epsilon.E) {
+				// if the closest point is the origin then the shapes are not separated
+				return false;
+			}
+			
+			// get the farthest point along d
+			ms.support(d, c.p1, c.p2, c.p);
+			
+			// test if the triangle made by a, b, and c contains the origin
+			if (this.containsOrigin(a.p, b.p, c.p)){
+				// if it does then return false;
+				return false;
+			}
+			
+			// see if the new point is far enough along d
+			double projection = c.p.dot(d);
+			if ((projection - a.p.dot(d)) < this.distanceEpsilon) {
+				// then the new point we just made is not far enough
+				// in the direction of n so we can stop now
+				d.normalize();
+				separation.normal = Gjk.copy(d, separation.normal);
+				// compute the real distance
+				separation.distance = -c.p.dot(d);
+				// get the closest points
+				this.findClosestPoints(a, b, separation, true);
+				// return true to indicate separation
+				return true;
+			}
+			
+			// get the closest point on each segment to the origin
+			Segment.getPointOnSegmentClosestToPoint(ORIGIN, a.p, c.p, p1);
+			Segment.getPointOnSegmentClosestToPoint(ORIGIN, c.p, b.p, p2);
+			
+			// get the distance to the origin
+			double p1Mag = p1.getMagnitudeSquared();
+			double p2Mag = p2.getMagnitudeSquared();
+			
+			// check if the origin lies close enough to either edge
+			if (p1Mag <= Epsilon.E) {
+				// if so then we have a separation (although its
+				// nearly zero separation)
+				d.normalize();
+				separation.distance = p1.normalize();
+				separation.normal = Gjk.copy(d, separation.normal);
+				this.findClosestPoints(a, c, separation, true);
+				return true;
+			} else if (p2Mag <= Epsilon.E) {
+				// if so then we have a separation (although its
+				// nearly zero separation)
+				d.normalize();
+				separation.distance = p2.normalize();
+				separation.normal = Gjk.copy(d, separation.normal);
+				this.findClosestPoints(c, b, separation, true);
+				return true;
+			}
+			
+			// test which point is closer and replace the one that is farthest
+			// with the new point c and set the new search direction
+			Vector2 t = d;
+			if (p1Mag < p2Mag) {
+				// a was closest so replace b with c
+				b.p1.set(c.p1);
+				b.p2.set(c.p2);
+				b.p.set(c.p);
+				d = p1;
+				p1 = t;
+			} else {
+				// b was closest so replace a with c
+				a.p1.set(c.p1);
+				a.p2.set(c.p2);
+				a.p.set(c.p);
+				d = p2;
+				p2 = t;
+			}
+		}
+		// if we made it here then we know that we hit the maximum number of iterations
+		// this is really a catch all termination case
+		d.normalize();
+		separation.normal = Gjk.copy(d, separation.normal);
+		separation.distance = -c.p.dot(d);
+		// get the closest points
+		this.findClosestPoints(a, b, separation, true);
+		// return true to indicate separation
+		return true;
+	}
+	
+	/**
+	 * Finds the closest points on A and B given the termination simplex and places 
+	 * them into point1 and point2 of the given {@link Separation} object reusing
+	 * the existing points if not null.
+	 * @param a the first simplex point
+	 * @param b the second simplex point
+	 * @param s the {@link Separation} object to populate
+	 * @param reuse true if the point1 and point2 {@link Vector2}s of the separation should be reused
+	 * @see #findClosestPoints(MinkowskiSum.Point, MinkowskiSum.Point, Vector2, Vector2)
+	 * @since 3.2.0
+	 */
+	private void findClosestPoints(MinkowskiSum.Point a, MinkowskiSum.Point b, Separation s, boolean reuse) {
+		if (!reuse || s.point1 == null) s.point1 = new Vector2();
+		if (!reuse || s.point2 == null) s.point2 = new Vector2();
+		this.findClosestPoints(a, b, s.point1, s.point2);
+	}
+	
+	/**
+	 * Performs a ray cast against the given {@link Convex} {@link Shape}.
+	 * <p>
+	 * This method produces the same results as {@link #raycast(Ray, double, Convex, Transform, Raycast)}
+	 * but uses the given {@link GjkContext} for all temporary storage rather than creating 
+	 * new objects.  The point and normal of the given {@link Raycast} are reused if not null.
+	 * @param ray the {@link Ray}
+	 * @param maxLength the maximum length of the ray; 0 for infinite length
+	 * @param convex the {@link Convex} {@link Shape}
+	 * @param transform the {@link Convex} {@link Shape}'s {@link Transform}
+	 * @param raycast the {@link Raycast} result
+	 * @param context the scratch storage
+	 * @return boolean true if the {@link Ray} intersects the {@link Convex} {@link Shape}
+	 * @since 3.2.0
+	 */
+	public boolean raycast(Ray ray, double maxLength, Convex convex, Transform transform, Raycast raycast, GjkContext context) {
+		// check for circle
+		if (convex instanceof Circle) {
+			// if the convex is a circle then use the more efficient method
+			return CircleDetector.raycast(ray, maxLength, (Circle) convex, transform, raycast);
+		}
+		// check for segment
+		if (convex instanceof Segment) {
+			// if the convex is a segment then use the more efficient method
+			return SegmentDetector.raycast(ray, maxLength, (Segment) convex, transform, raycast);
+		}
+		
+		// otherwise proceed with GJK raycast
+		double lambda = 0;
+		
+		// do we need to check against the max length?
+		boolean lengthCheck = maxLength > 0;
+		
+		// the simplex points (a and b) and the number of them
+		Vector2 a = context.temp1;
+		Vector2 b = context.temp2;
+		int size = 0;
+		
+		// get the start point of the ray
+		Vector2 start = ray.getStart();
+		// x is the current closest point on the ray
+		Vector2 x = context.temp3;
+		x.set(start);
+		// r is the ray direction
+		Vector2 r = ray.getDirectionVector();
+		// n is the normal at the hit point
+		Vector2 n = context.temp4;
+		n.set(0.0, 0.0);
+		// the support point and the closest points on the simplex edges
+		Vector2 p = context.support1;
+		Vector2 p1 = context.support2;
+		Vector2 p2 = context.temp5;
+		
+		// is the start point contained in the convex?
+		if (convex.contains(start, transform)) {
+			// return false if the start of the ray is inside the convex
+			return false;
+		}
+		
+		// get an arbitrary point within the convex shape
+		// we can use the center point and compute the 
+		// vector from the center to the start point
+		Vector2 d = context.direction;
+		transform.getTransformed(convex.getCenter(), d);
+		d.set(x.x - d.x, x.y - d.y);
+		
+		// define an epsilon to compare the distance with
+		double distanceSqrd = Double.MAX_VALUE;
+		int iterations = 0;
+		// loop until we have found the correct distance
+		while (distanceSqrd > this.distanceEpsilon) {
+			// get a point on the edge of the convex in the direction of d
+			Geometry.getFarthestPoint(convex, d, transform, p);
+			// get the vector from the current closest point to the edge point
+			double wx = x.x - p.x;
+			double wy = x.y - p.y;
+			// is the current point on the ray to the new point
+			// in the same direction as d?
+			double dDotW = d.x * wx + d.y * wy;
+			if (dDotW > 0.0) {
+				// is the ray direction in the same direction as d?
+				double dDotR = d.dot(r);
+				if (dDotR >= 0.0) {
+					// immediately return false since this indicates that the
+					// ray is moving in the opposite direction
+					return false;
+				} else {
+					// otherwise compute the new closest point on the
+					// ray to the edge point
+					lambda = lambda - dDotW / dDotR;
+					// check if l is larger than the length
+					if (lengthCheck && lambda > maxLength) {
+						// then return false
+						return false;
+					}
+					x.x = r.x * lambda + start.x;
+					x.y = r.y * lambda + start.y;
+					// set d as the best normal we have so far
+					// d will be normalized when the loop terminates
+					n.set(d);
+				}
+			}
+			// now reduce the simplex to two points such that we keep the
+			// two points that form a segment that is closest to x
+			if (size > 0) {
+				if (size > 1) {
+					// reduce the set to two points
+					// get the closest point on each segment to the origin
+					Segment.getPointOnSegmentClosestToPoint(x, a, p, p1);
+					Segment.getPointOnSegmentClosestToPoint(x, p, b, p2);
+					
+					// test which point is closer and replace the one that is farthest
+					// with the new point p and set the new search direction
+					if (p1.distanceSquared(x) < p2.distanceSquared(x)) {
+						// a was closest so replace b with p
+						b.set(p);
+						// update the distance
+						distanceSqrd = p1.distanceSquared(x);
+					} else {
+						// b was closest so replace a with p
+						a.set(p);
+						// update the distance
+						distanceSqrd = p2.distanceSquared(x);
+					}
+				} else {
+					// b is not set yet so just set b
+					b.set(p);
+					size = 2;
+				}
+				// get the new search direction
+				// Vector2.tripleProduct(ab, ax, ab)
+				double abx = b.x - a.x;
+				double aby = b.y - a.y;
+				double axx = x.x - a.x;
+				double axy = x.y - a.y;
+				double abab = abx * abx + aby * aby;
+				double axab = axx * abx + axy * aby;
+				d.x = axx * abab - abx * axab;
+				d.y = axy * abab - aby * axab;
+			} else {
+				// both a and b are not set so just set a and use -d as the
+				// new direction
+				a.set(p);
+				size = 1;
+				d.negate();
+			}
+			
+			// check for the maximum number of iterations
+			if (iterations == this.maxIterations) {
+				// we have hit the maximum number of iterations and
+				// still are not close enough to the ray, in this case
+				// just exit returning false
+				return false;
+			}
+			
+			// increment the number of iterations
+			iterations++;
+		}
+		
+		// set the raycast result values
+		raycast.point = Gjk.copy(x, raycast.point);
+		raycast.normal = Gjk.copy(n, raycast.normal);
+		raycast.normal.normalize();
+		raycast.distance = lambda;
+		
+		// return true to indicate that we were successful
+		return true;
+	}
+	
+	/**
+	 * Copies the given source {@link Vector2} into the given destination {@link Vector2}
+	 * and returns the destination.  A copy of the source is returned if the destination is null.
+	 * @param source the source
+	 * @param destination the destination; can be null
+	 * @return {@link Vector2}
+	 * @since 3.2.0
+	 */
+	static final Vector2 copy(Vector2 source, Vector2 destination) {
+		if (destination == null) return source.copy();
+		destination.set(source);
+		return destination;
+	}
+	
 	/**
 	 * Returns the maximum number of iterations the {@link Gjk} algorithm will perform when
 	 * computing the distance between two separated bodies.
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2010-2014 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.collision.narrowphase;
+
+import org.dyn4j.geometry.Vector2;
+
+/**
+ * Represents the reusable scratch storage used by the allocation free {@link Gjk} 
+ * and {@link Epa} methods.
+ * <p>
+ * A {@link GjkContext} holds the simplex, the {@link MinkowskiSum} and all temporary 
+ * {@link Vector2}s needed during detection, distance and raycast so that, once warmed
+ * up, those methods do not create any new objects.  The simplex storage grows only when
+ * {@link Epa} needs more points than have been needed before.
+ * <p>
+ * A {@link GjkContext} is not thread safe and should be owned by one thread (or one
+ * caller) at a time.  The {@link Gjk} and {@link Epa} instances themselves are not 
+ * modified during detection and can be shared by any number of threads, each using 
+ * its own {@link GjkContext}.
+ * @author William Bittle
+ * @version 3.2.0
+ * @since 3.2.0
+ * @see Gjk#detect(org.dyn4j.geometry.Convex, org.dyn4j.geometry.Transform, org.dyn4j.geometry.Convex, org.dyn4j.geometry.Transform, Penetration, GjkContext)
+ */
+public class GjkContext {
+	/** The initial simplex capacity */
+	private static final int INITIAL_CAPACITY = 16;
+	
+	/** The reusable {@link MinkowskiSum} */
+	protected final MinkowskiSum minkowskiSum;
+	
+	/** The simplex points; only the first {@link #simplexSize} points are valid */
+	protected Vector2[] simplex;
+	
+	/** The number of points in the simplex */
+	protected int simplexSize;
+	
+	/** The Minkowski points used by the distance method */
+	protected final MinkowskiSum.Point a, b, c;
+	
+	/** The closest edge used by {@link Epa} */
+	protected final Epa.Edge edge;
+	
+	/** The search direction */
+	protected final Vector2 direction;
+	
+	/** The support point of the first convex */
+	protected final Vector2 support1;
+	
+	/** The support point of the second convex */
+	protected final Vector2 support2;
+	
+	/** Temporary vectors */
+	protected final Vector2 temp1, temp2, temp3, temp4, temp5;
+	
+	/**
+	 * Default constructor.
+	 */
+	public GjkContext() {
+		this.minkowskiSum = new MinkowskiSum(null, null, null, null);
+		this.simplex = new Vector2[INITIAL_CAPACITY];
+		for (int i = 0; i < INITIAL_CAPACITY; i++) {
+			this.simplex[i] = new Vector2();
+		}
+		this.simplexSize = 0;
+		this.a = new MinkowskiSum.Point(new Vector2(), new Vector2());
+		this.b = new MinkowskiSum.Point(new Vector2(), new Vector2());
+		this.c = new MinkowskiSum.Point(new Vector2(), new Vector2());
+		this.edge = new Epa.Edge();
+		this.edge.normal = new Vector2();
+		this.direction = new Vector2();
+		this.support1 = new Vector2();
+		this.support2 = new Vector2();
+		this.temp1 = new Vector2();
+		this.temp2 = new Vector2();
+		this.temp3 = new Vector2();
+		this.temp4 = new Vector2();
+		this.temp5 = new Vector2();
+	}
+	
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("GjkContext[SimplexSize=").append(this.simplexSize)
+		.append("|SimplexCapacity=").append(this.simplex.length)
+		.append("]");
+		return sb.toString();
+	}
+	
+	/**
+	 * Appends the support point of the {@link MinkowskiSum} in the given direction
+	 * to the simplex and returns it.
+	 * @param direction the search direction
+	 * @return {@link Vector2} the new simplex point
+	 */
+	protected Vector2 addSupport(Vector2 direction) {
+		this.ensureCapacity(this.simplexSize + 1);
+		Vector2 point = this.simplex[this.simplexSize++];
+		this.minkowskiSum.support(direction, this.support1, this.support2, point);
+		return point;
+	}
+	
+	/**
+	 * Removes the simplex point at the given index shifting the remaining
+	 * points down.
+	 * <p>
+	 * The removed {@link Vector2} instance is kept for reuse.
+	 * @param index the index of the point to remove
+	 */
+	protected void remove(int index) {
+		Vector2 removed = this.simplex[index];
+		int last = this.simplexSize - 1;
+		for (int i = index; i < last; i++) {
+			this.simplex[i] = this.simplex[i + 1];
+		}
+		this.simplex[last] = removed;
+		this.simplexSize--;
+	}
+	
+	/**
+	 * Moves the last simplex point to the given index shifting the points
+	 * at and after the index up.
+	 * @param index the index to move the last point to
+	 */
+	protected void moveLast(int index) {
+		int last = this.simplexSize - 1;
+		Vector2 point = this.simplex[last];
+		for (int i = last; i > index; i--) {
+			this.simplex[i] = this.simplex[i - 1];
+		}
+		this.simplex[index] = point;
+	}
+	
+	/**
+	 * Makes sure the simplex storage can hold the given number of points.
+	 * @param capacity the required capacity
+	 */
+	protected void ensureCapacity(int capacity) {
+		int length = this.simplex.length;
+		if (capacity > length) {
+			int size = Math.max(capacity, length * 2);
+			Vector2[] simplex = new Vector2[size];
+			System.arraycopy(this.simplex, 0, simplex, 0, length);
+			for (int i = length; i < size; i++) {
+				simplex[i] = new Vector2();
+			}
+			this.simplex = simplex;
+		}
+	}
+	
+	/**
+	 * Returns the current capacity of the simplex storage.
+	 * @return int
+	 */
+	public int getCapacity() {
+		return this.simplex.length;
+	}
+}
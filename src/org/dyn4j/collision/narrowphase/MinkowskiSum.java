@@ -25,6 +25,7 @@
 package org.dyn4j.collision.narrowphase;
 
 import org.dyn4j.geometry.Convex;
+import org.dyn4j.geometry.Geometry;
 import org.dyn4j.geometry.Shape;
 import org.dyn4j.geometry.Transform;
 import org.dyn4j.geometry.Vector2;
@@ -34,7 +35,7 @@ import org.dyn4j.geometry.Vector2;
  * <p>
  * This class is used by the {@link Gjk} and {@link Epa} classes.
  * @author William Bittle
- * @version 3.0.2
+ * @version 3.2.0
  * @since 1.0.0
  */
 public class MinkowskiSum {
@@ -174,6 +175,31 @@ public class MinkowskiSum {
 		p.set(point1, point2);
 	}
 	
+	/**
+	 * Places the farthest point in the Minkowski sum given the direction
+	 * in the given destination {@link Vector2}.
+	 * <p>
+	 * The support points in each {@link Convex} are placed in point1 and point2.
+	 * Unlike the other support methods, this method does not create any new
+	 * objects.
+	 * @param direction the search direction
+	 * @param point1 the {@link Vector2} to place the support point of the first {@link Convex} in
+	 * @param point2 the {@link Vector2} to place the support point of the second {@link Convex} in
+	 * @param destination the {@link Vector2} to place the Minkowski sum point in
+	 * @since 3.2.0
+	 */
+	public void support(Vector2 direction, Vector2 point1, Vector2 point2, Vector2 destination) {
+		// get the farthest point in the given direction in convex1
+		Geometry.getFarthestPoint(this.convex1, direction, this.transform1, point1);
+		direction.negate();
+		// get the farthest point in the opposite direction in convex2
+		Geometry.getFarthestPoint(this.convex2, direction, this.transform2, point2);
+		direction.negate();
+		// set the Minkowski sum point given the support points
+		destination.x = point1.x - point2.x;
+		destination.y = point1.y - point2.y;
+	}
+	
 	/**
 	 * Returns the first {@link Convex}.
 	 * @return {@link Convex}
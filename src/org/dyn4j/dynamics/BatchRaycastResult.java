@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2010-2014 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.dynamics;
+
+import org.dyn4j.collision.Filter;
+import org.dyn4j.resources.Messages;
+
+/**
+ * Represents the results of a batch raycast using primitive arrays.
+ * <p>
+ * The result of ray i is stored at index i of the body and fixture index arrays and distances array, 
+ * and at indices 2i and 2i + 1 of the points and normals arrays.  A ray that didn't hit anything has a
+ * body index and fixture index of -1; the other values of that ray are undefined.
+ * <p>
+ * The arrays are grown as needed by the {@link World#raycast(double[], double[], double[], int, Filter, boolean, boolean, BatchRaycastResult)}
+ * method and can be reused for multiple batches.  Only the first {@link #getRayCount()} results are valid.
+ * @author William Bittle
+ * @version 3.2.0
+ * @since 3.2.0
+ */
+public class BatchRaycastResult {
+	/** The index of the hit {@link Body} in the {@link World} of each ray */
+	protected int[] bodyIndices;
+	
+	/** The index of the hit {@link BodyFixture} in its {@link Body} of each ray */
+	protected int[] fixtureIndices;
+	
+	/** The hit distance of each ray */
+	protected double[] distances;
+	
+	/** The hit point of each ray as x, y pairs */
+	protected double[] points;
+	
+	/** The hit normal of each ray as x, y pairs */
+	protected double[] normals;
+	
+	/** The number of rays of the last batch */
+	protected int rayCount;
+	
+	/** The number of rays that hit something in the last batch */
+	protected int hitCount;
+	
+	/**
+	 * Default constructor.
+	 */
+	public BatchRaycastResult() {
+		this(0);
+	}
+	
+	/**
+	 * Optional constructor.
+	 * @param capacity the initial number of rays
+	 * @throws IllegalArgumentException if capacity is less than zero
+	 */
+	public BatchRaycastResult(int capacity) {
+		if (capacity < 0) throw new IllegalArgumentException(Messages.getString("dynamics.batchRaycastResult.invalidCapacity"));
+		this.bodyIndices = new int[capacity];
+		this.fixtureIndices = new int[capacity];
+		this.distances = new double[capacity];
+		this.points = new double[capacity * 2];
+		this.normals = new double[capacity * 2];
+		this.rayCount = 0;
+		this.hitCount = 0;
+	}
+	
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("BatchRaycastResult[Capacity=").append(this.bodyIndices.length)
+		.append("|RayCount=").append(this.rayCount)
+		.append("|HitCount=").append(this.hitCount)
+		.append("]");
+		return sb.toString();
+	}
+	
+	/**
+	 * Makes sure the arrays can hold the given number of rays and sets the ray count.
+	 * @param count the number of rays
+	 */
+	void reset(int count) {
+		if (this.bodyIndices.length < count) {
+			this.bodyIndices = new int[count];
+			this.fixtureIndices = new int[count];
+			this.distances = new double[count];
+			this.points = new double[count * 2];
+			this.normals = new double[count * 2];
+		}
+		this.rayCount = count;
+		this.hitCount = 0;
+	}
+	
+	/**
+	 * Returns true if the given ray hit something.
+	 * @param ray the ray index
+	 * @return boolean
+	 */
+	public boolean isHit(int ray) {
+		return this.bodyIndices[ray] >= 0;
+	}
+	
+	/**
+	 * Returns the body indices.
+	 * <p>
+	 * The index is the index of the hit {@link Body} in the {@link World}; -1 if the ray didn't hit anything.
+	 * @return int[]
+	 * @see World#getBody(int)
+	 */
+	public int[] getBodyIndices() {
+		return this.bodyIndices;
+	}
+	
+	/**
+	 * Returns the fixture indices.
+	 * <p>
+	 * The index is the index of the hit {@link BodyFixture} in its {@link Body}; -1 if the ray didn't hit anything.
+	 * @return int[]
+	 * @see Body#getFixture(int)
+	 */
+	public int[] getFixtureIndices() {
+		return this.fixtureIndices;
+	}
+	
+	/**
+	 * Returns the hit distances.
+	 * @return double[]
+	 */
+	public double[] getDistances() {
+		return this.distances;
+	}
+	
+	/**
+	 * Returns the hit points in world coordinates as x, y pairs.
+	 * @return double[]
+	 */
+	public double[] getPoints() {
+		return this.points;
+	}
+	
+	/**
+	 * Returns the hit normals as x, y pairs.
+	 * @return double[]
+	 */
+	public double[] getNormals() {
+		return this.normals;
+	}
+	
+	/**
+	 * Returns the number of rays of the last batch.
+	 * @return int
+	 */
+	public int getRayCount() {
+		return this.rayCount;
+	}
+	
+	/**
+	 * Returns the number of rays that hit something in the last batch.
+	 * @return int
+	 */
+	public int getHitCount() {
+		return this.hitCount;
+	}
+	
+	/**
+	 * Returns the number of rays the arrays can hold.
+	 * @return int
+	 */
+	public int getCapacity() {
+		return this.bodyIndices.length;
+	}
+}
@@ -24,12 +24,16 @@
  */
 package org.dyn4j.dynamics;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import org.dyn4j.Epsilon;
+import org.dyn4j.Identity;
 import org.dyn4j.collision.Collidable;
 import org.dyn4j.collision.Collisions;
 import org.dyn4j.dynamics.contact.Contact;
@@ -83,7 +87,7 @@ import org.dyn4j.resources.Messages;
  * setting in the world's {@link Settings}.  Use this if the body is a fast moving
  * body, but be careful as this will incur a performance hit.
  * @author William Bittle
- * @version 3.1.8
+ * @version 3.2.0
  * @since 1.0.0
  */
 public class Body implements Collidable, Transformable {
@@ -96,6 +100,12 @@ public class Body implements Collidable, Transformable {
 	/** The default angular damping; value = {@value #DEFAULT_ANGULAR_DAMPING} */
 	public static final double DEFAULT_ANGULAR_DAMPING 	= 0.01;
 	
+	/** The number of joint or contact edges above which the other {@link Body}s are indexed; value = {@value #ADJACENCY_THRESHOLD} */
+	public static final int ADJACENCY_THRESHOLD = 16;
+	
+	/** The number of bytes written by the {@link #snapshot(ByteBuffer)} method */
+	protected static final int SNAPSHOT_SIZE = Transform.BYTES + 10 * 8 + 4;
+	
 	/** The state flag for allowing automatic sleeping */
 	protected static final int AUTO_SLEEP = 1;
 	
@@ -111,6 +121,9 @@ public class Body implements Collidable, Transformable {
 	/** The state flag indicating the {@link Body} is a really fast object and requires CCD */
 	protected static final int BULLET = 16;
 	
+	/** The state flag indicating the {@link Body} is asleep or static and unchanged since the last collision detection */
+	protected static final int FROZEN = 32;
+	
 	/** The world this body belongs to */
 	protected World world;
 	
@@ -153,6 +166,12 @@ public class Body implements Collidable, Transformable {
 	/** The torque accumulator */
 	protected List<Torque> torques;
 	
+	/** The reusable {@link Force} holding the net pending force of a restored snapshot */
+	protected Force restoredForce;
+	
+	/** The reusable {@link Torque} holding the net pending torque of a restored snapshot */
+	protected Torque restoredTorque;
+	
 	/** The {@link Body}'s state */
 	protected int state;
 	
@@ -174,6 +193,51 @@ public class Body implements Collidable, Transformable {
 	/** The {@link Body}'s joints */
 	protected List<JointEdge> joints;
 	
+	/** The joint edges by the other {@link Body}; null until there are more than {@link #ADJACENCY_THRESHOLD} joints */
+	protected Map<Body, List<JointEdge>> jointAdjacency;
+	
+	/** The number of contact edges by the other {@link Body}; null until there are more than {@link #ADJACENCY_THRESHOLD} contacts */
+	protected Map<Body, Integer> contactAdjacency;
+	
+	/** Incremented whenever the fixtures or mass of this {@link Body} change; used to invalidate the cached {@link AABB}s */
+	protected int version;
+	
+	/** The cached world space {@link AABB}; created on first use */
+	protected AABB aabb;
+	
+	/** The {@link Transform} the cached {@link AABB} was computed with */
+	protected Transform aabbTransform;
+	
+	/** The {@link #version} the cached {@link AABB} was computed with */
+	protected int aabbVersion;
+	
+	/** The cached swept {@link AABB}; created on first use */
+	protected AABB sweptAABB;
+	
+	/** The initial {@link Transform} the cached swept {@link AABB} was computed with */
+	protected Transform sweptAABBTransform0;
+	
+	/** The final {@link Transform} the cached swept {@link AABB} was computed with */
+	protected Transform sweptAABBTransform;
+	
+	/** The {@link #version} the cached swept {@link AABB} was computed with */
+	protected int sweptAABBVersion;
+	
+	/** The colors of the constraints attached to this {@link Body}; used by the {@link ColoredConstraintSolver} */
+	protected long colors;
+	
+	/** The {@link Transform} at the last collision detection; null if this {@link Body} must be detected */
+	protected Transform detectTransform;
+	
+	/** The {@link #version} at the last collision detection */
+	protected int detectVersion;
+	
+	/** The {@link BodyPool} this {@link Body} was created by; null if not pooled */
+	protected BodyPool pool;
+	
+	/** The index of this {@link Body} in its {@link World}'s list of bodies */
+	protected int index;
+	
 	/**
 	 * Default constructor.
 	 */
@@ -198,7 +262,7 @@ public class Body implements Collidable, Transformable {
 		this.fixtures = new ArrayList<BodyFixture>(fixtureCount);
 		this.radius = 0.0;
 		this.mass = new Mass();
-		this.id = UUID.randomUUID();
+		this.id = Identity.generate();
 		this.transform0 = new Transform();
 		this.transform = new Transform();
 		this.velocity = new Vector2();
@@ -276,6 +340,7 @@ public class Body implements Collidable, Transformable {
 		BodyFixture fixture = new BodyFixture(convex);
 		// add the fixture to the body
 		this.fixtures.add(fixture);
+		this.version++;
 		// return the fixture so the caller can configure it
 		return fixture;
 	}
@@ -307,6 +372,7 @@ public class Body implements Collidable, Transformable {
 		fixture.setDensity(density);
 		// add the fixture to the body
 		this.fixtures.add(fixture);
+		this.version++;
 		// return the fixture so the caller can configure it
 		return fixture;
 	}
@@ -345,6 +411,7 @@ public class Body implements Collidable, Transformable {
 		fixture.setRestitution(restitution);
 		// add the fixture to the body
 		this.fixtures.add(fixture);
+		this.version++;
 		// return the fixture so the caller can configure it
 		return fixture;
 	}
@@ -364,6 +431,7 @@ public class Body implements Collidable, Transformable {
 		if (fixture == null) throw new NullPointerException(Messages.getString("dynamics.body.addNullFixture"));
 		// add the shape and mass to the respective lists
 		this.fixtures.add(fixture);
+		this.version++;
 		// return this body to facilitate chaining
 		return this;
 	}
@@ -384,6 +452,7 @@ public class Body implements Collidable, Transformable {
 		int size = this.fixtures.size();
 		// check fixtures size
 		if (size > 0) {
+			this.version++;
 			return this.fixtures.remove(fixture);
 		}
 		return false;
@@ -400,6 +469,7 @@ public class Body implements Collidable, Transformable {
 	 * @throws IndexOutOfBoundsException if index is out of bounds
 	 */
 	public BodyFixture removeFixture(int index) {
+		this.version++;
 		return this.fixtures.remove(index);
 	}
 	
@@ -413,6 +483,7 @@ public class Body implements Collidable, Transformable {
 	 * @since 3.0.1
 	 */
 	public List<BodyFixture> removeAllFixtures() {
+		this.version++;
 		// return the current list
 		List<BodyFixture> fixtures = this.fixtures;
 		// create a new list to replace the current list
@@ -559,6 +630,8 @@ public class Body implements Collidable, Transformable {
 	 * @see #getRotationDiscRadius()
 	 */
 	protected void setRotationDiscRadius() {
+		// the mass center or fixtures have changed
+		this.version++;
 		double r = 0.0;
 		// get the number of fixtures
 		int size = this.fixtures.size();
@@ -1119,6 +1192,66 @@ public class Body implements Collidable, Transformable {
 		}
 	}
 	
+	/**
+	 * Returns true if this {@link Body} is frozen.
+	 * <p>
+	 * A frozen {@link Body} is asleep or static and its transform and fixtures have not
+	 * changed since the last collision detection.  The contacts between frozen {@link Body}s
+	 * are kept without collision detection.
+	 * @return boolean
+	 * @since 3.2.0
+	 */
+	protected boolean isFrozen() {
+		return (this.state & Body.FROZEN) == Body.FROZEN;
+	}
+	
+	/**
+	 * Sets the flag indicating that this {@link Body} is frozen.
+	 * @param flag true if this {@link Body} is frozen
+	 * @since 3.2.0
+	 */
+	protected void setFrozen(boolean flag) {
+		if (flag) {
+			this.state |= Body.FROZEN;
+		} else {
+			this.state &= ~Body.FROZEN;
+		}
+	}
+	
+	/**
+	 * Returns true if the transform and fixtures of this {@link Body} have not changed since
+	 * the last call to the {@link #setDetected()} method.
+	 * @return boolean
+	 * @since 3.2.0
+	 */
+	protected boolean isDetected() {
+		return this.detectTransform != null 
+			&& this.detectVersion == this.version 
+			&& this.detectTransform.valueEquals(this.transform);
+	}
+	
+	/**
+	 * Records the current transform and fixtures of this {@link Body} as detected.
+	 * @since 3.2.0
+	 */
+	protected void setDetected() {
+		if (this.detectTransform == null) {
+			this.detectTransform = new Transform();
+		}
+		this.detectTransform.set(this.transform);
+		this.detectVersion = this.version;
+	}
+	
+	/**
+	 * Forces this {@link Body} to be detected during the next collision detection.
+	 * @since 3.2.0
+	 */
+	protected void clearDetected() {
+		// keep the transform to avoid reallocating it
+		this.detectVersion = this.version - 1;
+		this.setFrozen(false);
+	}
+	
 	/**
 	 * Returns true if this {@link Body} is a bullet.
 	 * @see #setBullet(boolean)
@@ -1157,6 +1290,10 @@ public class Body implements Collidable, Transformable {
 	public boolean isConnected(Body body) {
 		// check for a null body
 		if (body == null) return false;
+		// use the index for bodies with many joints
+		if (this.jointAdjacency != null) {
+			return this.jointAdjacency.containsKey(body);
+		}
 		int size = this.joints.size();
 		// check the size
 		if (size == 0) return false;
@@ -1194,14 +1331,21 @@ public class Body implements Collidable, Transformable {
 	public boolean isConnected(Body body, boolean collisionAllowed) {
 		// check for a null body
 		if (body == null) return false;
-		int size = this.joints.size();
+		// use the index for bodies with many joints so that
+		// only the joints with the given body are checked
+		List<JointEdge> joints = this.joints;
+		if (this.jointAdjacency != null) {
+			joints = this.jointAdjacency.get(body);
+			if (joints == null) return false;
+		}
+		int size = joints.size();
 		// check the size
 		if (size == 0) return false;
 		// loop over all the joints
 		boolean allowed = false;
 		boolean connected = false;
 		for (int i = 0; i < size; i++) {
-			JointEdge je = this.joints.get(i);
+			JointEdge je = joints.get(i);
 			// testing object references should be sufficient
 			if (je.getOther() == body) {
 				// get the joint
@@ -1238,6 +1382,10 @@ public class Body implements Collidable, Transformable {
 	public boolean isInContact(Body body) {
 		// check for a null body
 		if (body == null) return false;
+		// use the index for bodies with many contacts
+		if (this.contactAdjacency != null) {
+			return this.contactAdjacency.containsKey(body);
+		}
 		// get the number of contacts
 		int size = this.contacts.size();
 		// check for zero contacts
@@ -1255,6 +1403,259 @@ public class Body implements Collidable, Transformable {
 		return false;
 	}
 	
+	/**
+	 * Adds the given {@link JointEdge} to this {@link Body}.
+	 * <p>
+	 * The other {@link Body}s are indexed once this {@link Body} has more than
+	 * {@link #ADJACENCY_THRESHOLD} joints.
+	 * @param jointEdge the joint edge
+	 * @since 3.2.0
+	 */
+	protected void addJointEdge(JointEdge jointEdge) {
+		this.joints.add(jointEdge);
+		if (this.jointAdjacency != null) {
+			this.indexJointEdge(jointEdge);
+		} else if (this.joints.size() > Body.ADJACENCY_THRESHOLD) {
+			// build the index from all the joint edges
+			this.jointAdjacency = new HashMap<Body, List<JointEdge>>();
+			int size = this.joints.size();
+			for (int i = 0; i < size; i++) {
+				this.indexJointEdge(this.joints.get(i));
+			}
+		}
+	}
+	
+	/**
+	 * Adds the given {@link JointEdge} to the joint index.
+	 * @param jointEdge the joint edge
+	 * @since 3.2.0
+	 */
+	private void indexJointEdge(JointEdge jointEdge) {
+		Body other = jointEdge.getOther();
+		List<JointEdge> edges = this.jointAdjacency.get(other);
+		if (edges == null) {
+			edges = new ArrayList<JointEdge>(1);
+			this.jointAdjacency.put(other, edges);
+		}
+		edges.add(jointEdge);
+	}
+	
+	/**
+	 * Removes the {@link JointEdge} for the given {@link Joint} from this {@link Body}.
+	 * @param joint the joint
+	 * @return boolean true if the joint edge was removed
+	 * @since 3.2.0
+	 */
+	protected boolean removeJointEdge(Joint joint) {
+		int size = this.joints.size();
+		for (int i = 0; i < size; i++) {
+			JointEdge jointEdge = this.joints.get(i);
+			// joints should only have one joint edge per body
+			if (jointEdge.getJoint() == joint) {
+				this.joints.remove(i);
+				if (this.jointAdjacency != null) {
+					if (size - 1 <= Body.ADJACENCY_THRESHOLD / 2) {
+						// drop the index when there are only a few joints left
+						this.jointAdjacency = null;
+					} else {
+						Body other = jointEdge.getOther();
+						List<JointEdge> edges = this.jointAdjacency.get(other);
+						edges.remove(jointEdge);
+						if (edges.isEmpty()) {
+							this.jointAdjacency.remove(other);
+						}
+					}
+				}
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * Removes all the {@link JointEdge}s from this {@link Body}.
+	 * @since 3.2.0
+	 */
+	protected void removeAllJointEdges() {
+		this.joints.clear();
+		this.jointAdjacency = null;
+	}
+	
+	/**
+	 * Adds the given {@link ContactEdge} to this {@link Body}.
+	 * <p>
+	 * The other {@link Body}s are indexed once this {@link Body} has more than
+	 * {@link #ADJACENCY_THRESHOLD} contacts.
+	 * @param contactEdge the contact edge
+	 * @since 3.2.0
+	 */
+	protected void addContactEdge(ContactEdge contactEdge) {
+		this.contacts.add(contactEdge);
+		if (this.contactAdjacency != null) {
+			this.indexContactEdge(contactEdge.getOther());
+		} else if (this.contacts.size() > Body.ADJACENCY_THRESHOLD) {
+			// build the index from all the contact edges
+			this.contactAdjacency = new HashMap<Body, Integer>();
+			int size = this.contacts.size();
+			for (int i = 0; i < size; i++) {
+				this.indexContactEdge(this.contacts.get(i).getOther());
+			}
+		}
+	}
+	
+	/**
+	 * Increments the number of contact edges with the given {@link Body} in the contact index.
+	 * @param other the other body
+	 * @since 3.2.0
+	 */
+	private void indexContactEdge(Body other) {
+		Integer count = this.contactAdjacency.get(other);
+		this.contactAdjacency.put(other, count == null ? 1 : count + 1);
+	}
+	
+	/**
+	 * Removes the {@link ContactEdge} at the given index from this {@link Body}.
+	 * @param index the index of the contact edge
+	 * @return {@link ContactEdge} the removed contact edge
+	 * @since 3.2.0
+	 */
+	protected ContactEdge removeContactEdge(int index) {
+		ContactEdge contactEdge = this.contacts.remove(index);
+		if (this.contactAdjacency != null) {
+			if (this.contacts.size() <= Body.ADJACENCY_THRESHOLD / 2) {
+				// drop the index when there are only a few contacts left
+				this.contactAdjacency = null;
+			} else {
+				Body other = contactEdge.getOther();
+				int count = this.contactAdjacency.get(other);
+				if (count == 1) {
+					this.contactAdjacency.remove(other);
+				} else {
+					this.contactAdjacency.put(other, count - 1);
+				}
+			}
+		}
+		return contactEdge;
+	}
+	
+	/**
+	 * Removes the {@link ContactEdge} for the given {@link ContactConstraint} from this {@link Body}.
+	 * @param contactConstraint the contact constraint
+	 * @return boolean true if the contact edge was removed
+	 * @since 3.2.0
+	 */
+	protected boolean removeContactEdge(ContactConstraint contactConstraint) {
+		int size = this.contacts.size();
+		for (int i = 0; i < size; i++) {
+			// there should only be one contact edge per contact constraint per body
+			if (this.contacts.get(i).getContactConstraint() == contactConstraint) {
+				this.removeContactEdge(i);
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * Removes all the {@link ContactEdge}s from this {@link Body}.
+	 * @since 3.2.0
+	 */
+	protected void removeAllContactEdges() {
+		this.contacts.clear();
+		this.contactAdjacency = null;
+	}
+	
+	/**
+	 * Writes the mutable simulation state of this {@link Body} to the given buffer.
+	 * <p>
+	 * This writes {@link #SNAPSHOT_SIZE} bytes: the transform, velocities, accumulated force 
+	 * and torque, the net force and torque of the pending {@link Force}s and {@link Torque}s, 
+	 * the sleep time and the state flags.  Nothing is allocated.
+	 * @param buffer the buffer to write to
+	 * @see #restore(ByteBuffer)
+	 * @since 3.2.0
+	 */
+	protected void snapshot(ByteBuffer buffer) {
+		this.transform.write(buffer);
+		buffer.putDouble(this.velocity.x);
+		buffer.putDouble(this.velocity.y);
+		buffer.putDouble(this.angularVelocity);
+		buffer.putDouble(this.force.x);
+		buffer.putDouble(this.force.y);
+		buffer.putDouble(this.torque);
+		
+		// compute the net force and torque of the pending forces and
+		// torques the same way the accumulate method does
+		double fx = this.force.x;
+		double fy = this.force.y;
+		double t = this.torque;
+		this.force.zero();
+		int size = this.forces.size();
+		for (int i = 0; i < size; i++) {
+			this.forces.get(i).apply(this);
+		}
+		this.torque = 0.0;
+		size = this.torques.size();
+		for (int i = 0; i < size; i++) {
+			this.torques.get(i).apply(this);
+		}
+		buffer.putDouble(this.force.x);
+		buffer.putDouble(this.force.y);
+		buffer.putDouble(this.torque);
+		// put back the accumulated force and torque
+		this.force.x = fx;
+		this.force.y = fy;
+		this.torque = t;
+		
+		buffer.putDouble(this.sleepTime);
+		// the frozen flag is cleared when restored
+		buffer.putInt(this.state & ~Body.FROZEN);
+	}
+	
+	/**
+	 * Sets the mutable simulation state of this {@link Body} to the state read from the given buffer.
+	 * <p>
+	 * The pending {@link Force}s and {@link Torque}s are replaced by a single {@link Force} and
+	 * {@link Torque} of the same net value, which are only added if the net value is non-zero.
+	 * The {@link Force} and {@link Torque} are created on first use and reused by later restores.
+	 * @param buffer the buffer to read from
+	 * @see #snapshot(ByteBuffer)
+	 * @since 3.2.0
+	 */
+	protected void restore(ByteBuffer buffer) {
+		this.transform.read(buffer);
+		this.velocity.x = buffer.getDouble();
+		this.velocity.y = buffer.getDouble();
+		this.angularVelocity = buffer.getDouble();
+		this.force.x = buffer.getDouble();
+		this.force.y = buffer.getDouble();
+		this.torque = buffer.getDouble();
+		
+		// replace the pending forces and torques
+		double fx = buffer.getDouble();
+		double fy = buffer.getDouble();
+		double t = buffer.getDouble();
+		this.forces.clear();
+		this.torques.clear();
+		if (fx != 0.0 || fy != 0.0) {
+			if (this.restoredForce == null) {
+				this.restoredForce = new Force();
+			}
+			this.restoredForce.set(fx, fy);
+			this.forces.add(this.restoredForce);
+		}
+		if (t != 0.0) {
+			if (this.restoredTorque == null) {
+				this.restoredTorque = new Torque();
+			}
+			this.restoredTorque.set(t);
+			this.torques.add(this.restoredTorque);
+		}
+		
+		this.sleepTime = buffer.getDouble();
+		this.state = buffer.getInt();
+	}
+	
 	/* (non-Javadoc)
 	 * @see org.dyn4j.geometry.Transformable#rotate(double, double, double)
 	 */
@@ -1396,6 +1797,7 @@ public class Body implements Collidable, Transformable {
 			Convex convex = fixture.getShape();
 			if (convex.contains(point, this.transform)) {
 				this.fixtures.remove(i);
+				this.version++;
 				return fixture;
 			}
 		}
@@ -1418,6 +1820,7 @@ public class Body implements Collidable, Transformable {
 			Convex convex = fixture.getShape();
 			if (convex.contains(point, this.transform)) {
 				it.remove();
+				this.version++;
 				fixtures.add(fixture);
 			}
 		}
@@ -1513,7 +1916,62 @@ public class Body implements Collidable, Transformable {
 	 */
 	@Override
 	public AABB createAABB() {
-		return this.createAABB(this.transform);
+		return new AABB(this.getAABB());
+	}
+	
+	/**
+	 * Returns the {@link AABB} of this {@link Body} in world space.
+	 * <p>
+	 * The returned {@link AABB} is cached and only recomputed when the transform or the
+	 * fixtures of this {@link Body} change.  The returned {@link AABB} should not be modified.
+	 * <p>
+	 * The cache is recomputed when it's read, so this method is not safe to call from multiple 
+	 * threads at the same time unless the cache is current.  The {@link World} computes the 
+	 * {@link AABB}s of all bodies before it reads them from multiple threads.
+	 * @return {@link AABB}
+	 * @since 3.2.0
+	 */
+	@Override
+	public AABB getAABB() {
+		// check if the cached AABB is still valid
+		if (this.aabb != null && this.aabbVersion == this.version && this.aabbTransform.valueEquals(this.transform)) {
+			return this.aabb;
+		}
+		// get the number of fixtures
+		int size = this.fixtures.size();
+		// create the cache on first use
+		if (this.aabb == null) {
+			this.aabb = new AABB(0.0, 0.0, 0.0, 0.0);
+			this.aabbTransform = new Transform();
+		}
+		// make sure there is at least one
+		if (size > 0) {
+			// set the aabb to the first fixture's aabb
+			this.aabb.set(this.fixtures.get(0).getShape().createAABB(this.transform));
+			// loop over the remaining fixtures, unioning the aabbs
+			for (int i = 1; i < size; i++) {
+				this.aabb.union(this.fixtures.get(i).getShape().createAABB(this.transform));
+			}
+		} else {
+			// use a degenerate aabb
+			this.aabb.set(new AABB(0.0, 0.0, 0.0, 0.0));
+		}
+		// save the state the aabb was computed with
+		this.aabbTransform.set(this.transform);
+		this.aabbVersion = this.version;
+		return this.aabb;
+	}
+	
+	/**
+	 * Invalidates the cached {@link AABB}s of this {@link Body}.
+	 * <p>
+	 * The cached {@link AABB}s are automatically invalidated when the transform of
+	 * this {@link Body} changes or when fixtures are added or removed.  This method
+	 * should be called after a fixture's shape is translated or rotated directly.
+	 * @since 3.2.0
+	 */
+	public void invalidateAABB() {
+		this.version++;
 	}
 	
 	/**
@@ -1558,7 +2016,42 @@ public class Body implements Collidable, Transformable {
 	 * @since 3.1.1
 	 */
 	public AABB createSweptAABB() {
-		return this.createSweptAABB(this.transform0, this.transform);
+		return new AABB(this.getSweptAABB());
+	}
+	
+	/**
+	 * Returns an AABB that contains the maximal space in which
+	 * the {@link Collidable} exists from the initial transform
+	 * to the final transform.
+	 * <p>
+	 * Unlike {@link #createSweptAABB()}, the returned {@link AABB} is cached and only 
+	 * recomputed when the initial or final transform, the fixtures or the mass of this
+	 * {@link Body} change.  The returned {@link AABB} should not be modified.
+	 * <p>
+	 * Like {@link #getAABB()}, the cache is recomputed when it's read, so this method is 
+	 * not safe to call from multiple threads at the same time unless the cache is current.
+	 * @return {@link AABB}
+	 * @since 3.2.0
+	 */
+	public AABB getSweptAABB() {
+		// check if the cached swept AABB is still valid
+		if (this.sweptAABB != null && this.sweptAABBVersion == this.version 
+		 && this.sweptAABBTransform0.valueEquals(this.transform0) 
+		 && this.sweptAABBTransform.valueEquals(this.transform)) {
+			return this.sweptAABB;
+		}
+		// create the cache on first use
+		if (this.sweptAABB == null) {
+			this.sweptAABB = new AABB(0.0, 0.0, 0.0, 0.0);
+			this.sweptAABBTransform0 = new Transform();
+			this.sweptAABBTransform = new Transform();
+		}
+		this.sweptAABB.set(this.createSweptAABB(this.transform0, this.transform));
+		// save the state the aabb was computed with
+		this.sweptAABBTransform0.set(this.transform0);
+		this.sweptAABBTransform.set(this.transform);
+		this.sweptAABBVersion = this.version;
+		return this.sweptAABB;
 	}
 	
 	/**
@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) 2010-2014 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.dynamics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.dyn4j.geometry.Mass;
+import org.dyn4j.resources.Messages;
+
+/**
+ * Represents a pool of {@link Body}s created from a template {@link Body}.
+ * <p>
+ * Use this class for workloads that create and remove many short-lived bodies of the same kind
+ * (projectiles or particles for example).  Use the {@link #obtain()} method to get a {@link Body} 
+ * and the {@link World#recycle(Body)} method to remove it from the world and return it to the pool.
+ * Once the pool is warm, obtaining and adding a {@link Body} allocates almost nothing.
+ * <p>
+ * The {@link Body}s of a pool are copies of the template: each {@link BodyFixture} shares the 
+ * {@link org.dyn4j.geometry.Convex} shape of the respective template fixture and the mass is a copy 
+ * of the template's mass.  The shapes of the template must not be modified after the pool is created.
+ * <p>
+ * A released {@link Body} is reset to the state of the template: its transform is set to the identity,
+ * its velocities, forces and torques are cleared, and its flags, damping, gravity scale, user data
+ * and fixture properties are copied from the template.  If its mass was changed, it's replaced by a 
+ * copy of the template's mass.  A recycled {@link Body} and its {@link BodyFixture}s keep their identifiers.
+ * <p>
+ * This class is not thread safe.
+ * @author William Bittle
+ * @version 3.2.0
+ * @since 3.2.0
+ */
+public class BodyPool {
+	/** The default maximum number of pooled bodies */
+	public static final int DEFAULT_CAPACITY = 1024;
+	
+	/** The template body */
+	protected final Body template;
+	
+	/** The maximum number of pooled bodies */
+	protected final int capacity;
+	
+	/** The pooled bodies */
+	protected final List<Body> bodies;
+	
+	/**
+	 * Minimal constructor.
+	 * @param template the template body
+	 * @throws NullPointerException if template is null
+	 * @throws IllegalArgumentException if template does not have any fixtures
+	 */
+	public BodyPool(Body template) {
+		this(template, BodyPool.DEFAULT_CAPACITY);
+	}
+	
+	/**
+	 * Full constructor.
+	 * <p>
+	 * Bodies released to a full pool are discarded.
+	 * @param template the template body
+	 * @param capacity the maximum number of pooled bodies
+	 * @throws NullPointerException if template is null
+	 * @throws IllegalArgumentException if template does not have any fixtures or if capacity is less than zero
+	 */
+	public BodyPool(Body template, int capacity) {
+		if (template == null) throw new NullPointerException(Messages.getString("dynamics.bodyPool.nullTemplate"));
+		if (template.fixtures.isEmpty()) throw new IllegalArgumentException(Messages.getString("dynamics.bodyPool.emptyTemplate"));
+		if (capacity < 0) throw new IllegalArgumentException(Messages.getString("dynamics.bodyPool.invalidCapacity"));
+		this.template = template;
+		this.capacity = capacity;
+		this.bodies = new ArrayList<Body>(Math.min(capacity, 64));
+	}
+	
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("BodyPool[Template=").append(this.template)
+		.append("|Capacity=").append(this.capacity)
+		.append("|Size=").append(this.bodies.size())
+		.append("]");
+		return sb.toString();
+	}
+	
+	/**
+	 * Returns a {@link Body} in the state of the template.
+	 * <p>
+	 * A pooled {@link Body} is returned if available, otherwise a new copy of the template is created.
+	 * @return {@link Body}
+	 */
+	public Body obtain() {
+		int size = this.bodies.size();
+		if (size > 0) {
+			return this.bodies.remove(size - 1);
+		}
+		return this.create();
+	}
+	
+	/**
+	 * Resets the given {@link Body} and returns it to this pool.
+	 * <p>
+	 * The {@link Body} must have been obtained from this pool and must have been removed from its
+	 * {@link World}.  Use {@link World#recycle(Body)} to do both.
+	 * @param body the body
+	 * @return boolean true if the body was pooled; false if the pool is full
+	 * @throws NullPointerException if body is null
+	 * @throws IllegalArgumentException if body was not obtained from this pool or if it's still a member of a {@link World}
+	 */
+	public boolean release(Body body) {
+		if (body == null) throw new NullPointerException(Messages.getString("dynamics.bodyPool.nullBody"));
+		if (body.pool != this) throw new IllegalArgumentException(Messages.getString("dynamics.bodyPool.otherPoolBody"));
+		if (body.world != null) throw new IllegalArgumentException(Messages.getString("dynamics.bodyPool.worldBody"));
+		// check for a full pool
+		if (this.bodies.size() >= this.capacity) {
+			return false;
+		}
+		this.reset(body);
+		this.bodies.add(body);
+		return true;
+	}
+	
+	/**
+	 * Creates the given number of bodies and adds them to this pool.
+	 * <p>
+	 * The number of pooled bodies will not exceed the capacity.
+	 * @param count the number of bodies to create
+	 */
+	public void fill(int count) {
+		int n = Math.min(count, this.capacity - this.bodies.size());
+		for (int i = 0; i < n; i++) {
+			this.bodies.add(this.create());
+		}
+	}
+	
+	/**
+	 * Removes all the pooled bodies.
+	 */
+	public void clear() {
+		this.bodies.clear();
+	}
+	
+	/**
+	 * Creates a new copy of the template.
+	 * @return {@link Body}
+	 */
+	protected Body create() {
+		Body template = this.template;
+		int fSize = template.fixtures.size();
+		Body body = new Body(fSize);
+		for (int i = 0; i < fSize; i++) {
+			BodyFixture tf = template.fixtures.get(i);
+			body.addFixture(new BodyFixture(tf.getShape()));
+		}
+		// copy the mass instead of computing it
+		body.setMass(new Mass(template.mass));
+		body.pool = this;
+		this.reset(body);
+		return body;
+	}
+	
+	/**
+	 * Resets the given body to the state of the template.
+	 * @param body the body to reset
+	 */
+	protected void reset(Body body) {
+		Body template = this.template;
+		
+		// reset the transform
+		body.transform.identity();
+		body.transform0.identity();
+		
+		// reset the velocity and the accumulators
+		body.velocity.zero();
+		body.angularVelocity = 0.0;
+		body.force.zero();
+		body.torque = 0.0;
+		body.forces.clear();
+		body.torques.clear();
+		
+		// copy the state (this also clears the island and frozen flags)
+		body.state = template.state & (Body.AUTO_SLEEP | Body.ASLEEP | Body.ACTIVE | Body.BULLET);
+		body.sleepTime = 0.0;
+		body.linearDamping = template.linearDamping;
+		body.angularDamping = template.angularDamping;
+		body.gravityScale = template.gravityScale;
+		body.userData = template.userData;
+		
+		// the edges should already be removed, but make sure
+		body.removeAllContactEdges();
+		body.removeAllJointEdges();
+		body.colors = 0;
+		body.clearDetected();
+		
+		// reset the fixtures
+		int fSize = body.fixtures.size();
+		for (int i = 0; i < fSize; i++) {
+			BodyFixture tf = template.fixtures.get(i);
+			BodyFixture bf = body.fixtures.get(i);
+			bf.setFilter(tf.getFilter());
+			bf.setSensor(tf.isSensor());
+			bf.setUserData(tf.getUserData());
+			bf.setDensity(tf.getDensity());
+			bf.setFriction(tf.getFriction());
+			bf.setRestitution(tf.getRestitution());
+		}
+		
+		// reset the mass if it was changed (the mass object may have been
+		// given to the body by the caller so it's replaced rather than modified)
+		if (!body.mass.equals(template.mass)) {
+			body.setMass(new Mass(template.mass));
+		}
+	}
+	
+	/**
+	 * Returns the template body.
+	 * <p>
+	 * The template must not be modified after the pool is created.
+	 * @return {@link Body}
+	 */
+	public Body getTemplate() {
+		return this.template;
+	}
+	
+	/**
+	 * Returns the maximum number of pooled bodies.
+	 * @return int
+	 */
+	public int getCapacity() {
+		return this.capacity;
+	}
+	
+	/**
+	 * Returns the number of pooled bodies.
+	 * @return int
+	 */
+	public int getSize() {
+		return this.bodies.size();
+	}
+}
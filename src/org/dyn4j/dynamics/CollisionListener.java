@@ -32,6 +32,7 @@ import org.dyn4j.collision.narrowphase.NarrowphaseDetector;
 import org.dyn4j.collision.narrowphase.Penetration;
 import org.dyn4j.dynamics.contact.ContactConstraint;
 import org.dyn4j.dynamics.contact.ContactListener;
+import org.dyn4j.dynamics.contact.ContactManager;
 import org.dyn4j.geometry.AABB;
 import org.dyn4j.geometry.Convex;
 import org.dyn4j.geometry.Shape;
@@ -54,7 +55,7 @@ import org.dyn4j.geometry.Shape;
  * Modification of the {@link World} is permitted in these methods.  Modification of the {@link Body}'s
  * fixtures is not permitted (adding/removing will cause a runtime exception).
  * @author William Bittle
- * @version 3.1.0
+ * @version 3.2.0
  * @since 1.0.0
  */
 public interface CollisionListener extends Listener {
@@ -136,6 +137,10 @@ public interface CollisionListener extends Listener {
 	 * <p>
 	 * Setting the tangent velocity of the {@link ContactConstraint} can create a conveyor effect.
 	 * <p>
+	 * The {@link ContactConstraint} may be reused by a later step for the same pair (see 
+	 * {@link ContactManager#create(Body, BodyFixture, Body, BodyFixture, Manifold)}),
+	 * so it should not be kept after the current step.
+	 * <p>
 	 * Return false from this method to stop processing of this collision.  Other 
 	 * {@link CollisionListener}s will still be notified of this event, however, no further
 	 * collision or contact events will occur for this pair.
@@ -0,0 +1,487 @@
+/*
+ * Copyright (c) 2010-2014 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.dynamics;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.dyn4j.dynamics.contact.ContactConstraint;
+import org.dyn4j.dynamics.contact.ContactConstraintSolver;
+import org.dyn4j.dynamics.joint.Joint;
+
+/**
+ * Solves the {@link ContactConstraint}s and {@link Joint}s of an {@link Island} in parallel
+ * using graph coloring.
+ * <p>
+ * The constraints are greedily colored so that no two constraints of the same color share
+ * a dynamic {@link Body}.  The constraints of a color are independent and are solved in
+ * parallel; the colors are solved one after another.
+ * <p>
+ * {@link ContactConstraint}s with static {@link Body}s (or any {@link Body} with infinite mass)
+ * do not conflict on those bodies since the contact solver skips the updates of bodies with zero
+ * inverse mass and inertia.  The {@link Joint} solvers still apply (zero) updates to such bodies,
+ * so {@link Joint}s attached to them are always placed in the sequential group.
+ * <p>
+ * At most 63 colors are used.  Constraints that cannot be colored are placed in a last
+ * group that is solved sequentially.
+ * @author William Bittle
+ * @version 3.2.0
+ * @since 3.2.0
+ */
+public class ColoredConstraintSolver {
+	/** The maximum number of parallel colors */
+	protected static final int MAXIMUM_COLORS = 63;
+	
+	/** The minimum number of constraints per thread for a color to be solved in parallel */
+	protected static final int MINIMUM_BATCH_SIZE = 16;
+	
+	/** The solve velocity constraints phase */
+	protected static final int PHASE_VELOCITY = 0;
+	
+	/** The solve position constraints phase */
+	protected static final int PHASE_POSITION = 1;
+	
+	/** The constraints sorted by color */
+	protected Constraint[] constraints;
+	
+	/** The color of each constraint in the original order; reused between colorings */
+	protected int[] colorOf;
+	
+	/** The index of the first constraint of each color (plus the end of the last) */
+	protected int[] offsets;
+	
+	/** The number of colors (including the sequential group) */
+	protected int colorCount;
+	
+	/** The number of constraints */
+	protected int size;
+	
+	/** The contact constraint solver */
+	protected ContactConstraintSolver contactConstraintSolver;
+	
+	/** The executor running the solver tasks */
+	protected ExecutorService executor;
+	
+	/** The number of threads the executor was created for */
+	protected int threadCount;
+	
+	/** The reusable tasks */
+	protected Task[] tasks;
+	
+	/**
+	 * A task solving a range of constraints of one color.
+	 * @author William Bittle
+	 * @version 3.2.0
+	 * @since 3.2.0
+	 */
+	protected class Task implements Runnable {
+		/** The first constraint index (inclusive) */
+		protected int start;
+		
+		/** The last constraint index (exclusive) */
+		protected int end;
+		
+		/** The phase */
+		protected int phase;
+		
+		/** The minimum separation of the contact constraints solved */
+		protected double minSeparation;
+		
+		/** The largest change in accumulated impulse of the contact constraints solved */
+		protected double residual;
+		
+		/** True if all the joints solved were within tolerance */
+		protected boolean jointsSolved;
+		
+		/** Any exception thrown */
+		protected Throwable error;
+		
+		/** The latch to count down when done; null when run on the calling thread */
+		protected CountDownLatch latch;
+		
+		/* (non-Javadoc)
+		 * @see java.lang.Runnable#run()
+		 */
+		@Override
+		public void run() {
+			try {
+				this.minSeparation = 0.0;
+				this.residual = 0.0;
+				this.jointsSolved = true;
+				this.error = null;
+				ColoredConstraintSolver.this.solve(this);
+			} catch (Throwable e) {
+				this.error = e;
+			} finally {
+				if (this.latch != null) {
+					this.latch.countDown();
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Full constructor.
+	 * @param contactConstraintSolver the contact constraint solver
+	 */
+	public ColoredConstraintSolver(ContactConstraintSolver contactConstraintSolver) {
+		this.contactConstraintSolver = contactConstraintSolver;
+		this.constraints = new Constraint[0];
+		this.colorOf = new int[0];
+		this.offsets = new int[MAXIMUM_COLORS + 2];
+		this.colorCount = 0;
+		this.size = 0;
+		this.executor = null;
+		this.threadCount = 0;
+		this.tasks = new Task[0];
+	}
+	
+	/**
+	 * Colors the given {@link ContactConstraint}s and {@link Joint}s.
+	 * <p>
+	 * This must be called before solving.
+	 * @param contactConstraints the contact constraints
+	 * @param joints the joints
+	 */
+	public void color(List<ContactConstraint> contactConstraints, List<Joint> joints) {
+		int cSize = contactConstraints.size();
+		int jSize = joints.size();
+		int size = cSize + jSize;
+		
+		// grow the arrays if necessary
+		if (this.constraints.length < size) {
+			this.constraints = new Constraint[size];
+			this.colorOf = new int[size];
+		}
+		
+		// reset the body colors
+		for (int i = 0; i < cSize; i++) {
+			Constraint c = contactConstraints.get(i);
+			c.body1.colors = 0;
+			c.body2.colors = 0;
+		}
+		for (int i = 0; i < jSize; i++) {
+			Constraint c = joints.get(i);
+			c.body1.colors = 0;
+			c.body2.colors = 0;
+		}
+		
+		// the number of constraints per color; the last is the sequential group
+		int[] counts = this.offsets;
+		for (int i = 0; i < counts.length; i++) {
+			counts[i] = 0;
+		}
+		
+		// greedily assign the lowest color not used by either body
+		for (int i = 0; i < size; i++) {
+			Constraint c = i < jSize ? joints.get(i) : contactConstraints.get(i - jSize);
+			int color = this.color(c);
+			this.colorOf[i] = color;
+			counts[color + 1]++;
+		}
+		
+		// compute the offsets (prefix sum)
+		for (int i = 1; i < counts.length; i++) {
+			counts[i] += counts[i - 1];
+		}
+		
+		// place the constraints in color order (keeping their relative order)
+		int[] next = this.offsets;
+		for (int i = 0; i < size; i++) {
+			Constraint c = i < jSize ? joints.get(i) : contactConstraints.get(i - jSize);
+			int color = this.colorOf[i];
+			this.constraints[next[color]++] = c;
+		}
+		// the next array is now shifted by one color, shift it back
+		for (int i = this.offsets.length - 1; i > 0; i--) {
+			this.offsets[i] = this.offsets[i - 1];
+		}
+		this.offsets[0] = 0;
+		
+		// release old references
+		for (int i = size; i < this.size; i++) {
+			this.constraints[i] = null;
+		}
+		
+		this.size = size;
+		this.colorCount = MAXIMUM_COLORS + 1;
+	}
+	
+	/**
+	 * Returns the color for the given constraint and marks the color as used
+	 * by its dynamic bodies.
+	 * @param constraint the constraint
+	 * @return int the color; {@link #MAXIMUM_COLORS} if the constraint must be solved sequentially
+	 */
+	protected int color(Constraint constraint) {
+		Body b1 = constraint.body1;
+		Body b2 = constraint.body2;
+		boolean d1 = b1.isDynamic();
+		boolean d2 = b2.isDynamic();
+		// joints modify both bodies, even those with infinite mass,
+		// so they can't be solved in parallel with other constraints
+		// sharing the body
+		if ((!d1 || !d2) && constraint instanceof Joint) {
+			return MAXIMUM_COLORS;
+		}
+		// only dynamic bodies are modified by the solvers
+		long used = (d1 ? b1.colors : 0L) | (d2 ? b2.colors : 0L);
+		int color = Long.numberOfTrailingZeros(~used);
+		if (color >= MAXIMUM_COLORS) {
+			// no color is free
+			return MAXIMUM_COLORS;
+		}
+		long bit = 1L << color;
+		if (d1) b1.colors |= bit;
+		if (d2) b2.colors |= bit;
+		return color;
+	}
+	
+	/**
+	 * Returns the number of colors used by the last coloring excluding the
+	 * sequential group.
+	 * @return int
+	 */
+	public int getColorCount() {
+		int count = 0;
+		for (int i = 0; i < MAXIMUM_COLORS; i++) {
+			if (this.offsets[i + 1] > this.offsets[i]) count = i + 1;
+		}
+		return count;
+	}
+	
+	/**
+	 * Returns the number of constraints of the given color.
+	 * @param color the color
+	 * @return int
+	 */
+	public int getConstraintCount(int color) {
+		return this.offsets[color + 1] - this.offsets[color];
+	}
+	
+	/**
+	 * Returns the constraint at the given index within the given color.
+	 * @param color the color
+	 * @param index the index
+	 * @return {@link Constraint}
+	 */
+	public Constraint getConstraint(int color, int index) {
+		return this.constraints[this.offsets[color] + index];
+	}
+	
+	/**
+	 * Solves the velocity constraints of all the colored constraints.
+	 * @param threads the number of threads to use
+	 * @return double the largest change in accumulated impulse of any contact
+	 * @see ContactConstraintSolver#solveVelocityContraints()
+	 */
+	public double solveVelocityConstraints(int threads) {
+		double residual = 0.0;
+		for (int i = 0; i < this.colorCount; i++) {
+			// skip empty colors
+			if (this.offsets[i + 1] == this.offsets[i]) continue;
+			// the sequential group is solved on the calling thread
+			int n = this.solve(i, PHASE_VELOCITY, i == MAXIMUM_COLORS ? 1 : threads);
+			for (int j = 0; j < n; j++) {
+				residual = Math.max(residual, this.tasks[j].residual);
+			}
+		}
+		return residual;
+	}
+	
+	/**
+	 * Solves the position constraints of all the colored constraints.
+	 * @param threads the number of threads to use
+	 * @return boolean true if all the constraints are within tolerance
+	 */
+	public boolean solvePositionConstraints(int threads) {
+		double minSeparation = 0.0;
+		boolean jointsSolved = true;
+		for (int i = 0; i < this.colorCount; i++) {
+			// skip empty colors
+			if (this.offsets[i + 1] == this.offsets[i]) continue;
+			// the sequential group is solved on the calling thread
+			int n = this.solve(i, PHASE_POSITION, i == MAXIMUM_COLORS ? 1 : threads);
+			for (int j = 0; j < n; j++) {
+				Task task = this.tasks[j];
+				minSeparation = Math.min(minSeparation, task.minSeparation);
+				jointsSolved = jointsSolved && task.jointsSolved;
+			}
+		}
+		boolean contactsSolved = this.contactConstraintSolver.isPositionSolved(minSeparation);
+		return contactsSolved && jointsSolved;
+	}
+	
+	/**
+	 * Solves the given phase of the given color using at most the given number of threads.
+	 * @param color the color
+	 * @param phase the phase
+	 * @param threads the maximum number of threads
+	 * @return int the number of tasks used
+	 */
+	protected int solve(int color, int phase, int threads) {
+		int start = this.offsets[color];
+		int end = this.offsets[color + 1];
+		int count = end - start;
+		// limit the number of tasks by the size of the color
+		int n = Math.max(1, Math.min(threads, count / MINIMUM_BATCH_SIZE));
+		this.ensureTasks(n);
+		
+		// create a latch for the tasks run on other threads
+		CountDownLatch latch = n > 1 ? new CountDownLatch(n - 1) : null;
+		int chunk = count / n;
+		for (int i = 0; i < n; i++) {
+			Task task = this.tasks[i];
+			task.start = start + i * chunk;
+			task.end = i == n - 1 ? end : task.start + chunk;
+			task.phase = phase;
+			task.latch = i == 0 ? null : latch;
+		}
+		// submit the tasks
+		if (n > 1) {
+			ExecutorService executor = this.getExecutor(threads);
+			for (int i = 1; i < n; i++) {
+				executor.execute(this.tasks[i]);
+			}
+		}
+		// run the first on the calling thread
+		this.tasks[0].run();
+		// wait for the others
+		if (latch != null) {
+			boolean interrupted = false;
+			while (true) {
+				try {
+					latch.await();
+					break;
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+			// restore the interrupted state
+			if (interrupted) Thread.currentThread().interrupt();
+		}
+		// rethrow any errors
+		for (int i = 0; i < n; i++) {
+			Throwable error = this.tasks[i].error;
+			if (error != null) {
+				this.tasks[i].error = null;
+				if (error instanceof RuntimeException) throw (RuntimeException)error;
+				if (error instanceof Error) throw (Error)error;
+				throw new RuntimeException(error);
+			}
+		}
+		return n;
+	}
+	
+	/**
+	 * Solves the range of constraints of the given task.
+	 * @param task the task
+	 */
+	protected void solve(Task task) {
+		if (task.phase == PHASE_VELOCITY) {
+			for (int i = task.start; i < task.end; i++) {
+				Constraint c = this.constraints[i];
+				if (c instanceof ContactConstraint) {
+					double residual = this.contactConstraintSolver.solveVelocityConstraints((ContactConstraint)c);
+					task.residual = Math.max(task.residual, residual);
+				} else {
+					((Joint)c).solveVelocityConstraints();
+				}
+			}
+		} else {
+			for (int i = task.start; i < task.end; i++) {
+				Constraint c = this.constraints[i];
+				if (c instanceof ContactConstraint) {
+					double separation = this.contactConstraintSolver.solvePositionConstraints((ContactConstraint)c);
+					task.minSeparation = Math.min(task.minSeparation, separation);
+				} else {
+					boolean solved = ((Joint)c).solvePositionConstraints();
+					task.jointsSolved = task.jointsSolved && solved;
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Makes sure there are at least the given number of tasks.
+	 * @param n the number of tasks
+	 */
+	protected void ensureTasks(int n) {
+		if (this.tasks.length < n) {
+			Task[] tasks = new Task[n];
+			System.arraycopy(this.tasks, 0, tasks, 0, this.tasks.length);
+			for (int i = this.tasks.length; i < n; i++) {
+				tasks[i] = new Task();
+			}
+			this.tasks = tasks;
+		}
+	}
+	
+	/**
+	 * Returns the executor for the given number of threads, creating it if necessary.
+	 * <p>
+	 * The executor uses daemon threads that time out when idle.
+	 * @param threads the number of threads (including the calling thread)
+	 * @return ExecutorService
+	 */
+	protected ExecutorService getExecutor(int threads) {
+		if (this.executor == null || this.threadCount != threads) {
+			// shutdown the old executor
+			this.shutdown();
+			// the calling thread is one of the threads
+			int workers = threads - 1;
+			ThreadPoolExecutor executor = new ThreadPoolExecutor(workers, workers, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+				@Override
+				public Thread newThread(Runnable r) {
+					Thread thread = new Thread(r, "dyn4j-solver");
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+			executor.allowCoreThreadTimeOut(true);
+			this.executor = executor;
+			this.threadCount = threads;
+		}
+		return this.executor;
+	}
+	
+	/**
+	 * Shuts down the solver threads.
+	 * <p>
+	 * The threads are created again if needed.
+	 */
+	public void shutdown() {
+		if (this.executor != null) {
+			this.executor.shutdown();
+			this.executor = null;
+			this.threadCount = 0;
+		}
+	}
+}
@@ -24,6 +24,8 @@
  */
 package org.dyn4j.dynamics;
 
+import java.nio.ByteBuffer;
+
 import org.dyn4j.dynamics.joint.Joint;
 import org.dyn4j.geometry.Vector2;
 import org.dyn4j.resources.Messages;
@@ -31,13 +33,16 @@ import org.dyn4j.resources.Messages;
 /**
  * Represents some physical constraint between a pair of {@link Body}s.
  * @author William Bittle
- * @version 3.1.1
+ * @version 3.2.0
  * @since 1.0.0
  */
 public abstract class Constraint {
 	/** The world that contains this constraint */
 	protected World world;
 	
+	/** The index of this {@link Joint} in its {@link World}'s list of joints */
+	protected int index;
+	
 	/** The first {@link Body} */
 	protected Body body1;
 	
@@ -142,6 +147,49 @@ public abstract class Constraint {
 	 */
 	protected abstract void shiftCoordinates(Vector2 shift);
 	
+	/**
+	 * Scales the accumulated impulses of this {@link Constraint} by the given factor.
+	 * <p>
+	 * This is used by the sub-stepping solver to convert the accumulated impulses of
+	 * a whole time step to those of a sub-step and back.
+	 * <p>
+	 * The default implementation does nothing.
+	 * @param scale the scale factor
+	 * @see Settings#setSubStepCount(int)
+	 * @since 3.2.0
+	 */
+	protected void scaleImpulses(double scale) {}
+	
+	/**
+	 * Returns the number of bytes written by the {@link #snapshot(ByteBuffer)} method.
+	 * @return int
+	 * @since 3.2.0
+	 */
+	protected int getSnapshotSize() {
+		return 0;
+	}
+	
+	/**
+	 * Writes the state this {@link Constraint} carries from one step to the next, like
+	 * the accumulated impulses used for warm starting, to the given buffer.
+	 * <p>
+	 * The default implementation writes nothing.
+	 * @param buffer the buffer to write to
+	 * @see World#snapshot(ByteBuffer)
+	 * @since 3.2.0
+	 */
+	protected void snapshot(ByteBuffer buffer) {}
+	
+	/**
+	 * Sets the state of this {@link Constraint} to the state read from the given buffer.
+	 * <p>
+	 * The default implementation reads nothing.
+	 * @param buffer the buffer to read from
+	 * @see World#restore(ByteBuffer)
+	 * @since 3.2.0
+	 */
+	protected void restore(ByteBuffer buffer) {}
+	
 	/**
 	 * Sets the on {@link Island} flag to the given value.
 	 * @param onIsland true if the {@link Constraint} has been added to an {@link Island}
@@ -0,0 +1,440 @@
+/*
+ * Copyright (c) 2010-2014 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.dynamics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.dyn4j.collision.BoundsListener;
+import org.dyn4j.collision.Collidable;
+import org.dyn4j.collision.continuous.TimeOfImpact;
+import org.dyn4j.dynamics.contact.Contact;
+import org.dyn4j.dynamics.contact.ContactBatch;
+import org.dyn4j.dynamics.contact.ContactBatchListener;
+import org.dyn4j.dynamics.contact.ContactConstraint;
+import org.dyn4j.dynamics.contact.ContactPoint;
+import org.dyn4j.dynamics.joint.Joint;
+import org.dyn4j.geometry.Vector2;
+import org.dyn4j.resources.Messages;
+
+/**
+ * Records contact, bounds, destruction, time of impact and step events into a 
+ * preallocated ring buffer so that they can be consumed by another thread.
+ * <p>
+ * Register the recorder with a {@link World} using the {@link World#addListener(org.dyn4j.Listener)}
+ * method.  The listener methods copy the event data into the ring buffer during the
+ * {@link World} step.  A consumer thread can then drain the events using the 
+ * {@link #poll(RecordedEvent)} method.  A {@link RecordedEvent#STEP_END} event is recorded 
+ * at the end of each step (if requested) to mark step boundaries.
+ * <p>
+ * The ring buffer is lock-free and supports exactly one producer (the thread stepping the 
+ * {@link World}) and one consumer.  For this reason a recorder should only be registered 
+ * with one {@link World}.  When the buffer is full new events are dropped and counted; use 
+ * the {@link #getDroppedCount()} method to detect overflow.
+ * <p>
+ * Contact events are received using the {@link ContactBatchListener} interface so that no
+ * contact point objects are created for recording.  The recorder never disables contacts
+ * or time of impact collisions.
+ * @author William Bittle
+ * @version 3.2.0
+ * @since 3.2.0
+ */
+public class EventRecorder implements ContactBatchListener, BoundsListener, DestructionListener, TimeOfImpactListener, StepListener {
+	/** The ring buffer of events */
+	protected final RecordedEvent[] buffer;
+	
+	/** The mask used to compute the buffer index (capacity - 1) */
+	protected final int mask;
+	
+	/** The recorded event types */
+	protected final int types;
+	
+	/** The index of the next event to be consumed (written only by the consumer) */
+	protected final AtomicLong head;
+	
+	/** The index of the next event to be recorded (written only by the producer) */
+	protected final AtomicLong tail;
+	
+	/** The producer's cached value of the {@link #head} */
+	protected long headCache;
+	
+	/** The number of events that were dropped because the buffer was full (written only by the producer) */
+	protected volatile long dropped;
+	
+	/**
+	 * Minimal constructor.
+	 * <p>
+	 * Records all event types.
+	 * @param capacity the minimum capacity of the buffer; rounded up to the next power of two
+	 * @throws IllegalArgumentException if capacity is less than or equal to zero
+	 */
+	public EventRecorder(int capacity) {
+		this(capacity, RecordedEvent.ALL);
+	}
+	
+	/**
+	 * Full constructor.
+	 * @param capacity the minimum capacity of the buffer; rounded up to the next power of two
+	 * @param types the event types to record; a bitwise or of the {@link RecordedEvent} types
+	 * @throws IllegalArgumentException if capacity is less than or equal to zero or greater than 2<sup>30</sup>
+	 */
+	public EventRecorder(int capacity, int types) {
+		// check the capacity
+		if (capacity <= 0 || capacity > (1 << 30)) throw new IllegalArgumentException(Messages.getString("dynamics.eventRecorder.invalidCapacity"));
+		// round up to the next power of two
+		int size = 1;
+		while (size < capacity) size <<= 1;
+		// preallocate the events
+		this.buffer = new RecordedEvent[size];
+		for (int i = 0; i < size; i++) {
+			this.buffer[i] = new RecordedEvent();
+		}
+		this.mask = size - 1;
+		this.types = types;
+		this.head = new AtomicLong(0);
+		this.tail = new AtomicLong(0);
+		this.headCache = 0;
+		this.dropped = 0;
+	}
+	
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("EventRecorder[Capacity=").append(this.buffer.length)
+		.append("|Types=").append(this.types)
+		.append("|Size=").append(this.size())
+		.append("|Dropped=").append(this.dropped)
+		.append("]");
+		return sb.toString();
+	}
+	
+	/**
+	 * Returns the next free event in the buffer or null if the buffer is full.
+	 * <p>
+	 * Only called by the producer.  The event must be published using the 
+	 * {@link #publish()} method after it has been filled.
+	 * @param type the event type
+	 * @return {@link RecordedEvent}
+	 */
+	protected RecordedEvent claim(int type) {
+		long t = this.tail.get();
+		// check if the buffer is full using the cached head
+		if (t - this.headCache > this.mask) {
+			// refresh the cached head
+			this.headCache = this.head.get();
+			if (t - this.headCache > this.mask) {
+				// the buffer is full, drop the event
+				this.dropped++;
+				return null;
+			}
+		}
+		RecordedEvent event = this.buffer[(int)(t & this.mask)];
+		event.type = type;
+		return event;
+	}
+	
+	/**
+	 * Publishes the last claimed event to the consumer.
+	 * <p>
+	 * Only called by the producer.
+	 */
+	protected void publish() {
+		// the ordered write makes the event's values visible before the new tail
+		this.tail.lazySet(this.tail.get() + 1);
+	}
+	
+	/**
+	 * Records the contacts of the given batch as events of the given type.
+	 * @param batch the contact batch
+	 * @param type the event type
+	 */
+	protected void record(ContactBatch batch, int type) {
+		int size = batch.getConstraintCount();
+		for (int i = 0; i < size; i++) {
+			ContactConstraint cc = batch.getConstraint(i);
+			Vector2 n = cc.getNormal();
+			int csize = batch.getContactCount(i);
+			for (int j = 0; j < csize; j++) {
+				Contact contact = batch.getContact(i, j);
+				RecordedEvent event = this.claim(type);
+				// skip the event if the buffer is full
+				if (event == null) continue;
+				Vector2 p = contact.getPoint();
+				event.body1 = cc.getBody1();
+				event.fixture1 = cc.getFixture1();
+				event.body2 = cc.getBody2();
+				event.fixture2 = cc.getFixture2();
+				event.joint = null;
+				event.pointX = p.x;
+				event.pointY = p.y;
+				event.normalX = n.x;
+				event.normalY = n.y;
+				event.depth = contact.getDepth();
+				event.normalImpulse = contact.getNormalImpulse();
+				event.tangentialImpulse = contact.getTangentialImpulse();
+				event.time = 0.0;
+				this.publish();
+			}
+		}
+	}
+	
+	/**
+	 * Records an event of the given type involving the given bodies.
+	 * @param type the event type
+	 * @param body1 the first body
+	 * @param fixture1 the first body's fixture; can be null
+	 * @param body2 the second body; can be null
+	 * @param fixture2 the second body's fixture; can be null
+	 * @param joint the joint; can be null
+	 * @param time the time
+	 */
+	protected void record(int type, Body body1, BodyFixture fixture1, Body body2, BodyFixture fixture2, Joint joint, double time) {
+		RecordedEvent event = this.claim(type);
+		if (event == null) return;
+		event.body1 = body1;
+		event.fixture1 = fixture1;
+		event.body2 = body2;
+		event.fixture2 = fixture2;
+		event.joint = joint;
+		event.pointX = 0.0;
+		event.pointY = 0.0;
+		event.normalX = 0.0;
+		event.normalY = 0.0;
+		event.depth = 0.0;
+		event.normalImpulse = 0.0;
+		event.tangentialImpulse = 0.0;
+		event.time = time;
+		this.publish();
+	}
+	
+	/**
+	 * Copies the oldest recorded event into the given event and removes it from
+	 * the buffer.
+	 * <p>
+	 * Only one thread should consume events.
+	 * @param destination the event to copy the values into
+	 * @return boolean true if an event was available
+	 */
+	public boolean poll(RecordedEvent destination) {
+		long h = this.head.get();
+		// check for an available event
+		if (h >= this.tail.get()) return false;
+		RecordedEvent event = this.buffer[(int)(h & this.mask)];
+		destination.set(event);
+		// release the references held by the buffer
+		event.clear();
+		// the ordered write releases the slot to the producer
+		this.head.lazySet(h + 1);
+		return true;
+	}
+	
+	/**
+	 * Returns the number of events waiting to be consumed.
+	 * @return int
+	 */
+	public int size() {
+		return (int)(this.tail.get() - this.head.get());
+	}
+	
+	/**
+	 * Returns true if there are no events waiting to be consumed.
+	 * @return boolean
+	 */
+	public boolean isEmpty() {
+		return this.tail.get() == this.head.get();
+	}
+	
+	/**
+	 * Returns the capacity of the buffer.
+	 * @return int
+	 */
+	public int getCapacity() {
+		return this.buffer.length;
+	}
+	
+	/**
+	 * Returns the recorded event types.
+	 * @return int
+	 */
+	public int getTypes() {
+		return this.types;
+	}
+	
+	/**
+	 * Returns the total number of events that were dropped because the buffer was full.
+	 * @return long
+	 */
+	public long getDroppedCount() {
+		return this.dropped;
+	}
+	
+	/**
+	 * Returns the total number of events that were recorded.
+	 * @return long
+	 */
+	public long getRecordedCount() {
+		return this.tail.get();
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.contact.ContactBatchListener#getEventTypes()
+	 */
+	@Override
+	public int getEventTypes() {
+		// the contact event types have the same values as the batch event types
+		return this.types & RecordedEvent.CONTACT;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.contact.ContactBatchListener#sensed(org.dyn4j.dynamics.contact.ContactBatch)
+	 */
+	@Override
+	public void sensed(ContactBatch batch) {
+		this.record(batch, RecordedEvent.CONTACT_SENSED);
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.contact.ContactBatchListener#begin(org.dyn4j.dynamics.contact.ContactBatch)
+	 */
+	@Override
+	public void begin(ContactBatch batch) {
+		this.record(batch, RecordedEvent.CONTACT_BEGIN);
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.contact.ContactBatchListener#persist(org.dyn4j.dynamics.contact.ContactBatch)
+	 */
+	@Override
+	public void persist(ContactBatch batch) {
+		this.record(batch, RecordedEvent.CONTACT_PERSIST);
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.contact.ContactBatchListener#end(org.dyn4j.dynamics.contact.ContactBatch)
+	 */
+	@Override
+	public void end(ContactBatch batch) {
+		this.record(batch, RecordedEvent.CONTACT_END);
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.contact.ContactBatchListener#postSolve(org.dyn4j.dynamics.contact.ContactBatch)
+	 */
+	@Override
+	public void postSolve(ContactBatch batch) {
+		this.record(batch, RecordedEvent.CONTACT_POST_SOLVE);
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.BoundsListener#outside(org.dyn4j.collision.Collidable)
+	 */
+	@Override
+	public <E extends Collidable> void outside(E collidable) {
+		if ((this.types & RecordedEvent.BOUNDS) == 0) return;
+		// only bodies are recorded
+		if (collidable instanceof Body) {
+			this.record(RecordedEvent.BOUNDS, (Body)collidable, null, null, null, null, 0.0);
+		}
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.DestructionListener#destroyed(org.dyn4j.dynamics.Body)
+	 */
+	@Override
+	public void destroyed(Body body) {
+		if ((this.types & RecordedEvent.DESTROYED_BODY) == 0) return;
+		this.record(RecordedEvent.DESTROYED_BODY, body, null, null, null, null, 0.0);
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.DestructionListener#destroyed(org.dyn4j.dynamics.joint.Joint)
+	 */
+	@Override
+	public void destroyed(Joint joint) {
+		if ((this.types & RecordedEvent.DESTROYED_JOINT) == 0) return;
+		this.record(RecordedEvent.DESTROYED_JOINT, joint.getBody1(), null, joint.getBody2(), null, joint, 0.0);
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.DestructionListener#destroyed(org.dyn4j.dynamics.contact.ContactPoint)
+	 */
+	@Override
+	public void destroyed(ContactPoint contactPoint) {
+		if ((this.types & RecordedEvent.DESTROYED_CONTACT) == 0) return;
+		RecordedEvent event = this.claim(RecordedEvent.DESTROYED_CONTACT);
+		if (event == null) return;
+		Vector2 p = contactPoint.getPoint();
+		Vector2 n = contactPoint.getNormal();
+		event.body1 = contactPoint.getBody1();
+		event.fixture1 = contactPoint.getFixture1();
+		event.body2 = contactPoint.getBody2();
+		event.fixture2 = contactPoint.getFixture2();
+		event.joint = null;
+		event.pointX = p.x;
+		event.pointY = p.y;
+		event.normalX = n.x;
+		event.normalY = n.y;
+		event.depth = contactPoint.getDepth();
+		event.normalImpulse = 0.0;
+		event.tangentialImpulse = 0.0;
+		event.time = 0.0;
+		this.publish();
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.TimeOfImpactListener#collision(org.dyn4j.dynamics.Body, org.dyn4j.dynamics.BodyFixture, org.dyn4j.dynamics.Body, org.dyn4j.dynamics.BodyFixture, org.dyn4j.collision.continuous.TimeOfImpact)
+	 */
+	@Override
+	public boolean collision(Body body1, BodyFixture fixture1, Body body2, BodyFixture fixture2, TimeOfImpact toi) {
+		if ((this.types & RecordedEvent.TIME_OF_IMPACT) != 0) {
+			this.record(RecordedEvent.TIME_OF_IMPACT, body1, fixture1, body2, fixture2, null, toi.getTime());
+		}
+		// never prevent the collision from being handled
+		return true;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.StepListener#begin(org.dyn4j.dynamics.Step, org.dyn4j.dynamics.World)
+	 */
+	@Override
+	public void begin(Step step, World world) {}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.StepListener#updatePerformed(org.dyn4j.dynamics.Step, org.dyn4j.dynamics.World)
+	 */
+	@Override
+	public void updatePerformed(Step step, World world) {}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.StepListener#end(org.dyn4j.dynamics.Step, org.dyn4j.dynamics.World)
+	 */
+	@Override
+	public void end(Step step, World world) {
+		if ((this.types & RecordedEvent.STEP_END) == 0) return;
+		this.record(RecordedEvent.STEP_END, null, null, null, null, null, step.getDeltaTime());
+	}
+}
@@ -29,8 +29,10 @@ import java.util.List;
 
 import org.dyn4j.Epsilon;
 import org.dyn4j.collision.Collisions;
+import org.dyn4j.dynamics.contact.BatchContactConstraintSolver;
 import org.dyn4j.dynamics.contact.ContactConstraint;
 import org.dyn4j.dynamics.contact.ContactConstraintSolver;
+import org.dyn4j.dynamics.contact.SoftContactConstraintSolver;
 import org.dyn4j.dynamics.joint.Joint;
 import org.dyn4j.geometry.Interval;
 import org.dyn4j.geometry.Vector2;
@@ -42,7 +44,7 @@ import org.dyn4j.resources.Messages;
  * Nearly identitcal to <a href="http://www.box2d.org">Box2d</a>'s equivalent class.
  * @see <a href="http://www.box2d.org">Box2d</a>
  * @author William Bittle
- * @version 3.1.5
+ * @version 3.2.0
  * @since 1.0.0
  */
 public class Island {
@@ -52,6 +54,15 @@ public class Island {
 	/** The {@link ContactConstraintSolver} */
 	protected ContactConstraintSolver contactConstraintSolver;
 	
+	/** The {@link SoftContactConstraintSolver} used when sub-stepping */
+	protected SoftContactConstraintSolver softContactConstraintSolver;
+	
+	/** The {@link BatchContactConstraintSolver} used for the velocity iterations when enabled */
+	protected BatchContactConstraintSolver batchContactConstraintSolver;
+	
+	/** The {@link ColoredConstraintSolver} used to solve large islands in parallel */
+	protected ColoredConstraintSolver coloredConstraintSolver;
+	
 	/** The list of {@link Body}s on this {@link Island} */
 	protected List<Body> bodies;
 	
@@ -61,6 +72,21 @@ public class Island {
 	/** The list of {@link Joint}s on this {@link Island} */
 	protected List<Joint> joints;
 	
+	/** The number of velocity iterations (or sub-steps) used by the last solve */
+	protected int velocityIterations;
+	
+	/** The number of position iterations used by the last solve */
+	protected int positionIterations;
+	
+	/** The largest change in impulse of the last velocity iteration */
+	protected double velocityResidual;
+	
+	/** The body velocities before a velocity iteration; used to measure the change in momentum */
+	private double[] velocities;
+	
+	/** The {@link Step} of a sub-step used by the {@link Joint}s when sub-stepping */
+	private Step subStep;
+	
 	/**
 	 * Optional constructor.
 	 * <p>
@@ -88,9 +114,14 @@ public class Island {
 		this.bodies = new ArrayList<Body>(initialCapacity.getBodyCount());
 		this.joints = new ArrayList<Joint>(initialCapacity.getJointCount());
 		this.contactConstraintSolver = new ContactConstraintSolver(world);
+		this.softContactConstraintSolver = new SoftContactConstraintSolver(world);
+		this.batchContactConstraintSolver = new BatchContactConstraintSolver();
+		this.coloredConstraintSolver = new ColoredConstraintSolver(this.contactConstraintSolver);
 		// estimated the number of contacts
 		int eSize = Collisions.getEstimatedCollisionPairs(initialCapacity.getBodyCount());
 		this.contactConstraints = new ArrayList<ContactConstraint>(eSize);
+		this.velocities = new double[0];
+		this.subStep = new Step(Settings.DEFAULT_STEP_FREQUENCY);
 	}
 
 	/**
@@ -139,31 +170,347 @@ public class Island {
 	 * {@link Joint}s, and attempts to sleep motionless {@link Body}s.
 	 */
 	public void solve() {
-		Vector2 gravity = this.world.gravity;
 		Step step = this.world.step;
 		Settings settings = this.world.settings;
 		
-		// the number of solver iterations
-		int velocitySolverIterations = settings.getVelocityConstraintSolverIterations();
-		int positionSolverIterations = settings.getPositionConstraintSolverIterations();
 		// the sleep settings
 		double sleepAngularVelocitySquared = settings.getSleepAngularVelocitySquared();
 		double sleepLinearVelocitySquared = settings.getSleepLinearVelocitySquared();
 		double sleepTime = settings.getSleepTime();
 
 		int size = this.bodies.size();
+		
+		double dt = step.dt;
+		
+		// accumulate the forces and torques
+		for (int i = 0; i < size; i++) {
+			Body body = this.bodies.get(i);
+			// check if the body has infinite mass and infinite inertia
+			if (!body.isDynamic()) continue;
+			body.accumulate(dt);
+		}
+		
+		// solve the constraints using either sub-stepping or iterations
+		int subSteps = settings.getSubStepCount();
+		boolean positionConstraintsSolved;
+		if (subSteps > 1) {
+			positionConstraintsSolved = this.solveSubSteps(subSteps);
+		} else {
+			positionConstraintsSolved = this.solveIterations();
+		}
+		
+		// see if sleep is enabled
+		if (settings.isAutoSleepingEnabled()) {
+			double minSleepTime = Double.MAX_VALUE;
+			// check for sleep-able bodies
+			for (int i = 0; i < size; i++) {
+				Body body = this.bodies.get(i);
+				// just skip static bodies
+				if (body.isStatic()) continue;
+				// see if the body is allowed to sleep
+				if (body.isAutoSleepingEnabled()) {
+					// check the linear and angular velocity
+					if (body.velocity.dot(body.velocity) > sleepLinearVelocitySquared || body.angularVelocity * body.angularVelocity > sleepAngularVelocitySquared) {
+						// if either the linear or angular velocity is above the 
+						// threshold then reset the sleep time
+						body.sleepTime = 0.0;
+						minSleepTime = 0.0;
+					} else {
+						// then increment the sleep time
+						body.sleepTime += step.dt;
+						minSleepTime = Math.min(minSleepTime, body.getSleepTime());
+					}
+				} else {
+					body.sleepTime = 0.0;
+					minSleepTime = 0.0;
+				}
+			}
+			
+			// check the min sleep time
+			if (minSleepTime >= sleepTime && positionConstraintsSolved) {
+				for (int i = 0; i < size; i++) {
+					Body body = this.bodies.get(i);
+					body.setAsleep(true);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Solves the {@link ContactConstraint}s and {@link Joint}s using the configured
+	 * number of velocity and position iterations.
+	 * @return boolean true if the position constraints were solved
+	 * @since 3.2.0
+	 */
+	protected boolean solveIterations() {
+		Step step = this.world.step;
+		Settings settings = this.world.settings;
+		
+		// the number of solver iterations
+		int velocitySolverIterations = settings.getVelocityConstraintSolverIterations();
+		int positionSolverIterations = settings.getPositionConstraintSolverIterations();
+		
 		int jSize = this.joints.size();
+		double dt = step.dt;
+		
+		// check if the constraints should be solved in parallel
+		int threads = settings.getParallelSolverThreadCount();
+		boolean parallel = threads > 1 && (this.contactConstraints.size() + jSize) >= settings.getParallelSolverThreshold();
+		// check if the contacts should be solved using the batch solver
+		boolean batch = !parallel && settings.isBatchContactSolverEnabled();
+		
+		// integrate the velocities
+		this.integrateVelocities(dt);
+		
+		// set the contact constraints
+		this.contactConstraintSolver.setup(this.contactConstraints);
 		
+		// initialize the constraints
+		this.contactConstraintSolver.initializeConstraints(step);
+		
+		// initialize joint constraints
+		for (int i = 0; i < jSize; i++) {
+			Joint joint = this.joints.get(i);
+			joint.initializeConstraints();
+		}
+		
+		// color the constraints for parallel solving
+		if (parallel) {
+			this.coloredConstraintSolver.color(this.contactConstraints, this.joints);
+		}
+		
+		// copy the contacts into the batch solver
+		if (batch) {
+			this.batchContactConstraintSolver.setup(this.contactConstraints);
+			this.batchContactConstraintSolver.loadVelocities();
+		}
+		
+		// check if the velocity solver should stop once converged
+		double tolerance = settings.getVelocityConstraintSolverTolerance();
+		boolean adaptive = tolerance > 0.0;
+		// joints do not report the change in their impulses so the change
+		// in momentum of the bodies is used instead
+		boolean measureMomentum = adaptive && jSize > 0;
+		
+		// solve the velocity constraints
+		this.velocityIterations = 0;
+		this.velocityResidual = 0.0;
+		for (int i = 0; i < velocitySolverIterations; i++) {
+			if (measureMomentum) {
+				this.saveVelocities();
+			}
+			
+			double residual;
+			if (parallel) {
+				// solve each color in parallel
+				residual = this.coloredConstraintSolver.solveVelocityConstraints(threads);
+			} else {
+				// solve the joint velocity constraints
+				for (int j = 0; j < jSize; j++) {
+					Joint joint = this.joints.get(j);
+					joint.solveVelocityConstraints();
+				}
+				
+				if (batch) {
+					// the joints modify the body velocities directly so
+					// the batch must be synchronized with the bodies
+					if (jSize > 0) {
+						this.batchContactConstraintSolver.loadVelocities();
+						residual = this.batchContactConstraintSolver.solveVelocityConstraints();
+						this.batchContactConstraintSolver.storeVelocities();
+					} else {
+						residual = this.batchContactConstraintSolver.solveVelocityConstraints();
+					}
+				} else {
+					residual = this.contactConstraintSolver.solveVelocityContraints();
+				}
+			}
+			
+			if (measureMomentum) {
+				residual = Math.max(residual, this.getMomentumChange());
+			}
+			
+			this.velocityIterations++;
+			this.velocityResidual = residual;
+			
+			// stop once the solution has converged
+			if (adaptive && residual <= tolerance) break;
+		}
+		
+		// copy the batch back to the bodies and contacts
+		if (batch) {
+			this.batchContactConstraintSolver.storeVelocities();
+			this.batchContactConstraintSolver.storeImpulses();
+			this.batchContactConstraintSolver.clear();
+		}
+		
+		// integrate the positions
+		this.integratePositions(dt, dt);
+		
+		// solve the position constraints
+		boolean positionConstraintsSolved = false;
+		this.positionIterations = 0;
+		for (int i = 0; i < positionSolverIterations; i++) {
+			this.positionIterations++;
+			
+			// solve each color in parallel
+			if (parallel) {
+				if (this.coloredConstraintSolver.solvePositionConstraints(threads)) {
+					positionConstraintsSolved = true;
+					break;
+				}
+				continue;
+			}
+			
+			boolean contactsSolved = this.contactConstraintSolver.solvePositionContraints();
+			
+			// solve the joint position constraints
+			boolean jointsSolved = true;
+			for (int j = 0; j < jSize; j++) {
+				Joint joint = this.joints.get(j);
+				boolean jointSolved = joint.solvePositionConstraints();
+				jointsSolved = jointsSolved && jointSolved;
+			}
+			
+			if (contactsSolved && jointsSolved) {
+				positionConstraintsSolved = true;
+				break;
+			}
+		}
+		
+		return positionConstraintsSolved;
+	}
+	
+	/**
+	 * Solves the {@link ContactConstraint}s and {@link Joint}s by dividing the time step
+	 * into the given number of sub-steps.
+	 * <p>
+	 * Each sub-step integrates the velocities, initializes and solves the joints and the soft 
+	 * contact constraints once, integrates the positions and then relaxes the contact constraints
+	 * and joints.  The joints are initialized and solved with a {@link Step} of the sub-step time, 
+	 * so their bias and spring terms and impulse limits match the sub-step.  Like the contacts, 
+	 * the joint impulses are converted to the impulses of a sub-step and back to those of the 
+	 * whole time step.  The joint position constraints are solved after the last sub-step.
+	 * @param subSteps the number of sub-steps
+	 * @return boolean true if the position constraints were solved
+	 * @see Settings#setSubStepCount(int)
+	 * @since 3.2.0
+	 */
+	protected boolean solveSubSteps(int subSteps) {
+		Step step = this.world.step;
+		Settings settings = this.world.settings;
+		
+		int positionSolverIterations = settings.getPositionConstraintSolverIterations();
+		
+		int jSize = this.joints.size();
 		double dt = step.dt;
+		double h = dt / subSteps;
+		
+		// set the contact constraints
+		this.contactConstraintSolver.setup(this.contactConstraints);
+		this.softContactConstraintSolver.initialize(this.contactConstraints, step, subSteps);
+		
+		// convert the joint impulses to the impulses of a sub-step
+		for (int i = 0; i < jSize; i++) {
+			Joint joint = this.joints.get(i);
+			joint.scaleImpulses(1.0 / subSteps);
+		}
+		
+		// the joints use the world's step so replace it with 
+		// the sub-step while solving the sub-steps
+		Step subStep = this.subStep;
+		subStep.dt = h;
+		subStep.invdt = 1.0 / h;
+		subStep.dt0 = h;
+		subStep.invdt0 = subStep.invdt;
+		
+		double minSeparation = 0.0;
+		this.velocityIterations = subSteps;
+		this.velocityResidual = Double.NaN;
+		this.world.step = subStep;
+		try {
+			for (int i = 0; i < subSteps; i++) {
+				// integrate the velocities
+				this.integrateVelocities(h);
+				
+				// initialize the joint constraints; the impulses of the last time
+				// step are scaled by its delta time ratio on the first sub-step
+				subStep.dtRatio = i == 0 ? step.dtRatio : 1.0;
+				for (int j = 0; j < jSize; j++) {
+					Joint joint = this.joints.get(j);
+					joint.initializeConstraints();
+				}
+				
+				// warm start the contacts
+				this.softContactConstraintSolver.warmStart();
+				
+				// solve the joint velocity constraints
+				for (int j = 0; j < jSize; j++) {
+					Joint joint = this.joints.get(j);
+					joint.solveVelocityConstraints();
+				}
+				
+				// solve the soft contact constraints
+				minSeparation = this.softContactConstraintSolver.solveVelocityConstraints(true);
+				
+				// integrate the positions
+				this.integratePositions(dt, h);
+				
+				// relax the joint and contact constraints
+				for (int j = 0; j < jSize; j++) {
+					Joint joint = this.joints.get(j);
+					joint.solveVelocityConstraints();
+				}
+				
+				this.softContactConstraintSolver.solveVelocityConstraints(false);
+			}
+		} finally {
+			this.world.step = step;
+		}
+		
+		this.softContactConstraintSolver.applyRestitution();
+		this.softContactConstraintSolver.storeImpulses();
+		
+		// convert the joint impulses back to the impulses of the whole time step
+		for (int i = 0; i < jSize; i++) {
+			Joint joint = this.joints.get(i);
+			joint.scaleImpulses(subSteps);
+		}
+		
+		// solve the joint position constraints
+		boolean jointsSolved = true;
+		this.positionIterations = 0;
+		for (int i = 0; i < positionSolverIterations && jSize > 0; i++) {
+			this.positionIterations++;
+			jointsSolved = true;
+			for (int j = 0; j < jSize; j++) {
+				Joint joint = this.joints.get(j);
+				boolean jointSolved = joint.solvePositionConstraints();
+				jointsSolved = jointsSolved && jointSolved;
+			}
+			
+			if (jointsSolved) break;
+		}
+		
+		return jointsSolved && this.contactConstraintSolver.isPositionSolved(minSeparation);
+	}
+	
+	/**
+	 * Integrates the velocities of the {@link Body}s using their accumulated forces,
+	 * gravity and damping.
+	 * @param dt the elapsed time
+	 * @since 3.2.0
+	 */
+	protected void integrateVelocities(double dt) {
+		Vector2 gravity = this.world.gravity;
+		
 		double invM, invI;
 		
-		// integrate the velocities
+		int size = this.bodies.size();
 		for (int i = 0; i < size; i++) {
 			Body body = this.bodies.get(i);
 			// check if the body has infinite mass and infinite inertia
 			if (!body.isDynamic()) continue;
-			// accumulate the forces and torques
-			body.accumulate(dt);
 			// get the mass properties
 			invM = body.mass.getInverseMass();
 			invI = body.mass.getInverseInertia();
@@ -192,29 +539,19 @@ public class Island {
 			body.velocity.y *= linear;
 			body.angularVelocity *= angular;
 		}
-		
-		// set the contact constraints
-		this.contactConstraintSolver.setup(this.contactConstraints);
-		
-		// initialize the constraints
-		this.contactConstraintSolver.initializeConstraints(step);
-		
-		// initialize joint constraints
-		for (int i = 0; i < jSize; i++) {
-			Joint joint = this.joints.get(i);
-			joint.initializeConstraints();
-		}
-
-		// solve the velocity constraints
-		for (int i = 0; i < velocitySolverIterations; i++) {
-			// solve the joint velocity constraints
-			for (int j = 0; j < jSize; j++) {
-				Joint joint = this.joints.get(j);
-				joint.solveVelocityConstraints();
-			}
-			
-			this.contactConstraintSolver.solveVelocityContraints();
-		}
+	}
+	
+	/**
+	 * Integrates the positions of the {@link Body}s using their velocities.
+	 * <p>
+	 * The velocities are first limited so that the translation and rotation over the
+	 * time step do not exceed the maximums in the {@link Settings}.
+	 * @param dt the time step used to limit the velocities
+	 * @param h the elapsed time to integrate; dt or less
+	 * @since 3.2.0
+	 */
+	protected void integratePositions(double dt, double h) {
+		Settings settings = this.world.settings;
 		
 		// the max settings
 		double maxTranslation = settings.getMaximumTranslation();
@@ -222,7 +559,7 @@ public class Island {
 		double maxTranslationSqrd = settings.getMaximumTranslationSquared();
 		double maxRotationSqrd = settings.getMaximumRotationSquared();
 		
-		// integrate the positions
+		int size = this.bodies.size();
 		for (int i = 0; i < size; i++) {
 			Body body = this.bodies.get(i);
 			
@@ -246,63 +583,125 @@ public class Island {
 			
 			// recompute the translation/rotation in case we hit the maximums
 			// inline body.translate(body.velocity.product(dt));
-			body.translate(body.velocity.x * dt, body.velocity.y * dt);
-			body.rotateAboutCenter(body.angularVelocity * dt);
+			body.translate(body.velocity.x * h, body.velocity.y * h);
+			body.rotateAboutCenter(body.angularVelocity * h);
 		}
-		
-		// solve the position constraints
-		boolean positionConstraintsSolved = false;
-		for (int i = 0; i < positionSolverIterations; i++) {
-			boolean contactsSolved = this.contactConstraintSolver.solvePositionContraints();
-			
-			// solve the joint position constraints
-			boolean jointsSolved = true;
-			for (int j = 0; j < jSize; j++) {
-				Joint joint = this.joints.get(j);
-				boolean jointSolved = joint.solvePositionConstraints();
-				jointsSolved = jointsSolved && jointSolved;
-			}
-			
-			if (contactsSolved && jointsSolved) {
-				positionConstraintsSolved = true;
-				break;
-			}
+	}
+	
+	/**
+	 * Saves the velocities of the {@link Body}s to measure the change in momentum
+	 * of a velocity iteration.
+	 * @see #getMomentumChange()
+	 */
+	private void saveVelocities() {
+		int size = this.bodies.size();
+		// grow the array if necessary
+		if (this.velocities.length < size * 3) {
+			this.velocities = new double[size * 3];
 		}
-		
-		// see if sleep is enabled
-		if (settings.isAutoSleepingEnabled()) {
-			double minSleepTime = Double.MAX_VALUE;
-			// check for sleep-able bodies
-			for (int i = 0; i < size; i++) {
-				Body body = this.bodies.get(i);
-				// just skip static bodies
-				if (body.isStatic()) continue;
-				// see if the body is allowed to sleep
-				if (body.isAutoSleepingEnabled()) {
-					// check the linear and angular velocity
-					if (body.velocity.dot(body.velocity) > sleepLinearVelocitySquared || body.angularVelocity * body.angularVelocity > sleepAngularVelocitySquared) {
-						// if either the linear or angular velocity is above the 
-						// threshold then reset the sleep time
-						body.sleepTime = 0.0;
-						minSleepTime = 0.0;
-					} else {
-						// then increment the sleep time
-						body.sleepTime += step.dt;
-						minSleepTime = Math.min(minSleepTime, body.getSleepTime());
-					}
-				} else {
-					body.sleepTime = 0.0;
-					minSleepTime = 0.0;
-				}
-			}
-			
-			// check the min sleep time
-			if (minSleepTime >= sleepTime && positionConstraintsSolved) {
-				for (int i = 0; i < size; i++) {
-					Body body = this.bodies.get(i);
-					body.setAsleep(true);
-				}
-			}
+		for (int i = 0; i < size; i++) {
+			Body body = this.bodies.get(i);
+			this.velocities[i * 3] = body.velocity.x;
+			this.velocities[i * 3 + 1] = body.velocity.y;
+			this.velocities[i * 3 + 2] = body.angularVelocity;
 		}
 	}
+	
+	/**
+	 * Returns the largest change in linear or angular momentum of any {@link Body} since
+	 * the last call to the {@link #saveVelocities()} method.
+	 * @return double
+	 */
+	private double getMomentumChange() {
+		double change = 0.0;
+		int size = this.bodies.size();
+		for (int i = 0; i < size; i++) {
+			Body body = this.bodies.get(i);
+			if (!body.isDynamic()) continue;
+			double m = body.mass.getMass();
+			double I = body.mass.getInertia();
+			change = Math.max(change, Math.abs(body.velocity.x - this.velocities[i * 3]) * m);
+			change = Math.max(change, Math.abs(body.velocity.y - this.velocities[i * 3 + 1]) * m);
+			change = Math.max(change, Math.abs(body.angularVelocity - this.velocities[i * 3 + 2]) * I);
+		}
+		return change;
+	}
+	
+	/**
+	 * Returns the number of {@link Body}s on this {@link Island}.
+	 * @return int
+	 * @since 3.2.0
+	 */
+	public int getBodyCount() {
+		return this.bodies.size();
+	}
+	
+	/**
+	 * Returns the {@link Body} at the given index.
+	 * @param index the index
+	 * @return {@link Body}
+	 * @throws IndexOutOfBoundsException if index is out of bounds
+	 * @since 3.2.0
+	 */
+	public Body getBody(int index) {
+		return this.bodies.get(index);
+	}
+	
+	/**
+	 * Returns the number of {@link ContactConstraint}s on this {@link Island}.
+	 * @return int
+	 * @since 3.2.0
+	 */
+	public int getContactConstraintCount() {
+		return this.contactConstraints.size();
+	}
+	
+	/**
+	 * Returns the number of {@link Joint}s on this {@link Island}.
+	 * @return int
+	 * @since 3.2.0
+	 */
+	public int getJointCount() {
+		return this.joints.size();
+	}
+	
+	/**
+	 * Returns the number of velocity iterations used by the last call to {@link #solve()}.
+	 * <p>
+	 * This is less than the velocity constraint solver iterations when the velocity solver 
+	 * tolerance is set and the solution converged early.  When sub-stepping this is the 
+	 * number of sub-steps.
+	 * @return int
+	 * @since 3.2.0
+	 * @see Settings#setVelocityConstraintSolverTolerance(double)
+	 */
+	public int getVelocityIterations() {
+		return this.velocityIterations;
+	}
+	
+	/**
+	 * Returns the number of position iterations used by the last call to {@link #solve()}.
+	 * @return int
+	 * @since 3.2.0
+	 */
+	public int getPositionIterations() {
+		return this.positionIterations;
+	}
+	
+	/**
+	 * Returns the largest change in impulse of the last velocity iteration performed by the 
+	 * last call to {@link #solve()}.
+	 * <p>
+	 * This is the largest change in accumulated impulse of any contact.  When the velocity 
+	 * solver tolerance is set and the island contains joints, this also includes the largest
+	 * change in momentum of any {@link Body}.
+	 * <p>
+	 * Returns NaN when sub-stepping.
+	 * @return double
+	 * @since 3.2.0
+	 * @see Settings#setVelocityConstraintSolverTolerance(double)
+	 */
+	public double getVelocityResidual() {
+		return this.velocityResidual;
+	}
 }
@@ -0,0 +1,734 @@
+/*
+ * Copyright (c) 2010-2014 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.dynamics;
+
+import java.util.List;
+
+import org.dyn4j.collision.Filter;
+import org.dyn4j.collision.continuous.TimeOfImpact;
+import org.dyn4j.collision.continuous.TimeOfImpactDetector;
+import org.dyn4j.collision.narrowphase.NarrowphaseDetector;
+import org.dyn4j.collision.narrowphase.Penetration;
+import org.dyn4j.collision.narrowphase.Raycast;
+import org.dyn4j.collision.narrowphase.RaycastDetector;
+import org.dyn4j.geometry.AABB;
+import org.dyn4j.geometry.Convex;
+import org.dyn4j.geometry.Ray;
+import org.dyn4j.geometry.Transform;
+import org.dyn4j.geometry.Vector2;
+
+/**
+ * An immutable, read-only copy of the state of a {@link World} that can be queried from any thread.
+ * <p>
+ * A snapshot copies the transform, {@link AABB}, active flag and fixtures (including their sensor flags
+ * and filters) of every {@link Body} and builds its own bounding volume hierarchy over the {@link AABB}s.
+ * The raycast, detect and convex cast methods work like the {@link World} methods with the same
+ * parameters but only use the copied state.  This allows them to run without locking while the 
+ * {@link World} is being stepped.
+ * <p>
+ * A snapshot must be created on the thread that steps the {@link World}, either directly or using 
+ * a {@link QuerySnapshotPublisher}.
+ * <p>
+ * Queries against a snapshot do not notify the {@link RaycastListener}s, {@link DetectListener}s or 
+ * {@link ConvexCastListener}s of the {@link World} and do not use the world space geometry cache.  
+ * The detectors of the {@link World} at the time of creation are used and must be safe to use from
+ * multiple threads (the default detectors are).  The shapes and filters of the fixtures are not
+ * copied and must not be modified while the snapshot is in use.
+ * <p>
+ * The {@link Body}s and {@link BodyFixture}s of the results are the live objects and should not be
+ * accessed from other threads; use the {@link #getTransform(int)} method and the related methods 
+ * to read the snapshot state of a {@link Body}.
+ * @author William Bittle
+ * @version 3.2.0
+ * @since 3.2.0
+ */
+public class QuerySnapshot {
+	/** The maximum depth of the tree traversal stack */
+	private static final int STACK_SIZE = 64;
+	
+	/** The bodies */
+	protected final Body[] bodies;
+	
+	/** The {@link Body} transforms */
+	protected final Transform[] transforms;
+	
+	/** The {@link Body} {@link AABB}s as min x, min y, max x, max y */
+	protected final double[] aabbs;
+	
+	/** The {@link Body} active flags */
+	protected final boolean[] active;
+	
+	/** The index of the first fixture of each {@link Body}; the last entry is the total fixture count */
+	protected final int[] fixtureStart;
+	
+	/** The fixtures of all bodies */
+	protected final BodyFixture[] fixtures;
+	
+	/** The fixture shapes */
+	protected final Convex[] shapes;
+	
+	/** The fixture filters */
+	protected final Filter[] filters;
+	
+	/** The fixture sensor flags */
+	protected final boolean[] sensors;
+	
+	/** The tree node bounds as min x, min y, max x, max y */
+	protected final double[] nodeBounds;
+	
+	/** The left child of each tree node or -(body index + 1) for leaf nodes */
+	protected final int[] nodeLeft;
+	
+	/** The right child of each tree node */
+	protected final int[] nodeRight;
+	
+	/** The narrowphase detector */
+	protected final NarrowphaseDetector narrowphaseDetector;
+	
+	/** The raycast detector */
+	protected final RaycastDetector raycastDetector;
+	
+	/** The time of impact detector */
+	protected final TimeOfImpactDetector timeOfImpactDetector;
+	
+	/**
+	 * Full constructor.
+	 * <p>
+	 * Must be called from the thread that steps the given {@link World}.
+	 * @param world the {@link World}
+	 */
+	public QuerySnapshot(World world) {
+		List<Body> bodies = world.bodies;
+		int size = bodies.size();
+		
+		this.bodies = new Body[size];
+		this.transforms = new Transform[size];
+		this.aabbs = new double[size * 4];
+		this.active = new boolean[size];
+		this.fixtureStart = new int[size + 1];
+		
+		// copy the body state and count the fixtures
+		int fixtureCount = 0;
+		for (int i = 0; i < size; i++) {
+			Body body = bodies.get(i);
+			this.bodies[i] = body;
+			this.transforms[i] = body.transform.copy();
+			this.active[i] = body.isActive();
+			AABB aabb = body.getAABB();
+			this.aabbs[i * 4] = aabb.getMinX();
+			this.aabbs[i * 4 + 1] = aabb.getMinY();
+			this.aabbs[i * 4 + 2] = aabb.getMaxX();
+			this.aabbs[i * 4 + 3] = aabb.getMaxY();
+			this.fixtureStart[i] = fixtureCount;
+			fixtureCount += body.fixtures.size();
+		}
+		this.fixtureStart[size] = fixtureCount;
+		
+		// copy the fixtures
+		this.fixtures = new BodyFixture[fixtureCount];
+		this.shapes = new Convex[fixtureCount];
+		this.filters = new Filter[fixtureCount];
+		this.sensors = new boolean[fixtureCount];
+		for (int i = 0; i < size; i++) {
+			List<BodyFixture> fixtures = this.bodies[i].fixtures;
+			int offset = this.fixtureStart[i];
+			int fSize = this.fixtureStart[i + 1] - offset;
+			for (int j = 0; j < fSize; j++) {
+				BodyFixture fixture = fixtures.get(j);
+				this.fixtures[offset + j] = fixture;
+				this.shapes[offset + j] = fixture.getShape();
+				this.filters[offset + j] = fixture.getFilter();
+				this.sensors[offset + j] = fixture.isSensor();
+			}
+		}
+		
+		// build the tree
+		int nodeCount = size == 0 ? 0 : 2 * size - 1;
+		this.nodeBounds = new double[nodeCount * 4];
+		this.nodeLeft = new int[nodeCount];
+		this.nodeRight = new int[nodeCount];
+		if (size > 0) {
+			int[] order = new int[size];
+			double[] centers = new double[size * 2];
+			for (int i = 0; i < size; i++) {
+				order[i] = i;
+				centers[i * 2] = (this.aabbs[i * 4] + this.aabbs[i * 4 + 2]) * 0.5;
+				centers[i * 2 + 1] = (this.aabbs[i * 4 + 1] + this.aabbs[i * 4 + 3]) * 0.5;
+			}
+			this.build(order, centers, 0, size, 0);
+		}
+		
+		this.narrowphaseDetector = world.narrowphaseDetector;
+		this.raycastDetector = world.raycastDetector;
+		this.timeOfImpactDetector = world.timeOfImpactDetector;
+	}
+	
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("QuerySnapshot[BodyCount=").append(this.bodies.length)
+		.append("|FixtureCount=").append(this.fixtures.length)
+		.append("]");
+		return sb.toString();
+	}
+	
+	/**
+	 * Builds the sub tree of the bodies in the given range of the order array
+	 * at the given node index.
+	 * <p>
+	 * The bodies are split at the median of their {@link AABB} centers along the
+	 * longest axis of the centers.  The sub tree of n bodies uses 2n - 1 nodes.
+	 * @param order the body indices
+	 * @param centers the {@link AABB} centers of the bodies
+	 * @param start the start of the range (inclusive)
+	 * @param end the end of the range (exclusive)
+	 * @param node the node index
+	 */
+	private void build(int[] order, double[] centers, int start, int end, int node) {
+		int n4 = node * 4;
+		if (end - start == 1) {
+			// create a leaf
+			int body = order[start];
+			this.nodeLeft[node] = -(body + 1);
+			this.nodeRight[node] = -(body + 1);
+			System.arraycopy(this.aabbs, body * 4, this.nodeBounds, n4, 4);
+			return;
+		}
+		// find the longest axis of the centers
+		double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE;
+		double maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+		for (int i = start; i < end; i++) {
+			int b = order[i];
+			minX = Math.min(minX, centers[b * 2]);
+			maxX = Math.max(maxX, centers[b * 2]);
+			minY = Math.min(minY, centers[b * 2 + 1]);
+			maxY = Math.max(maxY, centers[b * 2 + 1]);
+		}
+		int axis = (maxX - minX) >= (maxY - minY) ? 0 : 1;
+		// split at the median
+		int mid = (start + end) >>> 1;
+		select(order, centers, axis, start, end - 1, mid);
+		// the left sub tree uses the next 2 * (mid - start) - 1 nodes
+		int left = node + 1;
+		int right = left + 2 * (mid - start) - 1;
+		this.build(order, centers, start, mid, left);
+		this.build(order, centers, mid, end, right);
+		this.nodeLeft[node] = left;
+		this.nodeRight[node] = right;
+		// the node bounds are the union of the child bounds
+		int l4 = left * 4;
+		int r4 = right * 4;
+		this.nodeBounds[n4] = Math.min(this.nodeBounds[l4], this.nodeBounds[r4]);
+		this.nodeBounds[n4 + 1] = Math.min(this.nodeBounds[l4 + 1], this.nodeBounds[r4 + 1]);
+		this.nodeBounds[n4 + 2] = Math.max(this.nodeBounds[l4 + 2], this.nodeBounds[r4 + 2]);
+		this.nodeBounds[n4 + 3] = Math.max(this.nodeBounds[l4 + 3], this.nodeBounds[r4 + 3]);
+	}
+	
+	/**
+	 * Partially sorts the given range of the order array such that the body at k has the k-th 
+	 * smallest center along the given axis, the bodies before it have smaller or equal centers
+	 * and the bodies after it have larger or equal centers.
+	 * @param order the body indices
+	 * @param centers the {@link AABB} centers of the bodies
+	 * @param axis 0 for the x axis; 1 for the y axis
+	 * @param low the start of the range (inclusive)
+	 * @param high the end of the range (inclusive)
+	 * @param k the index to select
+	 */
+	private static final void select(int[] order, double[] centers, int axis, int low, int high, int k) {
+		while (high > low) {
+			// use the middle element as the pivot
+			double pivot = centers[order[(low + high) >>> 1] * 2 + axis];
+			int i = low;
+			int j = high;
+			while (i <= j) {
+				while (centers[order[i] * 2 + axis] < pivot) i++;
+				while (centers[order[j] * 2 + axis] > pivot) j--;
+				if (i <= j) {
+					int t = order[i];
+					order[i] = order[j];
+					order[j] = t;
+					i++;
+					j--;
+				}
+			}
+			// continue with the side containing k
+			if (k <= j) {
+				high = j;
+			} else if (k >= i) {
+				low = i;
+			} else {
+				return;
+			}
+		}
+	}
+	
+	/**
+	 * Returns true if the given node overlaps the given {@link AABB}.
+	 * @param node the node index
+	 * @param minX the minimum x of the {@link AABB}
+	 * @param minY the minimum y of the {@link AABB}
+	 * @param maxX the maximum x of the {@link AABB}
+	 * @param maxY the maximum y of the {@link AABB}
+	 * @return boolean
+	 */
+	private boolean overlaps(int node, double minX, double minY, double maxX, double maxY) {
+		int n4 = node * 4;
+		return this.nodeBounds[n4] <= maxX && this.nodeBounds[n4 + 2] >= minX
+			&& this.nodeBounds[n4 + 1] <= maxY && this.nodeBounds[n4 + 3] >= minY;
+	}
+	
+	/**
+	 * Returns true if the given ray intersects the given node within the given length.
+	 * @param node the node index
+	 * @param sx the x coordinate of the ray start
+	 * @param sy the y coordinate of the ray start
+	 * @param dx the x component of the ray direction
+	 * @param dy the y component of the ray direction
+	 * @param length the length of the ray
+	 * @return boolean
+	 */
+	private boolean intersects(int node, double sx, double sy, double dx, double dy, double length) {
+		int n4 = node * 4;
+		double tmin = 0.0;
+		double tmax = length;
+		// test the x slab
+		if (dx == 0.0) {
+			if (sx < this.nodeBounds[n4] || sx > this.nodeBounds[n4 + 2]) return false;
+		} else {
+			double t1 = (this.nodeBounds[n4] - sx) / dx;
+			double t2 = (this.nodeBounds[n4 + 2] - sx) / dx;
+			tmin = Math.max(tmin, Math.min(t1, t2));
+			tmax = Math.min(tmax, Math.max(t1, t2));
+			if (tmin > tmax) return false;
+		}
+		// test the y slab
+		if (dy == 0.0) {
+			if (sy < this.nodeBounds[n4 + 1] || sy > this.nodeBounds[n4 + 3]) return false;
+		} else {
+			double t1 = (this.nodeBounds[n4 + 1] - sy) / dy;
+			double t2 = (this.nodeBounds[n4 + 3] - sy) / dy;
+			tmin = Math.max(tmin, Math.min(t1, t2));
+			tmax = Math.min(tmax, Math.max(t1, t2));
+			if (tmin > tmax) return false;
+		}
+		return true;
+	}
+	
+	/**
+	 * Performs a raycast against all the {@link Body}s in this snapshot.
+	 * <p>
+	 * See {@link World#raycast(Vector2, Vector2, Filter, boolean, boolean, boolean, List)}.
+	 * @param start the start point
+	 * @param end the end point
+	 * @param filter the {@link Filter} to use against the fixtures; can be null
+	 * @param ignoreSensors true if sensor {@link BodyFixture}s should be ignored
+	 * @param ignoreInactive true if inactive bodies should be ignored
+	 * @param all true if all intersected {@link Body}s should be returned; false if only the closest {@link Body} should be returned
+	 * @param results a list to contain the results of the raycast
+	 * @return boolean true if at least one {@link Body} was intersected by the {@link Ray}
+	 * @throws NullPointerException if start, end, or results is null
+	 */
+	public boolean raycast(Vector2 start, Vector2 end, Filter filter, boolean ignoreSensors, boolean ignoreInactive, boolean all, List<RaycastResult> results) {
+		// create the ray and obtain the maximum length
+		Vector2 d = start.to(end);
+		double maxLength = d.normalize();
+		Ray ray = new Ray(start, d);
+		// call the raycast method
+		return this.raycast(ray, maxLength, filter, ignoreSensors, ignoreInactive, all, results);
+	}
+	
+	/**
+	 * Performs a raycast against all the {@link Body}s in this snapshot.
+	 * <p>
+	 * See {@link World#raycast(Ray, double, Filter, boolean, boolean, boolean, List)}.
+	 * <p>
+	 * When only the closest {@link Body} is requested, the tree nodes beyond the closest
+	 * result found so far are skipped.
+	 * @param ray the {@link Ray}
+	 * @param maxLength the maximum length of the ray; 0 for infinite length
+	 * @param filter the {@link Filter} to use against the fixtures; can be null
+	 * @param ignoreSensors true if sensor {@link BodyFixture}s should be ignored
+	 * @param ignoreInactive true if inactive bodies should be ignored
+	 * @param all true if all intersected {@link Body}s should be returned; false if only the closest {@link Body} should be returned
+	 * @param results a list to contain the results of the raycast
+	 * @return boolean true if at least one {@link Body} was intersected by the given {@link Ray}
+	 * @throws NullPointerException if ray or results is null
+	 */
+	public boolean raycast(Ray ray, double maxLength, Filter filter, boolean ignoreSensors, boolean ignoreInactive, boolean all, List<RaycastResult> results) {
+		if (this.nodeLeft.length == 0) return false;
+		// check for the desired length
+		double max = 0.0;
+		if (maxLength > 0.0) {
+			max = maxLength;
+		}
+		Vector2 s = ray.getStart();
+		Vector2 d = ray.getDirectionVector();
+		RaycastResult result = new RaycastResult();
+		Raycast raycast = new Raycast();
+		boolean found = false;
+		
+		int[] stack = new int[STACK_SIZE];
+		int top = 0;
+		stack[top++] = 0;
+		while (top > 0) {
+			int node = stack[--top];
+			// skip the nodes the ray doesn't reach
+			if (!this.intersects(node, s.x, s.y, d.x, d.y, max > 0.0 ? max : Double.MAX_VALUE)) continue;
+			if (this.nodeLeft[node] >= 0) {
+				stack[top++] = this.nodeLeft[node];
+				stack[top++] = this.nodeRight[node];
+				continue;
+			}
+			int body = -this.nodeLeft[node] - 1;
+			// check for inactive
+			if (ignoreInactive && !this.active[body]) continue;
+			// test the fixtures of the body finding the closest one
+			Transform transform = this.transforms[body];
+			double bmax = max;
+			boolean bfound = false;
+			int fEnd = this.fixtureStart[body + 1];
+			for (int i = this.fixtureStart[body]; i < fEnd; i++) {
+				// check for sensor
+				if (ignoreSensors && this.sensors[i]) continue;
+				// check against the filter
+				if (filter != null && !filter.isAllowed(this.filters[i])) continue;
+				// perform the raycast
+				if (this.raycastDetector.raycast(ray, bmax, this.shapes[i], transform, raycast)) {
+					bmax = raycast.getDistance();
+					result.fixture = this.fixtures[i];
+					bfound = true;
+				}
+			}
+			if (!bfound) continue;
+			result.body = this.bodies[body];
+			result.raycast = raycast;
+			found = true;
+			if (!all) {
+				// we are only looking for the closest so set the new maximum
+				max = bmax;
+				raycast = new Raycast();
+			} else {
+				// add this result to the results
+				results.add(result);
+				result = new RaycastResult();
+				raycast = new Raycast();
+			}
+		}
+		
+		// add the closest result
+		if (!all && found) {
+			results.add(result);
+		}
+		
+		return found;
+	}
+	
+	/**
+	 * Returns true if the given {@link AABB} overlaps a {@link Body} fixture in this snapshot.
+	 * <p>
+	 * See {@link World#detect(AABB, Filter, boolean, boolean, List)}.
+	 * @param aabb the {@link AABB} in world coordinates
+	 * @param filter the {@link Filter} to use against the fixtures; can be null
+	 * @param ignoreSensors true if sensor fixtures should be ignored
+	 * @param ignoreInactive true if inactive bodies should be ignored
+	 * @param results the list of overlapping bodies and fixtures
+	 * @return boolean true if an overlap was found
+	 * @throws NullPointerException if aabb or results is null
+	 */
+	public boolean detect(AABB aabb, Filter filter, boolean ignoreSensors, boolean ignoreInactive, List<DetectResult> results) {
+		if (this.nodeLeft.length == 0) return false;
+		double minX = aabb.getMinX();
+		double minY = aabb.getMinY();
+		double maxX = aabb.getMaxX();
+		double maxY = aabb.getMaxY();
+		boolean found = false;
+		
+		int[] stack = new int[STACK_SIZE];
+		int top = 0;
+		stack[top++] = 0;
+		while (top > 0) {
+			int node = stack[--top];
+			if (!this.overlaps(node, minX, minY, maxX, maxY)) continue;
+			if (this.nodeLeft[node] >= 0) {
+				stack[top++] = this.nodeLeft[node];
+				stack[top++] = this.nodeRight[node];
+				continue;
+			}
+			int body = -this.nodeLeft[node] - 1;
+			// check for inactive
+			if (ignoreInactive && !this.active[body]) continue;
+			// check the body's fixtures next
+			Transform transform = this.transforms[body];
+			int fEnd = this.fixtureStart[body + 1];
+			for (int i = this.fixtureStart[body]; i < fEnd; i++) {
+				// test for sensors
+				if (ignoreSensors && this.sensors[i]) continue;
+				// test the filter
+				if (filter != null && !filter.isAllowed(this.filters[i])) continue;
+				// test the fixture aabb
+				AABB faabb = this.shapes[i].createAABB(transform);
+				if (aabb.overlaps(faabb)) {
+					// add this fixture to the results list
+					DetectResult result = new DetectResult();
+					result.body = this.bodies[body];
+					result.fixture = this.fixtures[i];
+					results.add(result);
+					found = true;
+				}
+			}
+		}
+		
+		return found;
+	}
+	
+	/**
+	 * Returns true if the given {@link Convex} overlaps a {@link Body} fixture in this snapshot.
+	 * <p>
+	 * See {@link World#detect(Convex, Transform, Filter, boolean, boolean, boolean, List)}.
+	 * @param convex the convex shape in local coordinates
+	 * @param transform the convex shape's world {@link Transform}
+	 * @param filter the {@link Filter} to use against the fixtures; can be null
+	 * @param ignoreSensors true if sensor fixtures should be ignored
+	 * @param ignoreInactive true if inactive bodies should be ignored
+	 * @param includeCollisionData true if the overlap {@link Penetration} should be returned
+	 * @param results the list of overlapping bodies and fixtures
+	 * @return boolean true if an overlap was found
+	 * @throws NullPointerException if convex, transform, or results is null
+	 */
+	public boolean detect(Convex convex, Transform transform, Filter filter, boolean ignoreSensors, boolean ignoreInactive, boolean includeCollisionData, List<DetectResult> results) {
+		if (this.nodeLeft.length == 0) return false;
+		// create an aabb for the given convex
+		AABB aabb = convex.createAABB(transform);
+		double minX = aabb.getMinX();
+		double minY = aabb.getMinY();
+		double maxX = aabb.getMaxX();
+		double maxY = aabb.getMaxY();
+		boolean found = false;
+		
+		int[] stack = new int[STACK_SIZE];
+		int top = 0;
+		stack[top++] = 0;
+		while (top > 0) {
+			int node = stack[--top];
+			if (!this.overlaps(node, minX, minY, maxX, maxY)) continue;
+			if (this.nodeLeft[node] >= 0) {
+				stack[top++] = this.nodeLeft[node];
+				stack[top++] = this.nodeRight[node];
+				continue;
+			}
+			int body = -this.nodeLeft[node] - 1;
+			// check for inactive
+			if (ignoreInactive && !this.active[body]) continue;
+			// test all the fixtures
+			Transform bt = this.transforms[body];
+			int fEnd = this.fixtureStart[body + 1];
+			for (int i = this.fixtureStart[body]; i < fEnd; i++) {
+				// check against the sensor flag
+				if (ignoreSensors && this.sensors[i]) continue;
+				// check against the filter if given
+				if (filter != null && !this.filters[i].isAllowed(filter)) continue;
+				// should we use the fast method or the one that returns the collision info
+				boolean collision = false;
+				Penetration penetration = (includeCollisionData ? new Penetration() : null);
+				if (includeCollisionData) {
+					collision = this.narrowphaseDetector.detect(convex, transform, this.shapes[i], bt, penetration);
+				} else {
+					collision = this.narrowphaseDetector.detect(convex, transform, this.shapes[i], bt);
+				}
+				if (collision) {
+					// add this fixture to the results list
+					DetectResult result = new DetectResult();
+					result.body = this.bodies[body];
+					result.fixture = this.fixtures[i];
+					result.penetration = penetration;
+					results.add(result);
+					found = true;
+				}
+			}
+		}
+		
+		return found;
+	}
+	
+	/**
+	 * Performs a linear convex cast against the {@link Body}s in this snapshot.
+	 * <p>
+	 * See {@link World#convexCast(Convex, Transform, Vector2, double, Filter, boolean, boolean, boolean, List)}.
+	 * @param convex the convex to cast
+	 * @param transform the initial position and orientation of the convex
+	 * @param deltaPosition &Delta;position; the change in position (the cast length and direction basically)
+	 * @param deltaAngle &Delta;angle; the change in the angle; this is the change in the angle over the linear period
+	 * @param filter the {@link Filter} to use against the fixtures; can be null
+	 * @param ignoreSensors true if sensor fixtures should be ignored in the tests
+	 * @param ignoreInactive true if inactive bodies should be ignored in the tests
+	 * @param all true if all hits should be returned; false if only the first should be returned
+	 * @param results the list to add the results to
+	 * @return boolean true if a collision was found
+	 * @throws NullPointerException if convex, transform, deltaPosition, or results is null
+	 */
+	public boolean convexCast(Convex convex, Transform transform, Vector2 deltaPosition, double deltaAngle, Filter filter, boolean ignoreSensors, boolean ignoreInactive, boolean all, List<ConvexCastResult> results) {
+		if (this.nodeLeft.length == 0) return false;
+		// compute a conservative AABB for the motion of the convex
+		double radius = convex.getRadius();
+		Vector2 startWorldCenter = transform.getTransformed(convex.getCenter());
+		AABB startAABB = new AABB(startWorldCenter, radius);
+		// linearly interpolate to get the final transform given the
+		// change in position and angle
+		Transform finalTransform = transform.lerped(deltaPosition, deltaAngle, 1.0);
+		// get the end AABB
+		Vector2 endWorldCenter = finalTransform.getTransformed(convex.getCenter());
+		AABB endAABB = new AABB(endWorldCenter, radius);
+		// union the AABBs to get the swept AABB
+		AABB aabb = startAABB.getUnion(endAABB);
+		double minX = aabb.getMinX();
+		double minY = aabb.getMinY();
+		double maxX = aabb.getMaxX();
+		double maxY = aabb.getMaxY();
+		
+		ConvexCastResult min = null;
+		final Vector2 dp2 = new Vector2();
+		double t2 = 1.0;
+		boolean found = false;
+		
+		int[] stack = new int[STACK_SIZE];
+		int top = 0;
+		stack[top++] = 0;
+		while (top > 0) {
+			int node = stack[--top];
+			if (!this.overlaps(node, minX, minY, maxX, maxY)) continue;
+			if (this.nodeLeft[node] >= 0) {
+				stack[top++] = this.nodeLeft[node];
+				stack[top++] = this.nodeRight[node];
+				continue;
+			}
+			int body = -this.nodeLeft[node] - 1;
+			// check for inactive bodies
+			if (ignoreInactive && !this.active[body]) continue;
+			
+			// find the fixture with the minimum time of impact
+			double ft2 = t2;
+			TimeOfImpact bodyMinToi = null;
+			BodyFixture bodyMinFixture = null;
+			Transform bodyTransform = this.transforms[body];
+			int fEnd = this.fixtureStart[body + 1];
+			for (int i = this.fixtureStart[body]; i < fEnd; i++) {
+				// filter out sensors if desired
+				if (ignoreSensors && this.sensors[i]) continue;
+				// check the filter
+				if (filter != null && !filter.isAllowed(this.filters[i])) continue;
+				// get the time of impact assuming the body is not moving
+				TimeOfImpact toi = new TimeOfImpact();
+				if (this.timeOfImpactDetector.getTimeOfImpact(convex, transform, deltaPosition, deltaAngle, this.shapes[i], bodyTransform, dp2, 0.0, 0.0, ft2, toi)) {
+					// only save the minimum for the body
+					if (bodyMinToi == null || toi.getTime() < bodyMinToi.getTime()) {
+						ft2 = toi.getTime();
+						bodyMinToi = toi;
+						bodyMinFixture = this.fixtures[i];
+					}
+				}
+			}
+			if (bodyMinToi != null) {
+				if (!all) {
+					t2 = bodyMinToi.getTime();
+					if (min == null) {
+						min = new ConvexCastResult();
+					}
+					// just reassign the minimums data
+					min.timeOfImpact = bodyMinToi;
+					min.fixture = bodyMinFixture;
+					min.body = this.bodies[body];
+				} else {
+					ConvexCastResult result = new ConvexCastResult();
+					result.timeOfImpact = bodyMinToi;
+					result.fixture = bodyMinFixture;
+					result.body = this.bodies[body];
+					results.add(result);
+				}
+				found = true;
+			}
+		}
+		
+		if (min != null) {
+			results.add(min);
+		}
+		
+		return found;
+	}
+	
+	/**
+	 * Returns the number of {@link Body}s in this snapshot.
+	 * @return int
+	 */
+	public int getBodyCount() {
+		return this.bodies.length;
+	}
+	
+	/**
+	 * Returns the {@link Body} at the given index.
+	 * <p>
+	 * The index is the index of the {@link Body} in its {@link World} when this snapshot was created.
+	 * @param index the index
+	 * @return {@link Body}
+	 * @throws IndexOutOfBoundsException if index is out of bounds
+	 */
+	public Body getBody(int index) {
+		return this.bodies[index];
+	}
+	
+	/**
+	 * Returns a copy of the {@link Transform} of the {@link Body} at the given index.
+	 * @param index the index
+	 * @return {@link Transform}
+	 * @throws IndexOutOfBoundsException if index is out of bounds
+	 */
+	public Transform getTransform(int index) {
+		return this.transforms[index].copy();
+	}
+	
+	/**
+	 * Returns a new {@link AABB} of the {@link Body} at the given index.
+	 * @param index the index
+	 * @return {@link AABB}
+	 * @throws IndexOutOfBoundsException if index is out of bounds
+	 */
+	public AABB getAABB(int index) {
+		int i4 = index * 4;
+		return new AABB(this.aabbs[i4], this.aabbs[i4 + 1], this.aabbs[i4 + 2], this.aabbs[i4 + 3]);
+	}
+	
+	/**
+	 * Returns true if the {@link Body} at the given index was active.
+	 * @param index the index
+	 * @return boolean
+	 * @throws IndexOutOfBoundsException if index is out of bounds
+	 */
+	public boolean isActive(int index) {
+		return this.active[index];
+	}
+}
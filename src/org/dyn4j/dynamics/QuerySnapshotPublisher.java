@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2010-2014 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.dynamics;
+
+/**
+ * Publishes a new {@link QuerySnapshot} of a {@link World} at the end of every step.
+ * <p>
+ * Register the publisher with a {@link World} using the {@link World#addListener(org.dyn4j.Listener)}
+ * method.  Other threads can then call the {@link #getSnapshot()} method at any time to obtain the 
+ * snapshot of the last completed step and query it without locking, even while the {@link World}
+ * is being stepped.
+ * <p>
+ * Snapshots are immutable.  Each step publishes a new snapshot by replacing the reference to the
+ * previous one, so a thread that obtained the previous snapshot can safely keep using it until it's
+ * done.
+ * <p>
+ * The {@link #publish(World)} method can be called directly (from the thread that steps the {@link World})
+ * to publish a snapshot at other times, after adding bodies for example.
+ * @author William Bittle
+ * @version 3.2.0
+ * @since 3.2.0
+ */
+public class QuerySnapshotPublisher implements StepListener {
+	/** The last published snapshot */
+	protected volatile QuerySnapshot snapshot;
+	
+	/**
+	 * Default constructor.
+	 * <p>
+	 * No snapshot is available until the first step or call to {@link #publish(World)}.
+	 */
+	public QuerySnapshotPublisher() {
+		this.snapshot = null;
+	}
+	
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("QuerySnapshotPublisher[Snapshot=").append(this.snapshot)
+		.append("]");
+		return sb.toString();
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.StepListener#begin(org.dyn4j.dynamics.Step, org.dyn4j.dynamics.World)
+	 */
+	@Override
+	public void begin(Step step, World world) {}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.StepListener#updatePerformed(org.dyn4j.dynamics.Step, org.dyn4j.dynamics.World)
+	 */
+	@Override
+	public void updatePerformed(Step step, World world) {}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.StepListener#end(org.dyn4j.dynamics.Step, org.dyn4j.dynamics.World)
+	 */
+	@Override
+	public void end(Step step, World world) {
+		this.publish(world);
+	}
+	
+	/**
+	 * Creates and publishes a new snapshot of the given {@link World}.
+	 * <p>
+	 * Must be called from the thread that steps the {@link World}.
+	 * @param world the {@link World}
+	 * @return {@link QuerySnapshot} the published snapshot
+	 */
+	public QuerySnapshot publish(World world) {
+		QuerySnapshot snapshot = new QuerySnapshot(world);
+		this.snapshot = snapshot;
+		return snapshot;
+	}
+	
+	/**
+	 * Returns the last published snapshot.
+	 * <p>
+	 * This method can be called from any thread.
+	 * @return {@link QuerySnapshot} the snapshot; null if nothing has been published yet
+	 */
+	public QuerySnapshot getSnapshot() {
+		return this.snapshot;
+	}
+}
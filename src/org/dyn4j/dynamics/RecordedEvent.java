@@ -0,0 +1,302 @@
+/*
+ * Copyright (c) 2010-2014 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.dynamics;
+
+import org.dyn4j.dynamics.joint.Joint;
+
+/**
+ * Represents an event recorded by an {@link EventRecorder}.
+ * <p>
+ * The values that apply depend on the event type.  Contact events populate the bodies,
+ * fixtures, point, normal, depth, and impulses.  Bounds and body destruction events only 
+ * populate the first body.  Joint destruction events populate the joint and its bodies.  
+ * Time of impact events populate the bodies, fixtures and time.  Step end events populate 
+ * the time with the elapsed time of the step.
+ * <p>
+ * The {@link Body}s, {@link BodyFixture}s and {@link Joint}s are references to the live 
+ * objects and may be modified by the simulation thread while the event is consumed.
+ * @author William Bittle
+ * @version 3.2.0
+ * @since 3.2.0
+ */
+public class RecordedEvent {
+	/** Contact sensed event type */
+	public static final int CONTACT_SENSED = 1;
+	
+	/** Contact begin event type */
+	public static final int CONTACT_BEGIN = 2;
+	
+	/** Contact persist event type */
+	public static final int CONTACT_PERSIST = 4;
+	
+	/** Contact end event type */
+	public static final int CONTACT_END = 8;
+	
+	/** Contact post solve event type */
+	public static final int CONTACT_POST_SOLVE = 16;
+	
+	/** Body outside of the bounds event type */
+	public static final int BOUNDS = 32;
+	
+	/** Body destroyed event type */
+	public static final int DESTROYED_BODY = 64;
+	
+	/** Joint destroyed event type */
+	public static final int DESTROYED_JOINT = 128;
+	
+	/** Contact destroyed event type */
+	public static final int DESTROYED_CONTACT = 256;
+	
+	/** Time of impact event type */
+	public static final int TIME_OF_IMPACT = 512;
+	
+	/** Step end event type */
+	public static final int STEP_END = 1024;
+	
+	/** All contact event types */
+	public static final int CONTACT = CONTACT_SENSED | CONTACT_BEGIN | CONTACT_PERSIST | CONTACT_END | CONTACT_POST_SOLVE;
+	
+	/** All event types */
+	public static final int ALL = CONTACT | BOUNDS | DESTROYED_BODY | DESTROYED_JOINT | DESTROYED_CONTACT | TIME_OF_IMPACT | STEP_END;
+	
+	/** The event type */
+	protected int type;
+	
+	/** The first body */
+	protected Body body1;
+	
+	/** The first body's fixture */
+	protected BodyFixture fixture1;
+	
+	/** The second body */
+	protected Body body2;
+	
+	/** The second body's fixture */
+	protected BodyFixture fixture2;
+	
+	/** The joint */
+	protected Joint joint;
+	
+	/** The x coordinate of the world space point */
+	protected double pointX;
+	
+	/** The y coordinate of the world space point */
+	protected double pointY;
+	
+	/** The x component of the normal */
+	protected double normalX;
+	
+	/** The y component of the normal */
+	protected double normalY;
+	
+	/** The penetration depth */
+	protected double depth;
+	
+	/** The accumulated normal impulse */
+	protected double normalImpulse;
+	
+	/** The accumulated tangential impulse */
+	protected double tangentialImpulse;
+	
+	/** The time of impact or the step's elapsed time */
+	protected double time;
+	
+	/**
+	 * Default constructor.
+	 */
+	public RecordedEvent() {}
+	
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("RecordedEvent[Type=").append(this.type)
+		.append("|Body1=").append(this.body1 == null ? null : this.body1.getId())
+		.append("|Body2=").append(this.body2 == null ? null : this.body2.getId())
+		.append("|Point={").append(this.pointX).append(", ").append(this.pointY).append("}")
+		.append("|Normal={").append(this.normalX).append(", ").append(this.normalY).append("}")
+		.append("|Depth=").append(this.depth)
+		.append("|NormalImpulse=").append(this.normalImpulse)
+		.append("|TangentialImpulse=").append(this.tangentialImpulse)
+		.append("|Time=").append(this.time)
+		.append("]");
+		return sb.toString();
+	}
+	
+	/**
+	 * Copies the given event to this event.
+	 * @param event the event to copy
+	 */
+	public void set(RecordedEvent event) {
+		this.type = event.type;
+		this.body1 = event.body1;
+		this.fixture1 = event.fixture1;
+		this.body2 = event.body2;
+		this.fixture2 = event.fixture2;
+		this.joint = event.joint;
+		this.pointX = event.pointX;
+		this.pointY = event.pointY;
+		this.normalX = event.normalX;
+		this.normalY = event.normalY;
+		this.depth = event.depth;
+		this.normalImpulse = event.normalImpulse;
+		this.tangentialImpulse = event.tangentialImpulse;
+		this.time = event.time;
+	}
+	
+	/**
+	 * Clears this event, releasing any references.
+	 */
+	public void clear() {
+		this.type = 0;
+		this.body1 = null;
+		this.fixture1 = null;
+		this.body2 = null;
+		this.fixture2 = null;
+		this.joint = null;
+		this.pointX = 0.0;
+		this.pointY = 0.0;
+		this.normalX = 0.0;
+		this.normalY = 0.0;
+		this.depth = 0.0;
+		this.normalImpulse = 0.0;
+		this.tangentialImpulse = 0.0;
+		this.time = 0.0;
+	}
+	
+	/**
+	 * Returns the event type.
+	 * @return int
+	 */
+	public int getType() {
+		return this.type;
+	}
+	
+	/**
+	 * Returns the first body.
+	 * @return {@link Body}
+	 */
+	public Body getBody1() {
+		return this.body1;
+	}
+	
+	/**
+	 * Returns the first body's fixture.
+	 * @return {@link BodyFixture}
+	 */
+	public BodyFixture getFixture1() {
+		return this.fixture1;
+	}
+	
+	/**
+	 * Returns the second body.
+	 * @return {@link Body}
+	 */
+	public Body getBody2() {
+		return this.body2;
+	}
+	
+	/**
+	 * Returns the second body's fixture.
+	 * @return {@link BodyFixture}
+	 */
+	public BodyFixture getFixture2() {
+		return this.fixture2;
+	}
+	
+	/**
+	 * Returns the joint.
+	 * @return {@link Joint}
+	 */
+	public Joint getJoint() {
+		return this.joint;
+	}
+	
+	/**
+	 * Returns the x coordinate of the world space point.
+	 * @return double
+	 */
+	public double getPointX() {
+		return this.pointX;
+	}
+	
+	/**
+	 * Returns the y coordinate of the world space point.
+	 * @return double
+	 */
+	public double getPointY() {
+		return this.pointY;
+	}
+	
+	/**
+	 * Returns the x component of the normal.
+	 * @return double
+	 */
+	public double getNormalX() {
+		return this.normalX;
+	}
+	
+	/**
+	 * Returns the y component of the normal.
+	 * @return double
+	 */
+	public double getNormalY() {
+		return this.normalY;
+	}
+	
+	/**
+	 * Returns the penetration depth.
+	 * @return double
+	 */
+	public double getDepth() {
+		return this.depth;
+	}
+	
+	/**
+	 * Returns the accumulated normal impulse.
+	 * @return double
+	 */
+	public double getNormalImpulse() {
+		return this.normalImpulse;
+	}
+	
+	/**
+	 * Returns the accumulated tangential impulse.
+	 * @return double
+	 */
+	public double getTangentialImpulse() {
+		return this.tangentialImpulse;
+	}
+	
+	/**
+	 * Returns the time of impact or the elapsed time of the step.
+	 * @return double
+	 */
+	public double getTime() {
+		return this.time;
+	}
+}
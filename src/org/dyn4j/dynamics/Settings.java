@@ -29,7 +29,7 @@ import org.dyn4j.resources.Messages;
 /**
  * Responsible for housing all of the dynamics engine's settings.
  * @author William Bittle
- * @version 3.1.1
+ * @version 3.2.0
  * @since 1.0.0
  */
 public class Settings {
@@ -107,6 +107,27 @@ public class Settings {
 	/** The default baumgarte */
 	public static final double DEFAULT_BAUMGARTE = 0.2;
 	
+	/** The default manifold cache linear tolerance; in meters */
+	public static final double DEFAULT_MANIFOLD_CACHE_LINEAR_TOLERANCE = 1.0e-3;
+	
+	/** The default manifold cache angular tolerance; in radians */
+	public static final double DEFAULT_MANIFOLD_CACHE_ANGULAR_TOLERANCE = Math.toRadians(0.1);
+	
+	/** The default minimum number of constraints in an island to solve in parallel */
+	public static final int DEFAULT_PARALLEL_SOLVER_THRESHOLD = 256;
+	
+	/** The default number of sub-steps; 1 disables sub-stepping */
+	public static final int DEFAULT_SUB_STEP_COUNT = 1;
+	
+	/** The default contact spring frequency used when sub-stepping; in hertz */
+	public static final double DEFAULT_CONTACT_SPRING_FREQUENCY = 30.0;
+	
+	/** The default contact damping ratio used when sub-stepping */
+	public static final double DEFAULT_CONTACT_DAMPING_RATIO = 10.0;
+	
+	/** The default maximum number of contact points per group of parallel contacts between a body pair */
+	public static final int DEFAULT_CONTACT_REDUCTION_POINT_COUNT = 4;
+	
 	/** The step frequency of the dynamics engine */
 	private double stepFrequency = Settings.DEFAULT_STEP_FREQUENCY;
 	
@@ -188,6 +209,45 @@ public class Settings {
 	/** The continuous collision detection flag */
 	private ContinuousDetectionMode continuousDetectionMode = ContinuousDetectionMode.ALL;
 	
+	/** Whether the world space geometry of fixtures is cached */
+	private boolean geometryCacheEnabled = false;
+	
+	/** Whether the manifolds of colliding fixtures are reused while their relative transform is unchanged */
+	private boolean manifoldCacheEnabled = false;
+	
+	/** The change in relative translation allowed before a cached manifold is recomputed */
+	private double manifoldCacheLinearTolerance = Settings.DEFAULT_MANIFOLD_CACHE_LINEAR_TOLERANCE;
+	
+	/** The change in relative rotation allowed before a cached manifold is recomputed */
+	private double manifoldCacheAngularTolerance = Settings.DEFAULT_MANIFOLD_CACHE_ANGULAR_TOLERANCE;
+	
+	/** The number of threads used to solve the constraints of large islands */
+	private int parallelSolverThreadCount = 1;
+	
+	/** The minimum number of constraints in an island to solve in parallel */
+	private int parallelSolverThreshold = Settings.DEFAULT_PARALLEL_SOLVER_THRESHOLD;
+	
+	/** The change in accumulated impulse below which the velocity solver stops iterating; zero to disable */
+	private double velocityConstraintSolverTolerance = 0.0;
+	
+	/** Whether the velocity iterations of the contacts use the batch solver */
+	private boolean batchContactSolverEnabled = false;
+	
+	/** The number of sub-steps each time step is divided into */
+	private int subStepCount = Settings.DEFAULT_SUB_STEP_COUNT;
+	
+	/** The frequency of the soft contact constraints used when sub-stepping */
+	private double contactSpringFrequency = Settings.DEFAULT_CONTACT_SPRING_FREQUENCY;
+	
+	/** The damping ratio of the soft contact constraints used when sub-stepping */
+	private double contactDampingRatio = Settings.DEFAULT_CONTACT_DAMPING_RATIO;
+	
+	/** Whether the contact points between body pairs are reduced */
+	private boolean contactReductionEnabled = false;
+	
+	/** The maximum number of contact points per group of parallel contacts between a body pair */
+	private int contactReductionPointCount = Settings.DEFAULT_CONTACT_REDUCTION_POINT_COUNT;
+	
 	/** Default constructor */
 	public Settings() {}
 	
@@ -214,6 +274,19 @@ public class Settings {
 		.append("|MaximumAngularCorrection=").append(this.maximumAngularCorrection)
 		.append("|Baumgarte=").append(this.baumgarte)
 		.append("|ContinuousDetectionMode=").append(this.continuousDetectionMode)
+		.append("|GeometryCacheEnabled=").append(this.geometryCacheEnabled)
+		.append("|ManifoldCacheEnabled=").append(this.manifoldCacheEnabled)
+		.append("|ManifoldCacheLinearTolerance=").append(this.manifoldCacheLinearTolerance)
+		.append("|ManifoldCacheAngularTolerance=").append(this.manifoldCacheAngularTolerance)
+		.append("|ParallelSolverThreadCount=").append(this.parallelSolverThreadCount)
+		.append("|ParallelSolverThreshold=").append(this.parallelSolverThreshold)
+		.append("|VelocityConstraintSolverTolerance=").append(this.velocityConstraintSolverTolerance)
+		.append("|BatchContactSolverEnabled=").append(this.batchContactSolverEnabled)
+		.append("|SubStepCount=").append(this.subStepCount)
+		.append("|ContactSpringFrequency=").append(this.contactSpringFrequency)
+		.append("|ContactDampingRatio=").append(this.contactDampingRatio)
+		.append("|ContactReductionEnabled=").append(this.contactReductionEnabled)
+		.append("|ContactReductionPointCount=").append(this.contactReductionPointCount)
 		.append("]");
 		return sb.toString();
 	}
@@ -247,6 +320,19 @@ public class Settings {
 		this.angularToleranceSquared = Settings.DEFAULT_ANGULAR_TOLERANCE * Settings.DEFAULT_ANGULAR_TOLERANCE;
 		this.baumgarte = Settings.DEFAULT_BAUMGARTE;
 		this.continuousDetectionMode = ContinuousDetectionMode.ALL;
+		this.geometryCacheEnabled = false;
+		this.manifoldCacheEnabled = false;
+		this.manifoldCacheLinearTolerance = Settings.DEFAULT_MANIFOLD_CACHE_LINEAR_TOLERANCE;
+		this.manifoldCacheAngularTolerance = Settings.DEFAULT_MANIFOLD_CACHE_ANGULAR_TOLERANCE;
+		this.parallelSolverThreadCount = 1;
+		this.parallelSolverThreshold = Settings.DEFAULT_PARALLEL_SOLVER_THRESHOLD;
+		this.velocityConstraintSolverTolerance = 0.0;
+		this.batchContactSolverEnabled = false;
+		this.subStepCount = Settings.DEFAULT_SUB_STEP_COUNT;
+		this.contactSpringFrequency = Settings.DEFAULT_CONTACT_SPRING_FREQUENCY;
+		this.contactDampingRatio = Settings.DEFAULT_CONTACT_DAMPING_RATIO;
+		this.contactReductionEnabled = false;
+		this.contactReductionPointCount = Settings.DEFAULT_CONTACT_REDUCTION_POINT_COUNT;
 	}
 	
 	/**
@@ -748,4 +834,381 @@ public class Settings {
 		// set the mode
 		this.continuousDetectionMode = mode;
 	}
+	
+	/**
+	 * Returns true if the world space geometry of fixtures is cached.
+	 * @return boolean
+	 * @since 3.2.0
+	 * @see #setGeometryCacheEnabled(boolean)
+	 */
+	public boolean isGeometryCacheEnabled() {
+		return this.geometryCacheEnabled;
+	}
+	
+	/**
+	 * Toggles the caching of the world space geometry of fixtures.
+	 * <p>
+	 * When enabled, the vertices, normals and {@link org.dyn4j.geometry.AABB} of each fixture 
+	 * are transformed into world space at most once per step (only when the body's transform
+	 * has changed) and reused by the collision detection and raycasting.  This trades memory
+	 * for speed when a fixture is tested against many others.
+	 * <p>
+	 * Shapes modified after being added to a body must have their cache invalidated by calling the
+	 * {@link org.dyn4j.collision.Fixture#invalidateWorldGeometry()} method.
+	 * <p>
+	 * Defaults to false.
+	 * @param flag true if the geometry should be cached
+	 * @since 3.2.0
+	 */
+	public void setGeometryCacheEnabled(boolean flag) {
+		this.geometryCacheEnabled = flag;
+	}
+	
+	/**
+	 * Returns true if the manifolds of colliding fixtures are reused while their
+	 * relative transform is unchanged.
+	 * @return boolean
+	 * @since 3.2.0
+	 * @see #setManifoldCacheEnabled(boolean)
+	 */
+	public boolean isManifoldCacheEnabled() {
+		return this.manifoldCacheEnabled;
+	}
+	
+	/**
+	 * Toggles the reuse of the penetration and manifold of colliding fixtures.
+	 * <p>
+	 * When enabled, the penetration and manifold of each colliding fixture pair are stored 
+	 * along with the relative transform of the bodies.  The narrow-phase and manifold solver are
+	 * skipped in later steps while the relative transform stays within the manifold cache linear 
+	 * and angular tolerances; the stored values are re-projected into world space instead.  This
+	 * greatly reduces the cost of resting contact.
+	 * <p>
+	 * Defaults to false.
+	 * @param flag true if manifolds should be reused
+	 * @since 3.2.0
+	 * @see #setManifoldCacheLinearTolerance(double)
+	 * @see #setManifoldCacheAngularTolerance(double)
+	 */
+	public void setManifoldCacheEnabled(boolean flag) {
+		this.manifoldCacheEnabled = flag;
+	}
+	
+	/**
+	 * Returns the change in relative translation allowed before a cached manifold is recomputed.
+	 * @return double
+	 * @since 3.2.0
+	 * @see #setManifoldCacheLinearTolerance(double)
+	 */
+	public double getManifoldCacheLinearTolerance() {
+		return this.manifoldCacheLinearTolerance;
+	}
+	
+	/**
+	 * Sets the change in relative translation allowed before a cached manifold is recomputed.
+	 * <p>
+	 * Valid values are in the range [0, &infin;] meters
+	 * @param tolerance the linear tolerance
+	 * @throws IllegalArgumentException if tolerance is less than zero
+	 * @since 3.2.0
+	 */
+	public void setManifoldCacheLinearTolerance(double tolerance) {
+		if (tolerance < 0) throw new IllegalArgumentException(Messages.getString("dynamics.settings.invalidManifoldCacheLinearTolerance"));
+		this.manifoldCacheLinearTolerance = tolerance;
+	}
+	
+	/**
+	 * Returns the change in relative rotation allowed before a cached manifold is recomputed.
+	 * @return double
+	 * @since 3.2.0
+	 * @see #setManifoldCacheAngularTolerance(double)
+	 */
+	public double getManifoldCacheAngularTolerance() {
+		return this.manifoldCacheAngularTolerance;
+	}
+	
+	/**
+	 * Sets the change in relative rotation allowed before a cached manifold is recomputed.
+	 * <p>
+	 * Valid values are in the range [0, &infin;] radians
+	 * @param tolerance the angular tolerance
+	 * @throws IllegalArgumentException if tolerance is less than zero
+	 * @since 3.2.0
+	 */
+	public void setManifoldCacheAngularTolerance(double tolerance) {
+		if (tolerance < 0) throw new IllegalArgumentException(Messages.getString("dynamics.settings.invalidManifoldCacheAngularTolerance"));
+		this.manifoldCacheAngularTolerance = tolerance;
+	}
+	
+	/**
+	 * Returns the number of threads used to solve the constraints of large islands.
+	 * @return int
+	 * @since 3.2.0
+	 * @see #setParallelSolverThreadCount(int)
+	 */
+	public int getParallelSolverThreadCount() {
+		return this.parallelSolverThreadCount;
+	}
+	
+	/**
+	 * Sets the number of threads used to solve the constraints of large islands.
+	 * <p>
+	 * When greater than one, the contact constraints and joints of islands with at least
+	 * the parallel solver threshold number of constraints are colored so that no two
+	 * constraints of the same color share a dynamic {@link Body}.  Each color is then solved
+	 * in parallel on every velocity and position iteration.  The solution is the same as
+	 * the sequential solver up to the order in which the constraints are solved.
+	 * <p>
+	 * The calling thread is used as one of the threads.  Listeners of joints and contacts 
+	 * are not called from the solver threads.
+	 * <p>
+	 * Defaults to 1 (parallel solving disabled).
+	 * @param count the number of threads; 1 or greater
+	 * @throws IllegalArgumentException if count is less than 1
+	 * @since 3.2.0
+	 * @see #setParallelSolverThreshold(int)
+	 */
+	public void setParallelSolverThreadCount(int count) {
+		if (count < 1) throw new IllegalArgumentException(Messages.getString("dynamics.settings.invalidParallelSolverThreadCount"));
+		this.parallelSolverThreadCount = count;
+	}
+	
+	/**
+	 * Returns the minimum number of constraints in an island to solve in parallel.
+	 * @return int
+	 * @since 3.2.0
+	 * @see #setParallelSolverThreshold(int)
+	 */
+	public int getParallelSolverThreshold() {
+		return this.parallelSolverThreshold;
+	}
+	
+	/**
+	 * Sets the minimum number of constraints (contact constraints and joints) in an island 
+	 * to solve in parallel.
+	 * <p>
+	 * Smaller islands are solved sequentially since the cost of coloring and synchronization
+	 * outweighs the benefit.
+	 * @param threshold the minimum number of constraints; zero or greater
+	 * @throws IllegalArgumentException if threshold is less than zero
+	 * @since 3.2.0
+	 * @see #setParallelSolverThreadCount(int)
+	 */
+	public void setParallelSolverThreshold(int threshold) {
+		if (threshold < 0) throw new IllegalArgumentException(Messages.getString("dynamics.settings.invalidParallelSolverThreshold"));
+		this.parallelSolverThreshold = threshold;
+	}
+	
+	/**
+	 * Returns the number of sub-steps each time step is divided into.
+	 * @return int
+	 * @since 3.2.0
+	 * @see #setSubStepCount(int)
+	 */
+	public int getSubStepCount() {
+		return this.subStepCount;
+	}
+	
+	/**
+	 * Sets the number of sub-steps each time step is divided into.
+	 * <p>
+	 * When greater than one, islands are solved using sub-stepping instead of the
+	 * iterative velocity and position solvers.  The time step is divided into the given 
+	 * number of sub-steps where each sub-step integrates the velocities, performs a single 
+	 * velocity iteration using soft contact constraints, integrates the positions and then 
+	 * performs a single relaxation iteration.  The number of velocity and position solver
+	 * iterations are ignored for contacts in this mode.
+	 * <p>
+	 * Sub-stepping typically provides more stable stacking and stiffer joint chains than 
+	 * increasing the number of solver iterations at the same cost.
+	 * <p>
+	 * {@link org.dyn4j.dynamics.joint.Joint}s are solved once per sub-step and their position
+	 * constraints are solved after the last sub-step.  Islands are solved sequentially in 
+	 * this mode regardless of the parallel solver thread count.
+	 * <p>
+	 * Defaults to 1 (sub-stepping disabled).
+	 * @param count the number of sub-steps; 1 or greater
+	 * @throws IllegalArgumentException if count is less than 1
+	 * @since 3.2.0
+	 * @see #setContactSpringFrequency(double)
+	 * @see #setContactDampingRatio(double)
+	 */
+	public void setSubStepCount(int count) {
+		if (count < 1) throw new IllegalArgumentException(Messages.getString("dynamics.settings.invalidSubStepCount"));
+		this.subStepCount = count;
+	}
+	
+	/**
+	 * Returns the frequency of the soft contact constraints used when sub-stepping.
+	 * @return double
+	 * @since 3.2.0
+	 * @see #setContactSpringFrequency(double)
+	 */
+	public double getContactSpringFrequency() {
+		return this.contactSpringFrequency;
+	}
+	
+	/**
+	 * Sets the frequency of the soft contact constraints used when sub-stepping.
+	 * <p>
+	 * Higher values resolve penetration faster.  The frequency used is limited to
+	 * a quarter of the sub-step frequency to remain stable.
+	 * <p>
+	 * Valid values are in the range (0, &infin;] hertz.
+	 * @param frequency the frequency in hertz
+	 * @throws IllegalArgumentException if frequency is less than or equal to zero
+	 * @since 3.2.0
+	 * @see #setSubStepCount(int)
+	 */
+	public void setContactSpringFrequency(double frequency) {
+		if (frequency <= 0.0) throw new IllegalArgumentException(Messages.getString("dynamics.settings.invalidContactSpringFrequency"));
+		this.contactSpringFrequency = frequency;
+	}
+	
+	/**
+	 * Returns the damping ratio of the soft contact constraints used when sub-stepping.
+	 * @return double
+	 * @since 3.2.0
+	 * @see #setContactDampingRatio(double)
+	 */
+	public double getContactDampingRatio() {
+		return this.contactDampingRatio;
+	}
+	
+	/**
+	 * Sets the damping ratio of the soft contact constraints used when sub-stepping.
+	 * <p>
+	 * Large values (heavily over-damped) avoid bouncing when resolving penetration.
+	 * <p>
+	 * Valid values are in the range [0, &infin;].
+	 * @param ratio the damping ratio
+	 * @throws IllegalArgumentException if ratio is less than zero
+	 * @since 3.2.0
+	 * @see #setSubStepCount(int)
+	 */
+	public void setContactDampingRatio(double ratio) {
+		if (ratio < 0.0) throw new IllegalArgumentException(Messages.getString("dynamics.settings.invalidContactDampingRatio"));
+		this.contactDampingRatio = ratio;
+	}
+	
+	/**
+	 * Returns the change in accumulated impulse below which the velocity solver stops iterating.
+	 * @return double
+	 * @since 3.2.0
+	 * @see #setVelocityConstraintSolverTolerance(double)
+	 */
+	public double getVelocityConstraintSolverTolerance() {
+		return this.velocityConstraintSolverTolerance;
+	}
+	
+	/**
+	 * Sets the change in accumulated impulse below which the velocity solver stops iterating.
+	 * <p>
+	 * When greater than zero, the largest change in accumulated impulse of the contacts (and the 
+	 * largest change in momentum of the bodies if the island contains joints) is measured after 
+	 * each velocity iteration.  The velocity solver stops once this is less than or equal to the 
+	 * tolerance rather than always performing the velocity constraint solver iterations, which 
+	 * becomes the maximum number of iterations.  Small or resting islands typically converge 
+	 * in one or two iterations.
+	 * <p>
+	 * The number of iterations used and the final change for each island can be obtained using 
+	 * an {@link IslandListener}.
+	 * <p>
+	 * This setting is not used when sub-stepping.
+	 * <p>
+	 * Defaults to zero (always perform the velocity constraint solver iterations).
+	 * <p>
+	 * Valid values are in the range [0, &infin;] kg &middot; m/s.
+	 * @param tolerance the tolerance; zero to disable
+	 * @throws IllegalArgumentException if tolerance is less than zero
+	 * @since 3.2.0
+	 * @see #setVelocityConstraintSolverIterations(int)
+	 */
+	public void setVelocityConstraintSolverTolerance(double tolerance) {
+		if (tolerance < 0.0) throw new IllegalArgumentException(Messages.getString("dynamics.settings.invalidVelocityConstraintSolverTolerance"));
+		this.velocityConstraintSolverTolerance = tolerance;
+	}
+	
+	/**
+	 * Returns true if the velocity iterations of the contacts use the batch solver.
+	 * @return boolean
+	 * @since 3.2.0
+	 * @see #setBatchContactSolverEnabled(boolean)
+	 */
+	public boolean isBatchContactSolverEnabled() {
+		return this.batchContactSolverEnabled;
+	}
+	
+	/**
+	 * Toggles the use of the batch solver for the velocity iterations of the contacts.
+	 * <p>
+	 * When enabled, the contact data of each island is copied into flat arrays of primitives
+	 * once per step and the velocity iterations are performed on those arrays using the
+	 * {@link org.dyn4j.dynamics.contact.BatchContactConstraintSolver}.  The results are identical 
+	 * to the default solver.  This is typically faster for islands with many contacts.
+	 * <p>
+	 * The batch solver is not used for islands that are solved in parallel or when sub-stepping.
+	 * <p>
+	 * Defaults to false.
+	 * @param flag true if the batch solver should be used
+	 * @since 3.2.0
+	 */
+	public void setBatchContactSolverEnabled(boolean flag) {
+		this.batchContactSolverEnabled = flag;
+	}
+	
+	/**
+	 * Returns true if the contact points between body pairs are reduced.
+	 * @return boolean
+	 * @since 3.2.0
+	 * @see #setContactReductionEnabled(boolean)
+	 */
+	public boolean isContactReductionEnabled() {
+		return this.contactReductionEnabled;
+	}
+	
+	/**
+	 * Toggles the reduction of the contact points between body pairs.
+	 * <p>
+	 * A body made of many fixtures creates a contact for each pair of colliding fixtures, each 
+	 * with up to two points.  When enabled, the contacts between a pair of bodies with parallel 
+	 * normals are grouped and only the deepest point and the points that span the contact the most
+	 * are kept, up to the contact reduction point count per group.  The remaining points are not
+	 * solved and not reported to the {@link org.dyn4j.dynamics.contact.ContactListener}s.
+	 * <p>
+	 * Defaults to false.
+	 * @param flag true if the contact points should be reduced
+	 * @since 3.2.0
+	 * @see #setContactReductionPointCount(int)
+	 * @see org.dyn4j.dynamics.contact.ContactReducer
+	 */
+	public void setContactReductionEnabled(boolean flag) {
+		this.contactReductionEnabled = flag;
+	}
+	
+	/**
+	 * Returns the maximum number of contact points kept per group of parallel contacts between a body pair.
+	 * @return int
+	 * @since 3.2.0
+	 * @see #setContactReductionPointCount(int)
+	 */
+	public int getContactReductionPointCount() {
+		return this.contactReductionPointCount;
+	}
+	
+	/**
+	 * Sets the maximum number of contact points kept per group of parallel contacts between a body pair.
+	 * <p>
+	 * This setting is only used when contact reduction is enabled.
+	 * <p>
+	 * Valid values are in the range [2, &infin;].
+	 * @param count the maximum number of points
+	 * @throws IllegalArgumentException if count is less than 2
+	 * @since 3.2.0
+	 * @see #setContactReductionEnabled(boolean)
+	 */
+	public void setContactReductionPointCount(int count) {
+		if (count < 2) throw new IllegalArgumentException(Messages.getString("dynamics.settings.invalidContactReductionPointCount"));
+		this.contactReductionPointCount = count;
+	}
 }
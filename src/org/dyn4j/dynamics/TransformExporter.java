@@ -0,0 +1,394 @@
+/*
+ * Copyright (c) 2010-2014 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.dynamics;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import org.dyn4j.geometry.Transform;
+import org.dyn4j.resources.Messages;
+
+/**
+ * Exports the transforms, and optionally the velocities and sleep flags, of all the
+ * {@link Body}s of a {@link World} into a flat buffer of doubles.
+ * <p>
+ * Register the exporter with a {@link World} using the {@link World#addListener(org.dyn4j.Listener)}
+ * method.  The buffer is updated at the end of every step.  The {@link #export(World)} method 
+ * can be called directly to update the buffer at other times, after adding bodies for example.
+ * Renderers and replication code can then read the buffer instead of calling {@link Body#getTransform()}, 
+ * {@link Body#getLinearVelocity()} and so on for every {@link Body}.  Reading the buffer does not
+ * create any objects.
+ * <p>
+ * Each {@link Body} is exported to the slot equal to its index in the {@link World}'s list of bodies.  
+ * A slot starts at the double index slot * {@link #getStride()} and contains the exported fields 
+ * in the following order:
+ * <ul>
+ * <li>{@link #TRANSFORM}: x, y, cos(&theta;), sin(&theta;)</li>
+ * <li>{@link #VELOCITY}: linear velocity x, linear velocity y, angular velocity</li>
+ * <li>{@link #SLEEP}: 1.0 if the body is asleep, 0.0 otherwise</li>
+ * </ul>
+ * Use the {@link #getOffset(int)} method to get the offset of a field within a slot.
+ * <p>
+ * The slots are stable as long as no bodies are removed.  Removing a {@link Body} moves the last
+ * {@link Body} of the {@link World} into the slot of the removed {@link Body}.  Use the 
+ * {@link #getBody(int)} method to map slots to bodies.
+ * <p>
+ * The values of a slot are only written if they changed.  A bit is set in the dirty mask for
+ * each slot whose values or {@link Body} changed during the last export.  Slot i is dirty if bit
+ * (i &amp; 63) of word (i &gt;&gt; 6) of the {@link #getDirtyMask()} is set.  The slots beyond the 
+ * {@link #getSlotCount()} of a {@link World} that lost bodies are marked dirty as well.
+ * <p>
+ * The buffer is either a direct {@link ByteBuffer} in the native byte order or a double array.
+ * The buffer is replaced by a larger one if the {@link World} has more bodies than the capacity
+ * of the buffer; the {@link #getBuffer()} or {@link #getArray()} method should be called again 
+ * after each export if the number of bodies can grow.
+ * <p>
+ * This class is not thread safe.  The buffer should only be read between steps.  An exporter should
+ * only be registered with one {@link World}.
+ * @author William Bittle
+ * @version 3.2.0
+ * @since 3.2.0
+ */
+public class TransformExporter implements StepListener {
+	/** Export the translation and rotation of each {@link Body} */
+	public static final int TRANSFORM = 1;
+	
+	/** Export the linear and angular velocity of each {@link Body} */
+	public static final int VELOCITY = 2;
+	
+	/** Export the sleep flag of each {@link Body} */
+	public static final int SLEEP = 4;
+	
+	/** All the fields */
+	private static final int ALL = TRANSFORM | VELOCITY | SLEEP;
+	
+	/** The exported fields */
+	protected final int fields;
+	
+	/** The number of doubles per slot */
+	protected final int stride;
+	
+	/** The offset of the velocity within a slot; -1 if not exported */
+	protected final int velocityOffset;
+	
+	/** The offset of the sleep flag within a slot; -1 if not exported */
+	protected final int sleepOffset;
+	
+	/** True if the buffer is a direct {@link ByteBuffer} */
+	protected final boolean direct;
+	
+	/** The direct buffer; null if not direct */
+	protected ByteBuffer buffer;
+	
+	/** The double array; null if direct */
+	protected double[] array;
+	
+	/** The view used to read and write the buffer or array */
+	protected DoubleBuffer data;
+	
+	/** The {@link Body} of each slot during the last export */
+	protected Body[] bodies;
+	
+	/** The dirty bit of each slot */
+	protected long[] dirty;
+	
+	/** The number of slots written by the last export */
+	protected int slotCount;
+	
+	/**
+	 * Minimal constructor.
+	 * <p>
+	 * Exports only the {@link #TRANSFORM} of each {@link Body} into a double array.
+	 * @param capacity the initial number of slots
+	 * @throws IllegalArgumentException if capacity is less than zero
+	 */
+	public TransformExporter(int capacity) {
+		this(capacity, TRANSFORM, false);
+	}
+	
+	/**
+	 * Full constructor.
+	 * @param capacity the initial number of slots
+	 * @param fields the exported fields; a bitwise or of {@link #TRANSFORM}, {@link #VELOCITY} and {@link #SLEEP}
+	 * @param direct true to export into a direct {@link ByteBuffer}; false to export into a double array
+	 * @throws IllegalArgumentException if capacity is less than zero or fields is zero or contains unknown fields
+	 */
+	public TransformExporter(int capacity, int fields, boolean direct) {
+		// check the capacity
+		if (capacity < 0) throw new IllegalArgumentException(Messages.getString("dynamics.transformExporter.invalidCapacity"));
+		// check the fields
+		if (fields == 0 || (fields & ~ALL) != 0) throw new IllegalArgumentException(Messages.getString("dynamics.transformExporter.invalidFields"));
+		this.fields = fields;
+		this.direct = direct;
+		// compute the layout of a slot
+		int stride = 0;
+		if ((fields & TRANSFORM) != 0) stride += 4;
+		this.velocityOffset = (fields & VELOCITY) != 0 ? stride : -1;
+		if ((fields & VELOCITY) != 0) stride += 3;
+		this.sleepOffset = (fields & SLEEP) != 0 ? stride : -1;
+		if ((fields & SLEEP) != 0) stride += 1;
+		this.stride = stride;
+		// create the buffer
+		this.allocate(capacity);
+		this.slotCount = 0;
+	}
+	
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("TransformExporter[Fields=").append(this.fields)
+		.append("|Stride=").append(this.stride)
+		.append("|Capacity=").append(this.bodies.length)
+		.append("|SlotCount=").append(this.slotCount)
+		.append("|Direct=").append(this.direct)
+		.append("]");
+		return sb.toString();
+	}
+	
+	/**
+	 * Creates the buffer, the dirty mask and the slot bodies for the given capacity
+	 * copying the current values.
+	 * @param capacity the number of slots
+	 */
+	private void allocate(int capacity) {
+		int length = capacity * this.stride;
+		DoubleBuffer data;
+		if (this.direct) {
+			this.buffer = ByteBuffer.allocateDirect(length * 8).order(ByteOrder.nativeOrder());
+			data = this.buffer.asDoubleBuffer();
+		} else {
+			this.array = new double[length];
+			data = DoubleBuffer.wrap(this.array);
+		}
+		// copy the current values
+		if (this.data != null) {
+			this.data.clear();
+			data.put(this.data);
+			data.clear();
+		}
+		this.data = data;
+		this.bodies = this.bodies == null ? new Body[capacity] : Arrays.copyOf(this.bodies, capacity);
+		this.dirty = this.dirty == null ? new long[(capacity + 63) >> 6] : Arrays.copyOf(this.dirty, (capacity + 63) >> 6);
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.StepListener#begin(org.dyn4j.dynamics.Step, org.dyn4j.dynamics.World)
+	 */
+	@Override
+	public void begin(Step step, World world) {}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.StepListener#updatePerformed(org.dyn4j.dynamics.Step, org.dyn4j.dynamics.World)
+	 */
+	@Override
+	public void updatePerformed(Step step, World world) {}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.StepListener#end(org.dyn4j.dynamics.Step, org.dyn4j.dynamics.World)
+	 */
+	@Override
+	public void end(Step step, World world) {
+		this.export(world);
+	}
+	
+	/**
+	 * Exports the bodies of the given {@link World} into the buffer.
+	 * <p>
+	 * Clears the dirty mask and marks the slots that changed.
+	 * @param world the {@link World}
+	 * @return int the number of dirty slots
+	 */
+	public int export(World world) {
+		List<Body> bodies = world.bodies;
+		int size = bodies.size();
+		// grow the buffer if necessary
+		int capacity = this.bodies.length;
+		if (size > capacity) {
+			this.allocate(Math.max(size, capacity * 2));
+		}
+		// clear the dirty mask
+		Arrays.fill(this.dirty, 0L);
+		
+		DoubleBuffer data = this.data;
+		int count = 0;
+		for (int i = 0; i < size; i++) {
+			Body body = bodies.get(i);
+			int offset = i * this.stride;
+			// a slot is dirty if any value or the body changed
+			boolean changed = this.bodies[i] != body;
+			this.bodies[i] = body;
+			if ((this.fields & TRANSFORM) != 0) {
+				Transform transform = body.transform;
+				changed |= put(data, offset, transform.getTranslationX());
+				changed |= put(data, offset + 1, transform.getTranslationY());
+				changed |= put(data, offset + 2, transform.getCost());
+				changed |= put(data, offset + 3, transform.getSint());
+			}
+			if (this.velocityOffset >= 0) {
+				int o = offset + this.velocityOffset;
+				changed |= put(data, o, body.velocity.x);
+				changed |= put(data, o + 1, body.velocity.y);
+				changed |= put(data, o + 2, body.angularVelocity);
+			}
+			if (this.sleepOffset >= 0) {
+				changed |= put(data, offset + this.sleepOffset, body.isAsleep() ? 1.0 : 0.0);
+			}
+			if (changed) {
+				this.dirty[i >> 6] |= 1L << (i & 63);
+				count++;
+			}
+		}
+		// the slots of removed bodies are dirty
+		for (int i = size; i < this.slotCount; i++) {
+			this.bodies[i] = null;
+			this.dirty[i >> 6] |= 1L << (i & 63);
+			count++;
+		}
+		this.slotCount = size;
+		return count;
+	}
+	
+	/**
+	 * Writes the given value at the given index if it's different from the current value.
+	 * @param data the buffer
+	 * @param index the index
+	 * @param value the value
+	 * @return boolean true if the value was different
+	 */
+	private static final boolean put(DoubleBuffer data, int index, double value) {
+		if (Double.doubleToLongBits(data.get(index)) == Double.doubleToLongBits(value)) return false;
+		data.put(index, value);
+		return true;
+	}
+	
+	/**
+	 * Returns true if the given slot changed during the last export.
+	 * @param slot the slot
+	 * @return boolean
+	 * @throws IndexOutOfBoundsException if slot is less than zero or greater than or equal to the capacity
+	 */
+	public boolean isDirty(int slot) {
+		return (this.dirty[slot >> 6] & (1L << (slot & 63))) != 0;
+	}
+	
+	/**
+	 * Returns the dirty mask of the last export.
+	 * <p>
+	 * The returned array is the internal mask and should not be modified.
+	 * @return long[]
+	 */
+	public long[] getDirtyMask() {
+		return this.dirty;
+	}
+	
+	/**
+	 * Returns the {@link Body} exported to the given slot by the last export.
+	 * @param slot the slot
+	 * @return {@link Body} the body; null if the slot is not in use
+	 * @throws IndexOutOfBoundsException if slot is less than zero or greater than or equal to the capacity
+	 */
+	public Body getBody(int slot) {
+		return this.bodies[slot];
+	}
+	
+	/**
+	 * Returns the number of slots written by the last export.
+	 * @return int
+	 */
+	public int getSlotCount() {
+		return this.slotCount;
+	}
+	
+	/**
+	 * Returns the number of slots of the current buffer.
+	 * @return int
+	 */
+	public int getCapacity() {
+		return this.bodies.length;
+	}
+	
+	/**
+	 * Returns the number of doubles per slot.
+	 * @return int
+	 */
+	public int getStride() {
+		return this.stride;
+	}
+	
+	/**
+	 * Returns the offset of the given field within a slot.
+	 * @param field one of {@link #TRANSFORM}, {@link #VELOCITY} or {@link #SLEEP}
+	 * @return int the offset; -1 if the field is not exported
+	 */
+	public int getOffset(int field) {
+		if ((this.fields & field) == 0) return -1;
+		switch (field) {
+			case TRANSFORM: return 0;
+			case VELOCITY: return this.velocityOffset;
+			case SLEEP: return this.sleepOffset;
+			default: return -1;
+		}
+	}
+	
+	/**
+	 * Returns the exported fields.
+	 * @return int
+	 */
+	public int getFields() {
+		return this.fields;
+	}
+	
+	/**
+	 * Returns true if the buffer is a direct {@link ByteBuffer}.
+	 * @return boolean
+	 */
+	public boolean isDirect() {
+		return this.direct;
+	}
+	
+	/**
+	 * Returns the direct buffer.
+	 * <p>
+	 * The buffer uses the native byte order.  The double at the index i is at the byte index i * 8.
+	 * @return ByteBuffer the buffer; null if the exporter exports into a double array
+	 */
+	public ByteBuffer getBuffer() {
+		return this.buffer;
+	}
+	
+	/**
+	 * Returns the double array.
+	 * @return double[] the array; null if the exporter exports into a direct buffer
+	 */
+	public double[] getArray() {
+		return this.array;
+	}
+}
@@ -24,16 +24,23 @@
  */
 package org.dyn4j.dynamics;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.dyn4j.Listener;
 import org.dyn4j.collision.Bounds;
 import org.dyn4j.collision.BoundsListener;
 import org.dyn4j.collision.Filter;
+import org.dyn4j.collision.broadphase.AbstractAABBDetector;
 import org.dyn4j.collision.broadphase.BroadphaseDetector;
 import org.dyn4j.collision.broadphase.BroadphasePair;
 import org.dyn4j.collision.broadphase.DynamicAABBTree;
@@ -43,8 +50,10 @@ import org.dyn4j.collision.continuous.TimeOfImpact;
 import org.dyn4j.collision.continuous.TimeOfImpactDetector;
 import org.dyn4j.collision.manifold.ClippingManifoldSolver;
 import org.dyn4j.collision.manifold.Manifold;
+import org.dyn4j.collision.manifold.ManifoldPoint;
 import org.dyn4j.collision.manifold.ManifoldSolver;
 import org.dyn4j.collision.narrowphase.Gjk;
+import org.dyn4j.collision.narrowphase.GjkContext;
 import org.dyn4j.collision.narrowphase.NarrowphaseDetector;
 import org.dyn4j.collision.narrowphase.Penetration;
 import org.dyn4j.collision.narrowphase.Raycast;
@@ -57,6 +66,8 @@ import org.dyn4j.dynamics.contact.ContactListener;
 import org.dyn4j.dynamics.contact.ContactManager;
 import org.dyn4j.dynamics.contact.ContactPoint;
 import org.dyn4j.dynamics.contact.ContactPointId;
+import org.dyn4j.dynamics.contact.ContactReducer;
+import org.dyn4j.dynamics.contact.ManifoldCache;
 import org.dyn4j.dynamics.contact.TimeOfImpactSolver;
 import org.dyn4j.dynamics.joint.Joint;
 import org.dyn4j.dynamics.joint.JointEdge;
@@ -65,6 +76,7 @@ import org.dyn4j.geometry.Convex;
 import org.dyn4j.geometry.Ray;
 import org.dyn4j.geometry.Transform;
 import org.dyn4j.geometry.Vector2;
+import org.dyn4j.geometry.WorldGeometry;
 import org.dyn4j.resources.Messages;
 
 /**
@@ -82,7 +94,7 @@ import org.dyn4j.resources.Messages;
  * Employs the same {@link Island} solving technique as <a href="http://www.box2d.org">Box2d</a>'s equivalent class.
  * @see <a href="http://www.box2d.org">Box2d</a>
  * @author William Bittle
- * @version 3.1.11
+ * @version 3.2.0
  * @since 1.0.0
  */
 public class World {
@@ -125,6 +137,18 @@ public class World {
 	
 	/** The {@link ContactManager} */
 	protected ContactManager contactManager;
+	
+	/** The {@link ManifoldCache} used when {@link Settings#isManifoldCacheEnabled()} is true */
+	protected ManifoldCache manifoldCache;
+	
+	/** The {@link ContactReducer} used when {@link Settings#isContactReductionEnabled()} is true */
+	protected ContactReducer contactReducer;
+	
+	/** The reusable list of the {@link ContactConstraint}s of a body pair */
+	private List<ContactConstraint> pairContactConstraints;
+	
+	/** The reusable list of the {@link ContactEdge}s rebuilt by the {@link #restore(ByteBuffer)} method */
+	private List<ContactEdge> restoredContactEdges;
 
 	/** The {@link CoefficientMixer} */
 	protected CoefficientMixer coefficientMixer;
@@ -235,6 +259,10 @@ public class World {
 		// create anything that requires a reference to this world last
 		this.timeOfImpactSolver = new TimeOfImpactSolver(this);
 		this.contactManager = new ContactManager(this, initialCapacity);
+		this.manifoldCache = new ManifoldCache(initialCapacity);
+		this.contactReducer = new ContactReducer();
+		this.pairContactConstraints = new ArrayList<ContactConstraint>();
+		this.restoredContactEdges = new ArrayList<ContactEdge>();
 		this.island = new Island(this, initialCapacity);
 		
 		this.time = 0.0;
@@ -453,6 +481,8 @@ public class World {
 		// perform a depth first search of the contact graph
 		// to create islands for constraint solving
 		Deque<Body> stack = new ArrayDeque<Body>(size);
+		// get the island listeners
+		List<IslandListener> islandListeners = this.getListeners(IslandListener.class);
 		// loop over the bodies and their contact edges to create the islands
 		for (int i = 0; i < size; i++) {
 			Body seed = this.bodies.get(i);
@@ -531,6 +561,11 @@ public class World {
 			// solve the island
 			island.solve();
 			
+			// notify of the solved island
+			for (IslandListener listener : islandListeners) {
+				listener.solved(this.step, island);
+			}
+			
 			// allow static bodies to participate in other islands
 			for (int j = 0; j < size; j++) {
 				Body body = this.bodies.get(j);
@@ -584,6 +619,13 @@ public class World {
 	 * {@link ContactListener#begin(ContactPoint)}, 
 	 * {@link ContactListener#persist(org.dyn4j.dynamics.contact.PersistedContactPoint)}, and
 	 * {@link ContactListener#end(ContactPoint)} methods.
+	 * <p>
+	 * Bodies that are asleep (or static) and whose transform and fixtures haven't changed since 
+	 * the last detection are frozen.  Frozen bodies are not updated in the broadphase and the contacts 
+	 * between frozen bodies are kept as they are without narrowphase collision detection, listener 
+	 * notification, or sensed, begin, persist and end events.  The contacts are detected again 
+	 * once either body is woken, moved or has its fixtures changed.  Changes to the filters or 
+	 * sensor flags of the fixtures of sleeping bodies take effect once they are woken.
 	 * @since 3.0.0
 	 */
 	protected void detect() {
@@ -598,29 +640,79 @@ public class World {
 		// get the number of bodies
 		int size = this.bodies.size();
 		
+		// check if the world space geometry of the fixtures should be cached
+		boolean geometryCacheEnabled = this.settings.isGeometryCacheEnabled();
+		
+		// check if manifolds should be reused
+		boolean manifoldCacheEnabled = this.settings.isManifoldCacheEnabled();
+		double manifoldCacheLinearTolerance = this.settings.getManifoldCacheLinearTolerance();
+		double manifoldCacheAngularTolerance = this.settings.getManifoldCacheAngularTolerance();
+		
+		// check if the contact points of body pairs should be reduced
+		boolean contactReductionEnabled = this.settings.isContactReductionEnabled();
+		int contactReductionPointCount = this.settings.getContactReductionPointCount();
+		
 		// test for out of bounds objects
+		// find the frozen bodies
 		// clear the body contacts
 		// update the broadphase
+		boolean frozen = false;
 		for (int i = 0; i < size; i++) {
 			Body body = this.bodies.get(i);
 			// skip if already not active
-			if (!body.isActive()) continue;
-			// clear all the old contacts
-			body.contacts.clear();
+			if (!body.isActive()) {
+				// make sure the body is detected once its active again
+				body.clearDetected();
+				continue;
+			}
+			// a sleeping or static body that hasn't changed since the last detection
+			// is frozen; the contacts between frozen bodies are kept as they are
+			body.setFrozen((body.isAsleep() || body.isStatic()) && body.isDetected());
 			// check if bounds have been set
 			if (this.bounds != null) {
 				// check if the body is out of bounds
 				if (this.bounds.isOutside(body)) {
 					// set the body to inactive
 					body.setActive(false);
+					body.setFrozen(false);
 					// if so, notify via the listeners
 					for (BoundsListener bl : boundsListeners) {
 						bl.outside(body);
 					}
 				}
 			}
+			// frozen bodies don't need their contacts cleared or the broadphase updated
+			if (body.isFrozen()) {
+				frozen = true;
+				continue;
+			}
+			// clear all the old contacts
+			body.removeAllContactEdges();
 			// update the broadphase with the new position/orientation
 			this.broadphaseDetector.update(body);
+			// save the state the body was detected with
+			body.setDetected();
+		}
+		
+		// keep the contacts between frozen bodies
+		if (frozen) {
+			for (int i = 0; i < size; i++) {
+				Body body = this.bodies.get(i);
+				if (!body.isFrozen()) continue;
+				// remove the contacts with bodies that aren't frozen
+				for (int j = body.contacts.size() - 1; j >= 0; j--) {
+					ContactEdge contactEdge = body.contacts.get(j);
+					if (!contactEdge.getOther().isFrozen()) {
+						body.removeContactEdge(j);
+						continue;
+					}
+					// keep the contact constraint (only once for both bodies)
+					ContactConstraint contactConstraint = contactEdge.getContactConstraint();
+					if (contactConstraint.getBody1() == body) {
+						this.contactManager.freeze(contactConstraint);
+					}
+				}
+			}
 		}
 		
 		// make sure there are some bodies
@@ -641,6 +733,8 @@ public class World {
 				if (!body1.isActive() || !body2.isActive()) continue;
 				// one body must be dynamic
 				if (!body1.isDynamic() && !body2.isDynamic()) continue;
+				// the contacts between frozen bodies are kept from the last detection
+				if (body1.isFrozen() && body2.isFrozen()) continue;
 				// check for connected pairs who's collision is not allowed
 				if (body1.isConnected(body2, false)) continue;
 				
@@ -660,6 +754,10 @@ public class World {
 				Transform transform1 = body1.transform;
 				Transform transform2 = body2.transform;
 				
+				// collect the contact constraints of this body pair
+				List<ContactConstraint> contactConstraints = this.pairContactConstraints;
+				contactConstraints.clear();
+				
 				// loop through the fixtures of body 1
 				int b1Size = body1.getFixtureCount();
 				int b2Size = body2.getFixtureCount();
@@ -667,6 +765,16 @@ public class World {
 					BodyFixture fixture1 = body1.getFixture(j);
 					Filter filter1 = fixture1.getFilter();
 					
+					Convex convex1 = fixture1.getShape();
+					Transform ftransform1 = transform1;
+					WorldGeometry geometry1 = null;
+					// use the cached world space geometry if enabled
+					if (geometryCacheEnabled) {
+						geometry1 = fixture1.getWorldGeometry(transform1);
+						convex1 = geometry1.getConvex();
+						ftransform1 = geometry1.getTransform();
+					}
+					
 					// test against each fixture of body 2
 					for (int k = 0; k < b2Size; k++) {
 						BodyFixture fixture2 = body2.getFixture(k);
@@ -679,11 +787,27 @@ public class World {
 						}
 						
 						Convex convex2 = fixture2.getShape();
-						Convex convex1 = fixture1.getShape();
+						Transform ftransform2 = transform2;
+						if (geometry1 != null) {
+							WorldGeometry geometry2 = fixture2.getWorldGeometry(transform2);
+							// the fixtures cannot collide if their AABBs don't overlap
+							if (!geometry1.getAABB().overlaps(geometry2.getAABB())) {
+								continue;
+							}
+							convex2 = geometry2.getConvex();
+							ftransform2 = geometry2.getTransform();
+						}
 						
 						Penetration penetration = new Penetration();
+						Manifold manifold = new Manifold();
+						// reuse the penetration and manifold from a previous step if the
+						// relative transform of the bodies hasn't changed
+						boolean cached = manifoldCacheEnabled && this.manifoldCache.get(
+								body1, fixture1, body2, fixture2, 
+								manifoldCacheLinearTolerance, manifoldCacheAngularTolerance, 
+								penetration, manifold);
 						// test the two convex shapes
-						if (this.narrowphaseDetector.detect(convex1, transform1, convex2, transform2, penetration)) {
+						if (cached || this.narrowphaseDetector.detect(convex1, ftransform1, convex2, ftransform2, penetration)) {
 							// check for zero penetration
 							if (penetration.getDepth() == 0.0) {
 								// this should only happen if numerical error occurs
@@ -700,15 +824,18 @@ public class World {
 								}
 							}
 							if (!allow) continue;
-							Manifold manifold = new Manifold();
 							// if there is penetration then find a contact manifold
 							// using the filled in penetration object
-							if (this.manifoldSolver.getManifold(penetration, convex1, transform1, convex2, transform2, manifold)) {
+							if (cached || this.manifoldSolver.getManifold(penetration, convex1, ftransform1, convex2, ftransform2, manifold)) {
 								// check for zero points
 								if (manifold.getPoints().size() == 0) {
 									// this should only happen if numerical error occurs
 									continue;
 								}
+								// save the newly computed penetration and manifold
+								if (manifoldCacheEnabled && !cached) {
+									this.manifoldCache.put(body1, fixture1, body2, fixture2, penetration, manifold);
+								}
 								// notify of the manifold solving result
 								allow = true;
 								for (CollisionListener cl : collisionListeners) {
@@ -720,10 +847,11 @@ public class World {
 									}
 								}
 								if (!allow) continue;
-								// create a contact constraint
-								ContactConstraint contactConstraint = new ContactConstraint(body1, fixture1, 
-										                                                    body2, fixture2, 
-										                                                    manifold, this);
+								// create a contact constraint (reusing the one replaced
+								// in the cache by the last update if possible)
+								ContactConstraint contactConstraint = this.contactManager.create(body1, fixture1, 
+										                                                         body2, fixture2, 
+										                                                         manifold);
 								
 								allow = true;
 								// notify of the created contact constraint
@@ -737,20 +865,37 @@ public class World {
 								}
 								if (!allow) continue;
 								
-								// add a contact edge to both bodies
-								ContactEdge contactEdge1 = new ContactEdge(body2, contactConstraint);
-								ContactEdge contactEdge2 = new ContactEdge(body1, contactConstraint);
-								body1.contacts.add(contactEdge1);
-								body2.contacts.add(contactEdge2);
-								// add the contact constraint to the contact manager
-								this.contactManager.add(contactConstraint);
+								contactConstraints.add(contactConstraint);
 							}
 						}
 					}
 				}
+				
+				// reduce the contact points of the body pair
+				if (contactReductionEnabled && contactConstraints.size() > 1) {
+					this.contactReducer.reduce(contactConstraints, contactReductionPointCount);
+				}
+				
+				int cSize = contactConstraints.size();
+				for (int j = 0; j < cSize; j++) {
+					ContactConstraint contactConstraint = contactConstraints.get(j);
+					// add a contact edge to both bodies
+					ContactEdge contactEdge1 = new ContactEdge(body2, contactConstraint);
+					ContactEdge contactEdge2 = new ContactEdge(body1, contactConstraint);
+					body1.addContactEdge(contactEdge1);
+					body2.addContactEdge(contactEdge2);
+					// add the contact constraint to the contact manager
+					this.contactManager.add(contactConstraint);
+				}
+				contactConstraints.clear();
 			}
 		}
 		
+		// remove the cached manifolds that weren't used this step
+		if (manifoldCacheEnabled) {
+			this.manifoldCache.update();
+		}
+		
 		// warm start the contact constraints
 		this.contactManager.updateContacts();
 	}
@@ -837,7 +982,7 @@ public class World {
 		int size = this.bodies.size();
 		
 		// generate a swept AABB for this body
-		AABB aabb1 = body1.createSweptAABB();
+		AABB aabb1 = body1.getSweptAABB();
 		boolean bullet = body1.isBullet();
 		
 		// setup the initial time bounds [0, 1]
@@ -870,7 +1015,7 @@ public class World {
 			if (body1.isInContact(body2)) continue;
 
 			// create a swept AABB for the other body
-			AABB aabb2 = body2.createSweptAABB();
+			AABB aabb2 = body2.getSweptAABB();
 			// if the swept AABBs don't overlap then don't bother testing them
 			if (!aabb1.overlaps(aabb2)) continue; 
 
@@ -1162,6 +1307,9 @@ public class World {
 	 * distance from the ray's origin.
 	 * <p>
 	 * If the all flag is false, the results list will only contain the closest result (if any).
+	 * In this case the bodies are tested in the order the ray enters their {@link AABB}s and the
+	 * search stops once the next {@link AABB} is farther than the closest result.  Bodies whose
+	 * {@link AABB}s are not reached by the ray are not tested nor passed to the {@link RaycastListener}s.
 	 * <p>
 	 * Pass 0 into the maxLength field to specify an infinite length {@link Ray}.
 	 * <p>
@@ -1191,11 +1339,40 @@ public class World {
 		}
 		// create a raycast result
 		RaycastResult result = new RaycastResult();
+		boolean found = false;
+		
+		// check if we are raycasting for all the objects
+		// or only the closest
+		if (!all) {
+			// filter using the broadphase first
+			List<Body> bodies = new ArrayList<Body>();
+			this.raycastBroadphase(ray, max, bodies);
+			// order the bodies by the distance at which the ray enters their aabbs
+			RaycastQueue queue = new RaycastQueue();
+			this.fillRaycastQueue(ray, max, bodies, ignoreInactive, queue);
+			// test the bodies in order until the next aabb is farther
+			// than the closest result
+			while (queue.size > 0) {
+				if (found && queue.peekDistance() > max) break;
+				Body body = queue.poll();
+				// does the ray intersect the body?
+				if (this.raycast(ray, body, max, filter, ignoreSensors, result)) {
+					// we are only looking for the closest so
+					// set the new maximum
+					max = result.raycast.getDistance();
+					found = true;
+				}
+			}
+			if (found) {
+				results.add(result);
+			}
+			return found;
+		}
+		
 		// filter using the broadphase first
 		List<Body> bodies = this.broadphaseDetector.raycast(ray, maxLength);
 		// loop over the list of bodies testing each one
 		int size = bodies.size();
-		boolean found = false;
 		for (int i = 0; i < size; i++) {
 			// get a body to test
 			Body body = bodies.get(i);
@@ -1203,29 +1380,156 @@ public class World {
 			if (ignoreInactive && !body.isActive()) continue;
 			// does the ray intersect the body?
 			if (this.raycast(ray, body, max, filter, ignoreSensors, result)) {
-				// check if we are raycasting for all the objects
-				// or only the closest
-				if (!all) {
-					// we are only looking for the closest so
-					// set the new maximum
-					max = result.raycast.getDistance();
-					// see if the results list has the item in it
-					if (results.size() == 0) {
-						results.add(result);
-						found = true;
-					}
-				} else {
-					// add this result to the results
-					results.add(result);
-					found = true;
-					// create a new result for the next iteration
-					result = new RaycastResult();
-				}
+				// add this result to the results
+				results.add(result);
+				found = true;
+				// create a new result for the next iteration
+				result = new RaycastResult();
 			}
 		}
 		
 		return found;
 	}
+	
+	/**
+	 * A binary min heap of {@link Body}s keyed by the distance at which a {@link Ray} enters their {@link AABB}s.
+	 * @author William Bittle
+	 * @version 3.2.0
+	 * @since 3.2.0
+	 */
+	private static final class RaycastQueue {
+		/** The entry distances */
+		double[] distances = new double[16];
+		
+		/** The bodies */
+		Body[] bodies = new Body[16];
+		
+		/** The number of bodies in the queue */
+		int size;
+		
+		/**
+		 * Removes all the bodies from the queue.
+		 */
+		void clear() {
+			Arrays.fill(this.bodies, 0, this.size, null);
+			this.size = 0;
+		}
+		
+		/**
+		 * Appends the given body without maintaining the heap order.
+		 * <p>
+		 * {@link #heapify()} must be called after all the bodies have been added.
+		 * @param body the body
+		 * @param distance the entry distance
+		 */
+		void add(Body body, double distance) {
+			if (this.size == this.bodies.length) {
+				this.bodies = Arrays.copyOf(this.bodies, this.size * 2);
+				this.distances = Arrays.copyOf(this.distances, this.size * 2);
+			}
+			this.bodies[this.size] = body;
+			this.distances[this.size] = distance;
+			this.size++;
+		}
+		
+		/**
+		 * Establishes the heap order in O(n).
+		 */
+		void heapify() {
+			for (int i = (this.size >>> 1) - 1; i >= 0; i--) {
+				this.siftDown(i);
+			}
+		}
+		
+		/**
+		 * Returns the smallest entry distance.
+		 * @return double
+		 */
+		double peekDistance() {
+			return this.distances[0];
+		}
+		
+		/**
+		 * Removes and returns the body with the smallest entry distance.
+		 * @return {@link Body}
+		 */
+		Body poll() {
+			Body body = this.bodies[0];
+			int last = --this.size;
+			this.bodies[0] = this.bodies[last];
+			this.distances[0] = this.distances[last];
+			this.bodies[last] = null;
+			this.siftDown(0);
+			return body;
+		}
+		
+		/**
+		 * Moves the element at the given index down until the heap order is restored.
+		 * @param index the index
+		 */
+		private void siftDown(int index) {
+			Body body = this.bodies[index];
+			double distance = this.distances[index];
+			int half = this.size >>> 1;
+			while (index < half) {
+				int child = 2 * index + 1;
+				int right = child + 1;
+				if (right < this.size && this.distances[right] < this.distances[child]) child = right;
+				if (distance <= this.distances[child]) break;
+				this.bodies[index] = this.bodies[child];
+				this.distances[index] = this.distances[child];
+				index = child;
+			}
+			this.bodies[index] = body;
+			this.distances[index] = distance;
+		}
+	}
+	
+	/**
+	 * Adds the bodies whose {@link AABB}s may be intersected by the given {@link Ray} to the given list
+	 * using the broadphase.
+	 * <p>
+	 * The {@link AbstractAABBDetector#raycast(Ray, double, List)} method is used when available.  Other
+	 * {@link BroadphaseDetector}s may add bodies whose {@link AABB}s aren't intersected by the ray.
+	 * @param ray the {@link Ray}; the direction must be normalized
+	 * @param maxLength the maximum length of the ray; 0 for infinite length
+	 * @param bodies the list to add the bodies to
+	 * @since 3.2.0
+	 */
+	private void raycastBroadphase(Ray ray, double maxLength, List<Body> bodies) {
+		if (this.broadphaseDetector instanceof AbstractAABBDetector) {
+			// only the bodies whose aabbs are intersected are added
+			((AbstractAABBDetector<Body>)this.broadphaseDetector).raycast(ray, maxLength, bodies);
+		} else {
+			// the bodies whose aabbs aren't intersected are filtered by the entry distance later
+			bodies.addAll(this.broadphaseDetector.raycast(ray, maxLength));
+		}
+	}
+	
+	/**
+	 * Adds the given bodies whose {@link AABB}s are entered by the given {@link Ray} to the given 
+	 * queue keyed by the entry distance.
+	 * @param ray the {@link Ray}; the direction must be normalized
+	 * @param maxLength the maximum length of the ray; 0 for infinite length
+	 * @param bodies the bodies
+	 * @param ignoreInactive true if inactive bodies should be ignored
+	 * @param queue the queue
+	 * @since 3.2.0
+	 */
+	private void fillRaycastQueue(Ray ray, double maxLength, List<Body> bodies, boolean ignoreInactive, RaycastQueue queue) {
+		int size = bodies.size();
+		for (int i = 0; i < size; i++) {
+			Body body = bodies.get(i);
+			// check for inactive
+			if (ignoreInactive && !body.isActive()) continue;
+			// get the distance at which the ray enters the aabb of the body
+			double distance = body.getAABB().getEntryDistance(ray, maxLength);
+			if (distance >= 0.0) {
+				queue.add(body, distance);
+			}
+		}
+		queue.heapify();
+	}
 
 	/**
 	 * Performs a raycast against the given {@link Body} and returns true
@@ -1384,8 +1688,15 @@ public class World {
 			if (!allow) continue;
 			// get the convex shape
 			Convex convex = fixture.getShape();
+			Transform ftransform = transform;
+			// use the cached world space geometry if enabled
+			if (this.settings.isGeometryCacheEnabled()) {
+				WorldGeometry geometry = fixture.getWorldGeometry(transform);
+				convex = geometry.getConvex();
+				ftransform = geometry.getTransform();
+			}
 			// perform the raycast
-			if (this.raycastDetector.raycast(ray, max, convex, transform, raycast)) {
+			if (this.raycastDetector.raycast(ray, max, convex, ftransform, raycast)) {
 				// notify the listeners to see if we should allow this result
 				allow = true;
 				for (RaycastListener rl : listeners) {
@@ -1416,6 +1727,232 @@ public class World {
 		return found;
 	}
 	
+	/**
+	 * Per-thread scratch storage of a batch raycast.
+	 * @author William Bittle
+	 * @version 3.2.0
+	 * @since 3.2.0
+	 */
+	private static final class BatchRaycastContext {
+		/** The ray start */
+		final Vector2 start = new Vector2();
+		
+		/** The ray direction */
+		final Vector2 direction = new Vector2(1.0, 0.0);
+		
+		/** The ray */
+		final Ray ray = new Ray(this.start, this.direction);
+		
+		/** The current raycast */
+		Raycast raycast = new Raycast();
+		
+		/** The closest raycast */
+		Raycast closest = new Raycast();
+		
+		/** The Gjk scratch storage */
+		final GjkContext gjkContext = new GjkContext();
+		
+		/** The broadphase results */
+		final List<Body> bodies = new ArrayList<Body>();
+		
+		/** The bodies ordered by entry distance */
+		final RaycastQueue queue = new RaycastQueue();
+	}
+	
+	/**
+	 * Performs a batch of raycasts against all the {@link Body}s in the {@link World} returning
+	 * the closest hit of each ray.
+	 * <p>
+	 * The rays are given as primitive arrays: the start of ray i is (origins[2i], origins[2i + 1]), 
+	 * its direction is (directions[2i], directions[2i + 1]) and its maximum length is lengths[i]; 0 
+	 * for infinite length.  The directions don't need to be normalized.  A ray with a zero direction 
+	 * doesn't hit anything.
+	 * <p>
+	 * The result of each ray is the same as the result of the {@link #raycast(Ray, double, Filter, boolean, boolean, boolean, List)}
+	 * method with all set to false, but stored in the given {@link BatchRaycastResult} instead.  The world 
+	 * space geometry cache is not used.
+	 * <p>
+	 * The rays are processed in parallel chunks using up to {@link Settings#getParallelSolverThreadCount()}
+	 * threads.  The broadphase and raycast detectors must allow concurrent queries (the default ones do).  
+	 * If any {@link RaycastListener}s have been added, the rays are processed on the calling thread so 
+	 * that the listeners are notified as they are for a single raycast.
+	 * @param origins the ray start points as x, y pairs
+	 * @param directions the ray directions as x, y pairs
+	 * @param lengths the maximum length of each ray; 0 for infinite length; null if all rays are infinite
+	 * @param count the number of rays
+	 * @param filter the {@link Filter} to use against the fixtures; can be null
+	 * @param ignoreSensors true if sensor {@link BodyFixture}s should be ignored
+	 * @param ignoreInactive true if inactive bodies should be ignored
+	 * @param results the results
+	 * @return int the number of rays that hit a {@link Body}
+	 * @throws NullPointerException if origins, directions or results is null
+	 * @throws IllegalArgumentException if count is negative or greater than the number of rays in the given arrays
+	 * @see RaycastListener#allow(Ray, Body)
+	 * @see RaycastListener#allow(Ray, Body, BodyFixture)
+	 * @see RaycastListener#allow(Ray, Body, BodyFixture, Raycast)
+	 * @since 3.2.0
+	 */
+	public int raycast(final double[] origins, final double[] directions, final double[] lengths, int count, final Filter filter, final boolean ignoreSensors, final boolean ignoreInactive, final BatchRaycastResult results) {
+		if (origins == null || directions == null || results == null) throw new NullPointerException(Messages.getString("dynamics.world.nullRaycastArray"));
+		if (count < 0 || origins.length < count * 2 || directions.length < count * 2 || (lengths != null && lengths.length < count)) throw new IllegalArgumentException(Messages.getString("dynamics.world.invalidRaycastCount"));
+		
+		results.reset(count);
+		if (count == 0) return 0;
+		
+		final List<RaycastListener> listeners = this.getListeners(RaycastListener.class);
+		int threads = this.settings.getParallelSolverThreadCount();
+		// limit the number of tasks so that each casts at least 64 rays and
+		// cast all the rays on this thread if there are listeners
+		int n = listeners.isEmpty() ? Math.max(1, Math.min(threads, count / 64)) : 1;
+		
+		// cast the first ray on this thread so that any lazy state of the
+		// broadphase (a deferred sort for example) is updated before any
+		// concurrent queries are performed
+		BatchRaycastContext context = new BatchRaycastContext();
+		int hits = this.raycast(0, 1, origins, directions, lengths, filter, ignoreSensors, ignoreInactive, listeners, context, results);
+		if (n == 1) {
+			hits += this.raycast(1, count, origins, directions, lengths, filter, ignoreSensors, ignoreInactive, listeners, context, results);
+			results.hitCount = hits;
+			return hits;
+		}
+		
+		// update the cached aabbs of the bodies before they are read concurrently
+		this.computeAABBs(this.bodies);
+		
+		// use the threads of the parallel solver
+		ExecutorService executor = this.island.coloredConstraintSolver.getExecutor(threads);
+		int chunk = (count - 1) / n;
+		final int[] chunkHits = new int[n];
+		List<Future<?>> futures = new ArrayList<Future<?>>(n - 1);
+		for (int t = 1; t < n; t++) {
+			final int task = t;
+			final int start = 1 + t * chunk;
+			final int end = t == n - 1 ? count : start + chunk;
+			futures.add(executor.submit(new Runnable() {
+				@Override
+				public void run() {
+					chunkHits[task] = World.this.raycast(start, end, origins, directions, lengths, filter, ignoreSensors, ignoreInactive, listeners, new BatchRaycastContext(), results);
+				}
+			}));
+		}
+		// cast the first chunk on the calling thread
+		chunkHits[0] = this.raycast(1, 1 + chunk, origins, directions, lengths, filter, ignoreSensors, ignoreInactive, listeners, context, results);
+		// wait for the others
+		this.waitFor(futures);
+		for (int t = 0; t < n; t++) {
+			hits += chunkHits[t];
+		}
+		results.hitCount = hits;
+		return hits;
+	}
+	
+	/**
+	 * Casts the given range of rays of a batch raycast.
+	 * @param start the index of the first ray (inclusive)
+	 * @param end the index of the last ray (exclusive)
+	 * @param origins the ray start points as x, y pairs
+	 * @param directions the ray directions as x, y pairs
+	 * @param lengths the maximum length of each ray; null if all rays are infinite
+	 * @param filter the {@link Filter} to use against the fixtures; can be null
+	 * @param ignoreSensors true if sensor {@link BodyFixture}s should be ignored
+	 * @param ignoreInactive true if inactive bodies should be ignored
+	 * @param listeners the {@link RaycastListener}s
+	 * @param context the scratch storage
+	 * @param results the results
+	 * @return int the number of rays that hit a {@link Body}
+	 * @since 3.2.0
+	 */
+	private int raycast(int start, int end, double[] origins, double[] directions, double[] lengths, Filter filter, boolean ignoreSensors, boolean ignoreInactive, List<RaycastListener> listeners, BatchRaycastContext context, BatchRaycastResult results) {
+		Ray ray = context.ray;
+		int hits = 0;
+		for (int i = start; i < end; i++) {
+			results.bodyIndices[i] = -1;
+			results.fixtureIndices[i] = -1;
+			// set up the ray
+			context.start.set(origins[i * 2], origins[i * 2 + 1]);
+			context.direction.set(directions[i * 2], directions[i * 2 + 1]);
+			if (context.direction.isZero()) continue;
+			context.direction.normalize();
+			// check for the desired length
+			double max = 0.0;
+			if (lengths != null && lengths[i] > 0.0) {
+				max = lengths[i];
+			}
+			// filter using the broadphase first and order the bodies by entry distance
+			RaycastQueue queue = context.queue;
+			List<Body> bodies = context.bodies;
+			this.raycastBroadphase(ray, max, bodies);
+			this.fillRaycastQueue(ray, max, bodies, ignoreInactive, queue);
+			bodies.clear();
+			while (queue.size > 0) {
+				// stop once the next aabb is farther than the closest hit
+				if (results.bodyIndices[i] >= 0 && queue.peekDistance() > max) break;
+				Body body = queue.poll();
+				// see if we should test this body
+				boolean allow = true;
+				for (RaycastListener rl : listeners) {
+					if (!rl.allow(ray, body)) {
+						allow = false;
+					}
+				}
+				if (!allow) continue;
+				// find the closest fixture of the body
+				Transform transform = body.getTransform();
+				int fSize = body.getFixtureCount();
+				for (int k = 0; k < fSize; k++) {
+					BodyFixture fixture = body.getFixture(k);
+					// check for sensor
+					if (ignoreSensors && fixture.isSensor()) continue;
+					// check against the filter
+					if (filter != null && !filter.isAllowed(fixture.getFilter())) continue;
+					// see if we should test this fixture
+					allow = true;
+					for (RaycastListener rl : listeners) {
+						if (!rl.allow(ray, body, fixture)) {
+							allow = false;
+						}
+					}
+					if (!allow) continue;
+					// perform the raycast
+					Raycast raycast = context.raycast;
+					boolean hit;
+					if (this.raycastDetector instanceof Gjk) {
+						hit = ((Gjk)this.raycastDetector).raycast(ray, max, fixture.getShape(), transform, raycast, context.gjkContext);
+					} else {
+						hit = this.raycastDetector.raycast(ray, max, fixture.getShape(), transform, raycast);
+					}
+					if (!hit) continue;
+					// see if we should allow this result
+					allow = true;
+					for (RaycastListener rl : listeners) {
+						if (!rl.allow(ray, body, fixture, raycast)) {
+							allow = false;
+						}
+					}
+					if (!allow) continue;
+					// this is the closest so far; swap the raycasts
+					max = raycast.getDistance();
+					context.raycast = context.closest;
+					context.closest = raycast;
+					results.bodyIndices[i] = body.index;
+					results.fixtureIndices[i] = k;
+				}
+			}
+			queue.clear();
+			// store the closest hit
+			if (results.bodyIndices[i] >= 0) {
+				Raycast closest = context.closest;
+				results.distances[i] = closest.getDistance();
+				results.points[i * 2] = closest.getPoint().x;
+				results.points[i * 2 + 1] = closest.getPoint().y;
+				results.normals[i * 2] = closest.getNormal().x;
+				results.normals[i * 2 + 1] = closest.getNormal().y;
+				hits++;
+			}
+		}
+		return hits;
+	}
+	
 	/**
 	 * Performs a linear convex cast on the world, placing any detected collisions into the given results list.
 	 * <p>
@@ -2388,7 +2925,7 @@ public class World {
 		boolean found = false;
 		AABB baabb = this.broadphaseDetector.getAABB(body);
 		if (baabb == null) {
-			baabb = body.createAABB();
+			baabb = body.getAABB();
 		}
 		if (aabb.overlaps(baabb)) {
 			// check body's fixtures next
@@ -2575,7 +3112,7 @@ public class World {
 		// test using the broadphase to rule out as many bodies as we can
 		AABB baabb = this.broadphaseDetector.getAABB(body);
 		if (baabb == null) {
-			baabb = body.createAABB();
+			baabb = body.getAABB();
 		}
 		// now perform an AABB test first
 		boolean found = false;
@@ -2670,6 +3207,307 @@ public class World {
 		this.contactManager.shiftCoordinates(shift);
 	}
 	
+	/**
+	 * Returns the number of bytes the {@link #snapshot(ByteBuffer)} method will write
+	 * given the current state of this world.
+	 * @return int
+	 * @since 3.2.0
+	 */
+	public int getSnapshotSize() {
+		// the header, the step, the accumulated time and the update required flag
+		int size = 3 * 4 + 6 * 8 + 1;
+		int bSize = this.bodies.size();
+		size += bSize * Body.SNAPSHOT_SIZE;
+		int jSize = this.joints.size();
+		for (int i = 0; i < jSize; i++) {
+			Constraint joint = this.joints.get(i);
+			size += joint.getSnapshotSize();
+		}
+		for (int i = 0; i < bSize; i++) {
+			Body body = this.bodies.get(i);
+			int cSize = body.contacts.size();
+			for (int j = 0; j < cSize; j++) {
+				Constraint contactConstraint = body.contacts.get(j).getContactConstraint();
+				// each contact constraint is written once by its first body
+				if (contactConstraint.getBody1() != body) continue;
+				size += 4 * 4 + contactConstraint.getSnapshotSize();
+			}
+		}
+		return size;
+	}
+	
+	/**
+	 * Writes the mutable simulation state of this world to the given buffer.
+	 * <p>
+	 * The state written is:
+	 * <ul>
+	 * <li>The current {@link Step} and the accumulated time of the {@link #update(double)} methods</li>
+	 * <li>The transform, velocities, force and torque accumulators, sleep time and state of each {@link Body}</li>
+	 * <li>The accumulated impulses (and limit states) of each {@link Joint}</li>
+	 * <li>The {@link ContactConstraint}s, including their accumulated impulses used for warm starting</li>
+	 * </ul>
+	 * Bodies and joints are identified by their index in this world and fixtures by their index in 
+	 * their body, so the snapshot can only be restored to this world (or an identically built world) 
+	 * while the same bodies, joints and fixtures are in the same order.  The configuration of the world, 
+	 * like the settings, gravity, fixtures and mass, is not written.
+	 * <p>
+	 * This method does not allocate; the buffer should be preallocated with at least
+	 * {@link #getSnapshotSize()} bytes remaining.  The state is written starting at the buffer's 
+	 * current position and the position is advanced.  Call this method between steps.
+	 * @param buffer the buffer to write to
+	 * @throws NullPointerException if buffer is null
+	 * @throws java.nio.BufferOverflowException if the buffer does not have enough space remaining
+	 * @see #restore(ByteBuffer)
+	 * @since 3.2.0
+	 */
+	public void snapshot(ByteBuffer buffer) {
+		// check for null buffer
+		if (buffer == null) throw new NullPointerException(Messages.getString("dynamics.world.nullSnapshotBuffer"));
+		
+		int bSize = this.bodies.size();
+		int jSize = this.joints.size();
+		
+		// write the header (the number of contact constraints is written last)
+		buffer.putInt(bSize);
+		buffer.putInt(jSize);
+		int countPosition = buffer.position();
+		buffer.putInt(0);
+		buffer.putDouble(this.step.dt);
+		buffer.putDouble(this.step.invdt);
+		buffer.putDouble(this.step.dt0);
+		buffer.putDouble(this.step.invdt0);
+		buffer.putDouble(this.step.dtRatio);
+		buffer.putDouble(this.time);
+		buffer.put(this.updateRequired ? (byte)1 : (byte)0);
+		
+		// write the bodies
+		for (int i = 0; i < bSize; i++) {
+			this.bodies.get(i).snapshot(buffer);
+		}
+		
+		// write the joints
+		for (int i = 0; i < jSize; i++) {
+			Constraint joint = this.joints.get(i);
+			joint.snapshot(buffer);
+		}
+		
+		// write the contact constraints in the order of the bodies' contact edges
+		int count = 0;
+		for (int i = 0; i < bSize; i++) {
+			Body body = this.bodies.get(i);
+			int cSize = body.contacts.size();
+			for (int j = 0; j < cSize; j++) {
+				ContactConstraint contactConstraint = body.contacts.get(j).getContactConstraint();
+				// each contact constraint is written once by its first body
+				if (contactConstraint.getBody1() != body) continue;
+				Body other = contactConstraint.getBody2();
+				buffer.putInt(i);
+				buffer.putInt(body.fixtures.indexOf(contactConstraint.getFixture1()));
+				buffer.putInt(other.index);
+				buffer.putInt(other.fixtures.indexOf(contactConstraint.getFixture2()));
+				Constraint constraint = contactConstraint;
+				constraint.snapshot(buffer);
+				count++;
+			}
+		}
+		buffer.putInt(countPosition, count);
+	}
+	
+	/**
+	 * Sets the mutable simulation state of this world to the state read from the given buffer.
+	 * <p>
+	 * The buffer should contain a snapshot written by the {@link #snapshot(ByteBuffer)} method of this 
+	 * world (or an identically built world) starting at its current position.  The position is advanced.
+	 * <p>
+	 * All the state derived from the restored state is rebuilt: the broadphase proxies are updated in place
+	 * with the restored transforms, the contact edges and the warm starting cache are replaced by the restored 
+	 * {@link ContactConstraint}s, the {@link ManifoldCache} is cleared and all bodies are detected during the
+	 * next collision detection.  As a result, stepping this world after restoring a snapshot always produces 
+	 * bit-identical results for the same sequence of steps, regardless of what happened in between, as long as
+	 * the broadphase reports the pairs in an order that doesn't depend on its history (like the default
+	 * {@link DynamicAABBTree}).  No listeners are notified.
+	 * <p>
+	 * The pending {@link Force}s and {@link Torque}s of each body are restored as a single force and torque
+	 * with the same net value.  Contacts with {@link org.dyn4j.collision.manifold.ManifoldPointId}s other 
+	 * than {@link org.dyn4j.collision.manifold.IndexedManifoldPointId} are restored with 
+	 * {@link org.dyn4j.collision.manifold.ManifoldPointId#DISTANCE} ids.
+	 * <p>
+	 * The whole snapshot is validated before anything is changed; if it's invalid, this world is left as is.
+	 * <p>
+	 * The current {@link ContactConstraint}s (and their contacts and contact edges) between the same fixtures 
+	 * as the restored ones are reused, as are the {@link Force} and {@link Torque} holding the pending force and 
+	 * torque of each body.  Objects are only allocated for contact constraints, contacts and contact point ids 
+	 * that don't exist in the current state, for example, when restoring a snapshot taken before two bodies 
+	 * came into contact, and by the broadphase for the proxies whose {@link AABB} must be updated.
+	 * @param buffer the buffer to read from
+	 * @throws NullPointerException if buffer is null
+	 * @throws IllegalArgumentException if the number of bodies, joints or fixtures in the snapshot doesn't match 
+	 * this world or the buffer doesn't contain a complete snapshot
+	 * @see #snapshot(ByteBuffer)
+	 * @since 3.2.0
+	 */
+	public void restore(ByteBuffer buffer) {
+		// check for null buffer
+		if (buffer == null) throw new NullPointerException(Messages.getString("dynamics.world.nullSnapshotBuffer"));
+		
+		int bSize = this.bodies.size();
+		int jSize = this.joints.size();
+		
+		// validate the whole snapshot before changing anything
+		int position = buffer.position();
+		if (!this.isValidSnapshot(buffer, position)) {
+			throw new IllegalArgumentException(Messages.getString("dynamics.world.invalidSnapshot"));
+		}
+		
+		buffer.position(position + 8);
+		int count = buffer.getInt();
+		this.step.dt = buffer.getDouble();
+		this.step.invdt = buffer.getDouble();
+		this.step.dt0 = buffer.getDouble();
+		this.step.invdt0 = buffer.getDouble();
+		this.step.dtRatio = buffer.getDouble();
+		this.time = buffer.getDouble();
+		boolean updateRequired = buffer.get() == 1;
+		
+		// read the bodies
+		for (int i = 0; i < bSize; i++) {
+			Body body = this.bodies.get(i);
+			body.restore(buffer);
+			// make sure the body is detected in the next collision detection
+			body.clearDetected();
+		}
+		
+		// read the joints
+		for (int i = 0; i < jSize; i++) {
+			Constraint joint = this.joints.get(i);
+			joint.restore(buffer);
+		}
+		
+		// read the contact constraints
+		this.contactManager.reset();
+		this.manifoldCache.clear();
+		List<ContactEdge> edges = this.restoredContactEdges;
+		for (int i = 0; i < count; i++) {
+			Body body1 = this.bodies.get(buffer.getInt());
+			BodyFixture fixture1 = body1.fixtures.get(buffer.getInt());
+			Body body2 = this.bodies.get(buffer.getInt());
+			BodyFixture fixture2 = body2.fixtures.get(buffer.getInt());
+			
+			// reuse the current contact constraint (and its contact edges) 
+			// between the same fixtures if there is one
+			ContactEdge edge1 = null;
+			ContactEdge edge2 = null;
+			ContactConstraint contactConstraint = null;
+			int eSize = body1.contacts.size();
+			for (int j = 0; j < eSize; j++) {
+				ContactEdge edge = body1.contacts.get(j);
+				ContactConstraint cc = edge.getContactConstraint();
+				if (cc.getBody1() == body1 && cc.getFixture1() == fixture1 && cc.getBody2() == body2 && cc.getFixture2() == fixture2) {
+					// remove the edge so that it's only used once
+					body1.contacts.remove(j);
+					edge1 = edge;
+					contactConstraint = cc;
+					break;
+				}
+			}
+			if (contactConstraint != null) {
+				eSize = body2.contacts.size();
+				for (int j = 0; j < eSize; j++) {
+					ContactEdge edge = body2.contacts.get(j);
+					if (edge.getContactConstraint() == contactConstraint) {
+						body2.contacts.remove(j);
+						edge2 = edge;
+						break;
+					}
+				}
+				contactConstraint.onIsland = false;
+			} else {
+				Manifold manifold = new Manifold(new ArrayList<ManifoldPoint>(0), new Vector2());
+				contactConstraint = new ContactConstraint(body1, fixture1, body2, fixture2, manifold, this);
+				edge1 = new ContactEdge(body2, contactConstraint);
+			}
+			if (edge2 == null) {
+				edge2 = new ContactEdge(body1, contactConstraint);
+			}
+			Constraint constraint = contactConstraint;
+			constraint.restore(buffer);
+			edges.add(edge1);
+			edges.add(edge2);
+			this.contactManager.restore(contactConstraint);
+		}
+		
+		// replace the contact edges by those of the restored contact constraints
+		for (int i = 0; i < bSize; i++) {
+			this.bodies.get(i).removeAllContactEdges();
+		}
+		int eSize = edges.size();
+		for (int i = 0; i < eSize; i += 2) {
+			ContactEdge edge1 = edges.get(i);
+			ContactEdge edge2 = edges.get(i + 1);
+			edge2.getOther().addContactEdge(edge1);
+			edge1.getOther().addContactEdge(edge2);
+		}
+		edges.clear();
+		
+		// update the broadphase proxies in place with the restored transforms
+		for (int i = 0; i < bSize; i++) {
+			this.broadphaseDetector.update(this.bodies.get(i));
+		}
+		
+		// the restored contacts are current unless an update was required
+		this.updateRequired = updateRequired;
+	}
+	
+	/**
+	 * Returns true if the given buffer contains a snapshot of this world at the given position.
+	 * <p>
+	 * The number of bodies and joints, the body and fixture indices of the contact constraints and 
+	 * the size of every record are checked against this world and the buffer's limit.  The position of 
+	 * the buffer is not changed.
+	 * @param buffer the buffer
+	 * @param position the position of the snapshot in the buffer
+	 * @return boolean
+	 * @since 3.2.0
+	 */
+	private boolean isValidSnapshot(ByteBuffer buffer, int position) {
+		int bSize = this.bodies.size();
+		int jSize = this.joints.size();
+		int limit = buffer.limit();
+		
+		// the header, the step, the accumulated time and the update required flag
+		long p = position + 3 * 4 + 6 * 8 + 1;
+		if (p > limit) return false;
+		if (buffer.getInt(position) != bSize || buffer.getInt(position + 4) != jSize) return false;
+		int count = buffer.getInt(position + 8);
+		if (count < 0) return false;
+		
+		// the bodies and joints have a fixed size
+		p += (long)bSize * Body.SNAPSHOT_SIZE;
+		for (int i = 0; i < jSize; i++) {
+			Constraint joint = this.joints.get(i);
+			p += joint.getSnapshotSize();
+		}
+		if (p > limit) return false;
+		
+		// check the indices and size of each contact constraint
+		for (int i = 0; i < count; i++) {
+			if (p + 4 * 4 > limit) return false;
+			int index = (int)p;
+			int index1 = buffer.getInt(index);
+			int fixtureIndex1 = buffer.getInt(index + 4);
+			int index2 = buffer.getInt(index + 8);
+			int fixtureIndex2 = buffer.getInt(index + 12);
+			if (index1 < 0 || index1 >= bSize || index2 < 0 || index2 >= bSize || index1 == index2) return false;
+			if (fixtureIndex1 < 0 || fixtureIndex1 >= this.bodies.get(index1).fixtures.size()) return false;
+			if (fixtureIndex2 < 0 || fixtureIndex2 >= this.bodies.get(index2).fixtures.size()) return false;
+			int size = ContactConstraint.getSnapshotSize(buffer, index + 4 * 4);
+			if (size < 0) return false;
+			p += 4 * 4 + size;
+		}
+		
+		return true;
+	}
+	
 	/**
 	 * Adds a {@link Body} to the {@link World}.
 	 * @param body the {@link Body} to add
@@ -2685,13 +3523,154 @@ public class World {
 		// dont allow a body that already is assigned to another world
 		if (body.world != null) throw new IllegalArgumentException(Messages.getString("dynamics.world.addOtherWorldBody"));
 		// add it to the world
+		body.index = this.bodies.size();
 		this.bodies.add(body);
 		// set the world property on the body
 		body.setWorld(this);
+		// make sure the body is detected
+		body.clearDetected();
 		// add it to the broadphase
 		this.broadphaseDetector.add(body);
 	}
 	
+	/**
+	 * Adds the given {@link Body}s to the {@link World}.
+	 * <p>
+	 * This method is equivalent to calling {@link #addBody(Body)} for each body but is
+	 * faster when adding many bodies.  The {@link AABB}s of the bodies are computed using
+	 * up to {@link Settings#getParallelSolverThreadCount()} threads and the bodies are added 
+	 * to the broadphase in bulk when it's an {@link AbstractAABBDetector}.
+	 * <p>
+	 * The bodies are validated before any are added; if any body is invalid, none are added.
+	 * @param bodies the {@link Body}s to add
+	 * @throws NullPointerException if bodies is null or contains a null body
+	 * @throws IllegalArgumentException if a body has already been added to this world (or is contained 
+	 * more than once in bodies) or if its a member of another world instance
+	 * @since 3.2.0
+	 */
+	public void addBodies(Collection<? extends Body> bodies) {
+		// copy the bodies into a list for the broadphase
+		List<Body> list = new ArrayList<Body>(bodies);
+		int size = list.size();
+		
+		// validate the bodies
+		for (int i = 0; i < size; i++) {
+			Body body = list.get(i);
+			// check for null body
+			if (body == null) throw new NullPointerException(Messages.getString("dynamics.world.addNullBody"));
+			// dont allow adding it twice
+			if (body.world == this) throw new IllegalArgumentException(Messages.getString("dynamics.world.addExistingBody"));
+			// dont allow a body that already is assigned to another world
+			if (body.world != null) throw new IllegalArgumentException(Messages.getString("dynamics.world.addOtherWorldBody"));
+		}
+		// set the world property on the bodies, checking for duplicates
+		for (int i = 0; i < size; i++) {
+			Body body = list.get(i);
+			if (body.world == this) {
+				// the body is in the collection more than once so undo
+				for (int j = 0; j < i; j++) {
+					list.get(j).setWorld(null);
+				}
+				throw new IllegalArgumentException(Messages.getString("dynamics.world.addExistingBody"));
+			}
+			body.setWorld(this);
+		}
+		
+		// add them to the world
+		if (this.bodies instanceof ArrayList) {
+			((ArrayList<Body>)this.bodies).ensureCapacity(this.bodies.size() + size);
+		}
+		for (int i = 0; i < size; i++) {
+			Body body = list.get(i);
+			body.index = this.bodies.size();
+			this.bodies.add(body);
+			// make sure the body is detected
+			body.clearDetected();
+		}
+		
+		// compute the aabbs of the bodies (they are cached by the bodies)
+		this.computeAABBs(list);
+		
+		// add them to the broadphase (all at once if supported)
+		if (this.broadphaseDetector instanceof AbstractAABBDetector) {
+			((AbstractAABBDetector<Body>)this.broadphaseDetector).add(list);
+		} else {
+			for (int i = 0; i < size; i++) {
+				this.broadphaseDetector.add(list.get(i));
+			}
+		}
+	}
+	
+	/**
+	 * Computes the {@link AABB}s of the given bodies using up to {@link Settings#getParallelSolverThreadCount()}
+	 * threads.
+	 * <p>
+	 * The {@link AABB}s are cached by the bodies.
+	 * @param bodies the bodies
+	 * @since 3.2.0
+	 */
+	private void computeAABBs(final List<Body> bodies) {
+		int size = bodies.size();
+		int threads = this.settings.getParallelSolverThreadCount();
+		// limit the number of tasks so that each computes at least 256 aabbs
+		int n = Math.max(1, Math.min(threads, size / 256));
+		if (n == 1) {
+			for (int i = 0; i < size; i++) {
+				bodies.get(i).getAABB();
+			}
+			return;
+		}
+		
+		// use the threads of the parallel solver
+		ExecutorService executor = this.island.coloredConstraintSolver.getExecutor(threads);
+		int chunk = size / n;
+		List<Future<?>> futures = new ArrayList<Future<?>>(n - 1);
+		for (int t = 1; t < n; t++) {
+			final int start = t * chunk;
+			final int end = t == n - 1 ? size : start + chunk;
+			futures.add(executor.submit(new Runnable() {
+				@Override
+				public void run() {
+					for (int i = start; i < end; i++) {
+						bodies.get(i).getAABB();
+					}
+				}
+			}));
+		}
+		// compute the first chunk on the calling thread
+		for (int i = 0; i < chunk; i++) {
+			bodies.get(i).getAABB();
+		}
+		// wait for the others
+		this.waitFor(futures);
+	}
+	
+	/**
+	 * Waits for the given tasks to complete rethrowing any exception they threw.
+	 * @param futures the tasks
+	 * @since 3.2.0
+	 */
+	private void waitFor(List<Future<?>> futures) {
+		boolean interrupted = false;
+		for (int t = 0; t < futures.size(); t++) {
+			while (true) {
+				try {
+					futures.get(t).get();
+					break;
+				} catch (InterruptedException e) {
+					interrupted = true;
+				} catch (ExecutionException e) {
+					Throwable cause = e.getCause();
+					if (cause instanceof RuntimeException) throw (RuntimeException)cause;
+					if (cause instanceof Error) throw (Error)cause;
+					throw new RuntimeException(cause);
+				}
+			}
+		}
+		// restore the interrupted state
+		if (interrupted) Thread.currentThread().interrupt();
+	}
+	
 	/**
 	 * Adds a {@link Joint} to the {@link World}.
 	 * @param joint the {@link Joint} to add
@@ -2707,6 +3686,7 @@ public class World {
 		// dont allow a joint that already is assigned to another world
 		if (joint.world != null) throw new IllegalArgumentException(Messages.getString("dynamics.world.addOtherWorldJoint"));
 		// add the joint to the joint list
+		joint.index = this.joints.size();
 		this.joints.add(joint);
 		// set the world property on the joint
 		joint.setWorld(this);
@@ -2716,11 +3696,11 @@ public class World {
 		// create a joint edge from the first body to the second
 		JointEdge jointEdge1 = new JointEdge(body2, joint);
 		// add the edge to the body
-		body1.joints.add(jointEdge1);
+		body1.addJointEdge(jointEdge1);
 		// create a joint edge from the second body to the first
 		JointEdge jointEdge2 = new JointEdge(body1, joint);
 		// add the edge to the body
-		body2.joints.add(jointEdge2);
+		body2.addJointEdge(jointEdge2);
 	}
 	
 	/**
@@ -2730,7 +3710,10 @@ public class World {
 	 * @since 3.1.1
 	 */
 	public boolean containsBody(Body body) {
-		return this.bodies.contains(body);
+		// use the index of the body instead of searching
+		if (body == null) return false;
+		int index = body.index;
+		return index >= 0 && index < this.bodies.size() && this.bodies.get(index) == body;
 	}
 	
 	/**
@@ -2740,7 +3723,10 @@ public class World {
 	 * @since 3.1.1
 	 */
 	public boolean containsJoint(Joint joint) {
-		return this.joints.contains(joint);
+		// use the index of the joint instead of searching
+		if (joint == null) return false;
+		int index = joint.index;
+		return index >= 0 && index < this.joints.size() && this.joints.get(index) == joint;
 	}
 	
 	/**
@@ -2748,6 +3734,12 @@ public class World {
 	 * <p>
 	 * Use the {@link #removeBody(Body, boolean)} method to enable implicit
 	 * destruction notification.
+	 * <p>
+	 * The last {@link Body} is moved into the index of the removed {@link Body} (and
+	 * the last {@link Joint} into the index of each removed {@link Joint}), so the order
+	 * of the bodies and joints, and the indices used with {@link #getBody(int)} and
+	 * {@link #getJoint(int)}, are not stable across removals.  Use the 
+	 * {@link #removeBodies(Collection, boolean)} method to keep the order of the bodies.
 	 * @param body the {@link Body} to remove.
 	 * @return boolean true if the body was removed
 	 */
@@ -2761,6 +3753,12 @@ public class World {
 	 * When a body is removed, joints and contacts may be implicitly destroyed.
 	 * Pass true to the notify parameter to be notified the destruction of these objects
 	 * via the {@link DestructionListener}s.
+	 * <p>
+	 * The last {@link Body} is moved into the index of the removed {@link Body} (and
+	 * the last {@link Joint} into the index of each removed {@link Joint}), so the order
+	 * of the bodies and joints, and the indices used with {@link #getBody(int)} and
+	 * {@link #getJoint(int)}, are not stable across removals.  Use the 
+	 * {@link #removeBodies(Collection, boolean)} method to keep the order of the bodies.
 	 * @param body the {@link Body} to remove
 	 * @param notify true if implicit destruction should be notified
 	 * @return boolean true if the body was removed
@@ -2774,7 +3772,7 @@ public class World {
 		// check for null body
 		if (body == null) return false;
 		// remove the body from the list
-		boolean removed = this.bodies.remove(body);
+		boolean removed = this.removeFromList(body);
 		
 		// only remove joints and contacts if the body was removed
 		if (removed) {
@@ -2784,81 +3782,184 @@ public class World {
 			// remove the body from the broadphase
 			this.broadphaseDetector.remove(body);
 			
-			// wake up any bodies connected to this body by a joint
-			// and destroy the joints and remove the edges
-			Iterator<JointEdge> aIterator = body.joints.iterator();
-			while (aIterator.hasNext()) {
-				// get the joint edge
-				JointEdge jointEdge = aIterator.next();
-				// remove the joint edge from the given body
-				aIterator.remove();
-				// get the joint
-				Joint joint = jointEdge.getJoint();
-				// get the other body
-				Body other = jointEdge.getOther();
-				// wake up the other body
-				other.setAsleep(false);
-				// remove the joint edge from the other body
-				Iterator<JointEdge> bIterator = other.joints.iterator();
-				while (bIterator.hasNext()) {
-					// get the joint edge
-					JointEdge otherJointEdge = bIterator.next();
-					// get the joint
-					Joint otherJoint = otherJointEdge.getJoint();
-					// are the joints the same object reference
-					if (otherJoint == joint) {
-						// remove the joint edge
-						bIterator.remove();
-						// we can break from the loop since there should
-						// not be more than one joint edge per joint per body
-						break;
-					}
-				}
-				// notify of the destroyed joint
-				if (notify) {
-					for (DestructionListener dl : listeners) {
-						dl.destroyed(joint);
-					}
+			// remove the joints and contacts
+			this.removeEdges(body, notify, listeners);
+		}
+		
+		return removed;
+	}
+	
+	/**
+	 * Removes the given {@link Body}s from the {@link World}.
+	 * <p>
+	 * This method is equivalent to calling {@link #removeBody(Body)} for each body
+	 * but is faster when removing many bodies.
+	 * <p>
+	 * Use the {@link #removeBodies(Collection, boolean)} method to enable implicit
+	 * destruction notification.
+	 * @param bodies the {@link Body}s to remove
+	 * @return int the number of bodies removed
+	 * @throws NullPointerException if bodies is null
+	 * @since 3.2.0
+	 */
+	public int removeBodies(Collection<? extends Body> bodies) {
+		return this.removeBodies(bodies, false);
+	}
+	
+	/**
+	 * Removes the given {@link Body}s from the {@link World}.
+	 * <p>
+	 * This method is equivalent to calling {@link #removeBody(Body, boolean)} for each body
+	 * but is faster when removing many bodies.  The joints, contacts and broadphase proxies of
+	 * the bodies are removed in a single pass and the list of bodies is compacted once.  Unlike 
+	 * {@link #removeBody(Body, boolean)}, the order of the remaining bodies is preserved.
+	 * <p>
+	 * Null bodies and bodies that are not in this world are ignored.
+	 * @param bodies the {@link Body}s to remove
+	 * @param notify true if implicit destruction should be notified
+	 * @return int the number of bodies removed
+	 * @throws NullPointerException if bodies is null
+	 * @since 3.2.0
+	 */
+	public int removeBodies(Collection<? extends Body> bodies, boolean notify) {
+		List<DestructionListener> listeners = null;
+		if (notify) {
+			listeners = this.getListeners(DestructionListener.class);
+		}
+		
+		int removed = 0;
+		for (Body body : bodies) {
+			// skip bodies that are not in this world
+			if (!this.containsBody(body)) continue;
+			// leave a hole in the list of bodies for now
+			this.bodies.set(body.index, null);
+			body.index = -1;
+			// set the world property to null
+			body.world = null;
+			// remove the body from the broadphase
+			this.broadphaseDetector.remove(body);
+			// remove the joints and contacts
+			this.removeEdges(body, notify, listeners);
+			removed++;
+		}
+		
+		// compact the list of bodies
+		if (removed > 0) {
+			int size = this.bodies.size();
+			int n = 0;
+			for (int i = 0; i < size; i++) {
+				Body body = this.bodies.get(i);
+				if (body != null) {
+					body.index = n;
+					this.bodies.set(n++, body);
 				}
-				// remove the joint from the world
-				this.joints.remove(joint);
-				// set the world property to null
-				joint.world = null;
 			}
-			
-			// remove any contacts this body had with any other body
-			Iterator<ContactEdge> acIterator = body.contacts.iterator();
-			while (acIterator.hasNext()) {
-				// get the contact edge
-				ContactEdge contactEdge = acIterator.next();
-				// remove the contact edge from the given body
-				acIterator.remove();
-				// get the contact constraint
-				ContactConstraint contactConstraint = contactEdge.getContactConstraint();
-				// get the other body
-				Body other = contactEdge.getOther();
-				// wake up the other body
-				other.setAsleep(false);
-				// remove the contact edge connected from the other body
-				// to this body
-				Iterator<ContactEdge> iterator = other.contacts.iterator();
-				while (iterator.hasNext()) {
-					ContactEdge otherContactEdge = iterator.next();
-					// get the contact constraint
-					ContactConstraint otherContactConstraint = otherContactEdge.getContactConstraint();
-					// check if the contact constraint is the same reference
-					if (otherContactConstraint == contactConstraint) {
-						// remove the contact edge
-						iterator.remove();
-						// break from the loop since there should only be
-						// one contact edge per body pair
-						break;
-					}
+			// remove the tail of the list
+			this.bodies.subList(n, size).clear();
+		}
+		
+		return removed;
+	}
+	
+	/**
+	 * Removes the given {@link Body} from the list of bodies.
+	 * <p>
+	 * The last {@link Body} in the list is moved to the index of the given {@link Body}
+	 * so that the removal is O(1).
+	 * @param body the {@link Body} to remove
+	 * @return boolean true if the body was in the list
+	 * @since 3.2.0
+	 */
+	private boolean removeFromList(Body body) {
+		if (!this.containsBody(body)) return false;
+		int index = body.index;
+		Body last = this.bodies.remove(this.bodies.size() - 1);
+		if (last != body) {
+			this.bodies.set(index, last);
+			last.index = index;
+		}
+		body.index = -1;
+		return true;
+	}
+	
+	/**
+	 * Removes the given {@link Joint} from the list of joints.
+	 * <p>
+	 * The last {@link Joint} in the list is moved to the index of the given {@link Joint}
+	 * so that the removal is O(1).
+	 * @param joint the {@link Joint} to remove
+	 * @return boolean true if the joint was in the list
+	 * @since 3.2.0
+	 */
+	private boolean removeFromList(Joint joint) {
+		if (!this.containsJoint(joint)) return false;
+		int index = joint.index;
+		Joint last = this.joints.remove(this.joints.size() - 1);
+		if (last != joint) {
+			this.joints.set(index, last);
+			last.index = index;
+		}
+		joint.index = -1;
+		return true;
+	}
+	
+	/**
+	 * Removes the joints and contacts of the given {@link Body} after it has been removed
+	 * from this world.
+	 * @param body the removed {@link Body}
+	 * @param notify true if implicit destruction should be notified
+	 * @param listeners the {@link DestructionListener}s; null if notify is false
+	 * @since 3.2.0
+	 */
+	private void removeEdges(Body body, boolean notify, List<DestructionListener> listeners) {
+		// wake up any bodies connected to this body by a joint
+		// and destroy the joints and remove the edges
+		int jSize = body.joints.size();
+		for (int i = 0; i < jSize; i++) {
+			// get the joint edge
+			JointEdge jointEdge = body.joints.get(i);
+			// get the joint
+			Joint joint = jointEdge.getJoint();
+			// get the other body
+			Body other = jointEdge.getOther();
+			// wake up the other body
+			other.setAsleep(false);
+			// remove the joint edge from the other body
+			other.removeJointEdge(joint);
+			// notify of the destroyed joint
+			if (notify) {
+				for (DestructionListener dl : listeners) {
+					dl.destroyed(joint);
 				}
-				// remove the contact constraint from the contact manager
-				this.contactManager.remove(contactConstraint);
-				// set the world property to null
-				contactConstraint.world = null;
+			}
+			// remove the joint from the world
+			this.removeFromList(joint);
+			// set the world property to null
+			joint.world = null;
+		}
+		// remove the joint edges from the given body
+		body.removeAllJointEdges();
+		
+		// remove any contacts this body had with any other body
+		int cSize = body.contacts.size();
+		for (int i = 0; i < cSize; i++) {
+			// get the contact edge
+			ContactEdge contactEdge = body.contacts.get(i);
+			// get the contact constraint
+			ContactConstraint contactConstraint = contactEdge.getContactConstraint();
+			// get the other body
+			Body other = contactEdge.getOther();
+			// wake up the other body
+			other.setAsleep(false);
+			// remove the contact edge connected from the other body
+			// to this body
+			other.removeContactEdge(contactConstraint);
+			// remove the contact constraint from the contact manager
+			this.contactManager.remove(contactConstraint);
+			// set the world property to null
+			contactConstraint.world = null;
+			// only create the contact points if they will be notified
+			if (notify) {
 				// loop over the contact points
 				List<Contact> contacts = contactConstraint.getContacts();
 				int size = contacts.size();
@@ -2877,15 +3978,53 @@ public class World {
 							contactConstraint.getNormal(), 
 							contact.getDepth());
 					// call the destruction listeners
-					if (notify) {
-						for (DestructionListener dl : listeners) {
-							dl.destroyed(contactPoint);
-						}
+					for (DestructionListener dl : listeners) {
+						dl.destroyed(contactPoint);
 					}
 				}
 			}
 		}
-		
+		// remove the contact edges from the given body
+		body.removeAllContactEdges();
+	}
+	
+	/**
+	 * Removes the given {@link Body} from the {@link World} and returns it to the 
+	 * {@link BodyPool} it was obtained from.
+	 * <p>
+	 * If the body was not obtained from a {@link BodyPool} it's only removed.
+	 * <p>
+	 * The body must not be used after it's recycled.
+	 * @param body the {@link Body} to recycle
+	 * @return boolean true if the body was removed
+	 * @see #removeBody(Body)
+	 * @see BodyPool#obtain()
+	 * @since 3.2.0
+	 */
+	public boolean recycle(Body body) {
+		return this.recycle(body, false);
+	}
+	
+	/**
+	 * Removes the given {@link Body} from the {@link World} and returns it to the 
+	 * {@link BodyPool} it was obtained from.
+	 * <p>
+	 * If the body was not obtained from a {@link BodyPool} it's only removed.
+	 * <p>
+	 * The body must not be used after it's recycled.
+	 * @param body the {@link Body} to recycle
+	 * @param notify true if implicit destruction should be notified
+	 * @return boolean true if the body was removed
+	 * @see #removeBody(Body, boolean)
+	 * @see BodyPool#obtain()
+	 * @since 3.2.0
+	 */
+	public boolean recycle(Body body, boolean notify) {
+		boolean removed = this.removeBody(body, notify);
+		// return the body to its pool
+		if (removed && body.pool != null) {
+			body.pool.release(body);
+		}
 		return removed;
 	}
 	
@@ -2893,6 +4032,10 @@ public class World {
 	 * Removes the given {@link Joint} from the {@link World}.
 	 * <p>
 	 * When joints are removed no other objects are implicitly destroyed.
+	 * <p>
+	 * The last {@link Joint} is moved into the index of the removed {@link Joint}, so
+	 * the order of the joints, and the indices used with {@link #getJoint(int)}, are not
+	 * stable across removals.
 	 * @param joint the {@link Joint} to remove
 	 * @return boolean true if the {@link Joint} was removed
 	 */
@@ -2900,7 +4043,7 @@ public class World {
 		// check for null joint
 		if (joint == null) return false;
 		// remove the joint from the joint list
-		boolean removed = this.joints.remove(joint);
+		boolean removed = this.removeFromList(joint);
 		
 		// see if the given joint was removed
 		if (removed) {
@@ -2911,32 +4054,9 @@ public class World {
 			Body body1 = joint.getBody1();
 			Body body2 = joint.getBody2();
 			
-			// remove the joint edges from body1
-			Iterator<JointEdge> iterator = body1.joints.iterator();
-			while (iterator.hasNext()) {
-				// see if this is the edge we want to remove
-				JointEdge jointEdge = iterator.next();
-				if (jointEdge.getJoint() == joint) {
-					// then remove this joint edge
-					iterator.remove();
-					// joints should only have one joint edge
-					// per body
-					break;
-				}
-			}
-			// remove the joint edges from body2
-			iterator = body2.joints.iterator();
-			while (iterator.hasNext()) {
-				// see if this is the edge we want to remove
-				JointEdge jointEdge = iterator.next();
-				if (jointEdge.getJoint() == joint) {
-					// then remove this joint edge
-					iterator.remove();
-					// joints should only have one joint edge
-					// per body
-					break;
-				}
-			}
+			// remove the joint edges from the bodies
+			body1.removeJointEdge(joint);
+			body2.removeJointEdge(joint);
 			
 			// finally wake both bodies
 			body1.setAsleep(false);
@@ -2976,7 +4096,7 @@ public class World {
 			// get the body
 			Body body = this.bodies.get(i);
 			// clear the joint edges
-			body.joints.clear();
+			body.removeAllJointEdges();
 			// do we need to notify?
 			if (notify) {
 				// notify of all the destroyed contacts
@@ -2988,22 +4108,8 @@ public class World {
 					Body other = contactEdge.getOther();
 					// get the contact constraint
 					ContactConstraint contactConstraint = contactEdge.getContactConstraint();
-					// find the other contact edge
-					Iterator<ContactEdge> bIterator = other.contacts.iterator();
-					while (bIterator.hasNext()) {
-						// get the contact edge
-						ContactEdge otherContactEdge = bIterator.next();
-						// get the contact constraint on the edge
-						ContactConstraint otherContactConstraint = otherContactEdge.getContactConstraint();
-						// are the constraints the same object reference
-						if (otherContactConstraint == contactConstraint) {
-							// if so then remove it
-							bIterator.remove();
-							// there should only be one contact edge
-							// for each body-body pair
-							break;
-						}
-					}
+					// remove the other contact edge
+					other.removeContactEdge(contactConstraint);
 					// set the world to null
 					contactConstraint.world = null;
 					// notify of all the contacts on the contact constraint
@@ -3035,7 +4141,7 @@ public class World {
 				}
 			}
 			// clear all the contacts
-			body.contacts.clear();
+			body.removeAllContactEdges();
 			// set the world to null
 			body.world = null;
 		}
@@ -3062,6 +4168,8 @@ public class World {
 		this.bodies.clear();
 		// clear the contact manager of cached contacts
 		this.contactManager.reset();
+		// clear the cached manifolds
+		this.manifoldCache.clear();
 	}
 	
 	/**
@@ -3118,32 +4226,9 @@ public class World {
 			Body body1 = joint.getBody1();
 			Body body2 = joint.getBody2();
 			
-			// remove the joint edges from body1
-			Iterator<JointEdge> iterator = body1.joints.iterator();
-			while (iterator.hasNext()) {
-				// see if this is the edge we want to remove
-				JointEdge jointEdge = iterator.next();
-				if (jointEdge.getJoint() == joint) {
-					// then remove this joint edge
-					iterator.remove();
-					// joints should only have one joint edge
-					// per body
-					break;
-				}
-			}
-			// remove the joint edges from body2
-			iterator = body2.joints.iterator();
-			while (iterator.hasNext()) {
-				// see if this is the edge we want to remove
-				JointEdge jointEdge = iterator.next();
-				if (jointEdge.getJoint() == joint) {
-					// then remove this joint edge
-					iterator.remove();
-					// joints should only have one joint edge
-					// per body
-					break;
-				}
-			}
+			// remove the joint edges from the bodies
+			body1.removeJointEdge(joint);
+			body2.removeJointEdge(joint);
 			
 			// finally wake both bodies
 			body1.setAsleep(false);
@@ -3617,6 +4702,9 @@ public class World {
 	
 	/**
 	 * Returns the {@link Body} at the given index.
+	 * <p>
+	 * The index of a {@link Body} can change when other bodies are removed; see
+	 * {@link #removeBody(Body, boolean)}.
 	 * @param index the index
 	 * @return {@link Body}
 	 */
@@ -3645,6 +4733,9 @@ public class World {
 	
 	/**
 	 * Returns the {@link Joint} at the given index.
+	 * <p>
+	 * The index of a {@link Joint} can change when other joints are removed; see
+	 * {@link #removeJoint(Joint)}.
 	 * @param index the index
 	 * @return {@link Joint}
 	 */
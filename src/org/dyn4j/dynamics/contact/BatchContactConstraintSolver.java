@@ -0,0 +1,671 @@
+/*
+ * Copyright (c) 2010-2014 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.dynamics.contact;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.dyn4j.dynamics.Body;
+import org.dyn4j.geometry.Mass;
+import org.dyn4j.geometry.Matrix22;
+import org.dyn4j.geometry.Vector2;
+
+/**
+ * Represents a batch velocity solver for {@link ContactConstraint}s.
+ * <p>
+ * This solver copies the data prepared by the {@link ContactConstraintSolver} into flat arrays of primitives
+ * (structure of arrays) and performs the velocity iterations on those arrays instead of the {@link Body}, 
+ * {@link ContactConstraint} and {@link Contact} objects.  This avoids the indirection and temporary objects 
+ * of the object based solver and keeps the data of consecutive contacts adjacent in memory.
+ * <p>
+ * The contacts are solved in the same order and with the same arithmetic as the 
+ * {@link ContactConstraintSolver#solveVelocityContraints()} method, so the results are identical.
+ * <p>
+ * The typical usage is:
+ * <ol>
+ * <li>{@link #setup(List)} after the {@link ContactConstraintSolver} has been setup and initialized</li>
+ * <li>{@link #loadVelocities()} to copy the {@link Body} velocities into the batch</li>
+ * <li>{@link #solveVelocityConstraints()} once per velocity iteration</li>
+ * <li>{@link #storeVelocities()} to copy the velocities back to the {@link Body}s</li>
+ * <li>{@link #storeImpulses()} to copy the accumulated impulses back to the {@link Contact}s</li>
+ * </ol>
+ * The velocities must be stored and loaded again around any other modification of the {@link Body} 
+ * velocities, for example solving {@link org.dyn4j.dynamics.joint.Joint}s.
+ * @author William Bittle
+ * @version 3.2.0
+ * @since 3.2.0
+ * @see org.dyn4j.dynamics.Settings#setBatchContactSolverEnabled(boolean)
+ */
+public class BatchContactConstraintSolver {
+	/** The initial capacity of the arrays */
+	private static final int INITIAL_CAPACITY = 16;
+	
+	/** The map of {@link Body} to index in the body arrays */
+	private final Map<Body, Integer> indices;
+	
+	// bodies
+	
+	/** The number of bodies */
+	protected int bodyCount;
+	
+	/** The bodies */
+	protected Body[] bodies;
+	
+	/** The linear velocity x components */
+	protected double[] vx;
+	
+	/** The linear velocity y components */
+	protected double[] vy;
+	
+	/** The angular velocities */
+	protected double[] w;
+	
+	/** The inverse masses */
+	protected double[] invM;
+	
+	/** The inverse inertias */
+	protected double[] invI;
+	
+	// constraints
+	
+	/** The number of constraints */
+	protected int constraintCount;
+	
+	/** The index of the first body of each constraint */
+	protected int[] body1;
+	
+	/** The index of the second body of each constraint */
+	protected int[] body2;
+	
+	/** The index of the first contact of each constraint */
+	protected int[] start;
+	
+	/** The number of contacts of each constraint */
+	protected int[] count;
+	
+	/** The normal x components */
+	protected double[] nx;
+	
+	/** The normal y components */
+	protected double[] ny;
+	
+	/** The tangent x components */
+	protected double[] tx;
+	
+	/** The tangent y components */
+	protected double[] ty;
+	
+	/** The coefficients of friction */
+	protected double[] friction;
+	
+	/** The tangent speeds */
+	protected double[] tangentSpeed;
+	
+	/** The block solver matrix; 4 elements per constraint */
+	protected double[] K;
+	
+	/** The inverse of the block solver matrix; 4 elements per constraint */
+	protected double[] invK;
+	
+	// contacts
+	
+	/** The number of contacts */
+	protected int contactCount;
+	
+	/** The contacts */
+	protected Contact[] contacts;
+	
+	/** The x components of the vectors from the center of the first body to the contact points */
+	protected double[] r1x;
+	
+	/** The y components of the vectors from the center of the first body to the contact points */
+	protected double[] r1y;
+	
+	/** The x components of the vectors from the center of the second body to the contact points */
+	protected double[] r2x;
+	
+	/** The y components of the vectors from the center of the second body to the contact points */
+	protected double[] r2y;
+	
+	/** The normal masses */
+	protected double[] massN;
+	
+	/** The tangent masses */
+	protected double[] massT;
+	
+	/** The velocity biases */
+	protected double[] vb;
+	
+	/** The accumulated normal impulses */
+	protected double[] jn;
+	
+	/** The accumulated tangent impulses */
+	protected double[] jt;
+	
+	/**
+	 * Default constructor.
+	 */
+	public BatchContactConstraintSolver() {
+		this.indices = new IdentityHashMap<Body, Integer>();
+		this.bodies = new Body[INITIAL_CAPACITY];
+		this.vx = new double[INITIAL_CAPACITY];
+		this.vy = new double[INITIAL_CAPACITY];
+		this.w = new double[INITIAL_CAPACITY];
+		this.invM = new double[INITIAL_CAPACITY];
+		this.invI = new double[INITIAL_CAPACITY];
+		
+		this.body1 = new int[INITIAL_CAPACITY];
+		this.body2 = new int[INITIAL_CAPACITY];
+		this.start = new int[INITIAL_CAPACITY];
+		this.count = new int[INITIAL_CAPACITY];
+		this.nx = new double[INITIAL_CAPACITY];
+		this.ny = new double[INITIAL_CAPACITY];
+		this.tx = new double[INITIAL_CAPACITY];
+		this.ty = new double[INITIAL_CAPACITY];
+		this.friction = new double[INITIAL_CAPACITY];
+		this.tangentSpeed = new double[INITIAL_CAPACITY];
+		this.K = new double[INITIAL_CAPACITY * 4];
+		this.invK = new double[INITIAL_CAPACITY * 4];
+		
+		this.contacts = new Contact[INITIAL_CAPACITY];
+		this.r1x = new double[INITIAL_CAPACITY];
+		this.r1y = new double[INITIAL_CAPACITY];
+		this.r2x = new double[INITIAL_CAPACITY];
+		this.r2y = new double[INITIAL_CAPACITY];
+		this.massN = new double[INITIAL_CAPACITY];
+		this.massT = new double[INITIAL_CAPACITY];
+		this.vb = new double[INITIAL_CAPACITY];
+		this.jn = new double[INITIAL_CAPACITY];
+		this.jt = new double[INITIAL_CAPACITY];
+	}
+	
+	/**
+	 * Copies the given {@link ContactConstraint}s into the batch.
+	 * <p>
+	 * The {@link ContactConstraint}s must have been setup and initialized by the 
+	 * {@link ContactConstraintSolver} first.
+	 * @param contactConstraints the contact constraints
+	 */
+	public void setup(List<ContactConstraint> contactConstraints) {
+		// clear the previous batch
+		this.clear();
+		
+		int size = contactConstraints.size();
+		this.ensureConstraintCapacity(size);
+		
+		for (int i = 0; i < size; i++) {
+			ContactConstraint contactConstraint = contactConstraints.get(i);
+			List<Contact> contacts = contactConstraint.contacts;
+			int cSize = contacts.size();
+			
+			// copy the constraint
+			this.body1[i] = this.getIndex(contactConstraint.getBody1());
+			this.body2[i] = this.getIndex(contactConstraint.getBody2());
+			this.start[i] = this.contactCount;
+			this.count[i] = cSize;
+			this.nx[i] = contactConstraint.normal.x;
+			this.ny[i] = contactConstraint.normal.y;
+			this.tx[i] = contactConstraint.tangent.x;
+			this.ty[i] = contactConstraint.tangent.y;
+			this.friction[i] = contactConstraint.friction;
+			this.tangentSpeed[i] = contactConstraint.tangentSpeed;
+			
+			// copy the block solver matrices
+			if (cSize == 2) {
+				Matrix22 K = contactConstraint.K;
+				Matrix22 invK = contactConstraint.invK;
+				int k = i * 4;
+				this.K[k] = K.m00;
+				this.K[k + 1] = K.m01;
+				this.K[k + 2] = K.m10;
+				this.K[k + 3] = K.m11;
+				this.invK[k] = invK.m00;
+				this.invK[k + 1] = invK.m01;
+				this.invK[k + 2] = invK.m10;
+				this.invK[k + 3] = invK.m11;
+			}
+			
+			// copy the contacts
+			this.ensureContactCapacity(this.contactCount + cSize);
+			for (int j = 0; j < cSize; j++) {
+				Contact contact = contacts.get(j);
+				int c = this.contactCount++;
+				this.contacts[c] = contact;
+				this.r1x[c] = contact.r1.x;
+				this.r1y[c] = contact.r1.y;
+				this.r2x[c] = contact.r2.x;
+				this.r2y[c] = contact.r2.y;
+				this.massN[c] = contact.massN;
+				this.massT[c] = contact.massT;
+				this.vb[c] = contact.vb;
+				this.jn[c] = contact.jn;
+				this.jt[c] = contact.jt;
+			}
+		}
+		this.constraintCount = size;
+	}
+	
+	/**
+	 * Clears the batch.
+	 * <p>
+	 * This releases the references to the {@link Body}s and {@link Contact}s.
+	 */
+	public void clear() {
+		for (int i = 0; i < this.bodyCount; i++) {
+			this.bodies[i] = null;
+		}
+		for (int i = 0; i < this.contactCount; i++) {
+			this.contacts[i] = null;
+		}
+		this.indices.clear();
+		this.bodyCount = 0;
+		this.constraintCount = 0;
+		this.contactCount = 0;
+	}
+	
+	/**
+	 * Returns the index of the given {@link Body} in the body arrays adding it
+	 * if necessary.
+	 * @param body the body
+	 * @return int
+	 */
+	private int getIndex(Body body) {
+		Integer index = this.indices.get(body);
+		if (index != null) {
+			return index.intValue();
+		}
+		
+		// add the body
+		int i = this.bodyCount++;
+		if (i == this.bodies.length) {
+			int capacity = i * 2;
+			Body[] bodies = new Body[capacity];
+			System.arraycopy(this.bodies, 0, bodies, 0, i);
+			this.bodies = bodies;
+			this.vx = grow(this.vx, capacity);
+			this.vy = grow(this.vy, capacity);
+			this.w = grow(this.w, capacity);
+			this.invM = grow(this.invM, capacity);
+			this.invI = grow(this.invI, capacity);
+		}
+		
+		Mass mass = body.getMass();
+		this.bodies[i] = body;
+		this.invM[i] = mass.getInverseMass();
+		this.invI[i] = mass.getInverseInertia();
+		this.indices.put(body, i);
+		return i;
+	}
+	
+	/**
+	 * Grows the constraint arrays to hold at least the given number of constraints.
+	 * @param capacity the required capacity
+	 */
+	private void ensureConstraintCapacity(int capacity) {
+		if (capacity <= this.body1.length) return;
+		
+		// at least double the size
+		capacity = Math.max(capacity, this.body1.length * 2);
+		this.body1 = grow(this.body1, capacity);
+		this.body2 = grow(this.body2, capacity);
+		this.start = grow(this.start, capacity);
+		this.count = grow(this.count, capacity);
+		this.nx = grow(this.nx, capacity);
+		this.ny = grow(this.ny, capacity);
+		this.tx = grow(this.tx, capacity);
+		this.ty = grow(this.ty, capacity);
+		this.friction = grow(this.friction, capacity);
+		this.tangentSpeed = grow(this.tangentSpeed, capacity);
+		this.K = grow(this.K, capacity * 4);
+		this.invK = grow(this.invK, capacity * 4);
+	}
+	
+	/**
+	 * Grows the contact arrays to hold at least the given number of contacts.
+	 * @param capacity the required capacity
+	 */
+	private void ensureContactCapacity(int capacity) {
+		if (capacity <= this.contacts.length) return;
+		
+		// at least double the size
+		capacity = Math.max(capacity, this.contacts.length * 2);
+		Contact[] contacts = new Contact[capacity];
+		System.arraycopy(this.contacts, 0, contacts, 0, this.contactCount);
+		this.contacts = contacts;
+		this.r1x = grow(this.r1x, capacity);
+		this.r1y = grow(this.r1y, capacity);
+		this.r2x = grow(this.r2x, capacity);
+		this.r2y = grow(this.r2y, capacity);
+		this.massN = grow(this.massN, capacity);
+		this.massT = grow(this.massT, capacity);
+		this.vb = grow(this.vb, capacity);
+		this.jn = grow(this.jn, capacity);
+		this.jt = grow(this.jt, capacity);
+	}
+	
+	/**
+	 * Returns a copy of the given array with the given length.
+	 * @param array the array
+	 * @param length the new length
+	 * @return double[]
+	 */
+	private static final double[] grow(double[] array, int length) {
+		double[] copy = new double[length];
+		System.arraycopy(array, 0, copy, 0, array.length);
+		return copy;
+	}
+	
+	/**
+	 * Returns a copy of the given array with the given length.
+	 * @param array the array
+	 * @param length the new length
+	 * @return int[]
+	 */
+	private static final int[] grow(int[] array, int length) {
+		int[] copy = new int[length];
+		System.arraycopy(array, 0, copy, 0, array.length);
+		return copy;
+	}
+	
+	/**
+	 * Copies the current velocities of the {@link Body}s into the batch.
+	 */
+	public void loadVelocities() {
+		for (int i = 0; i < this.bodyCount; i++) {
+			Body body = this.bodies[i];
+			Vector2 v = body.getLinearVelocity();
+			this.vx[i] = v.x;
+			this.vy[i] = v.y;
+			this.w[i] = body.getAngularVelocity();
+		}
+	}
+	
+	/**
+	 * Copies the velocities of the batch back to the {@link Body}s.
+	 */
+	public void storeVelocities() {
+		for (int i = 0; i < this.bodyCount; i++) {
+			Body body = this.bodies[i];
+			Vector2 v = body.getLinearVelocity();
+			v.x = this.vx[i];
+			v.y = this.vy[i];
+			body.setAngularVelocity(this.w[i]);
+		}
+	}
+	
+	/**
+	 * Copies the accumulated impulses of the batch back to the {@link Contact}s.
+	 */
+	public void storeImpulses() {
+		for (int i = 0; i < this.contactCount; i++) {
+			Contact contact = this.contacts[i];
+			contact.jn = this.jn[i];
+			contact.jt = this.jt[i];
+		}
+	}
+	
+	/**
+	 * Performs one velocity iteration over all the contacts in the batch.
+	 * <p>
+	 * Returns the largest change in the accumulated normal or tangential impulse of any 
+	 * contact.
+	 * @return double the largest change in accumulated impulse
+	 * @see ContactConstraintSolver#solveVelocityContraints()
+	 */
+	public double solveVelocityConstraints() {
+		// track the largest change in impulse
+		double residual = 0.0;
+		
+		for (int i = 0; i < this.constraintCount; i++) {
+			int cSize = this.count[i];
+			if (cSize == 0) continue;
+			
+			int b1 = this.body1[i];
+			int b2 = this.body2[i];
+			double invM1 = this.invM[b1];
+			double invM2 = this.invM[b2];
+			double invI1 = this.invI[b1];
+			double invI2 = this.invI[b2];
+			
+			double Nx = this.nx[i];
+			double Ny = this.ny[i];
+			double Tx = this.tx[i];
+			double Ty = this.ty[i];
+			double mu = this.friction[i];
+			double ts = this.tangentSpeed[i];
+			
+			int s = this.start[i];
+			int e = s + cSize;
+			
+			// evaluate friction impulse
+			for (int c = s; c < e; c++) {
+				double r1x = this.r1x[c];
+				double r1y = this.r1y[c];
+				double r2x = this.r2x[c];
+				double r2y = this.r2y[c];
+				
+				// get the relative velocity
+				double w1 = this.w[b1];
+				double w2 = this.w[b2];
+				double rvx = (-1.0 * r1y * w1 + this.vx[b1]) - (-1.0 * r2y * w2 + this.vx[b2]);
+				double rvy = (r1x * w1 + this.vy[b1]) - (r2x * w2 + this.vy[b2]);
+				
+				// project the relative velocity onto the tangent normal
+				double rvt = Tx * rvx + Ty * rvy - ts;
+				// calculate the tangential impulse
+				double jt = this.massT[c] * (-rvt);
+				
+				// clamp the accumulated tangential impulse
+				double maxJt = mu * this.jn[c];
+				double Jt0 = this.jt[c];
+				this.jt[c] = Math.max(-maxJt, Math.min(Jt0 + jt, maxJt));
+				jt = this.jt[c] - Jt0;
+				residual = Math.max(residual, Math.abs(jt));
+				
+				// apply to the bodies immediately
+				double Jx = Tx * jt;
+				double Jy = Ty * jt;
+				this.vx[b1] += Jx * invM1;
+				this.vy[b1] += Jy * invM1;
+				this.w[b1] = w1 + invI1 * (r1x * Jy - r1y * Jx);
+				this.vx[b2] -= Jx * invM2;
+				this.vy[b2] -= Jy * invM2;
+				this.w[b2] = w2 - invI2 * (r2x * Jy - r2y * Jx);
+			}
+			
+			// evaluate the normal impulse
+			if (cSize == 1) {
+				residual = Math.max(residual, this.solveNormal(b1, b2, invM1, invM2, invI1, invI2, Nx, Ny, s));
+			} else {
+				residual = Math.max(residual, this.solveNormalBlock(b1, b2, invM1, invM2, invI1, invI2, Nx, Ny, s, i * 4));
+			}
+		}
+		
+		return residual;
+	}
+	
+	/**
+	 * Solves the normal impulse of a single contact.
+	 * @param b1 the index of the first body
+	 * @param b2 the index of the second body
+	 * @param invM1 the inverse mass of the first body
+	 * @param invM2 the inverse mass of the second body
+	 * @param invI1 the inverse inertia of the first body
+	 * @param invI2 the inverse inertia of the second body
+	 * @param Nx the normal x component
+	 * @param Ny the normal y component
+	 * @param c the index of the contact
+	 * @return double the change in accumulated impulse
+	 */
+	private double solveNormal(int b1, int b2, double invM1, double invM2, double invI1, double invI2, double Nx, double Ny, int c) {
+		double r1x = this.r1x[c];
+		double r1y = this.r1y[c];
+		double r2x = this.r2x[c];
+		double r2y = this.r2y[c];
+		
+		// get the relative velocity
+		double w1 = this.w[b1];
+		double w2 = this.w[b2];
+		double rvx = (-1.0 * r1y * w1 + this.vx[b1]) - (-1.0 * r2y * w2 + this.vx[b2]);
+		double rvy = (r1x * w1 + this.vy[b1]) - (r2x * w2 + this.vy[b2]);
+		
+		// project the relative velocity onto the penetration normal
+		double rvn = Nx * rvx + Ny * rvy;
+		
+		// calculate the impulse using the velocity bias
+		double j = -this.massN[c] * (rvn - this.vb[c]);
+		
+		// clamp the accumulated impulse
+		double j0 = this.jn[c];
+		this.jn[c] = Math.max(j0 + j, 0.0);
+		j = this.jn[c] - j0;
+		
+		// apply the impulse
+		double Jx = Nx * j;
+		double Jy = Ny * j;
+		this.vx[b1] += Jx * invM1;
+		this.vy[b1] += Jy * invM1;
+		this.w[b1] = w1 + invI1 * (r1x * Jy - r1y * Jx);
+		this.vx[b2] -= Jx * invM2;
+		this.vy[b2] -= Jy * invM2;
+		this.w[b2] = w2 - invI2 * (r2x * Jy - r2y * Jx);
+		
+		return Math.abs(j);
+	}
+	
+	/**
+	 * Solves the normal impulses of two contacts simultaneously using the block solver.
+	 * @param b1 the index of the first body
+	 * @param b2 the index of the second body
+	 * @param invM1 the inverse mass of the first body
+	 * @param invM2 the inverse mass of the second body
+	 * @param invI1 the inverse inertia of the first body
+	 * @param invI2 the inverse inertia of the second body
+	 * @param Nx the normal x component
+	 * @param Ny the normal y component
+	 * @param c the index of the first contact
+	 * @param k the index of the block solver matrix
+	 * @return double the largest change in accumulated impulse
+	 * @see ContactConstraintSolver#solveVelocityConstraints(ContactConstraint)
+	 */
+	private double solveNormalBlock(int b1, int b2, double invM1, double invM2, double invI1, double invI2, double Nx, double Ny, int c, int k) {
+		double r11x = this.r1x[c];
+		double r11y = this.r1y[c];
+		double r21x = this.r2x[c];
+		double r21y = this.r2y[c];
+		double r12x = this.r1x[c + 1];
+		double r12y = this.r1y[c + 1];
+		double r22x = this.r2x[c + 1];
+		double r22y = this.r2y[c + 1];
+		
+		double v1x = this.vx[b1];
+		double v1y = this.vy[b1];
+		double v2x = this.vx[b2];
+		double v2y = this.vy[b2];
+		double av1 = this.w[b1];
+		double av2 = this.w[b2];
+		
+		double K00 = this.K[k];
+		double K01 = this.K[k + 1];
+		double K10 = this.K[k + 2];
+		double K11 = this.K[k + 3];
+		
+		// the current accumulated impulses
+		double ax = this.jn[c];
+		double ay = this.jn[c + 1];
+		
+		// get the relative velocity at both contacts
+		double rv1x = -r11y * av1 + v1x + r21y * av2 - v2x;
+		double rv1y =  r11x * av1 + v1y - r21x * av2 - v2y;
+		double rv2x = -r12y * av1 + v1x + r22y * av2 - v2x;
+		double rv2y =  r12x * av1 + v1y - r22x * av2 - v2y;
+		
+		// compute the relative velocities along the collision normal
+		double rvn1 = Nx * rv1x + Ny * rv1y;
+		double rvn2 = Nx * rv2x + Ny * rv2y;
+		
+		// create the b vector
+		double bx = rvn1 - this.vb[c];
+		double by = rvn2 - this.vb[c + 1];
+		double Kax = K00 * ax + K01 * ay;
+		double Kay = K10 * ax + K11 * ay;
+		bx -= Kax;
+		by -= Kay;
+		
+		double xx;
+		double xy;
+		
+		// Case 1: vn = 0
+		xx = -(this.invK[k] * bx + this.invK[k + 1] * by);
+		xy = -(this.invK[k + 2] * bx + this.invK[k + 3] * by);
+		if (!(xx >= 0.0 && xy >= 0.0)) {
+			// Case 2: vn1 = 0 and x2 = 0
+			xx = -this.massN[c] * bx;
+			xy = 0.0;
+			rvn2 = K10 * xx + by;
+			if (!(xx >= 0.0 && rvn2 >= 0.0)) {
+				// Case 3: vn2 = 0 and x1 = 0
+				xx = 0.0;
+				xy = -this.massN[c + 1] * by;
+				rvn1 = K01 * xy + bx;
+				if (!(xy >= 0.0 && rvn1 >= 0.0)) {
+					// Case 4: x1 = 0 and x2 = 0
+					xx = 0.0;
+					xy = 0.0;
+					rvn1 = bx;
+					rvn2 = by;
+					if (!(rvn1 >= 0.0 && rvn2 >= 0.0)) {
+						// No solution, give up
+						return 0.0;
+					}
+				}
+			}
+		}
+		
+		// find the incremental impulse
+		double dx = xx - ax;
+		double dy = xy - ay;
+		
+		// apply the incremental impulse
+		double J1x = Nx * dx;
+		double J1y = Ny * dx;
+		double J2x = Nx * dy;
+		double J2y = Ny * dy;
+		
+		this.vx[b1] = v1x + (J1x + J2x) * invM1;
+		this.vy[b1] = v1y + (J1y + J2y) * invM1;
+		this.w[b1] = av1 + invI1 * ((r11x * J1y - r11y * J1x) + (r12x * J2y - r12y * J2x));
+		this.vx[b2] = v2x - (J1x + J2x) * invM2;
+		this.vy[b2] = v2y - (J1y + J2y) * invM2;
+		this.w[b2] = av2 - invI2 * ((r21x * J1y - r21y * J1x) + (r22x * J2y - r22y * J2x));
+		
+		// set the new accumulated impulse
+		this.jn[c] = xx;
+		this.jn[c + 1] = xy;
+		
+		return Math.max(Math.abs(dx), Math.abs(dy));
+	}
+}
@@ -24,6 +24,7 @@
  */
 package org.dyn4j.dynamics.contact;
 
+import org.dyn4j.collision.manifold.IndexedManifoldPointId;
 import org.dyn4j.collision.manifold.ManifoldPointId;
 import org.dyn4j.dynamics.Body;
 import org.dyn4j.geometry.Vector2;
@@ -31,13 +32,19 @@ import org.dyn4j.geometry.Vector2;
 /**
  * Represents a contact point between two {@link Body} objects.
  * @author William Bittle
- * @version 3.1.2
+ * @version 3.2.0
  * @since 1.0.0
  */
 public class Contact {
 	/** The manifold point id for warm starting */
 	protected ManifoldPointId id;
 	
+	/** True if the {@link #id} is an {@link IndexedManifoldPointId} and {@link #key} is valid */
+	protected boolean keyed;
+	
+	/** The primitive key of the {@link #id} used for fast warm start matching */
+	protected long key;
+	
 	/** Whether the contact is enabled or not */
 	protected boolean enabled;
 	
@@ -87,6 +94,11 @@ public class Contact {
 	 */
 	public Contact(ManifoldPointId id, Vector2 point, double depth, Vector2 p1, Vector2 p2) {
 		this.id = id;
+		// compute the primitive key for indexed ids
+		if (id instanceof IndexedManifoldPointId) {
+			this.keyed = true;
+			this.key = ((IndexedManifoldPointId)id).getKey();
+		}
 		this.enabled = true;
 		this.p = point;
 		this.depth = depth;
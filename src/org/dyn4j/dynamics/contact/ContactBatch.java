@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2010-2014 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.dynamics.contact;
+
+import org.dyn4j.dynamics.Body;
+
+/**
+ * Represents a reusable batch of {@link Contact}s grouped by {@link ContactConstraint}.
+ * <p>
+ * A {@link ContactBatch} is filled by the {@link ContactManager} for each contact event
+ * type and delivered to the {@link ContactBatchListener}s.  The batch is reused, it and the
+ * {@link Contact}s it contains should not be retained beyond the listener method call.
+ * <p>
+ * Example usage:
+ * <pre>
+ * int size = batch.getConstraintCount();
+ * for (int i = 0; i &lt; size; i++) {
+ *     ContactConstraint cc = batch.getConstraint(i);
+ *     int n = batch.getContactCount(i);
+ *     for (int j = 0; j &lt; n; j++) {
+ *         Contact contact = batch.getContact(i, j);
+ *         // do something
+ *     }
+ * }
+ * </pre>
+ * @author William Bittle
+ * @version 3.2.0
+ * @since 3.2.0
+ */
+public class ContactBatch {
+	/** The contact constraints (groups) */
+	protected ContactConstraint[] constraints;
+	
+	/** The index of the first contact of each group */
+	protected int[] offsets;
+	
+	/** The number of contact constraints */
+	protected int constraintCount;
+	
+	/** The contacts of all the groups */
+	protected Contact[] contacts;
+	
+	/** The number of contacts */
+	protected int contactCount;
+	
+	/**
+	 * Default constructor.
+	 */
+	public ContactBatch() {
+		this.constraints = new ContactConstraint[8];
+		this.offsets = new int[8];
+		this.constraintCount = 0;
+		this.contacts = new Contact[16];
+		this.contactCount = 0;
+	}
+	
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("ContactBatch[ConstraintCount=").append(this.constraintCount)
+		.append("|ContactCount=").append(this.contactCount)
+		.append("]");
+		return sb.toString();
+	}
+	
+	/**
+	 * Appends the given {@link Contact} to the group of the given {@link ContactConstraint}.
+	 * <p>
+	 * A new group is started if the given {@link ContactConstraint} is not the
+	 * last group's {@link ContactConstraint}.
+	 * @param constraint the contact constraint
+	 * @param contact the contact
+	 */
+	protected void add(ContactConstraint constraint, Contact contact) {
+		// check if we need to start a new group
+		if (this.constraintCount == 0 || this.constraints[this.constraintCount - 1] != constraint) {
+			// grow the group arrays if necessary
+			if (this.constraintCount == this.constraints.length) {
+				int length = this.constraints.length * 2;
+				ContactConstraint[] constraints = new ContactConstraint[length];
+				int[] offsets = new int[length];
+				System.arraycopy(this.constraints, 0, constraints, 0, this.constraintCount);
+				System.arraycopy(this.offsets, 0, offsets, 0, this.constraintCount);
+				this.constraints = constraints;
+				this.offsets = offsets;
+			}
+			this.constraints[this.constraintCount] = constraint;
+			this.offsets[this.constraintCount] = this.contactCount;
+			this.constraintCount++;
+		}
+		// grow the contact array if necessary
+		if (this.contactCount == this.contacts.length) {
+			Contact[] contacts = new Contact[this.contacts.length * 2];
+			System.arraycopy(this.contacts, 0, contacts, 0, this.contactCount);
+			this.contacts = contacts;
+		}
+		this.contacts[this.contactCount] = contact;
+		this.contactCount++;
+	}
+	
+	/**
+	 * Clears this batch.
+	 * <p>
+	 * The references are released so that the contacts can be garbage collected.
+	 */
+	protected void clear() {
+		// release the references
+		for (int i = 0; i < this.constraintCount; i++) {
+			this.constraints[i] = null;
+		}
+		for (int i = 0; i < this.contactCount; i++) {
+			this.contacts[i] = null;
+		}
+		this.constraintCount = 0;
+		this.contactCount = 0;
+	}
+	
+	/**
+	 * Returns true if this batch does not contain any contacts.
+	 * @return boolean
+	 */
+	public boolean isEmpty() {
+		return this.contactCount == 0;
+	}
+	
+	/**
+	 * Returns the number of {@link ContactConstraint}s (groups) in this batch.
+	 * @return int
+	 */
+	public int getConstraintCount() {
+		return this.constraintCount;
+	}
+	
+	/**
+	 * Returns the total number of {@link Contact}s in this batch.
+	 * @return int
+	 */
+	public int getContactCount() {
+		return this.contactCount;
+	}
+	
+	/**
+	 * Returns the {@link ContactConstraint} of the given group.
+	 * @param index the group index
+	 * @return {@link ContactConstraint}
+	 * @throws IndexOutOfBoundsException if index is less than zero or greater than or equal to {@link #getConstraintCount()}
+	 */
+	public ContactConstraint getConstraint(int index) {
+		if (index < 0 || index >= this.constraintCount) throw new IndexOutOfBoundsException();
+		return this.constraints[index];
+	}
+	
+	/**
+	 * Returns the first {@link Body} of the given group.
+	 * @param index the group index
+	 * @return {@link Body}
+	 * @throws IndexOutOfBoundsException if index is less than zero or greater than or equal to {@link #getConstraintCount()}
+	 */
+	public Body getBody1(int index) {
+		return this.getConstraint(index).getBody1();
+	}
+	
+	/**
+	 * Returns the second {@link Body} of the given group.
+	 * @param index the group index
+	 * @return {@link Body}
+	 * @throws IndexOutOfBoundsException if index is less than zero or greater than or equal to {@link #getConstraintCount()}
+	 */
+	public Body getBody2(int index) {
+		return this.getConstraint(index).getBody2();
+	}
+	
+	/**
+	 * Returns the number of {@link Contact}s in the given group.
+	 * @param index the group index
+	 * @return int
+	 * @throws IndexOutOfBoundsException if index is less than zero or greater than or equal to {@link #getConstraintCount()}
+	 */
+	public int getContactCount(int index) {
+		if (index < 0 || index >= this.constraintCount) throw new IndexOutOfBoundsException();
+		// the end is the start of the next group or the contact count
+		int end = index + 1 < this.constraintCount ? this.offsets[index + 1] : this.contactCount;
+		return end - this.offsets[index];
+	}
+	
+	/**
+	 * Returns the {@link Contact} at the given index within the given group.
+	 * @param index the group index
+	 * @param contactIndex the contact index within the group
+	 * @return {@link Contact}
+	 * @throws IndexOutOfBoundsException if either index is out of range
+	 */
+	public Contact getContact(int index, int contactIndex) {
+		int n = this.getContactCount(index);
+		if (contactIndex < 0 || contactIndex >= n) throw new IndexOutOfBoundsException();
+		return this.contacts[this.offsets[index] + contactIndex];
+	}
+	
+	/**
+	 * Returns the {@link Contact} at the given index across all groups.
+	 * @param index the contact index
+	 * @return {@link Contact}
+	 * @throws IndexOutOfBoundsException if index is less than zero or greater than or equal to {@link #getContactCount()}
+	 */
+	public Contact getContact(int index) {
+		if (index < 0 || index >= this.contactCount) throw new IndexOutOfBoundsException();
+		return this.contacts[index];
+	}
+	
+	/**
+	 * Sets the enabled flag of the {@link Contact} at the given index within the given group.
+	 * <p>
+	 * This has the same effect as returning false from the {@link ContactListener}
+	 * methods; disabled contacts are not solved.  It only has an effect for the
+	 * begin and persist batches.
+	 * @param index the group index
+	 * @param contactIndex the contact index within the group
+	 * @param flag true if the contact should be enabled
+	 * @throws IndexOutOfBoundsException if either index is out of range
+	 */
+	public void setEnabled(int index, int contactIndex, boolean flag) {
+		this.getContact(index, contactIndex).enabled = flag;
+	}
+}
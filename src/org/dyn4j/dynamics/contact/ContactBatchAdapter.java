@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2010-2014 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.dynamics.contact;
+
+import org.dyn4j.Listener;
+
+/**
+ * Convenience class for implementing the {@link ContactBatchListener} interface.
+ * <p>
+ * By default all event types are requested.  Override the {@link #getEventTypes()}
+ * method to only request the event types that are used.
+ * @author William Bittle
+ * @version 3.2.0
+ * @since 3.2.0
+ */
+public class ContactBatchAdapter implements ContactBatchListener, Listener {
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.contact.ContactBatchListener#getEventTypes()
+	 */
+	@Override
+	public int getEventTypes() { return ContactBatchListener.ALL; }
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.contact.ContactBatchListener#sensed(org.dyn4j.dynamics.contact.ContactBatch)
+	 */
+	@Override
+	public void sensed(ContactBatch batch) {}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.contact.ContactBatchListener#begin(org.dyn4j.dynamics.contact.ContactBatch)
+	 */
+	@Override
+	public void begin(ContactBatch batch) {}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.contact.ContactBatchListener#persist(org.dyn4j.dynamics.contact.ContactBatch)
+	 */
+	@Override
+	public void persist(ContactBatch batch) {}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.contact.ContactBatchListener#end(org.dyn4j.dynamics.contact.ContactBatch)
+	 */
+	@Override
+	public void end(ContactBatch batch) {}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.contact.ContactBatchListener#postSolve(org.dyn4j.dynamics.contact.ContactBatch)
+	 */
+	@Override
+	public void postSolve(ContactBatch batch) {}
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2010-2014 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.dynamics.contact;
+
+import org.dyn4j.Listener;
+import org.dyn4j.dynamics.World;
+
+/**
+ * Represents an object that is notified of contact events in batches.
+ * <p>
+ * Unlike the {@link ContactListener}, which is notified once for every contact point, 
+ * a {@link ContactBatchListener} is notified once per contact update for each event type 
+ * with all the {@link Contact}s of that type grouped by {@link ContactConstraint}.
+ * <p>
+ * The {@link #getEventTypes()} method is used to declare the event types the listener
+ * requires.  The {@link ContactManager} will not build the batches that no listener requires.
+ * The listener methods are only called when the respective batch is not empty.
+ * <p>
+ * The given {@link ContactBatch}es are reused and should not be retained.
+ * <p>
+ * Modification of the {@link World} is permitted from any of these methods.
+ * @author William Bittle
+ * @version 3.2.0
+ * @since 3.2.0
+ */
+public interface ContactBatchListener extends Listener {
+	/** The sensed event type */
+	public static final int SENSED = 1;
+	
+	/** The begin event type */
+	public static final int BEGIN = 2;
+	
+	/** The persist event type */
+	public static final int PERSIST = 4;
+	
+	/** The end event type */
+	public static final int END = 8;
+	
+	/** The post solve event type */
+	public static final int POST_SOLVE = 16;
+	
+	/** All event types */
+	public static final int ALL = SENSED | BEGIN | PERSIST | END | POST_SOLVE;
+	
+	/**
+	 * Returns the event types this listener requires.
+	 * <p>
+	 * This should be a bitwise or of the event type constants, {@link #SENSED}, {@link #BEGIN}, 
+	 * {@link #PERSIST}, {@link #END}, and {@link #POST_SOLVE} or {@link #ALL}.
+	 * @return int
+	 */
+	public abstract int getEventTypes();
+	
+	/**
+	 * Called with the contacts that were sensed between {@link ContactConstraint}s where
+	 * one or both fixtures are sensors.
+	 * @param batch the sensed contacts
+	 */
+	public abstract void sensed(ContactBatch batch);
+	
+	/**
+	 * Called with the contacts that began this update.
+	 * <p>
+	 * Use the {@link ContactBatch#setEnabled(int, int, boolean)} method to disable contacts.
+	 * @param batch the new contacts
+	 */
+	public abstract void begin(ContactBatch batch);
+	
+	/**
+	 * Called with the contacts that persisted from the last update.
+	 * <p>
+	 * Use the {@link ContactBatch#setEnabled(int, int, boolean)} method to disable contacts.
+	 * @param batch the persisted contacts
+	 */
+	public abstract void persist(ContactBatch batch);
+	
+	/**
+	 * Called with the contacts that ended this update.
+	 * <p>
+	 * The groups are the {@link ContactConstraint}s from the last update.
+	 * @param batch the removed contacts
+	 */
+	public abstract void end(ContactBatch batch);
+	
+	/**
+	 * Called with the contacts that were solved this step.
+	 * @param batch the solved contacts
+	 */
+	public abstract void postSolve(ContactBatch batch);
+}
@@ -24,11 +24,14 @@
  */
 package org.dyn4j.dynamics.contact;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.dyn4j.collision.manifold.IndexedManifoldPointId;
 import org.dyn4j.collision.manifold.Manifold;
 import org.dyn4j.collision.manifold.ManifoldPoint;
+import org.dyn4j.collision.manifold.ManifoldPointId;
 import org.dyn4j.dynamics.Body;
 import org.dyn4j.dynamics.BodyFixture;
 import org.dyn4j.dynamics.CoefficientMixer;
@@ -40,10 +43,16 @@ import org.dyn4j.geometry.Vector2;
 /**
  * Represents a {@link Contact} constraint for each {@link Body} pair.  
  * @author William Bittle
- * @version 3.1.1
+ * @version 3.2.0
  * @since 1.0.0
  */
 public class ContactConstraint extends Constraint {
+	/** The number of bytes written for the constraint by the {@link #snapshot(ByteBuffer)} method */
+	private static final int SNAPSHOT_SIZE = 5 * 8 + 1 + 4;
+	
+	/** The number of bytes written for each {@link Contact} by the {@link #snapshot(ByteBuffer)} method */
+	private static final int CONTACT_SNAPSHOT_SIZE = 1 + 3 * 4 + 1 + 1 + 10 * 8;
+	
 	/** The unique contact id */
 	protected ContactConstraintId id;
 	
@@ -80,6 +89,12 @@ public class ContactConstraint extends Constraint {
 	/** The inverse of the {@link #K} matrix */
 	protected Matrix22 invK;
 	
+	/** The {@link ContactManager} update this contact constraint was last cached in */
+	protected int stamp;
+	
+	/** The contact constraint for the same pair that this contact constraint replaced in the cache; reused by the next detection */
+	protected ContactConstraint spare;
+	
 	/**
 	 * Full constructor.
 	 * @param body1 the first {@link Body}
@@ -96,42 +111,87 @@ public class ContactConstraint extends Constraint {
 		this.fixture2 = fixture2;
 		// create the constraint id
 		this.id = new ContactConstraintId(body1, fixture1, body2, fixture2);
+		// create contact array
+		this.contacts = new ArrayList<Contact>(manifold.getPoints().size());
+		// set the world
+		this.world = world;
+		// create the contacts and compute the coefficients
+		this.set(manifold);
+	}
+	
+	/**
+	 * Sets up this contact constraint for the given {@link Manifold} as if it was new.
+	 * <p>
+	 * This is used by the constructor and by the {@link ContactManager} to reuse a contact constraint
+	 * for the same pair of {@link BodyFixture}s.  The existing {@link Contact}s and tangent are updated 
+	 * in place and their accumulated impulses are cleared.
+	 * @param manifold the contact {@link Manifold}
+	 * @since 3.2.0
+	 */
+	void set(Manifold manifold) {
 		// get the manifold points
 		List<ManifoldPoint> points = manifold.getPoints();
 		// get the manifold point size
 		int mSize = points.size();
-		// create contact array
-		this.contacts = new ArrayList<Contact>(mSize);
-		// create contacts for each point
+		// remove any extra contacts
+		int n = this.contacts.size();
+		while (n > mSize) {
+			this.contacts.remove(--n);
+		}
+		// create or reuse contacts for each point
 		for (int l = 0; l < mSize; l++) {
 			// get the manifold point
 			ManifoldPoint point = points.get(l);
-			// create a contact from the manifold point
-			Contact contact = new Contact(point.getId(),
-					                      point.getPoint(), 
-					                      point.getDepth(), 
-					                      this.body1.getLocalPoint(point.getPoint()), 
-					                      this.body2.getLocalPoint(point.getPoint()));
-			// add the contact to the array
-			this.contacts.add(contact);
+			if (l < n) {
+				// reset the existing contact using the manifold point
+				Contact contact = this.contacts.get(l);
+				ManifoldPointId id = point.getId();
+				contact.id = id;
+				contact.keyed = id instanceof IndexedManifoldPointId;
+				contact.key = contact.keyed ? ((IndexedManifoldPointId)id).getKey() : 0L;
+				contact.enabled = true;
+				contact.p = point.getPoint();
+				contact.depth = point.getDepth();
+				this.body1.getTransform().getInverseTransformed(contact.p, contact.p1);
+				this.body2.getTransform().getInverseTransformed(contact.p, contact.p2);
+				contact.jn = 0;
+				contact.jt = 0;
+				contact.jp = 0;
+			} else {
+				// create a contact from the manifold point
+				Contact contact = new Contact(point.getId(),
+						                      point.getPoint(), 
+						                      point.getDepth(), 
+						                      this.body1.getLocalPoint(point.getPoint()), 
+						                      this.body2.getLocalPoint(point.getPoint()));
+				// add the contact to the array
+				this.contacts.add(contact);
+			}
 		}
 		// set the normal
 		this.normal = manifold.getNormal();
 		// set the tangent
-		this.tangent = this.normal.cross(1.0);
-		// set the world
-		this.world = world;
+		if (this.tangent == null) {
+			this.tangent = this.normal.cross(1.0);
+		} else {
+			this.tangent.x = -this.normal.y;
+			this.tangent.y = this.normal.x;
+		}
 		// compute the coefficients
-		CoefficientMixer mixer = world.getCoefficientMixer();
-		this.friction = mixer.mixFriction(fixture1.getFriction(), fixture2.getFriction());
-		this.restitution = mixer.mixRestitution(fixture1.getRestitution(), fixture2.getRestitution());
+		CoefficientMixer mixer = this.world.getCoefficientMixer();
+		this.friction = mixer.mixFriction(this.fixture1.getFriction(), this.fixture2.getFriction());
+		this.restitution = mixer.mixRestitution(this.fixture1.getRestitution(), this.fixture2.getRestitution());
 		// set the sensor flag (if either fixture is a sensor then the
 		// contact constraint between the fixtures is a sensor)
-		this.sensor = fixture1.isSensor() || fixture2.isSensor();
+		this.sensor = this.fixture1.isSensor() || this.fixture2.isSensor();
 		// by default the tangent speed is zero
 		this.tangentSpeed = 0;
+		// the block solver matrices are computed by the solver
+		this.K = null;
+		this.invK = null;
 		// default to false
 		this.onIsland = false;
+		this.userData = null;
 	}
 	
 	/* (non-Javadoc)
@@ -175,6 +235,161 @@ public class ContactConstraint extends Constraint {
 		}
 	}
 	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.Constraint#getSnapshotSize()
+	 */
+	@Override
+	protected int getSnapshotSize() {
+		return SNAPSHOT_SIZE + this.contacts.size() * CONTACT_SNAPSHOT_SIZE;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.Constraint#snapshot(java.nio.ByteBuffer)
+	 */
+	@Override
+	protected void snapshot(ByteBuffer buffer) {
+		buffer.putDouble(this.normal.x);
+		buffer.putDouble(this.normal.y);
+		buffer.putDouble(this.friction);
+		buffer.putDouble(this.restitution);
+		buffer.putDouble(this.tangentSpeed);
+		buffer.put(this.sensor ? (byte)1 : (byte)0);
+		int size = this.contacts.size();
+		buffer.putInt(size);
+		for (int i = 0; i < size; i++) {
+			Contact contact = this.contacts.get(i);
+			// only indexed ids can be written, all others are
+			// treated as distance ids when restored
+			if (contact.id instanceof IndexedManifoldPointId) {
+				IndexedManifoldPointId id = (IndexedManifoldPointId)contact.id;
+				buffer.put((byte)1);
+				buffer.putInt(id.getReferenceEdge());
+				buffer.putInt(id.getIncidentEdge());
+				buffer.putInt(id.getIncidentVertex());
+				buffer.put(id.isFlipped() ? (byte)1 : (byte)0);
+			} else {
+				buffer.put((byte)0);
+				buffer.putInt(0);
+				buffer.putInt(0);
+				buffer.putInt(0);
+				buffer.put((byte)0);
+			}
+			buffer.put(contact.enabled ? (byte)1 : (byte)0);
+			buffer.putDouble(contact.p.x);
+			buffer.putDouble(contact.p.y);
+			buffer.putDouble(contact.depth);
+			buffer.putDouble(contact.p1.x);
+			buffer.putDouble(contact.p1.y);
+			buffer.putDouble(contact.p2.x);
+			buffer.putDouble(contact.p2.y);
+			buffer.putDouble(contact.jn);
+			buffer.putDouble(contact.jt);
+			buffer.putDouble(contact.jp);
+		}
+	}
+	
+	/**
+	 * Returns the number of bytes of the contact constraint written by the {@link #snapshot(ByteBuffer)}
+	 * method starting at the given position of the given buffer.
+	 * <p>
+	 * This is used by the {@link World#restore(ByteBuffer)} method to validate a snapshot before
+	 * anything is restored.  The position of the buffer is not changed.
+	 * @param buffer the buffer
+	 * @param position the position of the contact constraint in the buffer
+	 * @return int the number of bytes; -1 if the buffer doesn't contain a valid contact constraint at the position
+	 * @since 3.2.0
+	 */
+	public static int getSnapshotSize(ByteBuffer buffer, int position) {
+		int remaining = buffer.limit() - position;
+		if (position < 0 || remaining < SNAPSHOT_SIZE) return -1;
+		// the number of contacts is the last value of the constraint
+		int size = buffer.getInt(position + SNAPSHOT_SIZE - 4);
+		if (size < 0 || size > (remaining - SNAPSHOT_SIZE) / CONTACT_SNAPSHOT_SIZE) return -1;
+		return SNAPSHOT_SIZE + size * CONTACT_SNAPSHOT_SIZE;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.Constraint#restore(java.nio.ByteBuffer)
+	 */
+	@Override
+	protected void restore(ByteBuffer buffer) {
+		// the normal, tangent and contacts are reused
+		this.normal.x = buffer.getDouble();
+		this.normal.y = buffer.getDouble();
+		this.tangent.x = -this.normal.y;
+		this.tangent.y = this.normal.x;
+		this.friction = buffer.getDouble();
+		this.restitution = buffer.getDouble();
+		this.tangentSpeed = buffer.getDouble();
+		this.sensor = buffer.get() == 1;
+		int size = buffer.getInt();
+		// remove any extra contacts
+		int n = this.contacts.size();
+		while (n > size) {
+			this.contacts.remove(--n);
+		}
+		for (int i = 0; i < size; i++) {
+			Contact contact = i < n ? this.contacts.get(i) : null;
+			ManifoldPointId id = ManifoldPointId.DISTANCE;
+			if (buffer.get() == 1) {
+				int referenceEdge = buffer.getInt();
+				int incidentEdge = buffer.getInt();
+				int incidentVertex = buffer.getInt();
+				boolean flipped = buffer.get() == 1;
+				// reuse the id if it's the same
+				if (contact != null && contact.id instanceof IndexedManifoldPointId 
+				 && this.isSameId((IndexedManifoldPointId)contact.id, referenceEdge, incidentEdge, incidentVertex, flipped)) {
+					id = contact.id;
+				} else {
+					id = new IndexedManifoldPointId(referenceEdge, incidentEdge, incidentVertex, flipped);
+				}
+			} else {
+				buffer.position(buffer.position() + 3 * 4 + 1);
+			}
+			boolean enabled = buffer.get() == 1;
+			if (contact == null) {
+				Vector2 p = new Vector2(buffer.getDouble(), buffer.getDouble());
+				double depth = buffer.getDouble();
+				Vector2 p1 = new Vector2(buffer.getDouble(), buffer.getDouble());
+				Vector2 p2 = new Vector2(buffer.getDouble(), buffer.getDouble());
+				contact = new Contact(id, p, depth, p1, p2);
+				this.contacts.add(contact);
+			} else {
+				contact.id = id;
+				contact.keyed = id instanceof IndexedManifoldPointId;
+				contact.key = contact.keyed ? ((IndexedManifoldPointId)id).getKey() : 0L;
+				contact.p.x = buffer.getDouble();
+				contact.p.y = buffer.getDouble();
+				contact.depth = buffer.getDouble();
+				contact.p1.x = buffer.getDouble();
+				contact.p1.y = buffer.getDouble();
+				contact.p2.x = buffer.getDouble();
+				contact.p2.y = buffer.getDouble();
+			}
+			contact.enabled = enabled;
+			contact.jn = buffer.getDouble();
+			contact.jt = buffer.getDouble();
+			contact.jp = buffer.getDouble();
+		}
+	}
+	
+	/**
+	 * Returns true if the given id has the given values.
+	 * @param id the id
+	 * @param referenceEdge the reference edge index
+	 * @param incidentEdge the incident edge index
+	 * @param incidentVertex the incident vertex index
+	 * @param flipped the flipped flag
+	 * @return boolean
+	 * @since 3.2.0
+	 */
+	private boolean isSameId(IndexedManifoldPointId id, int referenceEdge, int incidentEdge, int incidentVertex, boolean flipped) {
+		return id.getReferenceEdge() == referenceEdge 
+			&& id.getIncidentEdge() == incidentEdge
+			&& id.getIncidentVertex() == incidentVertex
+			&& id.isFlipped() == flipped;
+	}
+	
 	/**
 	 * Returns the contact constraint id.
 	 * @return {@link ContactConstraintId}
@@ -35,7 +35,7 @@ import org.dyn4j.geometry.Shape;
  * Represents and id for a contact constraint between two {@link Convex}
  * {@link Shape}s on two {@link Body}s.
  * @author William Bittle
- * @version 3.1.4
+ * @version 3.2.0
  * @since 1.0.0
  */
 public class ContactConstraintId {
@@ -51,6 +51,15 @@ public class ContactConstraintId {
 	/** The second {@link Body}'s {@link Convex} {@link Shape} id */
 	protected UUID fixture2Id;
 	
+	/**
+	 * Minimal constructor.
+	 * <p>
+	 * Used by the {@link ContactManager} for a reusable look up key; the ids
+	 * must be set before the id is used.
+	 * @since 3.2.0
+	 */
+	ContactConstraintId() {}
+	
 	/**
 	 * Full constructor.
 	 * @param body1 the first {@link Body}
@@ -46,7 +46,7 @@ import org.dyn4j.geometry.Vector2;
  * facilitate stable stacking of rigid {@link Body}s.
  * @see <a href="http://www.box2d.org">Box2d</a>
  * @author William Bittle
- * @version 3.1.11
+ * @version 3.2.0
  * @since 1.0.0
  */
 public class ContactConstraintSolver {
@@ -260,331 +260,394 @@ public class ContactConstraintSolver {
 	
 	/**
 	 * Solves the velocity constraints.
+	 * <p>
+	 * Returns the largest change in the accumulated normal or tangential impulse of any 
+	 * contact.  This can be used to stop iterating once the solution has converged.
+	 * @return double the largest change in accumulated impulse
 	 */
-	public void solveVelocityContraints() {
+	public double solveVelocityContraints() {
+		// track the largest change in impulse
+		double residual = 0.0;
+		
 		// loop through the contact constraints
 		int size = this.contactConstraints.size();
 		for (int i = 0; i < size; i++) {
 			ContactConstraint contactConstraint = this.contactConstraints.get(i);
-			// get the bodies
-			Body b1 = contactConstraint.getBody1();
-			Body b2 = contactConstraint.getBody2();
-			// get the masses
-			Mass m1 = b1.getMass();
-			Mass m2 = b2.getMass();
+			residual = Math.max(residual, this.solveVelocityConstraints(contactConstraint));
+		}
+		
+		return residual;
+	}
+	
+	/**
+	 * Solves the velocity constraints of the given {@link ContactConstraint}.
+	 * <p>
+	 * This method only modifies the given {@link ContactConstraint} and its {@link Body}s 
+	 * and can be called for {@link ContactConstraint}s that do not share a dynamic {@link Body}
+	 * from different threads at the same time.
+	 * @param contactConstraint the contact constraint
+	 * @return double the largest change in the accumulated normal or tangential impulse
+	 * @since 3.2.0
+	 */
+	public double solveVelocityConstraints(ContactConstraint contactConstraint) {
+		// get the bodies
+		Body b1 = contactConstraint.getBody1();
+		Body b2 = contactConstraint.getBody2();
+		// get the masses
+		Mass m1 = b1.getMass();
+		Mass m2 = b2.getMass();
+		
+		double invM1 = m1.getInverseMass();
+		double invM2 = m2.getInverseMass();
+		double invI1 = m1.getInverseInertia();
+		double invI2 = m2.getInverseInertia();
+		
+		// bodies with infinite mass and inertia are never changed; this also
+		// avoids writing to them from multiple threads at the same time
+		boolean update1 = invM1 != 0.0 || invI1 != 0.0;
+		boolean update2 = invM2 != 0.0 || invI2 != 0.0;
+		
+		// get the contact list
+		List<Contact> contacts = contactConstraint.contacts;
+		int cSize = contacts.size();
+		if (cSize == 0) return 0.0;
+		
+		// track the largest change in impulse
+		double residual = 0.0;
+		
+		// get the penetration axis and tangent
+		Vector2 N = contactConstraint.normal;
+		Vector2 T = contactConstraint.tangent;
+		
+		double tangentSpeed = contactConstraint.tangentSpeed;
+		
+		// evaluate friction impulse
+		for (int k = 0; k < cSize; k++) {
+			Contact contact = contacts.get(k);
 			
-			double invM1 = m1.getInverseMass();
-			double invM2 = m2.getInverseMass();
-			double invI1 = m1.getInverseInertia();
-			double invI2 = m2.getInverseInertia();
-
-			// get the contact list
-			List<Contact> contacts = contactConstraint.contacts;
-			int cSize = contacts.size();
-			if (cSize == 0) continue;
+			// get ra and rb
+			Vector2 r1 = contact.r1;
+			Vector2 r2 = contact.r2;
 			
-			// get the penetration axis and tangent
-			Vector2 N = contactConstraint.normal;
-			Vector2 T = contactConstraint.tangent;
+			// get the relative velocity
+			Vector2 lv1 = r1.cross(b1.getAngularVelocity()).add(b1.getLinearVelocity());
+			Vector2 lv2 = r2.cross(b2.getAngularVelocity()).add(b2.getLinearVelocity());
+			Vector2 rv = lv1.subtract(lv2);
 			
-			double tangentSpeed = contactConstraint.tangentSpeed;
+			// project the relative velocity onto the tangent normal
+			double rvt = T.dot(rv) - tangentSpeed;
+			// calculate the tangential impulse
+			double jt = contact.massT * (-rvt);
 			
-			// evaluate friction impulse
-			for (int k = 0; k < cSize; k++) {
-				Contact contact = contacts.get(k);
-				
-				// get ra and rb
-				Vector2 r1 = contact.r1;
-				Vector2 r2 = contact.r2;
-				
-				// get the relative velocity
-				Vector2 lv1 = r1.cross(b1.getAngularVelocity()).add(b1.getLinearVelocity());
-				Vector2 lv2 = r2.cross(b2.getAngularVelocity()).add(b2.getLinearVelocity());
-				Vector2 rv = lv1.subtract(lv2);
-				
-				// project the relative velocity onto the tangent normal
-				double rvt = T.dot(rv) - tangentSpeed;
-				// calculate the tangential impulse
-				double jt = contact.massT * (-rvt);
-				
-				// apply the coefficient of friction
-				double maxJt = contactConstraint.friction * contact.jn;
-				// clamp the accumulated tangential impulse
-				double Jt0 = contact.jt;
-				contact.jt = Math.max(-maxJt, Math.min(Jt0 + jt, maxJt));
-				jt = contact.jt - Jt0;
-				
-				// apply to the bodies immediately
+			// apply the coefficient of friction
+			double maxJt = contactConstraint.friction * contact.jn;
+			// clamp the accumulated tangential impulse
+			double Jt0 = contact.jt;
+			contact.jt = Math.max(-maxJt, Math.min(Jt0 + jt, maxJt));
+			jt = contact.jt - Jt0;
+			residual = Math.max(residual, Math.abs(jt));
+			
+			// apply to the bodies immediately
 
 //				Vector2 J = T.product(jt);
-				Vector2 J = new Vector2(T.x * jt, T.y * jt);
+			Vector2 J = new Vector2(T.x * jt, T.y * jt);
 //				b1.getVelocity().add(J.product(invM1));
+			if (update1) {
 				b1.getLinearVelocity().add(J.x * invM1, J.y * invM1);
 				b1.setAngularVelocity(b1.getAngularVelocity() + invI1 * r1.cross(J));
+			}
 //				b2.getVelocity().subtract(J.product(invM2));
+			if (update2) {
 				b2.getLinearVelocity().subtract(J.x * invM2, J.y * invM2);
 				b2.setAngularVelocity(b2.getAngularVelocity() - invI2 * r2.cross(J));
 			}
+		}
+		
+		// evalutate the normal impulse
+		
+		// check the number of contacts to solve
+		if (cSize == 1) {
+			// if its one then solve the one contact
+			Contact contact = contacts.get(0);
 			
-			// evalutate the normal impulse
+			// get ra and rb
+			Vector2 r1 = contact.r1;
+			Vector2 r2 = contact.r2;
 			
-			// check the number of contacts to solve
-			if (cSize == 1) {
-				// if its one then solve the one contact
-				Contact contact = contacts.get(0);
-				
-				// get ra and rb
-				Vector2 r1 = contact.r1;
-				Vector2 r2 = contact.r2;
-				
-				// get the relative velocity
-				Vector2 lv1 = r1.cross(b1.getAngularVelocity()).add(b1.getLinearVelocity());
-				Vector2 lv2 = r2.cross(b2.getAngularVelocity()).add(b2.getLinearVelocity());
-				Vector2 rv = lv1.subtract(lv2);
-				
-				// project the relative velocity onto the penetration normal
-				double rvn = N.dot(rv);
-				
-				// calculate the impulse using the velocity bias
-				double j = -contact.massN * (rvn - contact.vb);
-				
-				// clamp the accumulated impulse
-				double j0 = contact.jn;
-				contact.jn = Math.max(j0 + j, 0.0);
-				j = contact.jn - j0;
-				
-				// only update the bodies after processing all the contacts
-				
+			// get the relative velocity
+			Vector2 lv1 = r1.cross(b1.getAngularVelocity()).add(b1.getLinearVelocity());
+			Vector2 lv2 = r2.cross(b2.getAngularVelocity()).add(b2.getLinearVelocity());
+			Vector2 rv = lv1.subtract(lv2);
+			
+			// project the relative velocity onto the penetration normal
+			double rvn = N.dot(rv);
+			
+			// calculate the impulse using the velocity bias
+			double j = -contact.massN * (rvn - contact.vb);
+			
+			// clamp the accumulated impulse
+			double j0 = contact.jn;
+			contact.jn = Math.max(j0 + j, 0.0);
+			j = contact.jn - j0;
+			residual = Math.max(residual, Math.abs(j));
+			
+			// only update the bodies after processing all the contacts
+
 //				Vector2 J = N.product(j);
-				Vector2 J = new Vector2(N.x * j, N.y * j);
+			Vector2 J = new Vector2(N.x * j, N.y * j);
 //				b1.getVelocity().add(J.product(invM1));
+			if (update1) {
 				b1.getLinearVelocity().add(J.x * invM1, J.y * invM1);
 				b1.setAngularVelocity(b1.getAngularVelocity() + invI1 * r1.cross(J));
+			}
 //				b2.getVelocity().subtract(J.product(invM2));
+			if (update2) {
 				b2.getLinearVelocity().subtract(J.x * invM2, J.y * invM2);
 				b2.setAngularVelocity(b2.getAngularVelocity() - invI2 * r2.cross(J));
-			} else {
-				// if its 2 then solve the contacts simultaneously using a mini-LCP
-				
-				// Block solver developed by Erin Cato and Dirk Gregorius (see Box2d).
-				// Build the mini LCP for this contact patch
-				//
-				// vn = A * x + b, vn >= 0, x >= 0 and vn_i * x_i = 0 with i = 1..2
-				//
-				// A = J * W * JT and J = ( -n, -r1 x n, n, r2 x n )
-				// b = vn_0 - velocityBias
-				//
-				// The system is solved using the "Total enumeration method" (s. Murty). The complementary constraint vn_i * x_i
-				// implies that we must have in any solution either vn_i = 0 or x_i = 0. So for the 2D contact problem the cases
-				// vn1 = 0 and vn2 = 0, x1 = 0 and x2 = 0, x1 = 0 and vn2 = 0, x2 = 0 and vn1 = 0 need to be tested. The first valid
-				// solution that satisfies the problem is chosen.
-				// 
-				// In order to account for the accumulated impulse 'a' (because of the iterative nature of the solver which only requires
-				// that the accumulated impulse is clamped and not the incremental impulse) we change the impulse variable (x_i).
-				//
-				// Substitute:
-				// 
-				// x = a + d
-				// 
-				// a := old total impulse
-				// x := new total impulse
-				// d := incremental impulse
-				//
-				// For the current iteration we extend the formula for the incremental impulse
-				// to compute the new total impulse:
-				//
-				// vn = A * d + b
-				//    = A * (x - a) + b
-				//    = A * x + b - A * a
-				//    = A * x + b'
-				// b' = b - A * a;
-				
-				Contact contact1 = contacts.get(0);
-				Contact contact2 = contacts.get(1);
-				
-				Vector2 r11 = contact1.r1;
-				Vector2 r21 = contact1.r2;
-				Vector2 r12 = contact2.r1;
-				Vector2 r22 = contact2.r2;
-				
-				Vector2 v1 = b1.getLinearVelocity();
-				Vector2 v2 = b2.getLinearVelocity();
-				double av1 = b1.getAngularVelocity();
-				double av2 = b2.getAngularVelocity();
-				
-				// create a vector containing the current accumulated impulses
-				Vector2 a = new Vector2(contact1.jn, contact2.jn);
-				
-				// get the relative velocity at both contacts
+			}
+		} else {
+			// if its 2 then solve the contacts simultaneously using a mini-LCP
+			
+			// Block solver developed by Erin Cato and Dirk Gregorius (see Box2d).
+			// Build the mini LCP for this contact patch
+			//
+			// vn = A * x + b, vn >= 0, x >= 0 and vn_i * x_i = 0 with i = 1..2
+			//
+			// A = J * W * JT and J = ( -n, -r1 x n, n, r2 x n )
+			// b = vn_0 - velocityBias
+			//
+			// The system is solved using the "Total enumeration method" (s. Murty). The complementary constraint vn_i * x_i
+			// implies that we must have in any solution either vn_i = 0 or x_i = 0. So for the 2D contact problem the cases
+			// vn1 = 0 and vn2 = 0, x1 = 0 and x2 = 0, x1 = 0 and vn2 = 0, x2 = 0 and vn1 = 0 need to be tested. The first valid
+			// solution that satisfies the problem is chosen.
+			// 
+			// In order to account for the accumulated impulse 'a' (because of the iterative nature of the solver which only requires
+			// that the accumulated impulse is clamped and not the incremental impulse) we change the impulse variable (x_i).
+			//
+			// Substitute:
+			// 
+			// x = a + d
+			// 
+			// a := old total impulse
+			// x := new total impulse
+			// d := incremental impulse
+			//
+			// For the current iteration we extend the formula for the incremental impulse
+			// to compute the new total impulse:
+			//
+			// vn = A * d + b
+			//    = A * (x - a) + b
+			//    = A * x + b - A * a
+			//    = A * x + b'
+			// b' = b - A * a;
+			
+			Contact contact1 = contacts.get(0);
+			Contact contact2 = contacts.get(1);
+			
+			Vector2 r11 = contact1.r1;
+			Vector2 r21 = contact1.r2;
+			Vector2 r12 = contact2.r1;
+			Vector2 r22 = contact2.r2;
+			
+			Vector2 v1 = b1.getLinearVelocity();
+			Vector2 v2 = b2.getLinearVelocity();
+			double av1 = b1.getAngularVelocity();
+			double av2 = b2.getAngularVelocity();
+			
+			// create a vector containing the current accumulated impulses
+			Vector2 a = new Vector2(contact1.jn, contact2.jn);
+			
+			// get the relative velocity at both contacts
 //				Vector2 lv11 = contact1.r1.cross(b1.getAngularVelocity()).add(b1.getVelocity());
 //				Vector2 lv21 = contact1.r2.cross(b2.getAngularVelocity()).add(b2.getVelocity());
 //				Vector2 rv1 = lv11.subtract(lv21);
-				// inline the computation
-				Vector2 rv1 = new Vector2();
-				rv1.x = -r11.y * av1 + v1.x + r21.y * av2 - v2.x;
-				rv1.y =  r11.x * av1 + v1.y - r21.x * av2 - v2.y;
-				
+			// inline the computation
+			Vector2 rv1 = new Vector2();
+			rv1.x = -r11.y * av1 + v1.x + r21.y * av2 - v2.x;
+			rv1.y =  r11.x * av1 + v1.y - r21.x * av2 - v2.y;
+
 //				Vector2 lv12 = contact2.r1.cross(b1.getAngularVelocity()).add(b1.getVelocity());
 //				Vector2 lv22 = contact2.r2.cross(b2.getAngularVelocity()).add(b2.getVelocity());
 //				Vector2 rv2 = lv12.subtract(lv22);
-				// inline the computation
-				Vector2 rv2 = new Vector2();
-				rv2.x = -r12.y * av1 + v1.x + r22.y * av2 - v2.x;
-				rv2.y =  r12.x * av1 + v1.y - r22.x * av2 - v2.y; 
-				
-				// compute the relative velocities along the collision normal
-				double rvn1 = N.dot(rv1);
-				double rvn2 = N.dot(rv2);
-				
-				// create the b vector
-				Vector2 b = new Vector2();
-				b.x = rvn1 - contact1.vb;
-				b.y = rvn2 - contact2.vb;
-				b.subtract(contactConstraint.K.product(a));
+			// inline the computation
+			Vector2 rv2 = new Vector2();
+			rv2.x = -r12.y * av1 + v1.x + r22.y * av2 - v2.x;
+			rv2.y =  r12.x * av1 + v1.y - r22.x * av2 - v2.y; 
+			
+			// compute the relative velocities along the collision normal
+			double rvn1 = N.dot(rv1);
+			double rvn2 = N.dot(rv2);
+			
+			// create the b vector
+			Vector2 b = new Vector2();
+			b.x = rvn1 - contact1.vb;
+			b.y = rvn2 - contact2.vb;
+			b.subtract(contactConstraint.K.product(a));
+			
+			for (;;) {
+				//
+				// Case 1: vn = 0
+				//
+				// 0 = A * x + b'
+				//
+				// Solve for x:
+				//
+				// x = - inv(A) * b'
+				//
+				Vector2 x = contactConstraint.invK.product(b).negate();
 				
-				for (;;) {
-					//
-					// Case 1: vn = 0
-					//
-					// 0 = A * x + b'
-					//
-					// Solve for x:
-					//
-					// x = - inv(A) * b'
-					//
-					Vector2 x = contactConstraint.invK.product(b).negate();
-
-					if (x.x >= 0.0f && x.y >= 0.0f)
-					{
-						// find the incremental impulse
-						Vector2 d = x.difference(a);
-
-						// apply the incremental impulse
-						Vector2 J1 = N.product(d.x);
-						Vector2 J2 = N.product(d.y);
-						
-						//v1.add(J1.sum(J2).multiply(invM1));
+				if (x.x >= 0.0f && x.y >= 0.0f)
+				{
+					// find the incremental impulse
+					Vector2 d = x.difference(a);
+					residual = Math.max(residual, Math.max(Math.abs(d.x), Math.abs(d.y)));
+					
+					// apply the incremental impulse
+					Vector2 J1 = N.product(d.x);
+					Vector2 J2 = N.product(d.y);
+					
+					//v1.add(J1.sum(J2).multiply(invM1));
+					if (update1) {
 						v1.add((J1.x + J2.x) * invM1, (J1.y + J2.y) * invM1);
 						b1.setAngularVelocity(av1 + invI1 * (r11.cross(J1) + r12.cross(J2)));
+					}
+					if (update2) {
 						v2.subtract((J1.x + J2.x) * invM2, (J1.y + J2.y) * invM2);
 						b2.setAngularVelocity(av2 - invI2 * (r21.cross(J1) + r22.cross(J2)));
-
-						// set the new accumulated impulse
-						contact1.jn = x.x;
-						contact2.jn = x.y;
-						
-						break;
 					}
-
-					//
-					// Case 2: vn1 = 0 and x2 = 0
-					//
-					//   0 = a11 * x1 + a12 * 0 + b1' 
-					// vn2 = a21 * x1 + a22 * 0 + b2'
-					//
 					
-					x.x = -contact1.massN * b.x;
-					x.y = 0.0;
-					rvn1 = 0.0;
-					rvn2 = contactConstraint.K.m10 * x.x + b.y;
+					// set the new accumulated impulse
+					contact1.jn = x.x;
+					contact2.jn = x.y;
+					
+					break;
+				}
+				
+				//
+				// Case 2: vn1 = 0 and x2 = 0
+				//
+				//   0 = a11 * x1 + a12 * 0 + b1' 
+				// vn2 = a21 * x1 + a22 * 0 + b2'
+				//
+				
+				x.x = -contact1.massN * b.x;
+				x.y = 0.0;
+				rvn1 = 0.0;
+				rvn2 = contactConstraint.K.m10 * x.x + b.y;
 
-					if (x.x >= 0.0f && rvn2 >= 0.0f)
-					{
-						// find the incremental impulse
-						Vector2 d = x.difference(a);
+				if (x.x >= 0.0f && rvn2 >= 0.0f)
+				{
+					// find the incremental impulse
+					Vector2 d = x.difference(a);
+					residual = Math.max(residual, Math.max(Math.abs(d.x), Math.abs(d.y)));
 
-						// apply the incremental impulse
-						Vector2 J1 = N.product(d.x);
-						Vector2 J2 = N.product(d.y);
-						
-						//v1.add(J1.sum(J2).multiply(invM1));
+					// apply the incremental impulse
+					Vector2 J1 = N.product(d.x);
+					Vector2 J2 = N.product(d.y);
+					
+					//v1.add(J1.sum(J2).multiply(invM1));
+					if (update1) {
 						v1.add((J1.x + J2.x) * invM1, (J1.y + J2.y) * invM1);
 						b1.setAngularVelocity(av1 + invI1 * (r11.cross(J1) + r12.cross(J2)));
-						//v2.subtract(J1.sum(J2).multiply(invM2));
+					}
+					//v2.subtract(J1.sum(J2).multiply(invM2));
+					if (update2) {
 						v2.subtract((J1.x + J2.x) * invM2, (J1.y + J2.y) * invM2);
 						b2.setAngularVelocity(av2 - invI2 * (r21.cross(J1) + r22.cross(J2)));
-						
-						// set the new incremental impulse
-						contact1.jn = x.x;
-						contact2.jn = x.y;
-						
-						break;
 					}
-
-
-					//
-					// Case 3: vn2 = 0 and x1 = 0
-					//
-					// vn1 = a11 * 0 + a12 * x2 + b1' 
-					//   0 = a21 * 0 + a22 * x2 + b2'
-					//
 					
-					x.x = 0.0;
-					x.y = -contact2.massN * b.y;
-					rvn1 = contactConstraint.K.m01 * x.y + b.x;
-					rvn2 = 0.0;
+					// set the new incremental impulse
+					contact1.jn = x.x;
+					contact2.jn = x.y;
+					
+					break;
+				}
 
-					if (x.y >= 0.0f && rvn1 >= 0.0f)
-					{
-						// find the incremental impulse
-						Vector2 d = x.difference(a);
 
-						// apply the incremental impulse
-						Vector2 J1 = N.product(d.x);
-						Vector2 J2 = N.product(d.y);
-						
-						//v1.add(J1.sum(J2).multiply(invM1));
+				//
+				// Case 3: vn2 = 0 and x1 = 0
+				//
+				// vn1 = a11 * 0 + a12 * x2 + b1' 
+				//   0 = a21 * 0 + a22 * x2 + b2'
+				//
+				
+				x.x = 0.0;
+				x.y = -contact2.massN * b.y;
+				rvn1 = contactConstraint.K.m01 * x.y + b.x;
+				rvn2 = 0.0;
+				
+				if (x.y >= 0.0f && rvn1 >= 0.0f)
+				{
+					// find the incremental impulse
+					Vector2 d = x.difference(a);
+					residual = Math.max(residual, Math.max(Math.abs(d.x), Math.abs(d.y)));
+					
+					// apply the incremental impulse
+					Vector2 J1 = N.product(d.x);
+					Vector2 J2 = N.product(d.y);
+					
+					//v1.add(J1.sum(J2).multiply(invM1));
+					if (update1) {
 						v1.add((J1.x + J2.x) * invM1, (J1.y + J2.y) * invM1);
 						b1.setAngularVelocity(av1 + invI1 * (r11.cross(J1) + r12.cross(J2)));
-						//v2.subtract(J1.sum(J2).multiply(invM2));
+					}
+					//v2.subtract(J1.sum(J2).multiply(invM2));
+					if (update2) {
 						v2.subtract((J1.x + J2.x) * invM2, (J1.y + J2.y) * invM2);
 						b2.setAngularVelocity(av2 - invI2 * (r21.cross(J1) + r22.cross(J2)));
-						
-						// set the new incremental impulse
-						contact1.jn = x.x;
-						contact2.jn = x.y;
-						
-						break;
 					}
-
-					//
-					// Case 4: x1 = 0 and x2 = 0
-					// 
-					// vn1 = b1
-					// vn2 = b2;
-					x.x = 0.0f;
-					x.y = 0.0f;
-					rvn1 = b.x;
-					rvn2 = b.y;
-
-					if (rvn1 >= 0.0f && rvn2 >= 0.0f )
-					{
-						// find the incremental impulse
-						Vector2 d = x.difference(a);
-
-						// apply the incremental impulse
-						Vector2 J1 = N.product(d.x);
-						Vector2 J2 = N.product(d.y);
-						
-						//v1.add(J1.sum(J2).multiply(invM1));
+					
+					// set the new incremental impulse
+					contact1.jn = x.x;
+					contact2.jn = x.y;
+					
+					break;
+				}
+				
+				//
+				// Case 4: x1 = 0 and x2 = 0
+				// 
+				// vn1 = b1
+				// vn2 = b2;
+				x.x = 0.0f;
+				x.y = 0.0f;
+				rvn1 = b.x;
+				rvn2 = b.y;
+				
+				if (rvn1 >= 0.0f && rvn2 >= 0.0f )
+				{
+					// find the incremental impulse
+					Vector2 d = x.difference(a);
+					residual = Math.max(residual, Math.max(Math.abs(d.x), Math.abs(d.y)));
+					
+					// apply the incremental impulse
+					Vector2 J1 = N.product(d.x);
+					Vector2 J2 = N.product(d.y);
+					
+					//v1.add(J1.sum(J2).multiply(invM1));
+					if (update1) {
 						v1.add((J1.x + J2.x) * invM1, (J1.y + J2.y) * invM1);
 						b1.setAngularVelocity(av1 + invI1 * (r11.cross(J1) + r12.cross(J2)));
-						//v2.subtract(J1.sum(J2).multiply(invM2));
+					}
+					//v2.subtract(J1.sum(J2).multiply(invM2));
+					if (update2) {
 						v2.subtract((J1.x + J2.x) * invM2, (J1.y + J2.y) * invM2);
 						b2.setAngularVelocity(av2 - invI2 * (r21.cross(J1) + r22.cross(J2)));
-						
-						// set the new incremental impulse
-						contact1.jn = x.x;
-						contact2.jn = x.y;
-						
-						break;
 					}
 					
-					// No solution, give up. This is hit sometimes, but it doesn't seem to matter.
+					// set the new incremental impulse
+					contact1.jn = x.x;
+					contact2.jn = x.y;
+					
 					break;
 				}
+				
+				// No solution, give up. This is hit sometimes, but it doesn't seem to matter.
+				break;
 			}
 		}
+		
+		return residual;
 	}
 	
 	/**
@@ -598,6 +661,46 @@ public class ContactConstraintSolver {
 		// track the minimum separation
 		double minSeparation = 0.0;
 		
+		// loop through the contact constraints
+		int size = this.contactConstraints.size();
+		for (int i = 0; i < size; i++) {
+			ContactConstraint contactConstraint = this.contactConstraints.get(i);
+			double separation = this.solvePositionConstraints(contactConstraint);
+			minSeparation = Math.min(minSeparation, separation);
+		}
+		
+		return this.isPositionSolved(minSeparation);
+	}
+	
+	/**
+	 * Returns true if the given minimum separation of all the contacts is 
+	 * within the allowed penetration.
+	 * @param minSeparation the minimum separation returned by the {@link #solvePositionConstraints(ContactConstraint)} method
+	 * @return boolean
+	 * @since 3.2.0
+	 */
+	public boolean isPositionSolved(double minSeparation) {
+		double allowedPenetration = this.world.getSettings().getLinearTolerance();
+		// check if the minimum separation between all objects is still
+		// greater than or equal to allowed penetration plus half of allowed penetration
+		// since we cannot expect it to be above allowed penetration alone
+		return minSeparation >= -3.0 * allowedPenetration;
+	}
+	
+	/**
+	 * Solves the position constraints of the given {@link ContactConstraint}.
+	 * <p>
+	 * This method only modifies the given {@link ContactConstraint} and its {@link Body}s 
+	 * and can be called for {@link ContactConstraint}s that do not share a dynamic {@link Body}
+	 * from different threads at the same time.
+	 * @param contactConstraint the contact constraint
+	 * @return double the minimum separation of the contacts (zero or less)
+	 * @since 3.2.0
+	 */
+	public double solvePositionConstraints(ContactConstraint contactConstraint) {
+		// track the minimum separation
+		double minSeparation = 0.0;
+		
 		// since all contact constraints will be part
 		Settings settings = this.world.getSettings();
 		// get the max linear correction, baumgarte, and allowed penetration from
@@ -606,95 +709,96 @@ public class ContactConstraintSolver {
 		double allowedPenetration = settings.getLinearTolerance();
 		double baumgarte = settings.getBaumgarte();
 		
-		// loop through the contact constraints
-		int size = this.contactConstraints.size();
-		for (int i = 0; i < size; i++) {
-			ContactConstraint contactConstraint = this.contactConstraints.get(i);
+		// get the bodies
+		Body b1 = contactConstraint.getBody1();
+		Body b2 = contactConstraint.getBody2();
+		// get their transforms
+		Transform t1 = b1.getTransform();
+		Transform t2 = b2.getTransform();
+		// get the masses
+		Mass m1 = b1.getMass();
+		Mass m2 = b2.getMass();
+		
+		double mass1 = m1.getMass();
+		double mass2 = m2.getMass();
+		
+		// get the contact list
+		List<Contact> contacts = contactConstraint.contacts;
+		int cSize = contacts.size();
+		if (cSize == 0) return 0.0;
+		
+		// get the penetration axis
+		Vector2 N = contactConstraint.normal;
+		
+		// could be 1 or 0 if one object has infinite mass
+		double invMass1 = mass1 * m1.getInverseMass();
+		double invI1 = mass1 * m1.getInverseInertia();
+		// could be 1 or 0 if one object has infinite mass
+		double invMass2 = mass2 * m2.getInverseMass();
+		double invI2 = mass2 * m2.getInverseInertia();
+		
+		// bodies with infinite mass and inertia are never changed; this also
+		// avoids writing to them from multiple threads at the same time
+		boolean update1 = invMass1 != 0.0 || invI1 != 0.0;
+		boolean update2 = invMass2 != 0.0 || invI2 != 0.0;
+		
+		// solve normal constraints
+		for (int k = 0; k < cSize; k++) {
+			Contact contact = contacts.get(k);
 			
-			// get the bodies
-			Body b1 = contactConstraint.getBody1();
-			Body b2 = contactConstraint.getBody2();
-			// get their transforms
-			Transform t1 = b1.getTransform();
-			Transform t2 = b2.getTransform();
-			// get the masses
-			Mass m1 = b1.getMass();
-			Mass m2 = b2.getMass();
+			// get the world centers of mass
+			Vector2 c1 = t1.getTransformed(m1.getCenter());
+			Vector2 c2 = t2.getTransformed(m2.getCenter());
 			
-			double mass1 = m1.getMass();
-			double mass2 = m2.getMass();
+			// get r1 and r2
+			Vector2 r1 = contact.p1.difference(m1.getCenter());
+			t1.transformR(r1);
+			Vector2 r2 = contact.p2.difference(m2.getCenter());
+			t2.transformR(r2);
 			
-			// get the contact list
-			List<Contact> contacts = contactConstraint.contacts;
-			int cSize = contacts.size();
-			if (cSize == 0) continue;
+			// get the world contact points
+			Vector2 p1 = c1.sum(r1);
+			Vector2 p2 = c2.sum(r2);
+			Vector2 dp = p1.subtract(p2);
 			
-			// get the penetration axis
-			Vector2 N = contactConstraint.normal;
+			// estimate the current penetration
+			double penetration = dp.dot(N) - contact.depth;
 			
-			// could be 1 or 0 if one object has infinite mass
-			double invMass1 = mass1 * m1.getInverseMass();
-			double invI1 = mass1 * m1.getInverseInertia();
-			// could be 1 or 0 if one object has infinite mass
-			double invMass2 = mass2 * m2.getInverseMass();
-			double invI2 = mass2 * m2.getInverseInertia();
+			// track the maximum error
+			minSeparation = Math.min(minSeparation, penetration);
 			
-			// solve normal constraints
-			for (int k = 0; k < cSize; k++) {
-				Contact contact = contacts.get(k);
-				
-				// get the world centers of mass
-				Vector2 c1 = t1.getTransformed(m1.getCenter());
-				Vector2 c2 = t2.getTransformed(m2.getCenter());
-
-				// get r1 and r2
-				Vector2 r1 = contact.p1.difference(m1.getCenter());
-				t1.transformR(r1);
-				Vector2 r2 = contact.p2.difference(m2.getCenter());
-				t2.transformR(r2);
-				
-				// get the world contact points
-				Vector2 p1 = c1.sum(r1);
-				Vector2 p2 = c2.sum(r2);
-				Vector2 dp = p1.subtract(p2);
-
-				// estimate the current penetration
-				double penetration = dp.dot(N) - contact.depth;
-
-				// track the maximum error
-				minSeparation = Math.min(minSeparation, penetration);
-
-				// allow for penetration to avoid jitter
-				double cp = baumgarte * Interval.clamp(penetration + allowedPenetration, -maxLinearCorrection, 0.0);
-
-				// compute the position impulse
-				double rn1 = r1.cross(N);
-				double rn2 = r2.cross(N);
-				double K = invMass1 + invMass2 + invI1 * rn1 * rn1 + invI2 * rn2 * rn2;
-				
-				double jp = 0.0;
-				if (K > Epsilon.E) {
-					jp = -cp / K;
-				}
-				
-				// clamp the accumulated position impulse
-				double jp0 = contact.jp;
-				contact.jp = Math.max(jp0 + jp, 0.0);
-				jp = contact.jp - jp0;
-
-				Vector2 J = N.product(jp);
-
-				// translate and rotate the objects
+			// allow for penetration to avoid jitter
+			double cp = baumgarte * Interval.clamp(penetration + allowedPenetration, -maxLinearCorrection, 0.0);
+			
+			// compute the position impulse
+			double rn1 = r1.cross(N);
+			double rn2 = r2.cross(N);
+			double K = invMass1 + invMass2 + invI1 * rn1 * rn1 + invI2 * rn2 * rn2;
+			
+			double jp = 0.0;
+			if (K > Epsilon.E) {
+				jp = -cp / K;
+			}
+			
+			// clamp the accumulated position impulse
+			double jp0 = contact.jp;
+			contact.jp = Math.max(jp0 + jp, 0.0);
+			jp = contact.jp - jp0;
+			
+			Vector2 J = N.product(jp);
+			
+			// translate and rotate the objects
+			if (update1) {
 				b1.translate(J.product(invMass1));
 				b1.rotate(invI1 * r1.cross(J), c1.x, c1.y);
-				
+			}
+			
+			if (update2) {
 				b2.translate(J.product(-invMass2));
 				b2.rotate(-invI2 * r2.cross(J), c2.x, c2.y);
 			}
 		}
-		// check if the minimum separation between all objects is still
-		// greater than or equal to allowed penetration plus half of allowed penetration
-		// since we cannot expect it to be above allowed penetration alone
-		return minSeparation >= -3.0 * allowedPenetration;
+		
+		return minSeparation;
 	}
 }
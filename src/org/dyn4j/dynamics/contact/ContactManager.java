@@ -31,8 +31,10 @@ import java.util.List;
 import java.util.Map;
 
 import org.dyn4j.collision.Collisions;
+import org.dyn4j.collision.manifold.Manifold;
 import org.dyn4j.collision.manifold.ManifoldPointId;
 import org.dyn4j.dynamics.Body;
+import org.dyn4j.dynamics.BodyFixture;
 import org.dyn4j.dynamics.Capacity;
 import org.dyn4j.dynamics.Settings;
 import org.dyn4j.dynamics.World;
@@ -45,7 +47,7 @@ import org.dyn4j.resources.Messages;
  * This class performs the {@link ContactConstraint} warm starting and manages contact
  * listening.
  * @author William Bittle
- * @version 3.1.11
+ * @version 3.2.0
  * @since 1.0.0
  */
 public class ContactManager {
@@ -54,13 +56,46 @@ public class ContactManager {
 	
 	/** Map for fast look up of  {@link ContactConstraint}s */
 	protected Map<ContactConstraintId, ContactConstraint> map;
+	
+	/** Reusable key for looking up {@link ContactConstraint}s in the {@link #map} */
+	protected ContactConstraintId key;
 
 	/** The current list of contact constraints */
 	protected List<ContactConstraint> list;
 	
-	/** The list of contact listeners (this is reassigned each time {@link #updateContacts()} is called) */
+	/** The list of contact constraints between frozen bodies kept from the last update */
+	protected List<ContactConstraint> frozen;
+	
+	/** The list of contact listeners (this is refilled each time {@link #updateContacts()} is called) */
 	protected List<ContactListener> listeners;
 	
+	/** The current update stamp; used to find the cached {@link ContactConstraint}s that were not updated */
+	protected int stamp;
+	
+	/** Reusable array of flags for the old contacts that were persisted */
+	protected boolean[] persisted;
+	
+	/** The list of contact batch listeners (this is refilled each time {@link #updateContacts()} is called) */
+	protected List<ContactBatchListener> batchListeners;
+	
+	/** The union of the event types required by the {@link #batchListeners} */
+	protected int batchEventTypes;
+	
+	/** The reusable batch of sensed contacts */
+	protected ContactBatch sensedBatch;
+	
+	/** The reusable batch of new contacts */
+	protected ContactBatch beginBatch;
+	
+	/** The reusable batch of persisted contacts */
+	protected ContactBatch persistBatch;
+	
+	/** The reusable batch of removed contacts */
+	protected ContactBatch endBatch;
+	
+	/** The reusable batch of solved contacts */
+	protected ContactBatch postSolveBatch;
+	
 	/**
 	 * Optional constructor.
 	 * @param world the {@link World} this contact manager belongs to
@@ -96,8 +131,58 @@ public class ContactManager {
 		// if we take capacity / load factor
 		// the default load factor is 0.75 according to the javadocs, but lets assign it to be sure
 		this.map = new HashMap<ContactConstraintId, ContactConstraint>(eSize * 4 / 3 + 1, 0.75f);
+		this.key = new ContactConstraintId();
 		this.list = new ArrayList<ContactConstraint>(eSize);
-		this.listeners = null;
+		this.frozen = new ArrayList<ContactConstraint>();
+		this.listeners = new ArrayList<ContactListener>();
+		this.stamp = 0;
+		// manifolds typically have at most two points
+		this.persisted = new boolean[2];
+		this.batchListeners = new ArrayList<ContactBatchListener>();
+		this.batchEventTypes = 0;
+		this.sensedBatch = new ContactBatch();
+		this.beginBatch = new ContactBatch();
+		this.persistBatch = new ContactBatch();
+		this.endBatch = new ContactBatch();
+		this.postSolveBatch = new ContactBatch();
+	}
+	
+	/**
+	 * Returns a {@link ContactConstraint} for the given pair of {@link BodyFixture}s using the given {@link Manifold}.
+	 * <p>
+	 * The {@link ContactConstraint} replaced in the warm starting cache by the last update for the same pair
+	 * is reused when available, otherwise a new {@link ContactConstraint} is created.  The pairs that stay in
+	 * contact alternate between two instances, so a {@link ContactConstraint} must not be kept after the
+	 * step it was returned in.
+	 * <p>
+	 * Sensed {@link ContactConstraint}s are never cached, so a new one is always created for them.
+	 * @param body1 the first {@link Body}
+	 * @param fixture1 the first {@link Body}'s {@link BodyFixture}
+	 * @param body2 the second {@link Body}
+	 * @param fixture2 the second {@link Body}'s {@link BodyFixture}
+	 * @param manifold the contact {@link Manifold}
+	 * @return {@link ContactConstraint}
+	 * @since 3.2.0
+	 */
+	public ContactConstraint create(Body body1, BodyFixture fixture1, Body body2, BodyFixture fixture2, Manifold manifold) {
+		// look up the cached contact constraint without creating an id
+		this.key.body1Id = body1.getId();
+		this.key.body2Id = body2.getId();
+		this.key.fixture1Id = fixture1.getId();
+		this.key.fixture2Id = fixture2.getId();
+		ContactConstraint cached = this.map.get(this.key);
+		if (cached != null) {
+			ContactConstraint spare = cached.spare;
+			// the spare must have the same order of bodies and fixtures
+			if (spare != null && spare.getBody1() == body1 && spare.fixture1 == fixture1 
+			 && spare.getBody2() == body2 && spare.fixture2 == fixture2) {
+				// it can only be used once
+				cached.spare = null;
+				spare.set(manifold);
+				return spare;
+			}
+		}
+		return new ContactConstraint(body1, fixture1, body2, fixture2, manifold, this.world);
 	}
 	
 	/**
@@ -108,6 +193,37 @@ public class ContactManager {
 		this.list.add(contactConstraint);
 	}
 	
+	/**
+	 * Adds a restored {@link ContactConstraint} to the contact manager as if it was
+	 * added and cached by the last update.
+	 * <p>
+	 * This is used by the {@link World#restore(java.nio.ByteBuffer)} method after the
+	 * contact manager has been {@link #reset()}.
+	 * @param contactConstraint the {@link ContactConstraint}
+	 * @since 3.2.0
+	 */
+	public void restore(ContactConstraint contactConstraint) {
+		this.list.add(contactConstraint);
+		// sensed contact constraints are never in the cache
+		if (!contactConstraint.sensor) {
+			contactConstraint.stamp = this.stamp;
+			this.map.put(contactConstraint.id, contactConstraint);
+		}
+	}
+	
+	/**
+	 * Keeps a {@link ContactConstraint} from the last update without updating it.
+	 * <p>
+	 * This is used for the {@link ContactConstraint}s between {@link org.dyn4j.dynamics.Body}s that 
+	 * are asleep (or static) and haven't moved since the last update.  The {@link ContactConstraint}
+	 * remains in the warm starting cache without raising begin, persist or end events.
+	 * @param contactConstraint the {@link ContactConstraint}
+	 * @since 3.2.0
+	 */
+	public void freeze(ContactConstraint contactConstraint) {
+		this.frozen.add(contactConstraint);
+	}
+	
 	/**
 	 * Removes a {@link ContactConstraint} from the contact manager.
 	 * <p>
@@ -122,11 +238,12 @@ public class ContactManager {
 	}
 	
 	/**
-	 * Clears the list of {@link ContactConstraint}s.
+	 * Clears the list of {@link ContactConstraint}s and frozen {@link ContactConstraint}s.
 	 */
 	public void clear() {
-		// only clear the list
+		// only clear the lists
 		this.list.clear();
+		this.frozen.clear();
 	}
 	
 	/**
@@ -134,8 +251,9 @@ public class ContactManager {
 	 * from the warm starting cache and {@link ContactConstraint} list.
 	 */
 	public void reset() {
-		// clear the list
+		// clear the lists
 		this.list.clear();
+		this.frozen.clear();
 		// clear the current contact constraints warm start cache
 		this.map.clear();
 	}
@@ -165,6 +283,18 @@ public class ContactManager {
 	 * Warm starts the {@link ContactConstraint}s using the previous {@link ContactConstraint}s
 	 * accumulated impulses if available given their {@link ManifoldPointId}s.
 	 * <p>
+	 * The warm starting cache is updated in place; the new {@link ContactConstraint}s replace
+	 * the old ones for the same pair and only the ended {@link ContactConstraint}s are removed.
+	 * {@link org.dyn4j.collision.manifold.IndexedManifoldPointId}s are matched by their primitive
+	 * keys.  Contact points for notification are only created when {@link ContactListener}s exist.
+	 * The replaced {@link ContactConstraint}s are kept for reuse by {@link #create(Body, BodyFixture, Body, BodyFixture, Manifold)}.
+	 * <p>
+	 * The frozen {@link ContactConstraint}s (see {@link #freeze(ContactConstraint)}) are kept in the
+	 * cache without any notification.
+	 * <p>
+	 * The {@link ContactBatchListener}s are notified at the end of this method with the
+	 * sensed, begin, persist, and end batches they require.
+	 * <p>
 	 * This method will notify using the {@link ContactListener} of any contact events excluding
 	 * the {@link ContactListener#preSolve(ContactPoint)} and {@link ContactListener#postSolve(SolvedContactPoint)}
 	 * methods.
@@ -175,23 +305,39 @@ public class ContactManager {
 		// get the size of the list
 		int size = this.list.size();
 		
-		// re-assign listeners
-		this.listeners = this.world.getListeners(ContactListener.class);
+		// re-assign listeners (reusing the same list)
+		this.listeners.clear();
+		this.world.getListeners(ContactListener.class, this.listeners);
+		int lsize = this.listeners.size();
+		
+		// re-assign the batch listeners and get the event types they require
+		this.batchListeners.clear();
+		this.world.getListeners(ContactBatchListener.class, this.batchListeners);
+		this.batchEventTypes = this.getBatchEventTypes();
+		boolean bsensed = (this.batchEventTypes & ContactBatchListener.SENSED) != 0;
+		boolean bbegin = (this.batchEventTypes & ContactBatchListener.BEGIN) != 0;
+		boolean bpersist = (this.batchEventTypes & ContactBatchListener.PERSIST) != 0;
+		boolean bend = (this.batchEventTypes & ContactBatchListener.END) != 0;
 		
 		Settings settings = this.world.getSettings();
 		// get the warm start distance from the settings
 		double warmStartDistanceSquared = settings.getWarmStartDistanceSquared();
 		
-		// create a new map for the new contacts constraints
-		Map<ContactConstraintId, ContactConstraint> newMap = null;
+		// increment the stamp so that we can detect the contact
+		// constraints in the cache that were not updated
+		this.stamp++;
+		
+		// the number of contact constraints put into the cache this update
+		int cached = 0;
 		
-		// check if any new contact constraints were found
-		if (size > 0) {
-			// if so then create a new map to contain the new contacts
-			// 0.75 = 3/4, we can garuantee that the hashmap will not need to be rehashed
-			// if we take capacity / load factor
-			// the default load factor is 0.75 according to the javadocs, but lets assign it to be sure
-			newMap = new HashMap<ContactConstraintId, ContactConstraint>(size * 4 / 3 + 1, 0.75f);
+		// keep the frozen contact constraints in the cache as they are
+		int fsize = this.frozen.size();
+		for (int i = 0; i < fsize; i++) {
+			ContactConstraint contactConstraint = this.frozen.get(i);
+			// sensed contact constraints are never in the cache
+			if (contactConstraint.sensor) continue;
+			contactConstraint.stamp = this.stamp;
+			cached++;
 		}
 		
 		// loop over the new contact constraints
@@ -208,9 +354,12 @@ public class ContactManager {
 			// check if this contact constraint is a sensor
 			if (newContactConstraint.sensor) {
 				// notify of the sensed contacts
-				for (int j = 0; j < nsize; j++) {
+				for (int j = 0; j < nsize && (lsize > 0 || bsensed); j++) {
 					// get the contact
 					Contact contact = contacts.get(j);
+					// add it to the batch
+					if (bsensed) this.sensedBatch.add(newContactConstraint, contact);
+					if (lsize == 0) continue;
 					// notify of the sensed contact
 					ContactPoint point = new ContactPoint(
 							new ContactPointId(newContactConstraint.id, contact.id),
@@ -223,31 +372,43 @@ public class ContactManager {
 							newContactConstraint.normal,
 							contact.depth);
 					// call the listeners
-					for (ContactListener cl : this.listeners) {
-						cl.sensed(point);
+					for (int l = 0; l < lsize; l++) {
+						this.listeners.get(l).sensed(point);
 					}
 				}
 				// we don't need to perform any warm starting for
 				// sensed contacts so continue to the next contact constraint
 				
-				// since sensed contact constraints are never added to the new
-				// map, they will not be warm starting if the fixtures ever
+				// since sensed contact constraints are never added to the
+				// cache, they will not be warm starting if the fixtures ever
 				// change from sensors to normal fixtures
 				continue;
 			}
 			
-			// get the old contact constraint
-			// doing a remove here will ensure that the remaining contact
-			// constraints in the map will be contacts that need to be notified of
-			// removal
-			oldContactConstraint = this.map.remove(newContactConstraint.id);
+			// replace the old contact constraint in the cache with the new one
+			// (replacing the value of an existing key does not allocate or rehash)
+			newContactConstraint.stamp = this.stamp;
+			oldContactConstraint = this.map.put(newContactConstraint.id, newContactConstraint);
+			cached++;
 			
 			// check if the contact constraint exists
 			if (oldContactConstraint != null) {
+				// keep the old contact constraint for reuse by the next detection
+				// (see the create method)
+				if (oldContactConstraint != newContactConstraint) {
+					newContactConstraint.spare = oldContactConstraint;
+					oldContactConstraint.spare = null;
+				}
 				List<Contact> ocontacts = oldContactConstraint.contacts;
 				int osize = ocontacts.size();
-				// create an array for removed contacts
-				boolean[] persisted = new boolean[osize];
+				// make sure the persisted array is large enough
+				if (this.persisted.length < osize) {
+					this.persisted = new boolean[osize];
+				}
+				// reset the persisted flags
+				for (int k = 0; k < osize; k++) {
+					this.persisted[k] = false;
+				}
 				// warm start the constraint
 				for (int j = 0; j < nsize; j++) {
 					// get the new contact
@@ -257,44 +418,59 @@ public class ContactManager {
 					for (int k = 0; k < osize; k++) {
 						// get the old contact
 						Contact oldContact = ocontacts.get(k);
-						// check if the id type is distance, if so perform a distance check using the warm start distance
-						// else just compare the ids
-						if ((newContact.id == ManifoldPointId.DISTANCE && newContact.p.distanceSquared(oldContact.p) <= warmStartDistanceSquared) 
-						  || newContact.id.equals(oldContact.id)) {
+						// check if the ids match
+						boolean match = false;
+						if (newContact.keyed && oldContact.keyed) {
+							// compare the primitive keys of indexed ids
+							match = newContact.key == oldContact.key;
+						} else {
+							// check if the id type is distance, if so perform a distance check using the warm start distance
+							// else just compare the ids
+							match = (newContact.id == ManifoldPointId.DISTANCE && newContact.p.distanceSquared(oldContact.p) <= warmStartDistanceSquared) 
+								  || newContact.id.equals(oldContact.id);
+						}
+						if (match) {
 							// warm start by setting the new contact constraint
 							// accumulated impulses to the old contact constraint
 							newContact.jn = oldContact.jn;
 							newContact.jt = oldContact.jt;
-							// notify of a persisted contact
-							PersistedContactPoint point = new PersistedContactPoint(
-									new ContactPointId(newContactConstraint.id, newContact.id),
-									newContactConstraint.getBody1(),
-									newContactConstraint.fixture1,
-									newContactConstraint.getBody2(),
-									newContactConstraint.fixture2,
-									true,
-									newContact.p,
-									newContactConstraint.normal,
-									newContact.depth,
-									oldContact.p,
-									oldContactConstraint.normal,
-									oldContact.depth);
-							// call the listeners and set the enabled flag to the result
-							boolean allow = true;
-							for (ContactListener cl : this.listeners) {
-								if (!cl.persist(point)) {
-									allow = false;
+							// add it to the batch
+							if (bpersist) this.persistBatch.add(newContactConstraint, newContact);
+							// only notify if there are listeners
+							if (lsize > 0) {
+								// notify of a persisted contact
+								PersistedContactPoint point = new PersistedContactPoint(
+										new ContactPointId(newContactConstraint.id, newContact.id),
+										newContactConstraint.getBody1(),
+										newContactConstraint.fixture1,
+										newContactConstraint.getBody2(),
+										newContactConstraint.fixture2,
+										true,
+										newContact.p,
+										newContactConstraint.normal,
+										newContact.depth,
+										oldContact.p,
+										oldContactConstraint.normal,
+										oldContact.depth);
+								// call the listeners and set the enabled flag to the result
+								boolean allow = true;
+								for (int l = 0; l < lsize; l++) {
+									if (!this.listeners.get(l).persist(point)) {
+										allow = false;
+									}
 								}
+								newContact.enabled = allow;
 							}
-							newContact.enabled = allow;
 							// flag that the contact was persisted
-							persisted[k] = true;
+							this.persisted[k] = true;
 							found = true;
 							break;
 						}
 					}
+					// add it to the batch if it wasn't persisted
+					if (!found && bbegin) this.beginBatch.add(newContactConstraint, newContact);
 					// check for persistence, if it wasn't persisted its a new contact
-					if (!found) {
+					if (!found && lsize > 0) {
 						// notify of new contact (begin of contact)
 						ContactPoint point = new ContactPoint(
 								new ContactPointId(newContactConstraint.id, newContact.id),
@@ -308,8 +484,8 @@ public class ContactManager {
 								newContact.depth);
 						// call the listeners and set the enabled flag to the result
 						boolean allow = true;
-						for (ContactListener cl : this.listeners) {
-							if (!cl.begin(point)) {
+						for (int l = 0; l < lsize; l++) {
+							if (!this.listeners.get(l).begin(point)) {
 								allow = false;
 							}
 						}
@@ -319,12 +495,14 @@ public class ContactManager {
 				
 				// check for removed contacts
 				// if the contact was not persisted then it was removed
-				int rsize = persisted.length;
-				for (int j = 0; j < rsize; j++) {
+				for (int j = 0; j < osize && (lsize > 0 || bend); j++) {
 					// check the boolean array
-					if (!persisted[j]) {
+					if (!this.persisted[j]) {
 						// get the contact
 						Contact contact = ocontacts.get(j);
+						// add it to the batch
+						if (bend) this.endBatch.add(oldContactConstraint, contact);
+						if (lsize == 0) continue;
 						// notify of new contact (begin of contact)
 						ContactPoint point = new ContactPoint(
 								new ContactPointId(newContactConstraint.id, contact.id),
@@ -337,17 +515,20 @@ public class ContactManager {
 								newContactConstraint.normal,
 								contact.depth);
 						// call the listeners
-						for (ContactListener cl : this.listeners) {
-							cl.end(point);
+						for (int l = 0; l < lsize; l++) {
+							this.listeners.get(l).end(point);
 						}
 					}
 				}
 			} else {
 				// notify new contacts
 				// if the old contact point was not found notify of the new contact
-				for (int j = 0; j < nsize; j++) {
+				for (int j = 0; j < nsize && (lsize > 0 || bbegin); j++) {
 					// get the contact
 					Contact contact = contacts.get(j);
+					// add it to the batch
+					if (bbegin) this.beginBatch.add(newContactConstraint, contact);
+					if (lsize == 0) continue;
 					// notify of new contact (begin of contact)
 					ContactPoint point = new ContactPoint(
 							new ContactPointId(newContactConstraint.id, contact.id),
@@ -361,29 +542,35 @@ public class ContactManager {
 							contact.depth);
 					// call the listeners and set the enabled flag to the result
 					boolean allow = true;
-					for (ContactListener cl : this.listeners) {
-						if (!cl.begin(point)) {
+					for (int l = 0; l < lsize; l++) {
+						if (!this.listeners.get(l).begin(point)) {
 							allow = false;
 						}
 					}
 					contact.enabled = allow;
 				}
 			}
-			// add the contact constraint to the map
-			newMap.put(newContactConstraint.id, newContactConstraint);
 		}
 		
-		// check the map and its size
-		if (!this.map.isEmpty()) {
-			// now loop over the remaining contacts in the map to notify of any removed contacts
+		// if the cache contains more contact constraints than were put into it
+		// this update then some of the contact constraints have ended
+		if (this.map.size() > cached) {
+			// now loop over the contacts in the cache to notify of any removed contacts
 			Iterator<ContactConstraint> icc = this.map.values().iterator();
 			while (icc.hasNext()) {
 				ContactConstraint contactConstraint = icc.next();
+				// skip the contact constraints that were updated
+				if (contactConstraint.stamp == this.stamp) continue;
+				// remove it from the cache
+				icc.remove();
 				// loop over the contact points
 				int rsize = contactConstraint.contacts.size();
-				for (int i = 0; i < rsize; i++) {
+				for (int i = 0; i < rsize && (lsize > 0 || bend); i++) {
 					// get the contact
 					Contact contact = contactConstraint.contacts.get(i);
+					// add it to the batch
+					if (bend) this.endBatch.add(contactConstraint, contact);
+					if (lsize == 0) continue;
 					// set the contact point values
 					ContactPoint point = new ContactPoint(
 							new ContactPointId(contactConstraint.id, contact.id),
@@ -396,32 +583,73 @@ public class ContactManager {
 							contactConstraint.normal,
 							contact.depth);
 					// call the listeners
-					for (ContactListener cl : this.listeners) {
-						cl.end(point);
+					for (int l = 0; l < lsize; l++) {
+						this.listeners.get(l).end(point);
 					}
 				}
 			}
 		}
 		
-		// finally overwrite the contact constraint map with the new map
-		if (size > 0) {
-			this.map = newMap;
-		} else {
-			// if no contact constraints exist, just clear the old map
-			this.map.clear();
+		// deliver the batches
+		int bsize = this.batchListeners.size();
+		for (int l = 0; l < bsize; l++) {
+			ContactBatchListener listener = this.batchListeners.get(l);
+			int types = listener.getEventTypes();
+			if ((types & ContactBatchListener.SENSED) != 0 && !this.sensedBatch.isEmpty()) listener.sensed(this.sensedBatch);
+			if ((types & ContactBatchListener.BEGIN) != 0 && !this.beginBatch.isEmpty()) listener.begin(this.beginBatch);
+			if ((types & ContactBatchListener.PERSIST) != 0 && !this.persistBatch.isEmpty()) listener.persist(this.persistBatch);
+			if ((types & ContactBatchListener.END) != 0 && !this.endBatch.isEmpty()) listener.end(this.endBatch);
 		}
+		
+		// release the references to the contacts
+		this.sensedBatch.clear();
+		this.beginBatch.clear();
+		this.persistBatch.clear();
+		this.endBatch.clear();
+	}
+	
+	/**
+	 * Returns the union of the event types required by the {@link ContactBatchListener}s.
+	 * @return int
+	 * @since 3.2.0
+	 */
+	protected int getBatchEventTypes() {
+		int types = 0;
+		int size = this.batchListeners.size();
+		for (int i = 0; i < size; i++) {
+			types |= this.batchListeners.get(i).getEventTypes();
+		}
+		return types;
 	}
 	
 	/**
 	 * Called before the contact constraints are solved.
 	 */
 	public void preSolveNotify() {
-		int size = this.list.size();
+		int lsize = this.listeners.size();
+		
+		// nothing to do if there are no listeners
+		if (lsize == 0) return;
+		
+		// notify of the contacts and the frozen contacts that will be solved
+		this.preSolveNotify(this.list);
+		this.preSolveNotify(this.frozen);
+	}
+	
+	/**
+	 * Notifies the {@link ContactListener}s of the contacts of the given {@link ContactConstraint}s
+	 * that will be solved.
+	 * @param contactConstraints the contact constraints
+	 * @since 3.2.0
+	 */
+	private void preSolveNotify(List<ContactConstraint> contactConstraints) {
+		int size = contactConstraints.size();
+		int lsize = this.listeners.size();
 		
 		// loop through the list of contacts that were solved
 		for (int i = 0; i < size; i++) {
 			// get the contact constraint
-			ContactConstraint contactConstraint = this.list.get(i);
+			ContactConstraint contactConstraint = contactConstraints.get(i);
 			// sensed contacts are not solved
 			if (contactConstraint.sensor) continue;
 			// loop over the contacts
@@ -442,8 +670,8 @@ public class ContactManager {
 						contact.depth);
 				// call the listeners and set the enabled flag to the result
 				boolean allow = true;
-				for (ContactListener cl : this.listeners) {
-					if (!cl.preSolve(point)) {
+				for (int l = 0; l < lsize; l++) {
+					if (!this.listeners.get(l).preSolve(point)) {
 						allow = false;
 					}
 				}
@@ -454,14 +682,50 @@ public class ContactManager {
 	
 	/**
 	 * Called after the contact constraints have been solved.
+	 * <p>
+	 * The {@link ContactBatchListener}s requiring the {@link ContactBatchListener#POST_SOLVE}
+	 * event type are notified at the end of this method.
 	 */
 	public void postSolveNotify() {
-		int size = this.list.size();
+		int lsize = this.listeners.size();
+		boolean bpostSolve = (this.batchEventTypes & ContactBatchListener.POST_SOLVE) != 0;
+		
+		// nothing to do if there are no listeners
+		if (lsize == 0 && !bpostSolve) return;
+		
+		// notify of the contacts and the frozen contacts that were solved
+		this.postSolveNotify(this.list, bpostSolve);
+		this.postSolveNotify(this.frozen, bpostSolve);
+		
+		// deliver the batch
+		if (bpostSolve && !this.postSolveBatch.isEmpty()) {
+			int bsize = this.batchListeners.size();
+			for (int l = 0; l < bsize; l++) {
+				ContactBatchListener listener = this.batchListeners.get(l);
+				if ((listener.getEventTypes() & ContactBatchListener.POST_SOLVE) != 0) {
+					listener.postSolve(this.postSolveBatch);
+				}
+			}
+		}
+		// release the references to the contacts
+		this.postSolveBatch.clear();
+	}
+	
+	/**
+	 * Notifies the {@link ContactListener}s of the solved contacts of the given {@link ContactConstraint}s
+	 * and adds them to the post solve batch.
+	 * @param contactConstraints the contact constraints
+	 * @param batch true if the contacts should be added to the post solve batch
+	 * @since 3.2.0
+	 */
+	private void postSolveNotify(List<ContactConstraint> contactConstraints, boolean batch) {
+		int size = contactConstraints.size();
+		int lsize = this.listeners.size();
 		
 		// loop through the list of contacts that were solved
 		for (int i = 0; i < size; i++) {
 			// get the contact constraint
-			ContactConstraint contactConstraint = this.list.get(i);
+			ContactConstraint contactConstraint = contactConstraints.get(i);
 			// sensed contacts are not solved
 			if (contactConstraint.sensor) continue;
 			// loop over the contacts
@@ -469,6 +733,9 @@ public class ContactManager {
 			for (int j = 0; j < rsize; j++) {
 				// get the contact
 				Contact contact = contactConstraint.contacts.get(j);
+				// add it to the batch
+				if (batch) this.postSolveBatch.add(contactConstraint, contact);
+				if (lsize == 0) continue;
 				// set the contact point values
 				SolvedContactPoint point = new SolvedContactPoint(
 						new ContactPointId(contactConstraint.id, contact.id),
@@ -483,8 +750,8 @@ public class ContactManager {
 						contact.jn,
 						contact.jt);
 				// notify of them being solved
-				for (ContactListener cl : this.listeners) {
-					cl.postSolve(point);
+				for (int l = 0; l < lsize; l++) {
+					this.listeners.get(l).postSolve(point);
 				}
 			}
 		}
@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2010-2014 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.dynamics.contact;
+
+import java.util.Iterator;
+import java.util.List;
+
+import org.dyn4j.geometry.Vector2;
+
+/**
+ * Reduces the number of contact points between a pair of {@link org.dyn4j.dynamics.Body}s.
+ * <p>
+ * A {@link org.dyn4j.dynamics.Body} made of many {@link org.dyn4j.dynamics.BodyFixture}s resting on 
+ * another creates one {@link ContactConstraint} per pair of fixtures, each with up to two points.  Most 
+ * of these points are redundant for the stability of the contact.
+ * <p>
+ * This class groups the {@link ContactConstraint}s of a body pair whose normals are parallel (within
+ * the {@link #PARALLEL_TOLERANCE}) and, when a group has more than the maximum number of points, keeps 
+ * only a representative subset:
+ * <ol>
+ * <li>the deepest point</li>
+ * <li>the point farthest from the first (the largest span of the contact)</li>
+ * <li>then repeatedly the point farthest from all the points kept so far</li>
+ * </ol>
+ * In 2D the contact points of parallel contacts are nearly collinear, so the largest span is the 
+ * equivalent of the largest area used in 3D.  The remaining points are removed from their 
+ * {@link ContactConstraint}s and {@link ContactConstraint}s without any points left are removed 
+ * entirely, so they cost nothing in the solver.  Sensor {@link ContactConstraint}s are never reduced.
+ * @author William Bittle
+ * @version 3.2.0
+ * @since 3.2.0
+ * @see org.dyn4j.dynamics.Settings#setContactReductionEnabled(boolean)
+ */
+public class ContactReducer {
+	/** The maximum angle between the normals of parallel {@link ContactConstraint}s in radians */
+	public static final double PARALLEL_TOLERANCE = Math.toRadians(2.0);
+	
+	/** The minimum dot product of the normals of parallel {@link ContactConstraint}s */
+	private static final double PARALLEL_COSINE = Math.cos(PARALLEL_TOLERANCE);
+	
+	/** The group of each {@link ContactConstraint} */
+	private int[] groups;
+	
+	/** The contacts of the current group */
+	private Contact[] contacts;
+	
+	/** The flags for the kept contacts of the current group */
+	private boolean[] kept;
+	
+	/** The minimum squared distance of each contact of the current group to the kept contacts */
+	private double[] distances;
+	
+	/**
+	 * Default constructor.
+	 */
+	public ContactReducer() {
+		this.groups = new int[4];
+		this.contacts = new Contact[8];
+		this.kept = new boolean[8];
+		this.distances = new double[8];
+	}
+	
+	/**
+	 * Reduces the points of the given {@link ContactConstraint}s of a single body pair to at most
+	 * the given number of points per group of parallel {@link ContactConstraint}s.
+	 * <p>
+	 * The {@link ContactConstraint}s are modified in place and those without any points left are
+	 * removed from the given list.
+	 * @param contactConstraints the contact constraints between the same body pair
+	 * @param maximum the maximum number of points per group; must be 2 or greater
+	 * @return int the number of points removed
+	 */
+	public int reduce(List<ContactConstraint> contactConstraints, int maximum) {
+		int size = contactConstraints.size();
+		
+		// make sure the groups array is large enough
+		if (this.groups.length < size) {
+			this.groups = new int[size * 2];
+		}
+		for (int i = 0; i < size; i++) {
+			this.groups[i] = -1;
+		}
+		
+		int removed = 0;
+		for (int i = 0; i < size; i++) {
+			ContactConstraint contactConstraint = contactConstraints.get(i);
+			// skip sensors and grouped constraints
+			if (contactConstraint.sensor || this.groups[i] >= 0) continue;
+			
+			// group the constraints with a parallel normal
+			Vector2 n = contactConstraint.normal;
+			int count = contactConstraint.contacts.size();
+			this.groups[i] = i;
+			for (int j = i + 1; j < size; j++) {
+				ContactConstraint other = contactConstraints.get(j);
+				if (other.sensor || this.groups[j] >= 0) continue;
+				if (n.dot(other.normal) >= PARALLEL_COSINE) {
+					this.groups[j] = i;
+					count += other.contacts.size();
+				}
+			}
+			
+			// only reduce if there are too many points
+			if (count > maximum) {
+				removed += this.reduce(contactConstraints, i, count, maximum);
+			}
+		}
+		
+		// remove the constraints without any points left
+		if (removed > 0) {
+			Iterator<ContactConstraint> iterator = contactConstraints.iterator();
+			while (iterator.hasNext()) {
+				if (iterator.next().contacts.isEmpty()) {
+					iterator.remove();
+				}
+			}
+		}
+		
+		return removed;
+	}
+	
+	/**
+	 * Reduces the points of the given group to the given maximum.
+	 * @param contactConstraints the contact constraints
+	 * @param group the group (the index of the first {@link ContactConstraint} in the group)
+	 * @param count the number of points in the group
+	 * @param maximum the maximum number of points
+	 * @return int the number of points removed
+	 */
+	private int reduce(List<ContactConstraint> contactConstraints, int group, int count, int maximum) {
+		int size = contactConstraints.size();
+		
+		// make sure the arrays are large enough
+		if (this.contacts.length < count) {
+			this.contacts = new Contact[count * 2];
+			this.kept = new boolean[count * 2];
+			this.distances = new double[count * 2];
+		}
+		
+		// gather the points of the group and find the deepest
+		int n = 0;
+		int deepest = 0;
+		for (int i = group; i < size; i++) {
+			if (this.groups[i] != group) continue;
+			List<Contact> contacts = contactConstraints.get(i).contacts;
+			int cSize = contacts.size();
+			for (int j = 0; j < cSize; j++) {
+				Contact contact = contacts.get(j);
+				if (n == 0 || contact.depth > this.contacts[deepest].depth) {
+					deepest = n;
+				}
+				this.contacts[n] = contact;
+				this.kept[n] = false;
+				this.distances[n] = Double.MAX_VALUE;
+				n++;
+			}
+		}
+		
+		// keep the deepest point and then the point farthest 
+		// from all the kept points until the maximum is reached
+		int next = deepest;
+		for (int k = 0; k < maximum; k++) {
+			this.kept[next] = true;
+			Vector2 p = this.contacts[next].p;
+			
+			// update the distances to the kept points and find the farthest
+			double max = -1.0;
+			for (int i = 0; i < n; i++) {
+				if (this.kept[i]) continue;
+				double d = p.distanceSquared(this.contacts[i].p);
+				if (d < this.distances[i]) {
+					this.distances[i] = d;
+				}
+				if (this.distances[i] > max) {
+					max = this.distances[i];
+					next = i;
+				}
+			}
+		}
+		
+		// remove the points that were not kept
+		int index = 0;
+		for (int i = group; i < size; i++) {
+			if (this.groups[i] != group) continue;
+			Iterator<Contact> iterator = contactConstraints.get(i).contacts.iterator();
+			while (iterator.hasNext()) {
+				iterator.next();
+				if (!this.kept[index++]) {
+					iterator.remove();
+				}
+			}
+		}
+		
+		// release the references
+		for (int i = 0; i < n; i++) {
+			this.contacts[i] = null;
+		}
+		
+		return count - maximum;
+	}
+}
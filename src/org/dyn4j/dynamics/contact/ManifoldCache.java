@@ -0,0 +1,320 @@
+/*
+ * Copyright (c) 2010-2014 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.dynamics.contact;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.dyn4j.collision.Collisions;
+import org.dyn4j.collision.manifold.Manifold;
+import org.dyn4j.collision.manifold.ManifoldPoint;
+import org.dyn4j.collision.manifold.ManifoldPointId;
+import org.dyn4j.collision.narrowphase.Penetration;
+import org.dyn4j.dynamics.Body;
+import org.dyn4j.dynamics.BodyFixture;
+import org.dyn4j.dynamics.Capacity;
+import org.dyn4j.geometry.Geometry;
+import org.dyn4j.geometry.Transform;
+import org.dyn4j.geometry.Vector2;
+import org.dyn4j.resources.Messages;
+
+/**
+ * Caches the {@link Penetration} and {@link Manifold} of colliding fixture pairs so
+ * that they can be reused while the relative transform of the pair does not change.
+ * <p>
+ * The penetration and manifold of a pair depend only on the shapes and their relative
+ * transform.  For resting contact the relative transform barely changes from step to step,
+ * so instead of running the narrow-phase and manifold solver again, the cached values
+ * are re-projected into world space using the current transform of the first body.  The
+ * depths are adjusted by the change in relative translation along the normal.
+ * <p>
+ * The normal and points are stored in the local space of the first body along with the 
+ * relative transform of the second body at the time they were computed.  A cached entry 
+ * is only reused while the relative transform stays within the given linear and angular
+ * tolerances of the stored one.  The error introduced is therefore bounded by the tolerances.
+ * <p>
+ * Entries that are not used or stored during a step are removed by the {@link #update()} method.
+ * <p>
+ * This class assumes that the shapes of the fixtures are not modified.  Call {@link #clear()}
+ * if they are.
+ * @author William Bittle
+ * @version 3.2.0
+ * @since 3.2.0
+ * @see org.dyn4j.dynamics.Settings#setManifoldCacheEnabled(boolean)
+ */
+public class ManifoldCache {
+	/**
+	 * Represents a cached {@link Penetration} and {@link Manifold}.
+	 * @author William Bittle
+	 * @version 3.2.0
+	 * @since 3.2.0
+	 */
+	protected static class Entry {
+		/** The first fixture at the time the entry was stored */
+		protected BodyFixture fixture1;
+		
+		/** The relative translation of the second body in the local space of the first */
+		protected double x;
+		
+		/** The relative translation of the second body in the local space of the first */
+		protected double y;
+		
+		/** The relative rotation of the second body */
+		protected double rotation;
+		
+		/** The penetration normal in the local space of the first body */
+		protected final Vector2 normal = new Vector2();
+		
+		/** The penetration depth */
+		protected double depth;
+		
+		/** The manifold normal in the local space of the first body */
+		protected final Vector2 manifoldNormal = new Vector2();
+		
+		/** The manifold point ids */
+		protected ManifoldPointId[] ids = new ManifoldPointId[2];
+		
+		/** The manifold points in the local space of the first body */
+		protected Vector2[] points = new Vector2[] { new Vector2(), new Vector2() };
+		
+		/** The manifold point depths */
+		protected double[] depths = new double[2];
+		
+		/** The number of manifold points */
+		protected int size;
+		
+		/** The stamp of the step the entry was last used */
+		protected int stamp;
+	}
+	
+	/** The cached entries */
+	protected final Map<ContactConstraintId, Entry> map;
+	
+	/** The current step stamp */
+	protected int stamp;
+	
+	/** Temporary vector used to compute relative transforms */
+	private final Vector2 temp = new Vector2();
+	
+	/**
+	 * Default constructor.
+	 */
+	public ManifoldCache() {
+		this(Capacity.DEFAULT_CAPACITY);
+	}
+	
+	/**
+	 * Full constructor.
+	 * @param initialCapacity the initial capacity
+	 * @throws NullPointerException if initialCapacity is null
+	 */
+	public ManifoldCache(Capacity initialCapacity) {
+		// check for null capacity
+		if (initialCapacity == null) throw new NullPointerException(Messages.getString("dynamics.nullCapacity"));
+		// estimate the number of colliding pairs
+		int eSize = Collisions.getEstimatedCollisionPairs(initialCapacity.getBodyCount());
+		this.map = new HashMap<ContactConstraintId, Entry>(eSize * 4 / 3 + 1, 0.75f);
+		this.stamp = 0;
+	}
+	
+	/**
+	 * Fills in the given {@link Penetration} and {@link Manifold} from the cached entry for 
+	 * the given fixture pair if one exists and the relative transform of the bodies has not changed
+	 * by more than the given tolerances.
+	 * <p>
+	 * The cached entry is removed if the change in relative translation would leave the
+	 * penetration depth or the depth of any manifold point zero or less.
+	 * @param body1 the first body
+	 * @param fixture1 the first body's fixture
+	 * @param body2 the second body
+	 * @param fixture2 the second body's fixture
+	 * @param linearTolerance the allowed change in relative translation
+	 * @param angularTolerance the allowed change in relative rotation in radians
+	 * @param penetration the {@link Penetration} to fill
+	 * @param manifold the {@link Manifold} to fill
+	 * @return boolean true if the cached entry was used
+	 */
+	public boolean get(Body body1, BodyFixture fixture1, Body body2, BodyFixture fixture2, double linearTolerance, double angularTolerance, Penetration penetration, Manifold manifold) {
+		ContactConstraintId id = new ContactConstraintId(body1, fixture1, body2, fixture2);
+		Entry entry = this.map.get(id);
+		// the entry must exist and be stored in the same order
+		if (entry == null || entry.fixture1 != fixture1) return false;
+		
+		Transform transform1 = body1.getTransform();
+		Transform transform2 = body2.getTransform();
+		// compute the current relative transform
+		double rotation = this.getRelativeTransform(transform1, transform2, this.temp);
+		// check the change in translation
+		double dx = this.temp.x - entry.x;
+		double dy = this.temp.y - entry.y;
+		if (dx * dx + dy * dy > linearTolerance * linearTolerance) return false;
+		// check the change in rotation (keep it in the range [-pi, pi])
+		double dr = rotation - entry.rotation;
+		if (dr > Math.PI) dr -= Geometry.TWO_PI;
+		else if (dr < -Math.PI) dr += Geometry.TWO_PI;
+		if (Math.abs(dr) > angularTolerance) return false;
+		
+		// compute the change in relative translation along the penetration normal
+		// (which points from the first body to the second)
+		double dn = dx * entry.normal.x + dy * entry.normal.y;
+		// the fixtures may have separated, in which case the entry is
+		// no longer valid and the pair must be tested again
+		if (entry.depth - dn <= 0.0) {
+			this.map.remove(id);
+			return false;
+		}
+		for (int i = 0; i < entry.size; i++) {
+			if (entry.depths[i] - dn <= 0.0) {
+				this.map.remove(id);
+				return false;
+			}
+		}
+		// re-project the penetration into world space adjusting the depth
+		penetration.setNormal(transform1.getTransformedR(entry.normal));
+		penetration.setDepth(entry.depth - dn);
+		// re-project the manifold into world space
+		List<ManifoldPoint> points = manifold.getPoints();
+		points.clear();
+		for (int i = 0; i < entry.size; i++) {
+			points.add(new ManifoldPoint(entry.ids[i], transform1.getTransformed(entry.points[i]), entry.depths[i] - dn));
+		}
+		manifold.setNormal(transform1.getTransformedR(entry.manifoldNormal));
+		
+		// flag the entry as used
+		entry.stamp = this.stamp;
+		return true;
+	}
+	
+	/**
+	 * Stores the given {@link Penetration} and {@link Manifold} for the given fixture pair.
+	 * @param body1 the first body
+	 * @param fixture1 the first body's fixture
+	 * @param body2 the second body
+	 * @param fixture2 the second body's fixture
+	 * @param penetration the penetration of the fixtures
+	 * @param manifold the manifold of the fixtures
+	 */
+	public void put(Body body1, BodyFixture fixture1, Body body2, BodyFixture fixture2, Penetration penetration, Manifold manifold) {
+		ContactConstraintId id = new ContactConstraintId(body1, fixture1, body2, fixture2);
+		// reuse the existing entry if possible
+		Entry entry = this.map.get(id);
+		if (entry == null) {
+			entry = new Entry();
+			this.map.put(id, entry);
+		}
+		
+		Transform transform1 = body1.getTransform();
+		Transform transform2 = body2.getTransform();
+		// save the relative transform
+		entry.fixture1 = fixture1;
+		entry.rotation = this.getRelativeTransform(transform1, transform2, this.temp);
+		entry.x = this.temp.x;
+		entry.y = this.temp.y;
+		
+		// save the penetration in the local space of the first body
+		transform1.getInverseTransformedR(penetration.getNormal(), entry.normal);
+		entry.depth = penetration.getDepth();
+		
+		// save the manifold in the local space of the first body
+		transform1.getInverseTransformedR(manifold.getNormal(), entry.manifoldNormal);
+		List<ManifoldPoint> points = manifold.getPoints();
+		int size = points.size();
+		// grow the arrays if needed
+		if (size > entry.points.length) {
+			entry.ids = new ManifoldPointId[size];
+			entry.points = new Vector2[size];
+			entry.depths = new double[size];
+			for (int i = 0; i < size; i++) {
+				entry.points[i] = new Vector2();
+			}
+		}
+		for (int i = 0; i < size; i++) {
+			ManifoldPoint point = points.get(i);
+			entry.ids[i] = point.getId();
+			transform1.getInverseTransformed(point.getPoint(), entry.points[i]);
+			entry.depths[i] = point.getDepth();
+		}
+		entry.size = size;
+		
+		// flag the entry as used
+		entry.stamp = this.stamp;
+	}
+	
+	/**
+	 * Returns the rotation of the second transform relative to the first and places the
+	 * translation of the second transform in the local space of the first in the given vector.
+	 * <p>
+	 * The rotation is in the range [-&pi;, &pi;].
+	 * @param transform1 the first transform
+	 * @param transform2 the second transform
+	 * @param translation the vector to place the relative translation in
+	 * @return double
+	 */
+	private double getRelativeTransform(Transform transform1, Transform transform2, Vector2 translation) {
+		translation.x = transform2.getTranslationX() - transform1.getTranslationX();
+		translation.y = transform2.getTranslationY() - transform1.getTranslationY();
+		transform1.inverseTransformR(translation);
+		double rotation = transform2.getRotation() - transform1.getRotation();
+		// keep it in the range [-pi, pi]
+		if (rotation > Math.PI) rotation -= Geometry.TWO_PI;
+		else if (rotation < -Math.PI) rotation += Geometry.TWO_PI;
+		return rotation;
+	}
+	
+	/**
+	 * Removes all the entries that were not used or stored since the last call
+	 * to this method.
+	 * <p>
+	 * This should be called once per step after all pairs have been tested.
+	 */
+	public void update() {
+		Iterator<Entry> it = this.map.values().iterator();
+		while (it.hasNext()) {
+			Entry entry = it.next();
+			if (entry.stamp != this.stamp) {
+				it.remove();
+			}
+		}
+		// advance the stamp
+		this.stamp++;
+	}
+	
+	/**
+	 * Removes all the cached entries.
+	 */
+	public void clear() {
+		this.map.clear();
+	}
+	
+	/**
+	 * Returns the number of cached entries.
+	 * @return int
+	 */
+	public int size() {
+		return this.map.size();
+	}
+}
@@ -0,0 +1,434 @@
+/*
+ * Copyright (c) 2010-2014 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.dynamics.contact;
+
+import java.util.List;
+
+import org.dyn4j.dynamics.Body;
+import org.dyn4j.dynamics.Settings;
+import org.dyn4j.dynamics.Step;
+import org.dyn4j.dynamics.World;
+import org.dyn4j.geometry.Mass;
+import org.dyn4j.geometry.Transform;
+import org.dyn4j.geometry.Vector2;
+
+/**
+ * Represents a sub-stepping solver for {@link ContactConstraint}s using soft contact constraints.
+ * <p>
+ * Instead of iterating the velocity and position constraints over the full time step, the time step is divided 
+ * into a number of sub-steps.  Each sub-step warm starts the contacts, performs a single velocity iteration using 
+ * soft contact constraints (a mass-spring-damper that pushes the bodies apart), integrates the positions and then 
+ * performs a single relaxation iteration that removes the velocity added by the soft constraints.  The separation 
+ * of each contact is recomputed from the current body transforms every sub-step, so no position solver is required.
+ * <p>
+ * This is similar to the soft step solver in <a href="http://www.box2d.org">Box2d</a> v3 and is also known as
+ * TGS-soft.
+ * <p>
+ * This solver uses the data prepared by the {@link ContactConstraintSolver#setup(List)} method.  The accumulated 
+ * impulses are stored per sub-step while solving and are converted back to the impulse over the whole time step 
+ * by the {@link #storeImpulses()} method so that warm starting and reported impulses are the same as the
+ * {@link ContactConstraintSolver}.
+ * @see <a href="http://www.box2d.org">Box2d</a>
+ * @author William Bittle
+ * @version 3.2.0
+ * @since 3.2.0
+ */
+public class SoftContactConstraintSolver {
+	/** The world object this solver is solving */
+	protected World world;
+	
+	/** List for iterating through the {@link ContactConstraint}s */
+	protected List<ContactConstraint> contactConstraints = null;
+	
+	/** The number of sub-steps */
+	protected int subStepCount;
+	
+	/** The inverse of the sub-step elapsed time */
+	protected double invH;
+	
+	/** The rate at which the soft constraints resolve separation */
+	protected double biasRate;
+	
+	/** The mass scale of the soft constraints */
+	protected double massScale;
+	
+	/** The impulse scale of the soft constraints */
+	protected double impulseScale;
+	
+	/** The maximum velocity used to resolve separation */
+	protected double maximumBiasVelocity;
+	
+	/** The allowed penetration */
+	protected double allowedPenetration;
+	
+	/** Scratch vector for the world space contact point of {@link Body}1 */
+	private final Vector2 p1 = new Vector2();
+	
+	/** Scratch vector for the world space contact point of {@link Body}2 */
+	private final Vector2 p2 = new Vector2();
+	
+	/**
+	 * Minimal constructor.
+	 * @param world the {@link World} this solver will be solving
+	 */
+	public SoftContactConstraintSolver(World world) {
+		this.world = world;
+	}
+	
+	/**
+	 * Initializes the solver for the given {@link ContactConstraint}s.
+	 * <p>
+	 * The {@link ContactConstraint}s must have been setup by the {@link ContactConstraintSolver#setup(List)}
+	 * method beforehand.
+	 * @param ccs the {@link ContactConstraint}s to solve
+	 * @param step the current step object
+	 * @param subStepCount the number of sub-steps; 1 or greater
+	 */
+	public void initialize(List<ContactConstraint> ccs, Step step, int subStepCount) {
+		this.contactConstraints = ccs;
+		this.subStepCount = subStepCount;
+		
+		Settings settings = this.world.getSettings();
+		
+		// compute the sub-step time
+		double dt = step.getDeltaTime();
+		double h = dt / subStepCount;
+		this.invH = 1.0 / h;
+		
+		// compute the soft constraint coefficients; the frequency is limited
+		// to a quarter of the sub-step frequency to keep the constraints stable
+		double frequency = Math.min(settings.getContactSpringFrequency(), 0.25 * this.invH);
+		double zeta = settings.getContactDampingRatio();
+		double omega = 2.0 * Math.PI * frequency;
+		double a1 = 2.0 * zeta + h * omega;
+		double a2 = h * omega * a1;
+		double a3 = 1.0 / (1.0 + a2);
+		this.biasRate = omega / a1;
+		this.massScale = a2 * a3;
+		this.impulseScale = a3;
+		
+		// the maximum linear correction is per time step
+		this.maximumBiasVelocity = settings.getMaximumLinearCorrection() * step.getInverseDeltaTime();
+		this.allowedPenetration = settings.getLinearTolerance();
+		
+		// scale the accumulated impulses by the delta time ratio and convert
+		// them to the impulse per sub-step
+		double ratio = 1.0 / (step.getDeltaTimeRatio() * subStepCount);
+		int size = this.contactConstraints.size();
+		for (int i = 0; i < size; i++) {
+			List<Contact> contacts = this.contactConstraints.get(i).contacts;
+			int cSize = contacts.size();
+			for (int k = 0; k < cSize; k++) {
+				Contact contact = contacts.get(k);
+				contact.jn *= ratio;
+				contact.jt *= ratio;
+			}
+		}
+	}
+	
+	/**
+	 * Applies the accumulated impulses to the {@link Body}s.
+	 * <p>
+	 * This should be called at the beginning of every sub-step after the velocities
+	 * have been integrated.
+	 */
+	public void warmStart() {
+		int size = this.contactConstraints.size();
+		for (int i = 0; i < size; i++) {
+			ContactConstraint contactConstraint = this.contactConstraints.get(i);
+			
+			// get the bodies
+			Body b1 = contactConstraint.getBody1();
+			Body b2 = contactConstraint.getBody2();
+			// get the body masses
+			Mass m1 = b1.getMass();
+			Mass m2 = b2.getMass();
+			
+			double invM1 = m1.getInverseMass();
+			double invM2 = m2.getInverseMass();
+			double invI1 = m1.getInverseInertia();
+			double invI2 = m2.getInverseInertia();
+			
+			// get the penetration axis and tangent
+			Vector2 N = contactConstraint.normal;
+			Vector2 T = contactConstraint.tangent;
+			
+			Vector2 v1 = b1.getLinearVelocity();
+			Vector2 v2 = b2.getLinearVelocity();
+			double av1 = b1.getAngularVelocity();
+			double av2 = b2.getAngularVelocity();
+			
+			List<Contact> contacts = contactConstraint.contacts;
+			int cSize = contacts.size();
+			for (int k = 0; k < cSize; k++) {
+				Contact contact = contacts.get(k);
+				
+				// compute the impulse
+				double Jx = N.x * contact.jn + T.x * contact.jt;
+				double Jy = N.y * contact.jn + T.y * contact.jt;
+				
+				// apply it to the bodies
+				v1.x += Jx * invM1;
+				v1.y += Jy * invM1;
+				av1 += invI1 * (contact.r1.x * Jy - contact.r1.y * Jx);
+				v2.x -= Jx * invM2;
+				v2.y -= Jy * invM2;
+				av2 -= invI2 * (contact.r2.x * Jy - contact.r2.y * Jx);
+			}
+			
+			b1.setAngularVelocity(av1);
+			b2.setAngularVelocity(av2);
+		}
+	}
+	
+	/**
+	 * Performs one iteration of the velocity constraints.
+	 * <p>
+	 * When useBias is true, the soft constraints are used to resolve the current
+	 * separation of the contacts.  Otherwise the constraints are rigid and only
+	 * remove the relative normal velocity (relaxation).
+	 * @param useBias true if the separation should be resolved
+	 * @return double the minimum separation of all the contacts (zero or less)
+	 */
+	public double solveVelocityConstraints(boolean useBias) {
+		// track the minimum separation
+		double minSeparation = 0.0;
+		
+		int size = this.contactConstraints.size();
+		for (int i = 0; i < size; i++) {
+			ContactConstraint contactConstraint = this.contactConstraints.get(i);
+			
+			// get the bodies
+			Body b1 = contactConstraint.getBody1();
+			Body b2 = contactConstraint.getBody2();
+			// get their transforms
+			Transform t1 = b1.getTransform();
+			Transform t2 = b2.getTransform();
+			// get the body masses
+			Mass m1 = b1.getMass();
+			Mass m2 = b2.getMass();
+			
+			double invM1 = m1.getInverseMass();
+			double invM2 = m2.getInverseMass();
+			double invI1 = m1.getInverseInertia();
+			double invI2 = m2.getInverseInertia();
+			
+			// get the penetration axis and tangent
+			Vector2 N = contactConstraint.normal;
+			Vector2 T = contactConstraint.tangent;
+			
+			Vector2 v1 = b1.getLinearVelocity();
+			Vector2 v2 = b2.getLinearVelocity();
+			double av1 = b1.getAngularVelocity();
+			double av2 = b2.getAngularVelocity();
+			
+			List<Contact> contacts = contactConstraint.contacts;
+			int cSize = contacts.size();
+			
+			// solve the normal constraints
+			for (int k = 0; k < cSize; k++) {
+				Contact contact = contacts.get(k);
+				Vector2 r1 = contact.r1;
+				Vector2 r2 = contact.r2;
+				
+				// compute the current separation using the current transforms
+				t1.getTransformed(contact.p1, this.p1);
+				t2.getTransformed(contact.p2, this.p2);
+				double separation = (this.p1.x - this.p2.x) * N.x + (this.p1.y - this.p2.y) * N.y - contact.depth;
+				minSeparation = Math.min(minSeparation, separation);
+				
+				// allow for penetration to avoid jitter
+				double s = separation + this.allowedPenetration;
+				
+				double bias = 0.0;
+				double massScale = 1.0;
+				double impulseScale = 0.0;
+				if (s > 0.0) {
+					// the bodies are separated, allow them to approach
+					bias = s * this.invH;
+				} else if (useBias) {
+					// push the bodies apart using the soft constraint
+					bias = Math.max(this.biasRate * s, -this.maximumBiasVelocity);
+					massScale = this.massScale;
+					impulseScale = this.impulseScale;
+				}
+				
+				// get the relative velocity along the normal
+				double rvx = -r1.y * av1 + v1.x + r2.y * av2 - v2.x;
+				double rvy =  r1.x * av1 + v1.y - r2.x * av2 - v2.y;
+				double rvn = N.x * rvx + N.y * rvy;
+				
+				// compute the normal impulse
+				double j = -contact.massN * massScale * (rvn + bias) - impulseScale * contact.jn;
+				
+				// clamp the accumulated impulse
+				double j0 = contact.jn;
+				contact.jn = Math.max(j0 + j, 0.0);
+				j = contact.jn - j0;
+				
+				// apply it to the bodies
+				double Jx = N.x * j;
+				double Jy = N.y * j;
+				v1.x += Jx * invM1;
+				v1.y += Jy * invM1;
+				av1 += invI1 * (r1.x * Jy - r1.y * Jx);
+				v2.x -= Jx * invM2;
+				v2.y -= Jy * invM2;
+				av2 -= invI2 * (r2.x * Jy - r2.y * Jx);
+			}
+			
+			// solve the friction constraints
+			double tangentSpeed = contactConstraint.tangentSpeed;
+			for (int k = 0; k < cSize; k++) {
+				Contact contact = contacts.get(k);
+				Vector2 r1 = contact.r1;
+				Vector2 r2 = contact.r2;
+				
+				// get the relative velocity along the tangent
+				double rvx = -r1.y * av1 + v1.x + r2.y * av2 - v2.x;
+				double rvy =  r1.x * av1 + v1.y - r2.x * av2 - v2.y;
+				double rvt = T.x * rvx + T.y * rvy - tangentSpeed;
+				
+				// compute the tangential impulse
+				double jt = contact.massT * (-rvt);
+				
+				// apply the coefficient of friction
+				double maxJt = contactConstraint.friction * contact.jn;
+				// clamp the accumulated tangential impulse
+				double jt0 = contact.jt;
+				contact.jt = Math.max(-maxJt, Math.min(jt0 + jt, maxJt));
+				jt = contact.jt - jt0;
+				
+				// apply it to the bodies
+				double Jx = T.x * jt;
+				double Jy = T.y * jt;
+				v1.x += Jx * invM1;
+				v1.y += Jy * invM1;
+				av1 += invI1 * (r1.x * Jy - r1.y * Jx);
+				v2.x -= Jx * invM2;
+				v2.y -= Jy * invM2;
+				av2 -= invI2 * (r2.x * Jy - r2.y * Jx);
+			}
+			
+			b1.setAngularVelocity(av1);
+			b2.setAngularVelocity(av2);
+		}
+		
+		return minSeparation;
+	}
+	
+	/**
+	 * Applies the restitution of the contacts whose bodies were approaching faster
+	 * than the restitution velocity at the beginning of the time step.
+	 * <p>
+	 * This should be called once after the last sub-step.
+	 */
+	public void applyRestitution() {
+		int size = this.contactConstraints.size();
+		for (int i = 0; i < size; i++) {
+			ContactConstraint contactConstraint = this.contactConstraints.get(i);
+			
+			// skip constraints without restitution
+			if (contactConstraint.restitution == 0.0) continue;
+			
+			// get the bodies
+			Body b1 = contactConstraint.getBody1();
+			Body b2 = contactConstraint.getBody2();
+			// get the body masses
+			Mass m1 = b1.getMass();
+			Mass m2 = b2.getMass();
+			
+			double invM1 = m1.getInverseMass();
+			double invM2 = m2.getInverseMass();
+			double invI1 = m1.getInverseInertia();
+			double invI2 = m2.getInverseInertia();
+			
+			Vector2 N = contactConstraint.normal;
+			
+			Vector2 v1 = b1.getLinearVelocity();
+			Vector2 v2 = b2.getLinearVelocity();
+			double av1 = b1.getAngularVelocity();
+			double av2 = b2.getAngularVelocity();
+			
+			List<Contact> contacts = contactConstraint.contacts;
+			int cSize = contacts.size();
+			for (int k = 0; k < cSize; k++) {
+				Contact contact = contacts.get(k);
+				
+				// the velocity bias is only set when the bodies were approaching 
+				// faster than the restitution velocity
+				if (contact.vb <= 0.0) continue;
+				
+				Vector2 r1 = contact.r1;
+				Vector2 r2 = contact.r2;
+				
+				// get the relative velocity along the normal
+				double rvx = -r1.y * av1 + v1.x + r2.y * av2 - v2.x;
+				double rvy =  r1.x * av1 + v1.y - r2.x * av2 - v2.y;
+				double rvn = N.x * rvx + N.y * rvy;
+				
+				// compute the impulse to reach the velocity bias
+				double j = -contact.massN * (rvn - contact.vb);
+				
+				// clamp the accumulated impulse
+				double j0 = contact.jn;
+				contact.jn = Math.max(j0 + j, 0.0);
+				j = contact.jn - j0;
+				
+				// apply it to the bodies
+				double Jx = N.x * j;
+				double Jy = N.y * j;
+				v1.x += Jx * invM1;
+				v1.y += Jy * invM1;
+				av1 += invI1 * (r1.x * Jy - r1.y * Jx);
+				v2.x -= Jx * invM2;
+				v2.y -= Jy * invM2;
+				av2 -= invI2 * (r2.x * Jy - r2.y * Jx);
+			}
+			
+			b1.setAngularVelocity(av1);
+			b2.setAngularVelocity(av2);
+		}
+	}
+	
+	/**
+	 * Converts the accumulated impulses per sub-step back to the impulse over the
+	 * whole time step.
+	 * <p>
+	 * This should be called once after the last sub-step.
+	 */
+	public void storeImpulses() {
+		int size = this.contactConstraints.size();
+		for (int i = 0; i < size; i++) {
+			List<Contact> contacts = this.contactConstraints.get(i).contacts;
+			int cSize = contacts.size();
+			for (int k = 0; k < cSize; k++) {
+				Contact contact = contacts.get(k);
+				contact.jn *= this.subStepCount;
+				contact.jt *= this.subStepCount;
+			}
+		}
+	}
+}
@@ -24,6 +24,8 @@
  */
 package org.dyn4j.dynamics.joint;
 
+import java.nio.ByteBuffer;
+
 import org.dyn4j.Epsilon;
 import org.dyn4j.dynamics.Body;
 import org.dyn4j.dynamics.Settings;
@@ -68,7 +70,7 @@ import org.dyn4j.resources.Messages;
  * When the angle between the bodies reaches a limit, if limits are enabled, the ratio is 
  * effectively turned off.
  * @author William Bittle
- * @version 3.1.0
+ * @version 3.2.0
  * @since 2.2.2
  */
 public class AngleJoint extends Joint {
@@ -373,6 +375,40 @@ public class AngleJoint extends Joint {
 	protected void shiftCoordinates(Vector2 shift) {
 		// nothing to do here since there are no anchor points
 	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.Constraint#scaleImpulses(double)
+	 */
+	@Override
+	protected void scaleImpulses(double scale) {
+		this.impulse *= scale;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.Constraint#getSnapshotSize()
+	 */
+	@Override
+	protected int getSnapshotSize() {
+		return 1 * 8 + 1;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.Constraint#snapshot(java.nio.ByteBuffer)
+	 */
+	@Override
+	protected void snapshot(ByteBuffer buffer) {
+		buffer.putDouble(this.impulse);
+		Joint.putLimitState(buffer, this.limitState);
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.Constraint#restore(java.nio.ByteBuffer)
+	 */
+	@Override
+	protected void restore(ByteBuffer buffer) {
+		this.impulse = buffer.getDouble();
+		this.limitState = Joint.getLimitState(buffer);
+	}
 
 	/**
 	 * Returns the relative angle between the two {@link Body}s in radians in the range [-&pi;, &pi;].
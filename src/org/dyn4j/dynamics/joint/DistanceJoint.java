@@ -24,6 +24,8 @@
  */
 package org.dyn4j.dynamics.joint;
 
+import java.nio.ByteBuffer;
+
 import org.dyn4j.Epsilon;
 import org.dyn4j.dynamics.Body;
 import org.dyn4j.dynamics.Settings;
@@ -48,7 +50,7 @@ import org.dyn4j.resources.Messages;
  * Nearly identical to <a href="http://www.box2d.org">Box2d</a>'s equivalent class.
  * @see <a href="http://www.box2d.org">Box2d</a>
  * @author William Bittle
- * @version 3.1.5
+ * @version 3.2.0
  * @since 1.0.0
  */
 public class DistanceJoint extends Joint {
@@ -339,6 +341,38 @@ public class DistanceJoint extends Joint {
 		// they will move with the bodies
 	}
 	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.Constraint#scaleImpulses(double)
+	 */
+	@Override
+	protected void scaleImpulses(double scale) {
+		this.impulse *= scale;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.Constraint#getSnapshotSize()
+	 */
+	@Override
+	protected int getSnapshotSize() {
+		return 1 * 8;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.Constraint#snapshot(java.nio.ByteBuffer)
+	 */
+	@Override
+	protected void snapshot(ByteBuffer buffer) {
+		buffer.putDouble(this.impulse);
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.Constraint#restore(java.nio.ByteBuffer)
+	 */
+	@Override
+	protected void restore(ByteBuffer buffer) {
+		this.impulse = buffer.getDouble();
+	}
+	
 	/**
 	 * Returns true if this distance joint is a spring distance joint.
 	 * @return boolean
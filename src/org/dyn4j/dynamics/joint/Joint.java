@@ -24,8 +24,10 @@
  */
 package org.dyn4j.dynamics.joint;
 
+import java.nio.ByteBuffer;
 import java.util.UUID;
 
+import org.dyn4j.Identity;
 import org.dyn4j.dynamics.Body;
 import org.dyn4j.dynamics.Constraint;
 import org.dyn4j.geometry.Vector2;
@@ -33,7 +35,7 @@ import org.dyn4j.geometry.Vector2;
 /**
  * Represents constrained motion between two {@link Body}s.
  * @author William Bittle
- * @version 3.1.4
+ * @version 3.2.0
  * @since 1.0.0
  */
 public abstract class Joint extends Constraint {
@@ -54,8 +56,11 @@ public abstract class Joint extends Constraint {
 		INACTIVE;
 	}
 	
+	/** The limit states by ordinal; used to read limit states without allocating */
+	private static final LimitState[] LIMIT_STATES = LimitState.values();
+	
 	/** The joint's unique identifier */
-	protected UUID id = UUID.randomUUID();
+	protected UUID id = Identity.generate();
 	
 	/** Whether the pair of bodies joined together can collide with each other */
 	protected boolean collisionAllowed;
@@ -184,4 +189,27 @@ public abstract class Joint extends Constraint {
 			this.collisionAllowed = flag;
 		}
 	}
+	
+	/**
+	 * Writes the given limit state to the given buffer as a single byte.
+	 * <p>
+	 * Used by joints in their {@link #snapshot(ByteBuffer)} method.
+	 * @param buffer the buffer to write to
+	 * @param limitState the limit state; can be null
+	 * @since 3.2.0
+	 */
+	protected static void putLimitState(ByteBuffer buffer, LimitState limitState) {
+		buffer.put(limitState == null ? (byte)-1 : (byte)limitState.ordinal());
+	}
+	
+	/**
+	 * Reads a limit state written by the {@link #putLimitState(ByteBuffer, LimitState)} method.
+	 * @param buffer the buffer to read from
+	 * @return {@link LimitState} the limit state; null if a null limit state was written
+	 * @since 3.2.0
+	 */
+	protected static LimitState getLimitState(ByteBuffer buffer) {
+		byte ordinal = buffer.get();
+		return ordinal < 0 ? null : LIMIT_STATES[ordinal];
+	}
 }
@@ -24,6 +24,8 @@
  */
 package org.dyn4j.dynamics.joint;
 
+import java.nio.ByteBuffer;
+
 import org.dyn4j.Epsilon;
 import org.dyn4j.dynamics.Body;
 import org.dyn4j.dynamics.Settings;
@@ -46,7 +48,7 @@ import org.dyn4j.resources.Messages;
  * Nearly identical to <a href="http://www.box2d.org">Box2d</a>'s equivalent class.
  * @see <a href="http://www.box2d.org">Box2d</a>
  * @author William Bittle
- * @version 3.1.0
+ * @version 3.2.0
  * @since 1.0.0
  * @deprecated As of version 3.0.0 replaced with {@link WheelJoint}
  */
@@ -601,6 +603,45 @@ public class LineJoint extends Joint {
 		// they will move with the bodies
 	}
 	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.Constraint#scaleImpulses(double)
+	 */
+	@Override
+	protected void scaleImpulses(double scale) {
+		this.impulse.multiply(scale);
+		this.motorImpulse *= scale;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.Constraint#getSnapshotSize()
+	 */
+	@Override
+	protected int getSnapshotSize() {
+		return 3 * 8 + 1;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.Constraint#snapshot(java.nio.ByteBuffer)
+	 */
+	@Override
+	protected void snapshot(ByteBuffer buffer) {
+		buffer.putDouble(this.impulse.x);
+		buffer.putDouble(this.impulse.y);
+		buffer.putDouble(this.motorImpulse);
+		Joint.putLimitState(buffer, this.limitState);
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.Constraint#restore(java.nio.ByteBuffer)
+	 */
+	@Override
+	protected void restore(ByteBuffer buffer) {
+		this.impulse.x = buffer.getDouble();
+		this.impulse.y = buffer.getDouble();
+		this.motorImpulse = buffer.getDouble();
+		this.limitState = Joint.getLimitState(buffer);
+	}
+	
 	/**
 	 * Returns the axis of the line joint.
 	 * @return {@link Vector2}
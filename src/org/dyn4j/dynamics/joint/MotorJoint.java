@@ -24,6 +24,8 @@
  */
 package org.dyn4j.dynamics.joint;
 
+import java.nio.ByteBuffer;
+
 import org.dyn4j.Epsilon;
 import org.dyn4j.dynamics.Body;
 import org.dyn4j.dynamics.Step;
@@ -48,7 +50,7 @@ import org.dyn4j.resources.Messages;
  * Nearly identical to <a href="http://www.box2d.org">Box2d</a>'s equivalent class.
  * @see <a href="http://www.box2d.org">Box2d</a>
  * @author William Bittle
- * @version 3.1.5
+ * @version 3.2.0
  * @since 3.1.0
  */
 public class MotorJoint extends Joint {
@@ -305,6 +307,43 @@ public class MotorJoint extends Joint {
 		// they will move with the bodies
 	}
 	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.Constraint#scaleImpulses(double)
+	 */
+	@Override
+	protected void scaleImpulses(double scale) {
+		this.linearImpulse.multiply(scale);
+		this.angularImpulse *= scale;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.Constraint#getSnapshotSize()
+	 */
+	@Override
+	protected int getSnapshotSize() {
+		return 3 * 8;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.Constraint#snapshot(java.nio.ByteBuffer)
+	 */
+	@Override
+	protected void snapshot(ByteBuffer buffer) {
+		buffer.putDouble(this.linearImpulse.x);
+		buffer.putDouble(this.linearImpulse.y);
+		buffer.putDouble(this.angularImpulse);
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.dynamics.Constraint#restore(java.nio.ByteBuffer)
+	 */
+	@Override
+	protected void restore(ByteBuffer buffer) {
+		this.linearImpulse.x = buffer.getDouble();
+		this.linearImpulse.y = buffer.getDouble();
+		this.angularImpulse = buffer.getDouble();
+	}
+	
 	/**
 	 * Returns the desired linear distance along the x and y coordinates from body1's world center.
 	 * <p>
@@ -29,7 +29,7 @@ import org.dyn4j.resources.Messages;
 /**
  * Represents an axis aligned bounding box.
  * @author William Bittle
- * @version 3.1.5
+ * @version 3.2.0
  * @since 3.0.0
  */
 public class AABB {
@@ -169,6 +169,20 @@ public class AABB {
 		return (this.max.x - this.min.x) * (this.max.y - this.min.y);
 	}
 	
+	/**
+	 * Sets this {@link AABB} to the given {@link AABB}'s value.
+	 * @param aabb the {@link AABB} to copy
+	 * @return {@link AABB} this AABB
+	 * @since 3.2.0
+	 */
+	public AABB set(AABB aabb) {
+		this.min.x = aabb.min.x;
+		this.min.y = aabb.min.y;
+		this.max.x = aabb.max.x;
+		this.max.y = aabb.max.y;
+		return this;
+	}
+	
 	/**
 	 * Performs a union of this {@link AABB} and the given {@link AABB} placing
 	 * the result of the union into this {@link AABB}.
@@ -386,6 +400,42 @@ public class AABB {
 		return false;
 	}
 	
+	/**
+	 * Returns the distance along the given {@link Ray} at which it enters this {@link AABB}.
+	 * <p>
+	 * Returns zero if the start of the {@link Ray} is contained in this {@link AABB}.
+	 * @param ray the {@link Ray}; the direction must be normalized
+	 * @param length the length of the ray; 0.0 for infinite length
+	 * @return double the entry distance; -1.0 if the {@link Ray} does not intersect this {@link AABB}
+	 * @since 3.2.0
+	 */
+	public double getEntryDistance(Ray ray, double length) {
+		Vector2 s = ray.getStart();
+		Vector2 d = ray.getDirectionVector();
+		// clip the ray against the x and y slabs
+		double tmin = 0.0;
+		double tmax = length > 0.0 ? length : Double.MAX_VALUE;
+		if (d.x == 0.0) {
+			if (s.x < this.min.x || s.x > this.max.x) return -1.0;
+		} else {
+			double t1 = (this.min.x - s.x) / d.x;
+			double t2 = (this.max.x - s.x) / d.x;
+			tmin = Math.max(tmin, Math.min(t1, t2));
+			tmax = Math.min(tmax, Math.max(t1, t2));
+		}
+		if (d.y == 0.0) {
+			if (s.y < this.min.y || s.y > this.max.y) return -1.0;
+		} else {
+			double t1 = (this.min.y - s.y) / d.y;
+			double t2 = (this.max.y - s.y) / d.y;
+			tmin = Math.max(tmin, Math.min(t1, t2));
+			tmax = Math.min(tmax, Math.max(t1, t2));
+		}
+		// the ray misses the aabb
+		if (tmin > tmax) return -1.0;
+		return tmin;
+	}
+	
 	/**
 	 * Returns true if this {@link AABB} is degenerate.
 	 * <p>
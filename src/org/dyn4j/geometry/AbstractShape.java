@@ -26,15 +26,17 @@ package org.dyn4j.geometry;
 
 import java.util.UUID;
 
+import org.dyn4j.Identity;
+
 /**
  * Base implementation of the {@link Shape} interface.
  * @author William Bittle
- * @version 3.1.4
+ * @version 3.2.0
  * @since 1.0.0
  */
 public abstract class AbstractShape implements Shape, Transformable {
 	/** The shape's unique identifier */
-	protected UUID id = UUID.randomUUID();
+	protected UUID id = Identity.generate();
 	
 	/** The center of this {@link Shape} */
 	protected Vector2 center;
@@ -172,4 +174,26 @@ public abstract class AbstractShape implements Shape, Transformable {
 	public AABB createAABB() {
 		return this.createAABB(Transform.IDENTITY);
 	}
+	
+	/**
+	 * Places the point farthest in the direction of n in the given destination 
+	 * {@link Vector2}.
+	 * <p>
+	 * This method produces the same point as {@link Convex#getFarthestPoint(Vector2, Transform)}.
+	 * The destination is in world space and must not be the same instance as n.
+	 * <p>
+	 * This method is not part of the {@link Convex} interface so that existing implementations
+	 * of the interface don't break.  This implementation copies the point returned by the
+	 * {@link Convex#getFarthestPoint(Vector2, Transform)} method; the {@link Convex} shapes of
+	 * this library override it so that no objects are created.
+	 * @param n the direction
+	 * @param transform the local to world space {@link Transform} of this {@link Shape}
+	 * @param destination the {@link Vector2} to place the result in
+	 * @throws ClassCastException if this {@link Shape} is not {@link Convex} and doesn't override this method
+	 * @see Geometry#getFarthestPoint(Convex, Vector2, Transform, Vector2)
+	 * @since 3.2.0
+	 */
+	public void getFarthestPoint(Vector2 n, Transform transform, Vector2 destination) {
+		destination.set(((Convex)this).getFarthestPoint(n, transform));
+	}
 }
@@ -36,7 +36,7 @@ import org.dyn4j.resources.Messages;
  * If the height is larger than the width the caps are on the top and bottom of the shape. Otherwise
  * the caps are on the left and right ends of the shape.
  * @author William Bittle
- * @version 3.1.5
+ * @version 3.2.0
  * @since 3.1.5
  */
 public class Capsule extends AbstractShape implements Convex, Shape, Transformable {
@@ -206,6 +206,20 @@ public class Capsule extends AbstractShape implements Convex, Shape, Transformab
 		return p.add(n.product(this.capRadius));
 	}
 	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.geometry.AbstractShape#getFarthestPoint(org.dyn4j.geometry.Vector2, org.dyn4j.geometry.Transform, org.dyn4j.geometry.Vector2)
+	 */
+	@Override
+	public void getFarthestPoint(Vector2 n, Transform transform, Vector2 destination) {
+		// make sure the given direction is normalized
+		n.normalize();
+		// a capsule is just a radially expanded line segment
+		Segment.getFarthestPoint(this.foci[0], this.foci[1], n, transform, destination);
+		// apply the radial expansion
+		destination.x += n.x * this.capRadius;
+		destination.y += n.y * this.capRadius;
+	}
+	
 	/* (non-Javadoc)
 	 * @see org.dyn4j.geometry.Convex#getFarthestFeature(org.dyn4j.geometry.Vector2, org.dyn4j.geometry.Transform)
 	 */
@@ -24,6 +24,7 @@
  */
 package org.dyn4j.geometry;
 
+import org.dyn4j.Epsilon;
 import org.dyn4j.resources.Messages;
 
 /**
@@ -31,7 +32,7 @@ import org.dyn4j.resources.Messages;
  * <p>
  * A {@link Circle}'s radius must be larger than zero.
  * @author William Bittle
- * @version 3.1.11
+ * @version 3.2.0
  * @since 1.0.0
  */
 public class Circle extends AbstractShape implements Convex, Shape, Transformable {
@@ -119,15 +120,31 @@ public class Circle extends AbstractShape implements Convex, Shape, Transformabl
 	 */
 	@Override
 	public Vector2 getFarthestPoint(Vector2 n, Transform transform) {
-		// make sure the axis is normalized
-		Vector2 nAxis = n.getNormalized();
+		Vector2 point = new Vector2();
+		this.getFarthestPoint(n, transform, point);
+		// return the new point
+		return point;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.geometry.AbstractShape#getFarthestPoint(org.dyn4j.geometry.Vector2, org.dyn4j.geometry.Transform, org.dyn4j.geometry.Vector2)
+	 */
+	@Override
+	public void getFarthestPoint(Vector2 n, Transform transform, Vector2 destination) {
+		// make sure the axis is normalized (inline n.getNormalized())
+		double nx = 0.0;
+		double ny = 0.0;
+		double magnitude = n.getMagnitude();
+		if (magnitude > Epsilon.E) {
+			magnitude = 1.0 / magnitude;
+			nx = n.x * magnitude;
+			ny = n.y * magnitude;
+		}
 		// get the transformed center
-		Vector2 center = transform.getTransformed(this.center);
+		transform.getTransformed(this.center, destination);
 		// add the radius along the vector to the center to get the farthest point
-		center.x += this.radius * nAxis.x;
-		center.y += this.radius * nAxis.y;
-		// return the new point
-		return center;
+		destination.x += this.radius * nx;
+		destination.y += this.radius * ny;
 	}
 	
 	/* (non-Javadoc)
@@ -30,7 +30,7 @@ package org.dyn4j.geometry;
  * A {@link Convex} {@link Shape} is a {@link Shape} that given a line, the line will only 
  * intersect at most 2 non-coincident non-colinear edges.
  * @author William Bittle
- * @version 1.0.3
+ * @version 3.2.0
  * @since 1.0.0
  */
 public interface Convex extends Shape, Transformable {
@@ -39,7 +39,7 @@ import org.dyn4j.resources.Messages;
  * algorithm for this shape only and use SAT on others (fallback).
  * @author William Bittle
  * @since 3.1.5
- * @version 3.1.7
+ * @version 3.2.0
  */
 public class Ellipse extends AbstractShape implements Convex, Shape, Transformable {
 	/** The ellipse width */
@@ -151,6 +151,32 @@ public class Ellipse extends AbstractShape implements Convex, Shape, Transformab
 		return p;
 	}
 	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.geometry.AbstractShape#getFarthestPoint(org.dyn4j.geometry.Vector2, org.dyn4j.geometry.Transform, org.dyn4j.geometry.Vector2)
+	 */
+	@Override
+	public void getFarthestPoint(Vector2 n, Transform transform, Vector2 destination) {
+		// convert the world space vector(n) to local space
+		transform.getInverseTransformedR(n, destination);
+		// include local rotation
+		double r = this.getRotation();
+		// invert the local rotation
+		destination.rotate(-r);
+		// scale the axis by the major and minor axis lengths
+		destination.x *= this.a;
+		destination.y *= this.b;
+		// then normalize it
+		destination.normalize();
+		// add the radius along the vector to the center to get the farthest point
+		destination.x *= this.a;
+		destination.y *= this.b;
+		// include local rotation
+		destination.rotate(r);
+		destination.add(this.center);
+		// then finally convert back into world space coordinates
+		transform.transform(destination);
+	}
+	
 	/* (non-Javadoc)
 	 * @see org.dyn4j.geometry.Convex#getFarthestFeature(org.dyn4j.geometry.Vector2, org.dyn4j.geometry.Transform)
 	 */
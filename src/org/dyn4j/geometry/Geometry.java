@@ -35,7 +35,7 @@ import org.dyn4j.resources.Messages;
 /**
  * Contains static methods to perform standard geometric operations.
  * @author William Bittle
- * @version 3.1.5
+ * @version 3.2.0
  * @since 1.0.0
  */
 public class Geometry {
@@ -381,6 +381,29 @@ public class Geometry {
 		return center;
 	}
 	
+	/**
+	 * Places the point of the given {@link Convex} {@link Shape} farthest in the direction of n 
+	 * in the given destination {@link Vector2}.
+	 * <p>
+	 * This method produces the same point as {@link Convex#getFarthestPoint(Vector2, Transform)}.
+	 * No new objects are created for the {@link Convex} {@link Shape}s that extend {@link AbstractShape}
+	 * (see {@link AbstractShape#getFarthestPoint(Vector2, Transform, Vector2)}).  The destination is in 
+	 * world space and must not be the same instance as n.
+	 * @param convex the {@link Convex} {@link Shape}
+	 * @param n the direction
+	 * @param transform the local to world space {@link Transform} of the {@link Convex} {@link Shape}
+	 * @param destination the {@link Vector2} to place the result in
+	 * @since 3.2.0
+	 */
+	public static final void getFarthestPoint(Convex convex, Vector2 n, Transform transform, Vector2 destination) {
+		if (convex instanceof AbstractShape) {
+			((AbstractShape)convex).getFarthestPoint(n, transform, destination);
+		} else {
+			// other implementations of the interface create the point
+			destination.set(convex.getFarthestPoint(n, transform));
+		}
+	}
+	
 	/**
 	 * Returns a new {@link Circle} with the given radius centered on the origin.
 	 * @param radius the radius in meters
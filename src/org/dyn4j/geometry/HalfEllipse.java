@@ -40,7 +40,7 @@ import org.dyn4j.resources.Messages;
  * algorithm for this shape only and use SAT on others (fallback).
  * @author William Bittle
  * @since 3.1.5
- * @version 3.1.7
+ * @version 3.2.0
  */
 public class HalfEllipse extends AbstractShape implements Convex, Shape, Transformable {
 	/** The half ellipse inertia constant. See http://www.efunda.com/math/areas/ellipticalhalf.cfm */
@@ -175,6 +175,41 @@ public class HalfEllipse extends AbstractShape implements Convex, Shape, Transfo
 		transform.transform(p);
 		return p;
 	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.geometry.AbstractShape#getFarthestPoint(org.dyn4j.geometry.Vector2, org.dyn4j.geometry.Transform, org.dyn4j.geometry.Vector2)
+	 */
+	@Override
+	public void getFarthestPoint(Vector2 n, Transform transform, Vector2 destination) {
+		// convert the world space vector(n) to local space
+		transform.getInverseTransformedR(n, destination);
+		// include local rotation
+		double r = this.getRotation();
+		// invert the local rotation
+		destination.rotate(-r);
+		// scale the axis by the major and minor axis lengths
+		destination.x *= this.a;
+		destination.y *= this.height;
+		// then normalize it
+		destination.normalize();
+		
+		if (destination.y <= 0 && destination.x >= 0) {
+			transform.getTransformed(this.vertices[1], destination);
+			return;
+		} else if (destination.y <= 0 && destination.x <= 0) {
+			transform.getTransformed(this.vertices[0], destination);
+			return;
+		}
+		
+		// add the radius along the vector to the center to get the farthest point
+		destination.x *= this.a;
+		destination.y *= this.height;
+		// include local rotation
+		destination.rotate(r);
+		destination.add(this.ellipseCenter);
+		// then finally convert back into world space coordinates
+		transform.transform(destination);
+	}
 
 	/* (non-Javadoc)
 	 * @see org.dyn4j.geometry.Convex#getFarthestFeature(org.dyn4j.geometry.Vector2, org.dyn4j.geometry.Transform)
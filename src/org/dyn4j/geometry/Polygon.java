@@ -35,13 +35,28 @@ import org.dyn4j.resources.Messages;
  * <p>
  * A polygon cannot have coincident vertices.
  * @author William Bittle
- * @version 3.1.11
+ * @version 3.2.0
  * @since 1.0.0
  */
 public class Polygon extends Wound implements Convex, Shape, Transformable {
 	/** Inverse of 3 */
 	private static final double INV3 = 1.0 / 3.0;
 	
+	/** The vertex count at or above which the support point is found by hill climbing rather than a linear search */
+	public static final int HILL_CLIMBING_VERTEX_COUNT = 10;
+	
+	/** The vertex count at or above which the support lookup is used (when enabled) */
+	public static final int SUPPORT_LOOKUP_VERTEX_COUNT = 32;
+	
+	/** The index of the last support vertex; used as the starting point for hill climbing */
+	protected int supportIndex;
+	
+	/** True if the support lookup should be used for polygons with many vertices */
+	protected boolean supportLookupEnabled = true;
+	
+	/** The starting vertex index for each pseudo-angle bin; created lazily */
+	protected int[] supportLookup;
+	
 	/**
 	 * Default constructor for sub classes.
 	 */
@@ -253,6 +268,8 @@ public class Polygon extends Wound implements Convex, Shape, Transformable {
 			this.vertices[i].rotate(theta, x, y);
 			this.normals[i].rotate(theta, x, y);
 		}
+		// the support lookup is no longer valid
+		this.supportLookup = null;
 	}
 
 	/* (non-Javadoc)
@@ -299,28 +316,16 @@ public class Polygon extends Wound implements Convex, Shape, Transformable {
 	 */
 	@Override
 	public Edge getFarthestFeature(Vector2 n, Transform transform) {
-		// transform the normal into local space
-		Vector2 localn = transform.getInverseTransformedR(n);
+		// transform the normal into local space (using the maximum as temp storage)
 		Vector2 maximum = new Vector2();
-		double max = -Double.MAX_VALUE;
-		int index = 0;
+		transform.getInverseTransformedR(n, maximum);
+		double nx = maximum.x;
+		double ny = maximum.y;
 		// find the vertex on the polygon that is further along on the penetration axis
+		int index = this.getFarthestVertexIndex(nx, ny);
 		int count = this.vertices.length;
-		for (int i = 0; i < count; i++) {
-			// get the current vertex
-			Vector2 v = this.vertices[i];
-			// get the scalar projection of v onto axis
-			double projection = localn.dot(v);
-			// keep the maximum projection point
-			if (projection > max) {
-				// set the max point
-				maximum.set(v);
-				// set the new maximum
-				max = projection;
-				// save the index
-				index = i;
-			}
-		}
+		// set the max point
+		maximum.set(this.vertices[index]);
 		
 		// once we have the point of maximum
 		// see which edge is most perpendicular
@@ -332,7 +337,7 @@ public class Polygon extends Wound implements Convex, Shape, Transformable {
 		transform.transform(maximum);
 		Vertex vm = new Vertex(maximum, index);
 		// is the left or right edge more perpendicular?
-		if (leftN.dot(localn) < rightN.dot(localn)) {
+		if (leftN.x * nx + leftN.y * ny < rightN.x * nx + rightN.y * ny) {
 			Vector2 left = transform.getTransformed(this.vertices[l]);
 			Vertex vl = new Vertex(left, l);
 			// make sure the edge is the right winding
@@ -350,31 +355,249 @@ public class Polygon extends Wound implements Convex, Shape, Transformable {
 	 */
 	@Override
 	public Vector2 getFarthestPoint(Vector2 n, Transform transform) {
-		// transform the normal into local space
-		Vector2 localn = transform.getInverseTransformedR(n);
 		Vector2 point = new Vector2();
-		// set the farthest point to the first one
-		point.set(this.vertices[0]);
-		// prime the projection amount
-		double max = localn.dot(this.vertices[0]);
-		// loop through the rest of the vertices to find a further point along the axis
-		int size = this.vertices.length;
-		for (int i = 1; i < size; i++) {
-			// get the current vertex
-			Vector2 v = this.vertices[i];
-			// project the vertex onto the axis
-			double projection = localn.dot(v);
-			// check to see if the projection is greater than the last
-			if (projection > max) {
-				// otherwise this point is the farthest so far so clear the array and add it
-				point.set(v);
-				// set the new maximum
-				max = projection;
+		this.getFarthestPoint(n, transform, point);
+		return point;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.geometry.AbstractShape#getFarthestPoint(org.dyn4j.geometry.Vector2, org.dyn4j.geometry.Transform, org.dyn4j.geometry.Vector2)
+	 */
+	@Override
+	public void getFarthestPoint(Vector2 n, Transform transform, Vector2 destination) {
+		// transform the normal into local space (using the destination as temp storage)
+		transform.getInverseTransformedR(n, destination);
+		// find the farthest vertex
+		int index = this.getFarthestVertexIndex(destination.x, destination.y);
+		// transform the point into world space
+		transform.getTransformed(this.vertices[index], destination);
+	}
+	
+	/**
+	 * Returns the index of the vertex farthest along the given local space direction.
+	 * <p>
+	 * If two vertices are equally distant along the direction the first one in the
+	 * vertex list is returned.
+	 * <p>
+	 * Polygons with fewer than {@link #HILL_CLIMBING_VERTEX_COUNT} vertices are searched
+	 * linearly.  Otherwise, since the projection of the vertices of a convex polygon onto a
+	 * direction only increases and then decreases around the polygon, the search climbs 
+	 * from vertex to adjacent vertex starting at the last support vertex (or at the
+	 * vertex given by the support lookup when enabled) until no neighbor is farther.
+	 * This yields the same vertex as the linear search.
+	 * <p>
+	 * The last support vertex is only a starting point, so sharing a polygon between
+	 * threads does not affect the result.
+	 * @param x the x component of the local space direction
+	 * @param y the y component of the local space direction
+	 * @return int
+	 * @since 3.2.0
+	 */
+	protected int getFarthestVertexIndex(double x, double y) {
+		Vector2[] vertices = this.vertices;
+		int count = vertices.length;
+		
+		if (count < HILL_CLIMBING_VERTEX_COUNT) {
+			// set the farthest point to the first one
+			int index = 0;
+			// prime the projection amount
+			double max = x * vertices[0].x + y * vertices[0].y;
+			// loop through the rest of the vertices to find a further point along the axis
+			for (int i = 1; i < count; i++) {
+				// get the current vertex
+				Vector2 v = vertices[i];
+				// project the vertex onto the axis
+				double projection = x * v.x + y * v.y;
+				// check to see if the projection is greater than the last
+				if (projection > max) {
+					// otherwise this point is the farthest so far
+					index = i;
+					// set the new maximum
+					max = projection;
+				}
 			}
+			return index;
+		}
+		
+		// get the starting vertex
+		int index = this.supportIndex;
+		if (this.supportLookupEnabled && count >= SUPPORT_LOOKUP_VERTEX_COUNT && (x != 0.0 || y != 0.0)) {
+			int[] lookup = this.supportLookup;
+			if (lookup == null) {
+				lookup = this.createSupportLookup();
+				this.supportLookup = lookup;
+			}
+			index = lookup[Polygon.getBin(x, y, lookup.length)];
+		}
+		if (index < 0 || index >= count) index = 0;
+		
+		Vector2 v = vertices[index];
+		double max = x * v.x + y * v.y;
+		// NaN directions select the first vertex like the linear search
+		if (Double.isNaN(max)) return 0;
+		
+		int next = index + 1 == count ? 0 : index + 1;
+		int prev = index == 0 ? count - 1 : index - 1;
+		double pn = x * vertices[next].x + y * vertices[next].y;
+		double pp = x * vertices[prev].x + y * vertices[prev].y;
+		
+		// determine which way to climb
+		int direction = 0;
+		if (pn > max) {
+			direction = 1;
+		} else if (pp > max) {
+			direction = -1;
+		} else if (pn == max && pp == max) {
+			// we are in the middle of a run of colinear vertices which is
+			// either the maximum or the minimum; walk forward off the run
+			int i = next;
+			double pi = pn;
+			int steps = 1;
+			while (pi == max) {
+				// all the vertices project to the same value (zero direction)
+				if (++steps > count) return 0;
+				i = i + 1 == count ? 0 : i + 1;
+				pi = x * vertices[i].x + y * vertices[i].y;
+			}
+			if (pi > max) {
+				// it was the minimum so keep climbing forward
+				index = i;
+				max = pi;
+				direction = 1;
+			}
+		}
+		
+		// climb until the next vertex is not farther
+		if (direction != 0) {
+			while (true) {
+				next = index + direction;
+				if (next == count) next = 0;
+				else if (next < 0) next = count - 1;
+				pn = x * vertices[next].x + y * vertices[next].y;
+				if (pn > max) {
+					index = next;
+					max = pn;
+				} else {
+					break;
+				}
+			}
+		}
+		
+		// equally distant vertices are adjacent, so choose the 
+		// first one in the vertex list among the neighbors
+		int first = index;
+		int i = index;
+		for (int j = 1; j < count; j++) {
+			i = i + 1 == count ? 0 : i + 1;
+			if (x * vertices[i].x + y * vertices[i].y != max) break;
+			if (i < first) first = i;
+		}
+		i = index;
+		for (int j = 1; j < count; j++) {
+			i = i == 0 ? count - 1 : i - 1;
+			if (x * vertices[i].x + y * vertices[i].y != max) break;
+			if (i < first) first = i;
+		}
+		
+		// save the index for the next search
+		this.supportIndex = first;
+		return first;
+	}
+	
+	/**
+	 * Creates the support lookup.
+	 * <p>
+	 * The directions are divided into bins of equal pseudo-angle (see {@link #getBin(double, double, int)}).
+	 * Each bin stores the support vertex of the direction at the center of the bin which
+	 * is then used as the starting point for hill climbing.
+	 * @return int[]
+	 * @since 3.2.0
+	 */
+	protected int[] createSupportLookup() {
+		int count = this.vertices.length;
+		int bins = count * 2;
+		int[] lookup = new int[bins];
+		for (int i = 0; i < bins; i++) {
+			// get the pseudo-angle at the center of the bin
+			double p = (i + 0.5) * 4.0 / bins;
+			// convert it back to a direction
+			double x, y;
+			if (p < 1.0) {
+				x = 1.0 - p;
+				y = p;
+			} else if (p < 2.0) {
+				x = 1.0 - p;
+				y = 2.0 - p;
+			} else if (p < 3.0) {
+				x = p - 3.0;
+				y = 2.0 - p;
+			} else {
+				x = p - 3.0;
+				y = p - 4.0;
+			}
+			// find the support vertex by a linear search
+			int index = 0;
+			double max = x * this.vertices[0].x + y * this.vertices[0].y;
+			for (int j = 1; j < count; j++) {
+				double projection = x * this.vertices[j].x + y * this.vertices[j].y;
+				if (projection > max) {
+					index = j;
+					max = projection;
+				}
+			}
+			lookup[i] = index;
+		}
+		return lookup;
+	}
+	
+	/**
+	 * Returns the support lookup bin for the given non-zero direction.
+	 * <p>
+	 * The bin is found using the pseudo-angle of the direction, which increases monotonically
+	 * with the angle from 0 to 4 around the circle and requires no trigonometric functions.
+	 * @param x the x component of the direction
+	 * @param y the y component of the direction
+	 * @param bins the number of bins
+	 * @return int
+	 * @since 3.2.0
+	 */
+	private static final int getBin(double x, double y, int bins) {
+		double p;
+		if (y >= 0.0) {
+			p = x >= 0.0 ? y / (x + y) : 1.0 - x / (y - x);
+		} else {
+			p = x < 0.0 ? 2.0 - y / (-x - y) : 3.0 + x / (x - y);
+		}
+		int bin = (int)(p * 0.25 * bins);
+		// guard against rounding at the end of the range
+		return bin >= bins ? bins - 1 : (bin < 0 ? 0 : bin);
+	}
+	
+	/**
+	 * Returns true if the support lookup is used for polygons with
+	 * {@link #SUPPORT_LOOKUP_VERTEX_COUNT} or more vertices.
+	 * @return boolean
+	 * @since 3.2.0
+	 */
+	public boolean isSupportLookupEnabled() {
+		return this.supportLookupEnabled;
+	}
+	
+	/**
+	 * Toggles the use of the support lookup for polygons with
+	 * {@link #SUPPORT_LOOKUP_VERTEX_COUNT} or more vertices.
+	 * <p>
+	 * The lookup is a small precomputed table of starting vertices for the hill climbing 
+	 * support search binned by direction.  It's created on first use and recreated after
+	 * the polygon is rotated.  Enabled by default.
+	 * @param flag true if the support lookup should be used
+	 * @since 3.2.0
+	 */
+	public void setSupportLookupEnabled(boolean flag) {
+		this.supportLookupEnabled = flag;
+		if (!flag) {
+			this.supportLookup = null;
 		}
-		// transform the point into world space
-		transform.transform(point);
-		return point;
 	}
 	
 	/**
@@ -30,7 +30,7 @@ import org.dyn4j.resources.Messages;
 /**
  * Represents a line {@link Segment}.
  * @author William Bittle
- * @version 3.1.6
+ * @version 3.2.0
  * @since 1.0.0
  */
 public class Segment extends Wound implements Convex, Shape, Transformable {
@@ -216,6 +216,44 @@ public class Segment extends Wound implements Convex, Shape, Transformable {
 	    return line.multiply(t).add(linePoint1);
 	}
 	
+	/**
+	 * Places the point on the given line segment closest to the given point in the given
+	 * destination {@link Vector2}.
+	 * <p>
+	 * This method does not create any new objects.
+	 * @param point the point
+	 * @param linePoint1 the first point of the line
+	 * @param linePoint2 the second point of the line
+	 * @param destination the {@link Vector2} to place the result in
+	 * @see #getPointOnSegmentClosestToPoint(Vector2, Vector2, Vector2)
+	 * @since 3.2.0
+	 */
+	public static void getPointOnSegmentClosestToPoint(Vector2 point, Vector2 linePoint1, Vector2 linePoint2, Vector2 destination) {
+		// create a vector from the point to the first line point
+		double px = point.x - linePoint1.x;
+		double py = point.y - linePoint1.y;
+		// create a vector representing the line
+		double lx = linePoint2.x - linePoint1.x;
+		double ly = linePoint2.y - linePoint1.y;
+		// get the length squared of the line
+		double ab2 = lx * lx + ly * ly;
+		// get the projection of AP on AB
+		double ap_ab = px * lx + py * ly;
+		// check ab2 for zero (linePoint1 == linePoint2)
+		if (ab2 <= Epsilon.E) {
+			destination.x = linePoint1.x;
+			destination.y = linePoint1.y;
+			return;
+		}
+		// get the position from the first line point to the projection
+		double t = ap_ab / ab2;
+		// make sure t is in between 0.0 and 1.0
+		t = Interval.clamp(t, 0.0, 1.0);
+		// create the point on the line
+		destination.x = lx * t + linePoint1.x;
+		destination.y = ly * t + linePoint1.y;
+	}
+	
 	/**
 	 * Returns the point on this {@link Segment} closest to the given point.
 	 * <p>
@@ -469,6 +507,33 @@ public class Segment extends Wound implements Convex, Shape, Transformable {
 		}
 	}
 	
+	/**
+	 * Places the farthest point on the given segment in the given destination {@link Vector2}.
+	 * <p>
+	 * This method does not create any new objects.
+	 * @param v1 the first point of the segment
+	 * @param v2 the second point of the segment
+	 * @param n the direction
+	 * @param transform the local to world space {@link Transform} of this {@link Convex} {@link Shape}
+	 * @param destination the {@link Vector2} to place the result in; must not be n
+	 * @since 3.2.0
+	 */
+	public static final void getFarthestPoint(Vector2 v1, Vector2 v2, Vector2 n, Transform transform, Vector2 destination) {
+		// get the first vertex in world space and project it onto the vector
+		transform.getTransformed(v1, destination);
+		double x1 = destination.x;
+		double y1 = destination.y;
+		double dot1 = n.dot(destination);
+		// get the second vertex in world space and project it onto the vector
+		transform.getTransformed(v2, destination);
+		double dot2 = n.dot(destination);
+		// find the greatest projection
+		if (dot1 >= dot2) {
+			destination.x = x1;
+			destination.y = y1;
+		}
+	}
+	
 	/* (non-Javadoc)
 	 * @see org.dyn4j.geometry.Convex#getAxes(java.util.List, org.dyn4j.geometry.Transform)
 	 */
@@ -615,6 +680,14 @@ public class Segment extends Wound implements Convex, Shape, Transformable {
 		return Segment.getFarthestPoint(this.vertices[0], this.vertices[1], n, transform);
 	}
 	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.geometry.AbstractShape#getFarthestPoint(org.dyn4j.geometry.Vector2, org.dyn4j.geometry.Transform, org.dyn4j.geometry.Vector2)
+	 */
+	@Override
+	public void getFarthestPoint(Vector2 n, Transform transform, Vector2 destination) {
+		Segment.getFarthestPoint(this.vertices[0], this.vertices[1], n, transform, destination);
+	}
+	
 	/**
 	 * Returns the feature farthest in the direction of n.
 	 * <p>
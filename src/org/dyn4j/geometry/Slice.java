@@ -32,7 +32,7 @@ import org.dyn4j.resources.Messages;
  * This shape can represent any slice of a circle up to 180 degrees (half circle).
  * @author William Bittle
  * @since 3.1.5
- * @version 3.1.5
+ * @version 3.2.0
  */
 public class Slice extends AbstractShape implements Convex, Shape, Transformable {
 	/** The total circular section in radians */
@@ -222,6 +222,46 @@ public class Slice extends AbstractShape implements Convex, Shape, Transformable
 		}
 	}
 	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.geometry.AbstractShape#getFarthestPoint(org.dyn4j.geometry.Vector2, org.dyn4j.geometry.Transform, org.dyn4j.geometry.Vector2)
+	 */
+	@Override
+	public void getFarthestPoint(Vector2 n, Transform transform, Vector2 destination) {
+		// convert the world space vector(n) to local space
+		transform.getInverseTransformedR(n, destination);
+		
+		// project the origin and two end points first
+		if (Math.abs(destination.getAngleBetween(this.localXAxis)) > this.alpha) {
+			double nx = destination.x;
+			double ny = destination.y;
+			// set the farthest point to the first one
+			int index = 0;
+			// prime the projection amount
+			double max = nx * this.vertices[0].x + ny * this.vertices[0].y;
+			// loop through the rest of the vertices to find a further point along the axis
+			int size = this.vertices.length;
+			for (int i = 1; i < size; i++) {
+				// get the current vertex
+				Vector2 v = this.vertices[i];
+				// project the vertex onto the axis
+				double projection = nx * v.x + ny * v.y;
+				// check to see if the projection is greater than the last
+				if (projection > max) {
+					// otherwise this point is the farthest so far
+					index = i;
+					// set the new maximum
+					max = projection;
+				}
+			}
+			// transform the point into world space
+			transform.getTransformed(this.vertices[index], destination);
+		} else {
+			destination.normalize();
+			destination.multiply(this.sliceRadius).add(this.vertices[0]);
+			transform.transform(destination);
+		}
+	}
+	
 	/* (non-Javadoc)
 	 * @see org.dyn4j.geometry.Convex#getFarthestFeature(org.dyn4j.geometry.Vector2, org.dyn4j.geometry.Transform)
 	 */
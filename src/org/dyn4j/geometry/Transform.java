@@ -24,6 +24,8 @@
  */
 package org.dyn4j.geometry;
 
+import java.nio.ByteBuffer;
+
 import org.dyn4j.resources.Messages;
 
 /**
@@ -31,7 +33,7 @@ import org.dyn4j.resources.Messages;
  * <p>
  * Supported operations are rotation and translation.
  * @author William Bittle
- * @version 3.1.11
+ * @version 3.2.0
  * @since 1.0.0
  */
 public class Transform implements Transformable {
@@ -139,8 +141,18 @@ public class Transform implements Transformable {
 		public void lerp(Transform end, double alpha) {
 			throw new UnsupportedOperationException(Messages.getString("geometry.transform.immutable"));
 		}
+		
+		/* (non-Javadoc)
+		 * @see org.dyn4j.geometry.Transform#read(java.nio.ByteBuffer)
+		 */
+		public void read(ByteBuffer buffer) {
+			throw new UnsupportedOperationException(Messages.getString("geometry.transform.immutable"));
+		}
 	};
 	
+	/** The number of bytes written by the {@link #write(ByteBuffer)} method; value = {@value #BYTES} */
+	public static final int BYTES = 6 * 8;
+	
 	/** The first row, first column entry */
 	protected double m00 = 1.0;
 	
@@ -276,6 +288,24 @@ public class Transform implements Transformable {
 		this.y = transform.y;
 	}
 	
+	/**
+	 * Returns true if this transform has exactly the same values as the given transform.
+	 * <p>
+	 * This is used to detect whether a transform has changed since a value was
+	 * computed from it.
+	 * @param transform the transform to compare
+	 * @return boolean
+	 * @since 3.2.0
+	 */
+	public boolean valueEquals(Transform transform) {
+		return this.m00 == transform.m00 &&
+			   this.m01 == transform.m01 &&
+			   this.m10 == transform.m10 &&
+			   this.m11 == transform.m11 &&
+			   this.x == transform.x &&
+			   this.y == transform.y;
+	}
+	
 	/**
 	 * Sets this {@link Transform} to the identity.
 	 */
@@ -548,6 +578,28 @@ public class Transform implements Transformable {
 		return Math.atan2(this.m10, this.m00);
 	}
 	
+	/**
+	 * Returns the cosine of the rotation.
+	 * <p>
+	 * Unlike {@link #getRotation()} this does not require an inverse trigonometric function.
+	 * @return double
+	 * @since 3.2.0
+	 */
+	public double getCost() {
+		return this.m00;
+	}
+	
+	/**
+	 * Returns the sine of the rotation.
+	 * <p>
+	 * Unlike {@link #getRotation()} this does not require an inverse trigonometric function.
+	 * @return double
+	 * @since 3.2.0
+	 */
+	public double getSint() {
+		return this.m10;
+	}
+	
 	/**
 	 * Sets the rotation and returns the previous
 	 * rotation.
@@ -589,6 +641,38 @@ public class Transform implements Transformable {
 				             this.m10, this.m11, this.y};
 	}
 	
+	/**
+	 * Writes the exact values of this transform to the given buffer.
+	 * <p>
+	 * This writes {@link #BYTES} bytes in the order of 00, 01, x, 10, 11, y.
+	 * @param buffer the buffer to write to
+	 * @see #read(ByteBuffer)
+	 * @since 3.2.0
+	 */
+	public void write(ByteBuffer buffer) {
+		buffer.putDouble(this.m00);
+		buffer.putDouble(this.m01);
+		buffer.putDouble(this.x);
+		buffer.putDouble(this.m10);
+		buffer.putDouble(this.m11);
+		buffer.putDouble(this.y);
+	}
+	
+	/**
+	 * Sets the values of this transform to the values read from the given buffer.
+	 * @param buffer the buffer to read from
+	 * @see #write(ByteBuffer)
+	 * @since 3.2.0
+	 */
+	public void read(ByteBuffer buffer) {
+		this.m00 = buffer.getDouble();
+		this.m01 = buffer.getDouble();
+		this.x = buffer.getDouble();
+		this.m10 = buffer.getDouble();
+		this.m11 = buffer.getDouble();
+		this.y = buffer.getDouble();
+	}
+	
 	/**
 	 * Interpolates this transform linearly by alpha towards the given end transform.
 	 * <p>
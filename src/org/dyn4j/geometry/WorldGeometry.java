@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) 2010-2014 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.geometry;
+
+import org.dyn4j.resources.Messages;
+
+/**
+ * Represents a cache of the world space geometry of a {@link Convex} {@link Shape}.
+ * <p>
+ * The collision detection algorithms work on the local space geometry of a shape along with its
+ * {@link Transform}.  Each test transforms the vertices and normals it needs into world space, so a
+ * shape that is tested against many others in the same step transforms the same vertices many times.
+ * <p>
+ * This class stores a world space copy of a {@link Polygon} or {@link Segment} (its vertices, normals
+ * and center) along with the world space {@link AABB} of the shape.  The copy is only rebuilt by the 
+ * {@link #update(Transform)} method when the given {@link Transform} differs from the one it was last
+ * built with.  Pass the {@link #getConvex()} and {@link #getTransform()} values to the collision detection
+ * algorithms in place of the shape and its transform.
+ * <p>
+ * For all other shapes only the {@link AABB} is cached; {@link #getConvex()} returns the shape itself
+ * and {@link #getTransform()} returns the transform it was last updated with.
+ * <p>
+ * The cache cannot detect changes to the local geometry of the shape.  Call the {@link #invalidate()}
+ * method after translating or rotating the shape itself.
+ * @author William Bittle
+ * @version 3.2.0
+ * @since 3.2.0
+ */
+public class WorldGeometry {
+	/** The local space shape */
+	protected final Convex shape;
+	
+	/** The world space copy of the shape; null if the shape type is not supported */
+	protected final Wound world;
+	
+	/** The transform the cache was last built with */
+	protected final Transform transform;
+	
+	/** The world space {@link AABB} */
+	protected final AABB aabb;
+	
+	/** True if the cache has been built */
+	protected boolean valid;
+	
+	/**
+	 * Full constructor.
+	 * @param shape the local space shape
+	 * @throws NullPointerException if shape is null
+	 */
+	public WorldGeometry(Convex shape) {
+		// check for a null shape
+		if (shape == null) throw new NullPointerException(Messages.getString("geometry.nullShape"));
+		this.shape = shape;
+		this.world = WorldGeometry.createWorldCopy(shape);
+		this.transform = new Transform();
+		this.aabb = new AABB(0.0, 0.0, 0.0, 0.0);
+		this.valid = false;
+	}
+	
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("WorldGeometry[Shape=").append(this.shape)
+		.append("|Transform=").append(this.transform)
+		.append("|AABB=").append(this.aabb)
+		.append("|Valid=").append(this.valid)
+		.append("]");
+		return sb.toString();
+	}
+	
+	/**
+	 * Returns a world space copy of the given shape or null if the shape
+	 * type is not supported.
+	 * <p>
+	 * The copy has its own vertices, normals and center which are filled in
+	 * by the {@link #update(Transform)} method.
+	 * @param shape the shape
+	 * @return {@link Wound}
+	 */
+	private static final Wound createWorldCopy(Convex shape) {
+		if (shape instanceof Polygon) {
+			Polygon local = (Polygon)shape;
+			int size = local.vertices.length;
+			// always copy as a polygon (sub classes like Rectangle store
+			// extra local space data which is not needed here)
+			Polygon copy = new Polygon();
+			copy.vertices = new Vector2[size];
+			copy.normals = new Vector2[size];
+			for (int i = 0; i < size; i++) {
+				copy.vertices[i] = new Vector2();
+				copy.normals[i] = new Vector2();
+			}
+			copy.center = new Vector2();
+			copy.radius = local.radius;
+			// the lookup would need to be rebuilt every time the 
+			// vertices are rotated; hill climbing alone is used instead
+			copy.supportLookupEnabled = false;
+			return copy;
+		} else if (shape instanceof Segment) {
+			Segment local = (Segment)shape;
+			// the segment is immutable with respect to its length and radius
+			return new Segment(local.vertices[0].copy(), local.vertices[1].copy());
+		}
+		return null;
+	}
+	
+	/**
+	 * Updates the cache using the given {@link Transform}.
+	 * <p>
+	 * The world space geometry is only rebuilt if the cache is not valid or if
+	 * the given transform differs from the transform the cache was last built with.
+	 * @param transform the current transform of the shape
+	 * @return boolean true if the cache was rebuilt
+	 */
+	public boolean update(Transform transform) {
+		// check if anything has changed
+		if (this.valid &&
+			this.transform.m00 == transform.m00 &&
+			this.transform.m01 == transform.m01 &&
+			this.transform.m10 == transform.m10 &&
+			this.transform.m11 == transform.m11 &&
+			this.transform.x == transform.x &&
+			this.transform.y == transform.y) {
+			return false;
+		}
+		// save the transform
+		this.transform.set(transform);
+		if (this.world != null) {
+			Wound local = (Wound)this.shape;
+			Vector2[] vertices = this.world.vertices;
+			Vector2[] normals = this.world.normals;
+			int size = vertices.length;
+			// transform the vertices and normals
+			for (int i = 0; i < size; i++) {
+				transform.getTransformed(local.vertices[i], vertices[i]);
+				transform.getTransformedR(local.normals[i], normals[i]);
+			}
+			transform.getTransformed(local.center, this.world.center);
+			// compute the AABB from the world space vertices
+			Vector2 p = vertices[0];
+			double minX = p.x;
+			double maxX = p.x;
+			double minY = p.y;
+			double maxY = p.y;
+			for (int i = 1; i < size; i++) {
+				p = vertices[i];
+				if (p.x < minX) minX = p.x;
+				else if (p.x > maxX) maxX = p.x;
+				if (p.y < minY) minY = p.y;
+				else if (p.y > maxY) maxY = p.y;
+			}
+			this.aabb.min.x = minX;
+			this.aabb.min.y = minY;
+			this.aabb.max.x = maxX;
+			this.aabb.max.y = maxY;
+		} else {
+			// use the shape's AABB
+			AABB aabb = this.shape.createAABB(transform);
+			this.aabb.min.set(aabb.min);
+			this.aabb.max.set(aabb.max);
+		}
+		this.valid = true;
+		return true;
+	}
+	
+	/**
+	 * Invalidates the cache forcing it to be rebuilt on the next call
+	 * to the {@link #update(Transform)} method.
+	 * <p>
+	 * This method should be called when the local geometry of the shape is modified.
+	 */
+	public void invalidate() {
+		this.valid = false;
+	}
+	
+	/**
+	 * Returns true if the cache has been built and not invalidated since.
+	 * @return boolean
+	 */
+	public boolean isValid() {
+		return this.valid;
+	}
+	
+	/**
+	 * Returns true if the shape's vertices and normals are cached in world space.
+	 * <p>
+	 * This is true for {@link Polygon}s (and their sub classes) and {@link Segment}s.
+	 * @return boolean
+	 */
+	public boolean isWorldSpace() {
+		return this.world != null;
+	}
+	
+	/**
+	 * Returns the local space shape.
+	 * @return {@link Convex}
+	 */
+	public Convex getShape() {
+		return this.shape;
+	}
+	
+	/**
+	 * Returns the shape to use for collision detection.
+	 * <p>
+	 * This is the world space copy of the shape if {@link #isWorldSpace()} returns true, 
+	 * otherwise it's the local space shape.  This shape should always be used with the
+	 * transform returned from {@link #getTransform()}.
+	 * <p>
+	 * The world space copy should not be modified.
+	 * @return {@link Convex}
+	 */
+	public Convex getConvex() {
+		if (this.world != null) {
+			return (Convex)this.world;
+		}
+		return this.shape;
+	}
+	
+	/**
+	 * Returns the transform to use with the shape returned from {@link #getConvex()}.
+	 * <p>
+	 * This is {@link Transform#IDENTITY} if {@link #isWorldSpace()} returns true, otherwise
+	 * it's the transform the cache was last updated with.
+	 * @return {@link Transform}
+	 */
+	public Transform getTransform() {
+		if (this.world != null) {
+			return Transform.IDENTITY;
+		}
+		return this.transform;
+	}
+	
+	/**
+	 * Returns the world space {@link AABB} of the shape.
+	 * <p>
+	 * The returned AABB is reused by the cache and should not be modified.
+	 * @return {@link AABB}
+	 */
+	public AABB getAABB() {
+		return this.aabb;
+	}
+}
@@ -34,8 +34,11 @@
  * <p>
  * The {@link org.dyn4j.UnitConversion} class can be used to convert to and from various units 
  * to MKS.  Its recommended that this be used instead of using a different system and reconfiguring.
+ * <p>
+ * The {@link org.dyn4j.Identity} class generates the identifiers of bodies, fixtures, joints and shapes
+ * using a configurable {@link org.dyn4j.IdGenerator}.
  * @author William Bittle
- * @version 2.2.2
+ * @version 3.2.0
  * @since 2.2.2
  */
 package org.dyn4j;
\ No newline at end of file